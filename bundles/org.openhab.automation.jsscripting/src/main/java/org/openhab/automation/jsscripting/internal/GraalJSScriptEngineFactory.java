@@ -55,6 +55,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private static final String CFG_INJECTION_ENABLED = "injectionEnabled";
     private static final String CFG_INJECTION_CACHING_ENABLED = "injectionCachingEnabled";
+    private static final String CFG_STATELESS_POOL_SIZE = "statelessPoolSize";
 
     private static final GraalJSEngineFactory factory = new GraalJSEngineFactory();
 
@@ -69,6 +70,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
 
     private boolean injectionEnabled = true;
     private boolean injectionCachingEnabled = true;
+    private int statelessPoolSize = 1;
 
     private final JSScriptServiceUtil jsScriptServiceUtil;
     private final JSDependencyTracker jsDependencyTracker;
@@ -96,8 +98,16 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         if (!scriptTypes.contains(scriptType)) {
             return null;
         }
-        return new DebuggingGraalScriptEngine<>(new OpenhabGraalJSScriptEngine(injectionEnabled,
-                injectionCachingEnabled, jsScriptServiceUtil, jsDependencyTracker));
+        if (statelessPoolSize > 1) {
+            return new DebuggingGraalScriptEngine<>(
+                    new PooledGraalJSScriptEngine(statelessPoolSize, this::createOpenhabScriptEngine));
+        }
+        return new DebuggingGraalScriptEngine<>(createOpenhabScriptEngine());
+    }
+
+    private OpenhabGraalJSScriptEngine createOpenhabScriptEngine() {
+        return new OpenhabGraalJSScriptEngine(injectionEnabled, injectionCachingEnabled, jsScriptServiceUtil,
+                jsDependencyTracker);
     }
 
     @Override
@@ -110,5 +120,7 @@ public final class GraalJSScriptEngineFactory implements ScriptEngineFactory {
         this.injectionEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_ENABLED), Boolean.class, true);
         this.injectionCachingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_INJECTION_CACHING_ENABLED),
                 Boolean.class, true);
+        this.statelessPoolSize = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(CFG_STATELESS_POOL_SIZE), Integer.class, 1));
     }
 }
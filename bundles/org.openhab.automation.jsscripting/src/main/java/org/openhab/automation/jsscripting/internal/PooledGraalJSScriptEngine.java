@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.openhab.core.automation.module.script.ScriptEngineFactory.*;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ScriptEngine} spreading invocations of stateless scripts over a bounded pool of
+ * {@link OpenhabGraalJSScriptEngine}s.
+ *
+ * A script is stateless if it starts with the directive <code>'use stateless';</code>. Such a script does not keep
+ * state between invocations, so each invocation may run in any context of the pool. As long as the script is not
+ * stateless, all invocations run in the primary engine, exactly like without pooling.
+ *
+ * Callers acquire an engine with {@link #lock()}, which checks out an idle engine for the calling thread, and return it
+ * with {@link #unlock()}. All calls in between, including {@link #getContext()}, are routed to the checked out engine,
+ * so the execution context set up by the caller and the invocation itself always use the same engine. Idle engines
+ * that are busy with a timer callback are skipped as long as another engine is idle.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+public class PooledGraalJSScriptEngine implements ScriptEngine, Invocable, Compilable, AutoCloseable, Lock {
+
+    private static final String THREAD_POOL_NAME = "jsscripting";
+
+    private static final Pattern STATELESS_DIRECTIVE = Pattern
+            .compile("^\\s*(?:(?://[^\\n]*\\n|/\\*.*?\\*/)\\s*)*(['\"])use stateless\\1", Pattern.DOTALL);
+
+    /** Attributes of the primary engine's context that are copied to pooled engines */
+    private static final List<String> SHARED_ATTRIBUTES = List.of(CONTEXT_KEY_ENGINE_IDENTIFIER,
+            CONTEXT_KEY_EXTENSION_ACCESSOR, CONTEXT_KEY_DEPENDENCY_LISTENER, ScriptEngine.FILENAME, "ruleUID");
+
+    private final Logger logger = LoggerFactory.getLogger(PooledGraalJSScriptEngine.class);
+
+    private final int poolSize;
+    private final Supplier<OpenhabGraalJSScriptEngine> engineSupplier;
+    private final OpenhabGraalJSScriptEngine primary;
+
+    private final BlockingQueue<OpenhabGraalJSScriptEngine> idle = new LinkedBlockingQueue<>();
+    private final List<OpenhabGraalJSScriptEngine> pooled = new ArrayList<>();
+    private final ThreadLocal<Checkout> checkout = new ThreadLocal<>();
+
+    private volatile boolean stateless = false;
+    private volatile boolean closed = false;
+
+    private final AtomicLong invocations = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a pooled engine.
+     *
+     * @param poolSize the maximum number of engines, including the primary one
+     * @param engineSupplier creates the engines of the pool
+     */
+    public PooledGraalJSScriptEngine(int poolSize, Supplier<OpenhabGraalJSScriptEngine> engineSupplier) {
+        this.poolSize = poolSize;
+        this.engineSupplier = engineSupplier;
+        this.primary = engineSupplier.get();
+        idle.add(primary);
+    }
+
+    /**
+     * Tests if a script is marked as stateless.
+     *
+     * @param script the script source
+     * @return whether the script starts with the <code>'use stateless';</code> directive
+     */
+    static boolean isStateless(String script) {
+        return STATELESS_DIRECTIVE.matcher(script).find();
+    }
+
+    private void detect(String script) {
+        boolean isStateless = isStateless(script);
+        if (isStateless == stateless) {
+            return;
+        }
+        // read outside of the pool monitor, the primary engine may be busy
+        Map<String, Object> attributes = isStateless ? sharedAttributes() : Map.of();
+        synchronized (pooled) {
+            if (closed || isStateless == stateless) {
+                return;
+            }
+            stateless = isStateless;
+            if (isStateless) {
+                warmUp(attributes);
+            } else {
+                logger.debug("Script is no longer stateless, shrinking pool: {}", this);
+                List<OpenhabGraalJSScriptEngine> drained = new ArrayList<>();
+                idle.drainTo(drained);
+                drained.forEach(this::release);
+            }
+        }
+    }
+
+    private Map<String, Object> sharedAttributes() {
+        Map<String, Object> attributes = new HashMap<>();
+        primary.lock();
+        try {
+            ScriptContext ctx = primary.getContext();
+            for (String name : SHARED_ATTRIBUTES) {
+                Object value = ctx.getAttribute(name, ScriptContext.ENGINE_SCOPE);
+                if (value != null) {
+                    attributes.put(name, value);
+                }
+            }
+        } finally {
+            primary.unlock();
+        }
+        return attributes;
+    }
+
+    private void warmUp(Map<String, Object> attributes) {
+        int count = poolSize - 1 - pooled.size();
+        logger.debug("Script is stateless, warming up {} additional contexts", count);
+        for (int i = 0; i < count; i++) {
+            OpenhabGraalJSScriptEngine engine = engineSupplier.get();
+            pooled.add(engine);
+            ThreadPoolManager.getPool(THREAD_POOL_NAME).execute(() -> warmUp(engine, attributes));
+        }
+    }
+
+    private void warmUp(OpenhabGraalJSScriptEngine engine, Map<String, Object> attributes) {
+        long start = System.nanoTime();
+        try {
+            ScriptContext ctx = engine.getContext();
+            attributes.forEach((name, value) -> ctx.setAttribute(name, value, ScriptContext.ENGINE_SCOPE));
+            // the first invocation initializes the context with the globals and the openhab-js injection
+            engine.eval("");
+            long warmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.debug("Warmed up pooled context in {} ms: {}", warmUpMillis, this);
+            release(engine);
+        } catch (ScriptException | RuntimeException e) {
+            logger.warn("Failed to warm up pooled context: {}", e.getMessage());
+            synchronized (pooled) {
+                pooled.remove(engine);
+            }
+            engine.close();
+        }
+    }
+
+    /**
+     * Returns an engine to the pool, or closes it if it is no longer needed.
+     */
+    private void release(OpenhabGraalJSScriptEngine engine) {
+        if (engine == primary || (stateless && !closed)) {
+            idle.offer(engine);
+        } else {
+            synchronized (pooled) {
+                pooled.remove(engine);
+            }
+            engine.close();
+        }
+    }
+
+    private void recordWait(long start) {
+        long waited = System.nanoTime() - start;
+        invocations.incrementAndGet();
+        waitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (logger.isTraceEnabled()) {
+            logger.trace("Waited {} us for a context: {}", TimeUnit.NANOSECONDS.toMicros(waited), this);
+        }
+    }
+
+    /**
+     * @return the engine checked out by the current thread, or the primary engine
+     */
+    private OpenhabGraalJSScriptEngine target() {
+        Checkout current = checkout.get();
+        return current != null ? current.engine : primary;
+    }
+
+    private boolean reenter() {
+        Checkout current = checkout.get();
+        if (current != null) {
+            current.holds++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Locks an idle engine. Idle engines can still be locked by a timer callback, so the idle engines are tried in
+     * turn and a busy engine is only waited for once all idle engines turned out to be busy.
+     *
+     * @param timeoutNanos the maximum time to wait, zero to not wait at all, or a negative value to wait without limit
+     * @return the locked engine, or <code>null</code> if the timeout elapsed
+     */
+    private OpenhabGraalJSScriptEngine acquire(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Set<OpenhabGraalJSScriptEngine> busy = new HashSet<>();
+        while (true) {
+            OpenhabGraalJSScriptEngine engine;
+            if (timeoutNanos < 0) {
+                engine = idle.take();
+            } else if (timeoutNanos == 0) {
+                engine = idle.poll();
+            } else {
+                engine = idle.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            if (engine == null) {
+                return null;
+            }
+            if (engine.tryLock()) {
+                return engine;
+            }
+            if (busy.add(engine) && !idle.isEmpty()) {
+                release(engine);
+                continue;
+            }
+            boolean locked;
+            try {
+                if (timeoutNanos < 0) {
+                    engine.lockInterruptibly();
+                    locked = true;
+                } else if (timeoutNanos == 0) {
+                    locked = engine.tryLock();
+                } else {
+                    locked = engine.tryLock(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                release(engine);
+                throw e;
+            }
+            if (locked) {
+                return engine;
+            }
+            release(engine);
+            return null;
+        }
+    }
+
+    private boolean checkOut(OpenhabGraalJSScriptEngine engine, long start) {
+        if (engine == null) {
+            return false;
+        }
+        checkout.set(new Checkout(engine));
+        recordWait(start);
+        return true;
+    }
+
+    @Override
+    public void lock() {
+        if (reenter()) {
+            return;
+        }
+        long start = System.nanoTime();
+        OpenhabGraalJSScriptEngine engine;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                engine = acquire(-1);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        checkOut(engine, start);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (reenter()) {
+            return;
+        }
+        long start = System.nanoTime();
+        checkOut(acquire(-1), start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        if (reenter()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            return checkOut(acquire(0), start);
+        } catch (InterruptedException e) {
+            // not reached, acquiring with a zero timeout never waits
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (reenter()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        return checkOut(acquire(Math.max(0, unit.toNanos(time))), start);
+    }
+
+    @Override
+    public void unlock() {
+        Checkout current = checkout.get();
+        if (current == null) {
+            throw new IllegalMonitorStateException("No context checked out by the current thread");
+        }
+        if (--current.holds > 0) {
+            return;
+        }
+        checkout.remove();
+        current.engine.unlock();
+        release(current.engine);
+    }
+
+    @Override
+    public Condition newCondition() {
+        throw new UnsupportedOperationException("Conditions are not supported by pooled script engines");
+    }
+
+    @Override
+    public Object eval(String s, ScriptContext scriptContext) throws ScriptException {
+        detect(s);
+        return target().eval(s, scriptContext);
+    }
+
+    @Override
+    public Object eval(Reader reader, ScriptContext scriptContext) throws ScriptException {
+        return target().eval(reader, scriptContext);
+    }
+
+    @Override
+    public Object eval(String s) throws ScriptException {
+        detect(s);
+        return target().eval(s);
+    }
+
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        return target().eval(reader);
+    }
+
+    @Override
+    public Object eval(String s, Bindings bindings) throws ScriptException {
+        detect(s);
+        return target().eval(s, bindings);
+    }
+
+    @Override
+    public Object eval(Reader reader, Bindings bindings) throws ScriptException {
+        return target().eval(reader, bindings);
+    }
+
+    @Override
+    public void put(String s, Object o) {
+        target().put(s, o);
+    }
+
+    @Override
+    public Object get(String s) {
+        return target().get(s);
+    }
+
+    @Override
+    public Bindings getBindings(int i) {
+        return target().getBindings(i);
+    }
+
+    @Override
+    public void setBindings(Bindings bindings, int i) {
+        target().setBindings(bindings, i);
+    }
+
+    @Override
+    public Bindings createBindings() {
+        return target().createBindings();
+    }
+
+    @Override
+    public ScriptContext getContext() {
+        return target().getContext();
+    }
+
+    @Override
+    public void setContext(ScriptContext scriptContext) {
+        target().setContext(scriptContext);
+    }
+
+    @Override
+    public ScriptEngineFactory getFactory() {
+        return primary.getFactory();
+    }
+
+    @Override
+    public Object invokeMethod(Object o, String s, Object... objects) throws ScriptException, NoSuchMethodException {
+        return target().invokeMethod(o, s, objects);
+    }
+
+    @Override
+    public Object invokeFunction(String s, Object... objects) throws ScriptException, NoSuchMethodException {
+        return target().invokeFunction(s, objects);
+    }
+
+    @Override
+    public <T> T getInterface(Class<T> aClass) {
+        return target().getInterface(aClass);
+    }
+
+    @Override
+    public <T> T getInterface(Object o, Class<T> aClass) {
+        return target().getInterface(o, aClass);
+    }
+
+    @Override
+    public CompiledScript compile(String s) throws ScriptException {
+        detect(s);
+        PooledCompiledScript compiledScript = new PooledCompiledScript(s);
+        // compile eagerly in the current engine to report syntax errors to the caller
+        compiledScript.compiledFor(target());
+        return compiledScript;
+    }
+
+    @Override
+    public CompiledScript compile(Reader reader) throws ScriptException {
+        return target().compile(reader);
+    }
+
+    @Override
+    public void close() {
+        List<OpenhabGraalJSScriptEngine> toClose;
+        synchronized (pooled) {
+            closed = true;
+            toClose = new ArrayList<>(pooled);
+        }
+        logger.debug("Closing {}", this);
+        primary.close();
+        // engines still checked out or warming up are closed when they are released
+        toClose.stream().filter(idle::remove).forEach(this::release);
+    }
+
+    // Visible for testing
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public String toString() {
+        long count = invocations.get();
+        return "PooledGraalJSScriptEngine [stateless=" + stateless + ", poolSize=" + (pooled.size() + 1) + "/"
+                + poolSize + ", idle=" + idle.size() + ", invocations=" + count + ", averageWaitUs="
+                + (count > 0 ? TimeUnit.NANOSECONDS.toMicros(waitNanos.get() / count) : 0) + ", maxWaitUs="
+                + TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()) + "]";
+    }
+
+    /**
+     * The engine checked out by a thread, and how often the thread acquired it.
+     */
+    private static class Checkout {
+        private final OpenhabGraalJSScriptEngine engine;
+        private int holds = 1;
+
+        Checkout(OpenhabGraalJSScriptEngine engine) {
+            this.engine = engine;
+        }
+    }
+
+    /**
+     * A script compiled lazily for each engine of the pool it is evaluated in.
+     */
+    private class PooledCompiledScript extends CompiledScript {
+        private final String script;
+        private final Map<OpenhabGraalJSScriptEngine, CompiledScript> compiledScripts = new ConcurrentHashMap<>();
+
+        PooledCompiledScript(String script) {
+            this.script = script;
+        }
+
+        CompiledScript compiledFor(OpenhabGraalJSScriptEngine engine) throws ScriptException {
+            CompiledScript compiledScript = compiledScripts.get(engine);
+            if (compiledScript == null) {
+                compiledScript = engine.compile(script);
+                compiledScripts.put(engine, compiledScript);
+            }
+            return compiledScript;
+        }
+
+        @Override
+        public Object eval(ScriptContext scriptContext) throws ScriptException {
+            return compiledFor(target()).eval(scriptContext);
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            return PooledGraalJSScriptEngine.this;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.script.ScriptContext;
+import javax.script.SimpleScriptContext;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests the {@link PooledGraalJSScriptEngine}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class PooledGraalJSScriptEngineTest extends JavaTest {
+
+    private static final String STATELESS_SCRIPT = "'use stateless';\nconsole.log('stateless');";
+    private static final String STATEFUL_SCRIPT = "var count = 0;";
+
+    private final List<OpenhabGraalJSScriptEngine> engines = new ArrayList<>();
+    private final Map<OpenhabGraalJSScriptEngine, ReentrantLock> locks = new HashMap<>();
+    private final Map<OpenhabGraalJSScriptEngine, ScriptContext> contexts = new HashMap<>();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final CountDownLatch timersDone = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        timersDone.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void statelessDirectiveIsDetected() {
+        assertTrue(PooledGraalJSScriptEngine.isStateless("'use stateless';"));
+        assertTrue(PooledGraalJSScriptEngine.isStateless("\"use stateless\"\nconsole.log(1);"));
+        assertTrue(PooledGraalJSScriptEngine.isStateless("  \n// a rule\n/* with\n a comment */\n'use stateless';"));
+        assertFalse(PooledGraalJSScriptEngine.isStateless("console.log(1);\n'use stateless';"));
+        assertFalse(PooledGraalJSScriptEngine.isStateless("'use stateless\";"));
+        assertFalse(PooledGraalJSScriptEngine.isStateless("// 'use stateless';"));
+        assertFalse(PooledGraalJSScriptEngine.isStateless("'use strict';"));
+    }
+
+    @Test
+    public void checkoutIsPerThreadAndReentrant() throws Exception {
+        PooledGraalJSScriptEngine pool = new PooledGraalJSScriptEngine(2, this::createEngine);
+        OpenhabGraalJSScriptEngine primary = engines.get(0);
+
+        pool.lock();
+        pool.lock();
+        assertThat(pool.getContext(), is(sameInstance(contexts.get(primary))));
+        assertThat(pool.getIdleCount(), is(0));
+
+        pool.unlock();
+        assertThat(pool.getIdleCount(), is(0));
+        assertFalse(threads.submit(() -> pool.tryLock()).get(5, TimeUnit.SECONDS));
+
+        pool.unlock();
+        assertThat(pool.getIdleCount(), is(1));
+        assertFalse(locks.get(primary).isLocked());
+        assertThrows(IllegalMonitorStateException.class, pool::unlock);
+    }
+
+    @Test
+    public void statelessScriptsSpreadOverThePool() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(3);
+
+        pool.lock();
+        ScriptContext first = pool.getContext();
+        ScriptContext second = threads.submit(() -> {
+            pool.lock();
+            try {
+                return pool.getContext();
+            } finally {
+                pool.unlock();
+            }
+        }).get(5, TimeUnit.SECONDS);
+        pool.unlock();
+
+        assertThat(engines, hasSize(3));
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(pool.getIdleCount(), is(3));
+    }
+
+    @Test
+    public void poolShrinksAndGrowsWithTheDirective() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(2);
+        OpenhabGraalJSScriptEngine pooled = engines.get(1);
+
+        pool.eval(STATEFUL_SCRIPT);
+
+        verify(pooled).close();
+        assertThat(pool.getIdleCount(), is(1));
+
+        pool.eval(STATELESS_SCRIPT);
+
+        waitForAssert(() -> assertThat(pool.getIdleCount(), is(2)));
+        assertThat(engines, hasSize(3));
+        verify(engines.get(2)).eval("");
+    }
+
+    @Test
+    public void tryLockSkipsEnginesBusyWithTimers() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(2);
+        OpenhabGraalJSScriptEngine primary = engines.get(0);
+        OpenhabGraalJSScriptEngine pooled = engines.get(1);
+        busyWithTimer(primary);
+
+        assertTrue(pool.tryLock());
+
+        assertThat(pool.getContext(), is(sameInstance(contexts.get(pooled))));
+        assertThat(pool.getIdleCount(), is(1));
+        pool.unlock();
+        assertThat(pool.getIdleCount(), is(2));
+    }
+
+    @Test
+    public void lockSkipsEnginesBusyWithTimers() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(2);
+        OpenhabGraalJSScriptEngine pooled = engines.get(1);
+        busyWithTimer(engines.get(0));
+
+        pool.lock();
+
+        assertThat(pool.getContext(), is(sameInstance(contexts.get(pooled))));
+        pool.unlock();
+    }
+
+    @Test
+    public void tryLockReturnsBusyEnginesToThePool() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(2);
+        busyWithTimer(engines.get(0));
+        busyWithTimer(engines.get(1));
+
+        assertFalse(pool.tryLock());
+        assertThat(pool.getIdleCount(), is(2));
+
+        assertFalse(pool.tryLock(50, TimeUnit.MILLISECONDS));
+        assertThat(pool.getIdleCount(), is(2));
+        assertThrows(IllegalMonitorStateException.class, pool::unlock);
+    }
+
+    @Test
+    public void lockWaitsForBusyEngineIfNoOtherIsIdle() throws Exception {
+        PooledGraalJSScriptEngine pool = new PooledGraalJSScriptEngine(2, this::createEngine);
+        busyWithTimer(engines.get(0));
+
+        Future<Boolean> locked = threads.submit(() -> {
+            pool.lock();
+            pool.unlock();
+            return true;
+        });
+        Thread.sleep(50);
+        assertFalse(locked.isDone());
+
+        timersDone.countDown();
+        assertTrue(locked.get(5, TimeUnit.SECONDS));
+        assertThat(pool.getIdleCount(), is(1));
+    }
+
+    @Test
+    public void closeKeepsCheckedOutEnginesUntilTheyAreReleased() throws Exception {
+        PooledGraalJSScriptEngine pool = statelessPool(3);
+        OpenhabGraalJSScriptEngine primary = engines.get(0);
+        busyWithTimer(primary);
+        pool.lock();
+        OpenhabGraalJSScriptEngine checkedOut = engines.stream()
+                .filter(engine -> contexts.get(engine) == pool.getContext()).findFirst().orElseThrow();
+        OpenhabGraalJSScriptEngine idle = engines.stream().filter(engine -> engine != primary && engine != checkedOut)
+                .findFirst().orElseThrow();
+
+        pool.close();
+
+        verify(primary).close();
+        verify(idle).close();
+        verify(checkedOut, never()).close();
+
+        pool.unlock();
+
+        verify(checkedOut).close();
+    }
+
+    private PooledGraalJSScriptEngine statelessPool(int poolSize) throws Exception {
+        PooledGraalJSScriptEngine pool = new PooledGraalJSScriptEngine(poolSize, this::createEngine);
+        pool.lock();
+        try {
+            pool.eval(STATELESS_SCRIPT);
+        } finally {
+            pool.unlock();
+        }
+        waitForAssert(() -> assertThat(pool.getIdleCount(), is(poolSize)));
+        return pool;
+    }
+
+    private OpenhabGraalJSScriptEngine createEngine() {
+        OpenhabGraalJSScriptEngine engine = mock(OpenhabGraalJSScriptEngine.class);
+        ReentrantLock lock = new ReentrantLock();
+        ScriptContext context = new SimpleScriptContext();
+        try {
+            doAnswer(invocation -> {
+                lock.lock();
+                return null;
+            }).when(engine).lock();
+            doAnswer(invocation -> {
+                lock.lockInterruptibly();
+                return null;
+            }).when(engine).lockInterruptibly();
+            when(engine.tryLock()).thenAnswer(invocation -> lock.tryLock());
+            when(engine.tryLock(anyLong(), any(TimeUnit.class)))
+                    .thenAnswer(invocation -> lock.tryLock(invocation.getArgument(0), invocation.getArgument(1)));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        doAnswer(invocation -> {
+            lock.unlock();
+            return null;
+        }).when(engine).unlock();
+        when(engine.getContext()).thenReturn(context);
+        synchronized (engines) {
+            engines.add(engine);
+            locks.put(engine, lock);
+            contexts.put(engine, context);
+        }
+        return engine;
+    }
+
+    /**
+     * Locks an engine from another thread until the test ends, like a long running timer callback.
+     */
+    private void busyWithTimer(OpenhabGraalJSScriptEngine engine) throws InterruptedException {
+        ReentrantLock lock = locks.get(engine);
+        CountDownLatch locked = new CountDownLatch(1);
+        threads.execute(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                timersDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+    }
+}
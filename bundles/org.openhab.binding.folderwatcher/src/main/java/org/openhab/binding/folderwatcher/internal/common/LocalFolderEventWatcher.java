@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderIndex.Directory;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderIndex.FileTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LocalFolderEventWatcher} watches a local folder for new files using the file system notifications of
+ * the JDK {@link WatchService} instead of listing the whole tree periodically.
+ *
+ * On start, the {@link LocalFolderIndex} persisted by the previous run is reconciled with the folder: only
+ * directories whose modification time changed are listed again. Afterwards, events are processed as they arrive. If
+ * events were lost, the affected directories are listed again. Their subdirectories are only listed if their
+ * modification time changed, and all overflows reported at once are handled by a single pass. The index is saved a few
+ * seconds after it has changed and when the watcher is stopped.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderEventWatcher implements Runnable {
+
+    private static final long SAVE_DELAY_SECONDS = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(LocalFolderEventWatcher.class);
+
+    private final Path root;
+    private final boolean recursive;
+    private final boolean listHidden;
+    private final File indexFile;
+    private final Listener listener;
+    private final Map<WatchKey, Path> watchKeys = new HashMap<>();
+    private final AtomicBoolean rescanRequested = new AtomicBoolean();
+    private final Set<Path> overflowed = new HashSet<>();
+    private final Set<Path> listed = new HashSet<>();
+
+    private LocalFolderIndex index;
+    private Set<String> previousListing;
+    private volatile @Nullable WatchService watchService;
+    private volatile boolean running = true;
+    private boolean indexChanged;
+    private long indexChangedAt;
+
+    /**
+     * Receives the new files and errors of the watcher.
+     */
+    public interface Listener {
+        void newFile(Path file);
+
+        /**
+         * Called if watching stopped because of an error, e.g. because the folder was removed or no more directories
+         * could be registered with the watch service.
+         */
+        void watcherFailed(@Nullable String message);
+    }
+
+    /**
+     * Create a new watcher.
+     *
+     * @param root the folder to be watched
+     * @param recursive whether sub folders are watched
+     * @param listHidden whether hidden files are reported
+     * @param indexFile file to persist the index to
+     * @param previousListing absolute paths of files that were already reported, used if no index exists yet
+     * @param listener the listener
+     */
+    public LocalFolderEventWatcher(Path root, boolean recursive, boolean listHidden, File indexFile,
+            Set<String> previousListing, Listener listener) {
+        this.root = root;
+        this.recursive = recursive;
+        this.listHidden = listHidden;
+        this.indexFile = indexFile;
+        this.previousListing = previousListing;
+        this.listener = listener;
+        this.index = new LocalFolderIndex(root);
+    }
+
+    @Override
+    public void run() {
+        try (WatchService watchService = root.getFileSystem().newWatchService()) {
+            this.watchService = watchService;
+            if (!running) {
+                return;
+            }
+            loadIndex();
+            long start = System.nanoTime();
+            sync(root, false, false);
+            previousListing = Set.of();
+            logger.debug("Reconciled {} files in {} directories of {} in {} ms", index.getFileCount(),
+                    index.getDirectoryCount(), root, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            saveIndex();
+
+            while (running) {
+                WatchKey key = watchService.poll(SAVE_DELAY_SECONDS, TimeUnit.SECONDS);
+                while (key != null) {
+                    processEvents(key);
+                    key = watchService.poll();
+                }
+                if (rescanRequested.getAndSet(false)) {
+                    overflowed.clear();
+                    sync(root, true, true);
+                }
+                listOverflowed();
+                if (indexChanged
+                        && System.nanoTime() - indexChangedAt >= TimeUnit.SECONDS.toNanos(SAVE_DELAY_SECONDS)) {
+                    saveIndex();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // stopped
+        } catch (IOException e) {
+            logger.debug("Watching {} failed: {}", root, e.getMessage());
+            listener.watcherFailed(e.getMessage());
+        } finally {
+            watchKeys.clear();
+            this.watchService = null;
+            if (indexChanged) {
+                saveIndex();
+            }
+        }
+    }
+
+    /**
+     * Request a full listing of the folder, independent of the modification times of the directories.
+     */
+    public void rescan() {
+        rescanRequested.set(true);
+    }
+
+    /**
+     * Stop watching. The thread running the watcher terminates after saving the index.
+     */
+    public void stop() {
+        running = false;
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Closing watch service of {} failed: {}", root, e.getMessage());
+            }
+        }
+    }
+
+    private void loadIndex() {
+        try {
+            LocalFolderIndex loaded = LocalFolderIndex.load(indexFile, root);
+            if (loaded != null) {
+                index = loaded;
+                previousListing = Set.of();
+                logger.debug("Loaded index of {} with {} files", root, index.getFileCount());
+            }
+        } catch (IOException e) {
+            logger.debug("Can't read index file {}, rebuilding it: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private void saveIndex() {
+        try {
+            index.save(indexFile);
+            indexChanged = false;
+        } catch (IOException e) {
+            logger.debug("Can't write index file {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private void markChanged() {
+        if (!indexChanged) {
+            indexChanged = true;
+            indexChangedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * List the directories whose events were lost. On Linux, an overflow is reported to every watched directory, so
+     * the directories are processed from the top and each one is listed at most once.
+     */
+    private void listOverflowed() throws IOException {
+        if (overflowed.isEmpty()) {
+            return;
+        }
+        logger.debug("Events for {} directories of {} were lost, listing them again", overflowed.size(), root);
+        List<Path> directories = new ArrayList<>(overflowed);
+        overflowed.clear();
+        directories.sort(Comparator.comparingInt(Path::getNameCount));
+        listed.clear();
+        for (Path dir : directories) {
+            if (!listed.contains(dir) && index.get(dir) != null) {
+                sync(dir, true, false);
+            }
+        }
+        listed.clear();
+    }
+
+    /**
+     * Bring a directory and its subdirectories in line with the index, listing only the directories that changed.
+     *
+     * @param dir the directory
+     * @param force whether the directory is listed even if its modification time did not change
+     * @param forceSubdirectories whether the subdirectories are listed even if their modification time did not change
+     */
+    private void sync(Path dir, boolean force, boolean forceSubdirectories) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            register(dir);
+            attributes = Files.readAttributes(dir, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            if (dir.equals(root)) {
+                throw e;
+            }
+            index.remove(dir);
+            markChanged();
+            return;
+        }
+        Directory directory = index.get(dir);
+        long modified = attributes.lastModifiedTime().toMillis();
+        if (!force && directory != null && directory.getModified() == modified) {
+            if (recursive) {
+                for (Path subdirectory : Set.copyOf(directory.getSubdirectories())) {
+                    sync(subdirectory, false, false);
+                }
+            }
+        } else {
+            scan(dir, modified, forceSubdirectories);
+        }
+    }
+
+    /**
+     * List a directory, report the files not contained in the index and continue with its subdirectories.
+     */
+    private void scan(Path dir, long modified, boolean forceSubdirectories) throws IOException {
+        listed.add(dir);
+        Directory directory = index.getOrCreate(dir);
+        FileTable knownFiles = directory.getFiles();
+        FileTable files = new FileTable(knownFiles.size());
+        Set<Path> subdirectories = new HashSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    if (recursive) {
+                        subdirectories.add(entry);
+                    }
+                } else if (listHidden || !Files.isHidden(entry)) {
+                    long hash = LocalFolderIndex.hash(entry.getFileName().toString());
+                    files.put(hash, attributes.size(), attributes.lastModifiedTime().toMillis());
+                    if (!knownFiles.contains(hash)) {
+                        announce(entry);
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            if (dir.equals(root)) {
+                throw e;
+            }
+            index.remove(dir);
+            markChanged();
+            return;
+        }
+        directory.setFiles(files);
+        directory.setModified(modified);
+        for (Path subdirectory : Set.copyOf(directory.getSubdirectories())) {
+            if (!subdirectories.contains(subdirectory)) {
+                index.remove(subdirectory);
+            }
+        }
+        markChanged();
+        for (Path subdirectory : subdirectories) {
+            sync(subdirectory, forceSubdirectories, forceSubdirectories);
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        WatchService watchService = this.watchService;
+        if (watchService != null) {
+            // registering a directory again returns its existing key
+            watchKeys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), dir);
+        }
+    }
+
+    private void processEvents(WatchKey key) throws IOException {
+        Path dir = watchKeys.get(key);
+        if (dir == null) {
+            key.cancel();
+            return;
+        }
+        // read before the events are taken, so that later changes result in a different time stamp
+        long modified = LocalFolderIndex.UNKNOWN_MODIFIED;
+        try {
+            modified = Files.getLastModifiedTime(dir, LinkOption.NOFOLLOW_LINKS).toMillis();
+        } catch (NoSuchFileException e) {
+            // handled below, the key won't be valid anymore
+        }
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            WatchEvent.Kind<?> kind = event.kind();
+            if (kind == OVERFLOW) {
+                overflow = true;
+            } else if (!overflow && event.context() instanceof Path name) {
+                Path child = dir.resolve(name);
+                if (kind == ENTRY_DELETE) {
+                    deleted(dir, child);
+                } else {
+                    changed(dir, child);
+                }
+            }
+        }
+        if (!key.reset()) {
+            watchKeys.remove(key);
+            if (dir.equals(root)) {
+                throw new NoSuchFileException(root.toString());
+            }
+            index.remove(dir);
+            markChanged();
+        } else if (overflow) {
+            overflowed.add(dir);
+        } else {
+            Directory directory = index.get(dir);
+            if (directory != null) {
+                directory.setModified(modified);
+                markChanged();
+            }
+        }
+    }
+
+    private void changed(Path dir, Path child) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            // already deleted again, a delete event follows
+            return;
+        }
+        if (attributes.isDirectory()) {
+            if (recursive && index.get(child) == null) {
+                sync(child, true, true);
+            }
+        } else if (listHidden || !Files.isHidden(child)) {
+            Directory directory = index.getOrCreate(dir);
+            if (directory.getFiles().put(LocalFolderIndex.hash(child.getFileName().toString()), attributes.size(),
+                    attributes.lastModifiedTime().toMillis())) {
+                announce(child);
+            }
+            markChanged();
+        }
+    }
+
+    private void deleted(Path dir, Path child) {
+        if (index.get(child) != null) {
+            index.remove(child);
+            markChanged();
+        } else {
+            Directory directory = index.get(dir);
+            long hash = LocalFolderIndex.hash(child.getFileName().toString());
+            if (directory != null && directory.getFiles().remove(hash)) {
+                markChanged();
+            }
+        }
+    }
+
+    private void announce(Path file) {
+        String path = file.toAbsolutePath().toString();
+        if (!previousListing.contains(path)) {
+            listener.newFile(file);
+        }
+    }
+}
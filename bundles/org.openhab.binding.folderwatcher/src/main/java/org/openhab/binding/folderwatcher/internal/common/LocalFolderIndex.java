@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link LocalFolderIndex} keeps track of the known files of a watched local folder.
+ *
+ * Files are stored per directory as a 64 bit hash of their name together with their size and modification time, so
+ * that the index stays small even for folders with hundreds of thousands of files. The modification time of each
+ * directory is stored as well: a directory whose modification time did not change since the index was saved has
+ * neither gained nor lost entries and does not need to be listed again.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderIndex {
+
+    /**
+     * Stored instead of the modification time of a directory that was modified shortly before saving, since changes
+     * within the timestamp resolution of the file system could otherwise go unnoticed after a restart.
+     */
+    static final long UNKNOWN_MODIFIED = Long.MIN_VALUE;
+
+    private static final int MAGIC = 0x4657494E; // "FWIN"
+    private static final int VERSION = 1;
+    private static final long MODIFIED_GRACE_MILLIS = 2000;
+
+    private final Path root;
+    private final Map<Path, Directory> directories = new HashMap<>();
+
+    public LocalFolderIndex(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Load an index from a file.
+     *
+     * @param file the index file
+     * @param root the watched folder
+     * @return the loaded index, or <code>null</code> if the file does not exist or belongs to another folder
+     * @throws IOException if the file can't be read or is corrupt
+     */
+    public static @Nullable LocalFolderIndex load(File file, Path root) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(root.toString())) {
+                return null;
+            }
+            LocalFolderIndex index = new LocalFolderIndex(root);
+            int directoryCount = in.readInt();
+            for (int i = 0; i < directoryCount; i++) {
+                Directory directory = index.getOrCreate(root.resolve(in.readUTF()));
+                directory.modified = in.readLong();
+                int fileCount = in.readInt();
+                FileTable files = new FileTable(fileCount);
+                for (int j = 0; j < fileCount; j++) {
+                    files.put(in.readLong(), in.readLong(), in.readLong());
+                }
+                directory.files = files;
+            }
+            return index;
+        } catch (EOFException e) {
+            throw new IOException("Index file " + file + " is truncated", e);
+        }
+    }
+
+    /**
+     * Save the index to a file. The file is replaced atomically.
+     *
+     * @param file the index file
+     * @throws IOException if the file can't be written
+     */
+    public void save(File file) throws IOException {
+        Path target = file.toPath();
+        Path parent = target.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long modifiedLimit = System.currentTimeMillis() - MODIFIED_GRACE_MILLIS;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(root.toString());
+            out.writeInt(directories.size());
+            for (Map.Entry<Path, Directory> entry : directories.entrySet()) {
+                Directory directory = entry.getValue();
+                out.writeUTF(root.relativize(entry.getKey()).toString());
+                out.writeLong(directory.modified < modifiedLimit ? directory.modified : UNKNOWN_MODIFIED);
+                FileTable files = directory.files;
+                out.writeInt(files.size());
+                files.forEach((hash, size, modified) -> {
+                    out.writeLong(hash);
+                    out.writeLong(size);
+                    out.writeLong(modified);
+                });
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Get a directory of the index.
+     *
+     * @param path absolute path of the directory
+     * @return the directory, or <code>null</code> if it is not part of the index
+     */
+    public @Nullable Directory get(Path path) {
+        return directories.get(path);
+    }
+
+    /**
+     * Get a directory of the index, adding it if necessary.
+     *
+     * @param path absolute path of the directory
+     * @return the directory
+     */
+    public Directory getOrCreate(Path path) {
+        Directory directory = directories.get(path);
+        if (directory == null) {
+            directory = new Directory();
+            directories.put(path, directory);
+            Path parent = path.getParent();
+            if (!path.equals(root) && parent != null) {
+                getOrCreate(parent).subdirectories.add(path);
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Remove a directory and all its subdirectories from the index.
+     *
+     * @param path absolute path of the directory
+     */
+    public void remove(Path path) {
+        Directory directory = directories.remove(path);
+        if (directory != null) {
+            Path parent = path.getParent();
+            Directory parentDirectory = parent != null ? directories.get(parent) : null;
+            if (parentDirectory != null) {
+                parentDirectory.subdirectories.remove(path);
+            }
+            for (Path subdirectory : Set.copyOf(directory.subdirectories)) {
+                remove(subdirectory);
+            }
+        }
+    }
+
+    /**
+     * Get the number of files in the index.
+     */
+    public int getFileCount() {
+        return directories.values().stream().mapToInt(directory -> directory.files.size()).sum();
+    }
+
+    /**
+     * Get the number of directories in the index.
+     */
+    public int getDirectoryCount() {
+        return directories.size();
+    }
+
+    /**
+     * Hash a file name. 64 bit FNV-1a is used, making collisions within a directory practically impossible.
+     */
+    public static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * A directory of the index.
+     */
+    public static class Directory {
+        private long modified = UNKNOWN_MODIFIED;
+        private FileTable files = new FileTable(0);
+        private final Set<Path> subdirectories = new HashSet<>();
+
+        public long getModified() {
+            return modified;
+        }
+
+        public void setModified(long modified) {
+            this.modified = modified;
+        }
+
+        public FileTable getFiles() {
+            return files;
+        }
+
+        public void setFiles(FileTable files) {
+            this.files = files;
+        }
+
+        public Set<Path> getSubdirectories() {
+            return subdirectories;
+        }
+    }
+
+    /**
+     * Open addressing hash table mapping name hashes to size and modification time, using three parallel arrays
+     * instead of one object per file.
+     */
+    public static class FileTable {
+        private static final long EMPTY = 0;
+
+        private long[] hashes;
+        private long[] sizes;
+        private long[] modified;
+        private int size;
+
+        public FileTable(int expectedSize) {
+            int capacity = 8;
+            while (capacity * 3 < expectedSize * 4) {
+                capacity <<= 1;
+            }
+            hashes = new long[capacity];
+            sizes = new long[capacity];
+            modified = new long[capacity];
+        }
+
+        /**
+         * Add or update a file.
+         *
+         * @return <code>true</code> if the file was not contained before
+         */
+        public boolean put(long hash, long fileSize, long fileModified) {
+            long key = hash == EMPTY ? 1 : hash;
+            int slot = find(key);
+            boolean added = hashes[slot] == EMPTY;
+            if (added) {
+                if ((size + 1) * 4 > hashes.length * 3) {
+                    resize(hashes.length << 1);
+                    slot = find(key);
+                }
+                hashes[slot] = key;
+                size++;
+            }
+            sizes[slot] = fileSize;
+            modified[slot] = fileModified;
+            return added;
+        }
+
+        public boolean contains(long hash) {
+            return hashes[find(hash == EMPTY ? 1 : hash)] != EMPTY;
+        }
+
+        /**
+         * Remove a file.
+         *
+         * @return <code>true</code> if the file was contained
+         */
+        public boolean remove(long hash) {
+            int slot = find(hash == EMPTY ? 1 : hash);
+            if (hashes[slot] == EMPTY) {
+                return false;
+            }
+            // shift following entries of the probe sequence back, so that no tombstones are needed
+            int mask = hashes.length - 1;
+            int next = slot;
+            while (true) {
+                next = (next + 1) & mask;
+                long key = hashes[next];
+                if (key == EMPTY) {
+                    break;
+                }
+                int home = home(key);
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    hashes[slot] = key;
+                    sizes[slot] = sizes[next];
+                    modified[slot] = modified[next];
+                    slot = next;
+                }
+            }
+            hashes[slot] = EMPTY;
+            size--;
+            return true;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        void forEach(EntryConsumer consumer) throws IOException {
+            for (int i = 0; i < hashes.length; i++) {
+                if (hashes[i] != EMPTY) {
+                    consumer.accept(hashes[i], sizes[i], modified[i]);
+                }
+            }
+        }
+
+        private int home(long key) {
+            return (int) (key ^ (key >>> 32)) & (hashes.length - 1);
+        }
+
+        private int find(long key) {
+            int mask = hashes.length - 1;
+            int slot = home(key);
+            while (hashes[slot] != EMPTY && hashes[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int capacity) {
+            long[] oldHashes = hashes;
+            long[] oldSizes = sizes;
+            long[] oldModified = modified;
+            hashes = new long[capacity];
+            sizes = new long[capacity];
+            modified = new long[capacity];
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != EMPTY) {
+                    int slot = find(oldHashes[i]);
+                    hashes[slot] = oldHashes[i];
+                    sizes[slot] = oldSizes[i];
+                    modified[slot] = oldModified[i];
+                }
+            }
+        }
+
+        @FunctionalInterface
+        interface EntryConsumer {
+            void accept(long hash, long size, long modified) throws IOException;
+        }
+    }
+}
@@ -23,12 +23,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderEventWatcher;
 import org.openhab.binding.folderwatcher.internal.common.WatcherCommon;
 import org.openhab.binding.folderwatcher.internal.config.LocalFolderWatcherConfiguration;
 import org.openhab.core.OpenHAB;
@@ -49,12 +51,18 @@ import org.slf4j.LoggerFactory;
  * @author Alexandr Salamatov - Initial contribution
  */
 @NonNullByDefault
-public class LocalFolderWatcherHandler extends BaseThingHandler {
+public class LocalFolderWatcherHandler extends BaseThingHandler implements LocalFolderEventWatcher.Listener {
+    private static final long EVENT_WATCHER_STOP_TIMEOUT_MS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(LocalFolderWatcherHandler.class);
     private LocalFolderWatcherConfiguration config = new LocalFolderWatcherConfiguration();
     private File currentLocalListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
+    private File currentLocalIndexFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
+            + File.separator + thing.getUID().getAsString().replace(':', '_') + ".index");
     private @Nullable ScheduledFuture<?> executionJob;
+    private @Nullable LocalFolderEventWatcher eventWatcher;
+    private @Nullable Thread eventWatcherThread;
     private List<String> previousLocalListing = new ArrayList<>();
 
     public LocalFolderWatcherHandler(Thing thing) {
@@ -65,7 +73,12 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         logger.debug("Channel {} triggered with command {}", channelUID.getId(), command);
         if (command instanceof RefreshType) {
-            refreshFolderInformation();
+            LocalFolderEventWatcher eventWatcher = this.eventWatcher;
+            if (eventWatcher != null) {
+                eventWatcher.rescan();
+            } else {
+                refreshFolderInformation();
+            }
         }
     }
 
@@ -78,18 +91,41 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, "Local directory is not valid");
             return;
         }
+        boolean indexExists = currentLocalIndexFile.exists();
         try {
-            previousLocalListing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+            if (config.watchEventsLocal && indexExists) {
+                // the index replaces the listing of reported files
+                previousLocalListing = new ArrayList<>();
+            } else if (indexExists) {
+                // the listing was not kept up to date while the folder was watched for events
+                resetListing();
+                Files.delete(currentLocalIndexFile.toPath());
+            } else {
+                previousLocalListing = new ArrayList<>(
+                        WatcherCommon.initStorage(currentLocalListingFile, config.localDir));
+            }
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             logger.debug("Can't write file {}: {}", currentLocalListingFile, e.getMessage());
             return;
         }
 
-        if (config.pollIntervalLocal > 0) {
+        if (config.watchEventsLocal) {
             updateStatus(ThingStatus.ONLINE);
-            executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
-                    config.pollIntervalLocal, TimeUnit.SECONDS);
+            LocalFolderEventWatcher eventWatcher = new LocalFolderEventWatcher(
+                    Paths.get(config.localDir).toAbsolutePath(), config.listRecursiveLocal, config.listHiddenLocal,
+                    currentLocalIndexFile, new HashSet<>(previousLocalListing), this);
+            previousLocalListing = new ArrayList<>();
+            Thread eventWatcherThread = new Thread(eventWatcher, "OH-binding-" + getThing().getUID() + "-watcher");
+            eventWatcherThread.setDaemon(true);
+            synchronized (this) {
+                this.eventWatcher = eventWatcher;
+                this.eventWatcherThread = eventWatcherThread;
+            }
+            eventWatcherThread.start();
+        } else if (config.pollIntervalLocal > 0) {
+            updateStatus(ThingStatus.ONLINE);
+            startPolling();
         } else {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
                     "Polling interval can't be null or negative");
@@ -99,54 +135,66 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        ScheduledFuture<?> executionJob = this.executionJob;
-        if (executionJob != null) {
-            executionJob.cancel(true);
-            this.executionJob = null;
+        Thread eventWatcherThread;
+        synchronized (this) {
+            ScheduledFuture<?> executionJob = this.executionJob;
+            if (executionJob != null) {
+                executionJob.cancel(true);
+                this.executionJob = null;
+            }
+            LocalFolderEventWatcher eventWatcher = this.eventWatcher;
+            if (eventWatcher != null) {
+                eventWatcher.stop();
+                this.eventWatcher = null;
+            }
+            eventWatcherThread = this.eventWatcherThread;
+        }
+        if (eventWatcherThread != null) {
+            try {
+                // wait for the index to be saved
+                eventWatcherThread.join(EVENT_WATCHER_STOP_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.eventWatcherThread = null;
         }
     }
 
-    private void refreshFolderInformation() {
-        final String rootDir = config.localDir;
-        try {
-            List<String> currentLocalListing = new ArrayList<>();
-
-            Files.walkFileTree(Paths.get(rootDir), new FileVisitor<@Nullable Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (dir != null) {
-                        if (!dir.equals(Paths.get(rootDir)) && !config.listRecursiveLocal) {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
+    @Override
+    public void newFile(Path file) {
+        triggerChannel(CHANNEL_NEWFILE, file.toAbsolutePath().toString());
+    }
 
-                @Override
-                public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (file != null) {
-                        if (Files.isHidden(file) && !config.listHiddenLocal) {
-                            return FileVisitResult.CONTINUE;
-                        }
-                        currentLocalListing.add(file.toAbsolutePath().toString());
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
+    @Override
+    public synchronized void watcherFailed(@Nullable String message) {
+        if (eventWatcher == null) {
+            // disposed
+            return;
+        }
+        eventWatcher = null;
+        if (config.pollIntervalLocal > 0 && Files.isDirectory(Paths.get(config.localDir))) {
+            logger.warn("Watching {} for events failed, polling it instead: {}", config.localDir, message);
+            try {
+                // files reported by the watcher must not be reported again by polling
+                resetListing();
+            } catch (IOException e) {
+                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+                return;
+            }
+            startPolling();
+        } else {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, message);
+        }
+    }
 
-                @Override
-                public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
-                }
+    private synchronized void startPolling() {
+        executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
+                config.pollIntervalLocal, TimeUnit.SECONDS);
+    }
 
-                @Override
-                public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
-                }
-            });
+    private void refreshFolderInformation() {
+        try {
+            List<String> currentLocalListing = listLocalFolder();
 
             List<String> diffLocalListing = new ArrayList<>(currentLocalListing);
             diffLocalListing.removeAll(previousLocalListing);
@@ -160,4 +208,57 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
             logger.debug("File manipulation error: {}", e.getMessage());
         }
     }
+
+    /**
+     * Replace the listing of reported files by the current content of the folder.
+     */
+    private void resetListing() throws IOException {
+        List<String> currentLocalListing = listLocalFolder();
+        Files.deleteIfExists(currentLocalListingFile.toPath());
+        WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+        WatcherCommon.saveNewListing(currentLocalListing, currentLocalListingFile);
+        previousLocalListing = currentLocalListing;
+    }
+
+    private List<String> listLocalFolder() throws IOException {
+        final String rootDir = config.localDir;
+        List<String> currentLocalListing = new ArrayList<>();
+
+        Files.walkFileTree(Paths.get(rootDir), new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    if (!dir.equals(Paths.get(rootDir)) && !config.listRecursiveLocal) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (file != null) {
+                    if (Files.isHidden(file) && !config.listHiddenLocal) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    currentLocalListing.add(file.toAbsolutePath().toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc) throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return currentLocalListing;
+    }
 }
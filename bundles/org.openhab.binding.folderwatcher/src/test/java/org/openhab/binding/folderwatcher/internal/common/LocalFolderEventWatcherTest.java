@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.test.java.JavaTest;
+
+/**
+ * Tests the {@link LocalFolderEventWatcher}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderEventWatcherTest extends JavaTest {
+
+    private @TempDir @Nullable Path tempDir;
+    private Path root = Path.of("");
+    private File indexFile = new File("");
+    private final List<Path> newFiles = new CopyOnWriteArrayList<>();
+    private final List<String> failures = new CopyOnWriteArrayList<>();
+    private @Nullable LocalFolderEventWatcher watcher;
+    private @Nullable Thread thread;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path tempDir = this.tempDir;
+        assertNotNull(tempDir);
+        root = Files.createDirectory(tempDir.resolve("watched")).toAbsolutePath();
+        indexFile = tempDir.resolve("watched.index").toFile();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        stop();
+    }
+
+    @Test
+    public void reportsNewFiles() throws IOException {
+        Files.createFile(root.resolve("existing.txt"));
+        Path sub = Files.createDirectory(root.resolve("sub"));
+        start(true, Set.of());
+        waitForAssert(() -> assertThat(newFiles, containsInAnyOrder(root.resolve("existing.txt"))));
+
+        Files.createFile(root.resolve("new.txt"));
+        Files.createFile(sub.resolve("nested.txt"));
+        Path created = Files.createDirectory(root.resolve("created"));
+        Files.createFile(created.resolve("inside.txt"));
+
+        waitForAssert(() -> assertThat(newFiles,
+                containsInAnyOrder(root.resolve("existing.txt"), root.resolve("new.txt"), sub.resolve("nested.txt"),
+                        created.resolve("inside.txt"))));
+    }
+
+    @Test
+    public void ignoresSubdirectoriesIfNotRecursive() throws IOException {
+        Path sub = Files.createDirectory(root.resolve("sub"));
+        start(false, Set.of());
+
+        Files.createFile(sub.resolve("nested.txt"));
+        Files.createFile(root.resolve("new.txt"));
+
+        waitForAssert(() -> assertThat(newFiles, contains(root.resolve("new.txt"))));
+    }
+
+    @Test
+    public void skipsPreviouslyListedFiles() throws IOException {
+        Files.createFile(root.resolve("listed.txt"));
+        Files.createFile(root.resolve("unlisted.txt"));
+
+        start(true, Set.of(root.resolve("listed.txt").toString()));
+
+        waitForAssert(() -> assertThat(newFiles, contains(root.resolve("unlisted.txt"))));
+    }
+
+    @Test
+    public void reportsOnlyFilesAddedWhileStopped() throws IOException, InterruptedException {
+        Files.createFile(root.resolve("first.txt"));
+        Files.createDirectories(root.resolve("a/b"));
+        Files.createFile(root.resolve("a/b/second.txt"));
+        start(true, Set.of());
+        waitForAssert(() -> assertThat(newFiles, hasSize(2)));
+        stop();
+        assertTrue(indexFile.exists());
+        newFiles.clear();
+
+        Files.createFile(root.resolve("a/b/third.txt"));
+        Files.delete(root.resolve("first.txt"));
+        start(true, Set.of());
+
+        waitForAssert(() -> assertThat(newFiles, contains(root.resolve("a/b/third.txt"))));
+    }
+
+    @Test
+    public void rescanDoesNotReportKnownFiles() throws IOException {
+        Files.createFile(root.resolve("existing.txt"));
+        start(true, Set.of());
+        waitForAssert(() -> assertThat(newFiles, hasSize(1)));
+
+        LocalFolderEventWatcher watcher = this.watcher;
+        assertNotNull(watcher);
+        watcher.rescan();
+        Files.createFile(root.resolve("new.txt"));
+
+        waitForAssert(() -> assertThat(newFiles, hasSize(2)));
+        assertThat(newFiles, containsInAnyOrder(root.resolve("existing.txt"), root.resolve("new.txt")));
+    }
+
+    @Test
+    public void failsIfFolderIsMissing() throws IOException {
+        Files.delete(root);
+
+        start(true, Set.of());
+
+        waitForAssert(() -> assertThat(failures, hasSize(1)));
+        assertThat(newFiles, is(empty()));
+    }
+
+    private void start(boolean recursive, Set<String> previousListing) {
+        LocalFolderEventWatcher watcher = new LocalFolderEventWatcher(root, recursive, false, indexFile,
+                previousListing, new LocalFolderEventWatcher.Listener() {
+                    @Override
+                    public void newFile(Path file) {
+                        newFiles.add(file);
+                    }
+
+                    @Override
+                    public void watcherFailed(@Nullable String message) {
+                        failures.add(String.valueOf(message));
+                    }
+                });
+        Thread thread = new Thread(watcher, "folderwatcher-test");
+        thread.setDaemon(true);
+        thread.start();
+        this.watcher = watcher;
+        this.thread = thread;
+    }
+
+    private void stop() throws InterruptedException {
+        LocalFolderEventWatcher watcher = this.watcher;
+        if (watcher != null) {
+            watcher.stop();
+            this.watcher = null;
+        }
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+            this.thread = null;
+        }
+    }
+}
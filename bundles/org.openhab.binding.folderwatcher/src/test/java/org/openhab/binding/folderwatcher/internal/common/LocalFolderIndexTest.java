@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.folderwatcher.internal.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderIndex.Directory;
+import org.openhab.binding.folderwatcher.internal.common.LocalFolderIndex.FileTable;
+
+/**
+ * Tests the {@link LocalFolderIndex}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LocalFolderIndexTest {
+
+    private static final Path ROOT = Path.of("/watched").toAbsolutePath();
+
+    private @TempDir @Nullable Path tempDir;
+
+    @Test
+    public void fileTableAgreesWithMap() {
+        Random random = new Random(42);
+        FileTable table = new FileTable(0);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // few distinct hashes, so that entries are removed and added again, partly colliding in the table
+            long hash = random.nextInt(500) + 2 + ((long) random.nextInt(4) << 40);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(hash) != null, table.remove(hash));
+            } else {
+                assertEquals(expected.put(hash, (long) i) == null, table.put(hash, i, i));
+            }
+            assertEquals(expected.size(), table.size());
+        }
+        for (long hash = 2; hash < 502; hash++) {
+            for (long high = 0; high < 4; high++) {
+                long key = hash + (high << 40);
+                assertEquals(expected.containsKey(key), table.contains(key));
+            }
+        }
+    }
+
+    @Test
+    public void fileTableAcceptsZeroHash() {
+        FileTable table = new FileTable(0);
+
+        assertTrue(table.put(0, 1, 1));
+        assertTrue(table.contains(0));
+        assertTrue(table.remove(0));
+        assertFalse(table.contains(0));
+        assertThat(table.size(), is(0));
+    }
+
+    @Test
+    public void removeRemovesSubdirectories() {
+        LocalFolderIndex index = new LocalFolderIndex(ROOT);
+        index.getOrCreate(ROOT.resolve("a/b/c"));
+        index.getOrCreate(ROOT.resolve("d"));
+
+        assertThat(index.getDirectoryCount(), is(5));
+        assertThat(index.get(ROOT).getSubdirectories(), containsInAnyOrder(ROOT.resolve("a"), ROOT.resolve("d")));
+
+        index.remove(ROOT.resolve("a"));
+
+        assertThat(index.getDirectoryCount(), is(2));
+        assertThat(index.get(ROOT.resolve("a/b")), is(nullValue()));
+        assertThat(index.get(ROOT).getSubdirectories(), contains(ROOT.resolve("d")));
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        File file = indexFile();
+        LocalFolderIndex index = new LocalFolderIndex(ROOT);
+        Directory root = index.getOrCreate(ROOT);
+        root.setModified(1000);
+        root.getFiles().put(LocalFolderIndex.hash("one.txt"), 1, 2);
+        Directory sub = index.getOrCreate(ROOT.resolve("sub"));
+        // modified just now, so the time stamp can't be trusted after loading
+        sub.setModified(System.currentTimeMillis());
+        for (int i = 0; i < 100; i++) {
+            sub.getFiles().put(LocalFolderIndex.hash(i + ".txt"), i, i);
+        }
+
+        index.save(file);
+        LocalFolderIndex loaded = LocalFolderIndex.load(file, ROOT);
+
+        assertNotNull(loaded);
+        assertThat(loaded.getDirectoryCount(), is(2));
+        assertThat(loaded.getFileCount(), is(101));
+        assertThat(loaded.get(ROOT).getModified(), is(1000L));
+        assertThat(loaded.get(ROOT).getSubdirectories(), contains(ROOT.resolve("sub")));
+        assertTrue(loaded.get(ROOT).getFiles().contains(LocalFolderIndex.hash("one.txt")));
+        assertThat(loaded.get(ROOT.resolve("sub")).getModified(), is(LocalFolderIndex.UNKNOWN_MODIFIED));
+        assertTrue(loaded.get(ROOT.resolve("sub")).getFiles().contains(LocalFolderIndex.hash("99.txt")));
+        assertFalse(Files.exists(file.toPath().resolveSibling(file.getName() + ".tmp")));
+    }
+
+    @Test
+    public void loadIgnoresMissingFileAndOtherRoot() throws IOException {
+        File file = indexFile();
+
+        assertThat(LocalFolderIndex.load(file, ROOT), is(nullValue()));
+
+        new LocalFolderIndex(ROOT).save(file);
+
+        assertThat(LocalFolderIndex.load(file, ROOT.resolve("other")), is(nullValue()));
+    }
+
+    @Test
+    public void loadRejectsTruncatedFile() throws IOException {
+        File file = indexFile();
+        LocalFolderIndex index = new LocalFolderIndex(ROOT);
+        index.getOrCreate(ROOT).getFiles().put(LocalFolderIndex.hash("one.txt"), 1, 2);
+        index.save(file);
+        byte[] content = Files.readAllBytes(file.toPath());
+        Files.write(file.toPath(), Arrays.copyOf(content, content.length - 4));
+
+        assertThrows(IOException.class, () -> LocalFolderIndex.load(file, ROOT));
+    }
+
+    private File indexFile() {
+        Path tempDir = this.tempDir;
+        assertNotNull(tempDir);
+        return tempDir.resolve("index").resolve("folder.index").toFile();
+    }
+}
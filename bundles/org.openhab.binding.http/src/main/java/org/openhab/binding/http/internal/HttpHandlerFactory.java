@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.http.internal;
 
-import static org.openhab.binding.http.internal.HttpBindingConstants.THING_TYPE_URL;
+import static org.openhab.binding.http.internal.HttpBindingConstants.*;
 
 import java.util.Set;
 
@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
@@ -27,10 +28,14 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.DynamicAddonMetrics;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,11 +56,13 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final UrlCacheRegistry urlCacheRegistry;
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_BINDING, BINDING_ID);
 
     @Activate
     public HttpHandlerFactory(@Reference HttpClientFactory httpClientFactory,
             @Reference HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            @Reference TimeZoneProvider timeZoneProvider) {
+            @Reference TimeZoneProvider timeZoneProvider, @Reference UrlCacheRegistry urlCacheRegistry) {
         this.secureClient = new HttpClient(new SslContextFactory.Client());
         this.insecureClient = new HttpClient(new SslContextFactory.Client(true));
         // clear user agent, this needs to be set later in the thing configuration as additional header
@@ -71,10 +78,12 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         }
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
     }
 
     @Deactivate
     public void deactivate() {
+        metrics.close();
         try {
             secureClient.stop();
             insecureClient.stop();
@@ -84,6 +93,15 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         }
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.setProvider(addonMetricsProvider);
+    }
+
+    public void unsetAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.unsetProvider(addonMetricsProvider);
+    }
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -94,7 +112,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory implements HttpC
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider);
+            return new HttpThingHandler(thing, this, httpDynamicStateDescriptionProvider, timeZoneProvider,
+                    urlCacheRegistry, metrics);
         }
 
         return null;
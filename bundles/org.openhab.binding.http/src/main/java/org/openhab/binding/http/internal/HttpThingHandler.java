@@ -44,6 +44,7 @@ import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.PointType;
@@ -72,6 +73,8 @@ import org.openhab.core.types.RefreshType;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.MetricTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,20 +93,26 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     private final RateLimitedHttpClient rateLimitedHttpClient;
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
     private final TimeZoneProvider timeZoneProvider;
+    private final UrlCacheRegistry urlCacheRegistry;
+    private final AddonMetrics metrics;
+    private final MetricTimer requestTimer;
 
     private HttpThingConfig config = new HttpThingConfig();
-    private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
+    private final Map<String, RefreshingUrlCache.Subscription> urlHandlers = new HashMap<>();
     private final Map<ChannelUID, ChannelHandler> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
-            TimeZoneProvider timeZoneProvider) {
+            TimeZoneProvider timeZoneProvider, UrlCacheRegistry urlCacheRegistry, AddonMetrics metrics) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClientProvider.getSecureClient(), scheduler);
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
         this.timeZoneProvider = timeZoneProvider;
+        this.urlCacheRegistry = urlCacheRegistry;
+        this.metrics = metrics;
+        this.requestTimer = metrics.timer("request.duration", AddonMetrics.TAG_THING, thing.getUID().toString());
     }
 
     @Override
@@ -117,7 +126,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
         if (command instanceof RefreshType) {
             String key = channelUrls.get(channelUID);
             if (key != null) {
-                RefreshingUrlCache refreshingUrlCache = urlHandlers.get(key);
+                RefreshingUrlCache.Subscription refreshingUrlCache = urlHandlers.get(key);
                 if (refreshingUrlCache != null) {
                     try {
                         refreshingUrlCache.get().ifPresentOrElse(itemValueConverter::process, () -> {
@@ -236,7 +245,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
                     urlHandlerCount, thing.getUID(), config.delay, config.refresh);
         }
 
-        urlHandlers.values().forEach(urlHandler -> urlHandler.start(scheduler, config.refresh));
+        urlHandlers.values().forEach(urlHandler -> urlHandler.start(config.refresh));
 
         updateStatus(ThingStatus.UNKNOWN);
     }
@@ -244,7 +253,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
     @Override
     public void dispose() {
         // stop update tasks
-        urlHandlers.values().forEach(RefreshingUrlCache::stop);
+        urlHandlers.values().forEach(RefreshingUrlCache.Subscription::stop);
         rateLimitedHttpClient.shutdown();
 
         // clear lists
@@ -254,6 +263,7 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
 
         // remove state descriptions
         httpDynamicStateDescriptionProvider.removeDescriptionsForThing(thing.getUID());
+        metrics.remove(AddonMetrics.TAG_THING, thing.getUID().toString());
 
         super.dispose();
     }
@@ -332,11 +342,12 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             // we need a key consisting of stateContent and URL, only if both are equal, we can use the same cache
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
-            Objects.requireNonNull(
-                    urlHandlers.computeIfAbsent(key,
-                            k -> new RefreshingUrlCache(rateLimitedHttpClient, stateUrl, config,
-                                    channelConfig.stateContent, config.contentType, this)))
-                    .addConsumer(itemValueConverter::process);
+            Objects.requireNonNull(urlHandlers.computeIfAbsent(key, k -> {
+                RefreshingUrlCache.Subscription subscription = urlCacheRegistry.subscribe(rateLimitedHttpClient,
+                        stateUrl, config, channelConfig.stateContent, config.contentType, this);
+                subscription.setRequestTimer(requestTimer);
+                return subscription;
+            })).addConsumer(itemValueConverter::process);
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.http.internal.HttpBindingConstants;
+import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link HttpCommandExtension} is responsible for handling console commands
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class HttpCommandExtension extends AbstractConsoleCommandExtension {
+    private static final String CMD_CACHE = "cache";
+
+    private final UrlCacheRegistry urlCacheRegistry;
+
+    @Activate
+    public HttpCommandExtension(final @Reference UrlCacheRegistry urlCacheRegistry) {
+        super(HttpBindingConstants.BINDING_ID, "Show statistics of the HTTP binding.");
+        this.urlCacheRegistry = urlCacheRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && CMD_CACHE.equalsIgnoreCase(args[0])) {
+            List<RefreshingUrlCache.Statistics> statistics = urlCacheRegistry.getStatistics();
+            long requests = 0;
+            long saved = 0;
+            for (RefreshingUrlCache.Statistics cache : statistics) {
+                console.println(cache.url() + ": subscriptions=" + cache.subscriptions() + ", refresh="
+                        + cache.refreshTime() + "s, requests=" + cache.requests() + ", notModified="
+                        + cache.notModified() + ", unchanged=" + cache.unchanged() + ", shared=" + cache.shared());
+                requests += cache.requests();
+                saved += cache.shared();
+            }
+            console.println(statistics.size() + " caches sent " + requests + " requests, " + saved
+                    + " requests were saved by sharing responses");
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage(CMD_CACHE,
+                "list the shared URL caches with their requests, 304 responses, skipped updates and saved requests"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.URI;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
+
+/**
+ * The {@link CacheValidators} keep the <code>ETag</code> and <code>Last-Modified</code> validators of the last
+ * response and add the matching conditional headers to the next request for the same URI
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class CacheValidators {
+    private @Nullable URI uri;
+    private @Nullable String eTag;
+    private @Nullable String lastModified;
+
+    /**
+     * add <code>If-None-Match</code> / <code>If-Modified-Since</code> headers if validators for the request URI are
+     * known and the request does not already carry its own conditional headers
+     *
+     * @param request the request to send
+     * @return <code>true</code> if the request was made conditional
+     */
+    public synchronized boolean apply(Request request) {
+        if (!request.getURI().equals(uri)) {
+            return false;
+        }
+        HttpFields headers = request.getHeaders();
+        if (headers.contains(HttpHeader.IF_NONE_MATCH) || headers.contains(HttpHeader.IF_MODIFIED_SINCE)) {
+            return false;
+        }
+        String eTag = this.eTag;
+        String lastModified = this.lastModified;
+        if (eTag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, eTag);
+        }
+        if (lastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+        }
+        return eTag != null || lastModified != null;
+    }
+
+    /**
+     * remember the validators of a successful response
+     *
+     * @param request the request that was sent
+     * @param response the response received for the request
+     */
+    public synchronized void update(Request request, Response response) {
+        HttpFields headers = response.getHeaders();
+        uri = request.getURI();
+        eTag = headers.get(HttpHeader.ETAG);
+        lastModified = headers.get(HttpHeader.LAST_MODIFIED);
+    }
+
+    /**
+     * forget all validators, the next request is sent unconditionally
+     */
+    public synchronized void clear() {
+        uri = null;
+        eTag = null;
+        lastModified = null;
+    }
+}
@@ -39,6 +39,7 @@ public class HttpResponseListener extends BufferingResponseListener {
     private final CompletableFuture<@Nullable ChannelHandlerContent> future;
     private final HttpStatusListener httpStatusListener;
     private final String fallbackEncoding;
+    private final @Nullable CacheValidators cacheValidators;
 
     /**
      * the HttpResponseListener is responsible
@@ -49,10 +50,26 @@ public class HttpResponseListener extends BufferingResponseListener {
      */
     public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
             @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener) {
+        this(future, fallbackEncoding, bufferSize, httpStatusListener, null);
+    }
+
+    /**
+     * the HttpResponseListener is responsible
+     *
+     * @param future Content future to complete with the result of the request
+     * @param fallbackEncoding a fallback encoding for the content (UTF-8 if null)
+     * @param bufferSize the buffer size for the content in kB (default 2048 kB)
+     * @param cacheValidators validators to update from successful responses (null if conditional requests are not
+     *            used)
+     */
+    public HttpResponseListener(CompletableFuture<@Nullable ChannelHandlerContent> future,
+            @Nullable String fallbackEncoding, int bufferSize, HttpStatusListener httpStatusListener,
+            @Nullable CacheValidators cacheValidators) {
         super(bufferSize * 1024);
         this.future = future;
         this.fallbackEncoding = fallbackEncoding != null ? fallbackEncoding : StandardCharsets.UTF_8.name();
         this.httpStatusListener = httpStatusListener;
+        this.cacheValidators = cacheValidators;
     }
 
     @Override
@@ -77,6 +94,10 @@ public class HttpResponseListener extends BufferingResponseListener {
                 case HttpStatus.RESET_CONTENT_205:
                 case HttpStatus.PARTIAL_CONTENT_206:
                 case HttpStatus.MULTI_STATUS_207:
+                    CacheValidators cacheValidators = this.cacheValidators;
+                    if (cacheValidators != null) {
+                        cacheValidators.update(request, response);
+                    }
                     byte[] content = getContent();
                     String encoding = getEncoding();
                     if (content != null) {
@@ -87,6 +108,11 @@ public class HttpResponseListener extends BufferingResponseListener {
                     }
                     httpStatusListener.onHttpSuccess();
                     break;
+                case HttpStatus.NOT_MODIFIED_304:
+                    logger.trace("Content of '{}' not modified", request.getURI());
+                    future.completeExceptionally(new HttpNotModifiedException());
+                    httpStatusListener.onHttpSuccess();
+                    break;
                 case HttpStatus.UNAUTHORIZED_401:
                     logger.debug("Requesting '{}' (method='{}', content='{}') failed: Authorization error",
                             request.getURI(), request.getMethod(), request.getContent());
@@ -15,16 +15,21 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,6 +38,8 @@ import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.MetricTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +47,11 @@ import org.slf4j.LoggerFactory;
  * The {@link RefreshingUrlCache} is responsible for requesting from a single URL and passing the content to the
  * channels
  *
+ * The cache can be shared by several {@link Subscription}s (e.g. from different things requesting the same resource).
+ * It refreshes with the shortest interval of all started subscriptions and passes the content to all of them. For
+ * <code>GET</code> requests the <code>ETag</code> and <code>Last-Modified</code> validators of the last response are
+ * sent as <code>If-None-Match</code> and <code>If-Modified-Since</code> headers with the next request.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -47,53 +59,139 @@ public class RefreshingUrlCache {
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
     private final String url;
-    private final RateLimitedHttpClient httpClient;
     private final boolean strictErrorHandling;
+    private final boolean skipUnchanged;
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
-    private final Set<Consumer<@Nullable ChannelHandlerContent>> consumers = ConcurrentHashMap.newKeySet();
     private final Map<String, String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
     private final @Nullable String httpContentType;
-    private final HttpStatusListener httpStatusListener;
+    private final ScheduledExecutorService executor;
+    private final Consumer<RefreshingUrlCache> unusedListener;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final CacheValidators cacheValidators = new CacheValidators();
+    private final HttpStatusListener httpStatusListener = new StatusDispatcher();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
 
     private @Nullable ScheduledFuture<?> future;
+    private int refreshTime = 0;
     private @Nullable ChannelHandlerContent lastContent;
 
-    public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
-            String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
-        this.httpClient = httpClient;
+    public RefreshingUrlCache(String url, HttpThingConfig thingConfig, String httpContent,
+            @Nullable String httpContentType, ScheduledExecutorService executor) {
+        this(url, thingConfig, httpContent, httpContentType, executor, cache -> {
+        });
+    }
+
+    /**
+     * create a new cache
+     *
+     * @param url the URL (may contain a date format pattern)
+     * @param thingConfig the configuration of the thing creating the cache
+     * @param httpContent the content of the request
+     * @param httpContentType the content type of the request
+     * @param executor the executor for the refresh task
+     * @param unusedListener called when the last subscription is stopped
+     */
+    public RefreshingUrlCache(String url, HttpThingConfig thingConfig, String httpContent,
+            @Nullable String httpContentType, ScheduledExecutorService executor,
+            Consumer<RefreshingUrlCache> unusedListener) {
         this.url = url;
         this.strictErrorHandling = thingConfig.strictErrorHandling;
+        this.skipUnchanged = thingConfig.skipUnchanged;
         this.timeout = thingConfig.timeout;
         this.bufferSize = thingConfig.bufferSize;
         this.httpMethod = thingConfig.stateMethod;
         this.headers = thingConfig.getHeaders();
         this.httpContent = httpContent;
         this.httpContentType = httpContentType;
-        this.httpStatusListener = httpStatusListener;
+        this.executor = executor;
+        this.unusedListener = unusedListener;
         fallbackEncoding = thingConfig.encoding;
     }
 
-    public void start(ScheduledExecutorService executor, int refreshTime) {
-        if (future != null) {
-            logger.warn("Starting refresh task requested but it is already started. This is bug.");
-            return;
-        }
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, refreshTime);
+    /**
+     * create a new subscription, it needs to be started to trigger refreshes
+     *
+     * @param httpClient the client used for requests while this subscription is the first started one
+     * @param httpStatusListener the listener for the results of the requests
+     * @return the subscription
+     */
+    public Subscription subscribe(RateLimitedHttpClient httpClient, HttpStatusListener httpStatusListener) {
+        Subscription subscription = new Subscription(httpClient, httpStatusListener);
+        subscriptions.add(subscription);
+        return subscription;
     }
 
-    public void stop() {
+    /**
+     * stop refreshing and remove all subscriptions
+     */
+    public synchronized void stop() {
         // clearing all listeners to prevent further updates
-        consumers.clear();
+        subscriptions.forEach(subscription -> subscription.consumers.clear());
+        subscriptions.clear();
         ScheduledFuture<?> future = this.future;
         if (future != null) {
             future.cancel(true);
+            this.future = null;
             logger.trace("Stopped refresh task for URL '{}'", url);
         }
+        refreshTime = 0;
+    }
+
+    /**
+     * check if no subscription uses this cache
+     */
+    public boolean isUnused() {
+        return subscriptions.isEmpty();
+    }
+
+    public Optional<ChannelHandlerContent> get() {
+        return Optional.ofNullable(lastContent);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(url, subscriptions.size(), refreshTime, requests.get(), notModified.get(),
+                unchanged.get(), shared.get());
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscription.consumers.clear();
+        subscriptions.remove(subscription);
+        reschedule();
+        if (subscriptions.isEmpty()) {
+            unusedListener.accept(this);
+        }
+    }
+
+    private synchronized void reschedule() {
+        int refreshTime = subscriptions.stream().mapToInt(subscription -> subscription.refreshTime)
+                .filter(time -> time > 0).min().orElse(0);
+        if (refreshTime == this.refreshTime) {
+            return;
+        }
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+            this.future = null;
+        }
+        this.refreshTime = refreshTime;
+        if (refreshTime > 0) {
+            this.future = executor.scheduleWithFixedDelay(this::refresh, 1, refreshTime, TimeUnit.SECONDS);
+            logger.trace("Started refresh task for URL '{}' with interval {}s", url, refreshTime);
+        } else {
+            logger.trace("Stopped refresh task for URL '{}'", url);
+        }
+    }
+
+    private List<Subscription> startedSubscriptions() {
+        return subscriptions.stream().filter(subscription -> subscription.refreshTime > 0).toList();
     }
 
     private void refresh() {
@@ -101,10 +199,12 @@ public class RefreshingUrlCache {
     }
 
     private void refresh(boolean isRetry) {
-        if (consumers.isEmpty()) {
+        List<Subscription> started = startedSubscriptions();
+        if (started.stream().allMatch(subscription -> subscription.consumers.isEmpty())) {
             // do not refresh if we don't have listeners
             return;
         }
+        RateLimitedHttpClient httpClient = started.get(0).httpClient;
 
         // format URL
         try {
@@ -114,9 +214,18 @@ public class RefreshingUrlCache {
             httpClient.newRequest(uri, httpMethod, httpContent, httpContentType).thenAccept(request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
                 headers.forEach(request::header);
+                if (httpMethod == HttpMethod.GET) {
+                    cacheValidators.apply(request);
+                }
 
+                long requestStart = System.nanoTime();
                 CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
-                responseContentFuture.exceptionally(t -> {
+                responseContentFuture.whenComplete((content, t) -> {
+                    started.forEach(subscription -> subscription.requestTimer.recordSince(requestStart));
+                    if (t instanceof HttpNotModifiedException) {
+                        processNotModified();
+                        return;
+                    }
                     if (t instanceof HttpAuthException) {
                         if (isRetry || !httpClient.reAuth(uri)) {
                             logger.debug("Authentication failed for '{}', retry={}", uri, isRetry);
@@ -125,15 +234,17 @@ public class RefreshingUrlCache {
                             refresh(true);
                         }
                     }
-                    return null;
-                }).thenAccept(this::processResult);
+                    processResult(t == null ? content : null);
+                });
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
+                requests.incrementAndGet();
+                shared.addAndGet(started.size() - 1);
                 request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
+                        httpStatusListener, cacheValidators));
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
@@ -147,17 +258,54 @@ public class RefreshingUrlCache {
         }
     }
 
-    public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
-        consumers.add(consumer);
+    private synchronized void processNotModified() {
+        notModified.incrementAndGet();
+        ChannelHandlerContent content = lastContent;
+        if (content == null) {
+            // the validators are cleared whenever the content is, so this should not happen
+            cacheValidators.clear();
+            return;
+        }
+        if (skipUnchanged) {
+            unchanged.incrementAndGet();
+        }
+        deliver(content, skipUnchanged);
     }
 
-    public Optional<ChannelHandlerContent> get() {
-        return Optional.ofNullable(lastContent);
+    private synchronized void processResult(@Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        this.lastContent = content;
+        if (content == null) {
+            cacheValidators.clear();
+            if (strictErrorHandling) {
+                deliver(null, false);
+            }
+        } else if (skipUnchanged && lastContent != null && isSameContent(lastContent, content)) {
+            unchanged.incrementAndGet();
+            deliver(content, true);
+        } else {
+            deliver(content, false);
+        }
+    }
+
+    private static boolean isSameContent(ChannelHandlerContent content, ChannelHandlerContent other) {
+        return Objects.equals(content.getMediaType(), other.getMediaType())
+                && Arrays.equals(content.getRawContent(), other.getRawContent());
     }
 
-    private void processResult(@Nullable ChannelHandlerContent content) {
-        if (content != null || strictErrorHandling) {
-            for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
+    /**
+     * pass the content to the consumers of all started subscriptions
+     *
+     * @param content the content
+     * @param onlyOutdated only pass the content to subscriptions that did not receive the current content yet
+     */
+    private void deliver(@Nullable ChannelHandlerContent content, boolean onlyOutdated) {
+        for (Subscription subscription : startedSubscriptions()) {
+            if (onlyOutdated && subscription.upToDate) {
+                continue;
+            }
+            subscription.upToDate = content != null;
+            for (Consumer<@Nullable ChannelHandlerContent> consumer : subscription.consumers) {
                 try {
                     consumer.accept(content);
                 } catch (IllegalArgumentException | IllegalStateException e) {
@@ -165,6 +313,96 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshingUrlCache [url=" + url + ", method=" + httpMethod + ", subscriptions=" + subscriptions.size()
+                + ", refreshTime=" + refreshTime + "]";
+    }
+
+    /**
+     * A subscription to the content of the cache
+     */
+    public class Subscription {
+        private final RateLimitedHttpClient httpClient;
+        private final HttpStatusListener httpStatusListener;
+        private final Set<Consumer<@Nullable ChannelHandlerContent>> consumers = ConcurrentHashMap.newKeySet();
+        private volatile int refreshTime = 0;
+        private volatile boolean upToDate = false;
+        private volatile MetricTimer requestTimer = AddonMetrics.NOOP.timer("");
+
+        private Subscription(RateLimitedHttpClient httpClient, HttpStatusListener httpStatusListener) {
+            this.httpClient = httpClient;
+            this.httpStatusListener = httpStatusListener;
+        }
+
+        public void addConsumer(Consumer<@Nullable ChannelHandlerContent> consumer) {
+            consumers.add(consumer);
+        }
+
+        /**
+         * set the timer recording the duration of the requests of this cache
+         *
+         * @param requestTimer the timer
+         */
+        public void setRequestTimer(MetricTimer requestTimer) {
+            this.requestTimer = requestTimer;
+        }
+
+        /**
+         * start receiving content
+         *
+         * @param refreshTime the maximum time in s between two refreshes
+         */
+        public void start(int refreshTime) {
+            if (this.refreshTime > 0) {
+                logger.warn("Starting refresh task requested but it is already started. This is bug.");
+                return;
+            }
+            this.refreshTime = Math.max(1, refreshTime);
+            reschedule();
+        }
+
+        /**
+         * stop receiving content, the subscription can't be used afterwards
+         */
+        public void stop() {
+            unsubscribe(this);
+        }
+
+        public Optional<ChannelHandlerContent> get() {
+            return RefreshingUrlCache.this.get();
+        }
+    }
+
+    /**
+     * Passes the request results to the listeners of all started subscriptions
+     */
+    private class StatusDispatcher implements HttpStatusListener {
+        @Override
+        public void onHttpError(@Nullable String message) {
+            startedSubscriptions().forEach(subscription -> subscription.httpStatusListener.onHttpError(message));
+        }
+
+        @Override
+        public void onHttpSuccess() {
+            startedSubscriptions().forEach(subscription -> subscription.httpStatusListener.onHttpSuccess());
+        }
+    }
+
+    /**
+     * Request statistics of a cache
+     *
+     * @param url the URL of the cache
+     * @param subscriptions the number of subscriptions
+     * @param refreshTime the current refresh interval in s
+     * @param requests the number of requests sent
+     * @param notModified the number of requests answered with <code>304 Not Modified</code>
+     * @param unchanged the number of responses that did not update the channels because the content was unchanged
+     * @param shared the number of requests saved by passing a response to more than one subscription
+     */
+    public record Statistics(String url, int subscriptions, int refreshTime, long requests, long notModified,
+            long unchanged, long shared) {
     }
 }
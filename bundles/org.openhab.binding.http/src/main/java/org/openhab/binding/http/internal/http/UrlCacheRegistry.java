@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpMethod;
+import org.openhab.binding.http.internal.config.HttpAuthMode;
+import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.core.common.ThreadPoolManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link UrlCacheRegistry} shares {@link RefreshingUrlCache}s between all things of the binding, so that equal
+ * requests (same method, URL, headers, content and request settings) are only sent once per refresh
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = UrlCacheRegistry.class)
+public class UrlCacheRegistry {
+    private final Logger logger = LoggerFactory.getLogger(UrlCacheRegistry.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<CacheKey, RefreshingUrlCache> caches = new HashMap<>();
+
+    @Activate
+    public UrlCacheRegistry() {
+        this(ThreadPoolManager.getScheduledPool("thingHandler"));
+    }
+
+    public UrlCacheRegistry(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        caches.values().forEach(RefreshingUrlCache::stop);
+        caches.clear();
+    }
+
+    /**
+     * subscribe to the cache for a request, the cache is created if no other subscription for an equal request exists
+     *
+     * @param httpClient the client of the subscribing thing
+     * @param url the URL (may contain a date format pattern)
+     * @param thingConfig the configuration of the subscribing thing
+     * @param httpContent the content of the request
+     * @param httpContentType the content type of the request
+     * @param httpStatusListener the listener for the results of the requests
+     * @return the subscription, needs to be started
+     */
+    public synchronized RefreshingUrlCache.Subscription subscribe(RateLimitedHttpClient httpClient, String url,
+            HttpThingConfig thingConfig, String httpContent, @Nullable String httpContentType,
+            HttpStatusListener httpStatusListener) {
+        CacheKey key = new CacheKey(thingConfig.stateMethod, url, thingConfig.getHeaders(), httpContent,
+                httpContentType, thingConfig.ignoreSSLErrors, thingConfig.authMode, thingConfig.username,
+                thingConfig.password, thingConfig.timeout, thingConfig.bufferSize, thingConfig.encoding,
+                thingConfig.strictErrorHandling, thingConfig.skipUnchanged);
+        RefreshingUrlCache cache = caches.computeIfAbsent(key, k -> new RefreshingUrlCache(url, thingConfig,
+                httpContent, httpContentType, scheduler, this::removeIfUnused));
+        logger.trace("Subscribing to {}", cache);
+        return cache.subscribe(httpClient, httpStatusListener);
+    }
+
+    private synchronized void removeIfUnused(RefreshingUrlCache cache) {
+        if (cache.isUnused() && caches.values().remove(cache)) {
+            cache.stop();
+            logger.trace("Removed unused {}", cache);
+        }
+    }
+
+    /**
+     * get the request statistics of all caches
+     */
+    public synchronized List<RefreshingUrlCache.Statistics> getStatistics() {
+        return caches.values().stream().map(RefreshingUrlCache::getStatistics).toList();
+    }
+
+    private record CacheKey(HttpMethod method, String url, Map<String, String> headers, String content,
+            @Nullable String contentType, boolean ignoreSSLErrors, HttpAuthMode authMode, String username,
+            String password, int timeout, int bufferSize, @Nullable String encoding, boolean strictErrorHandling,
+            boolean skipUnchanged) {
+    }
+}
@@ -13,7 +13,9 @@
 package org.openhab.binding.http;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -46,8 +48,11 @@ import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.binding.http.internal.http.HttpStatusListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
 import org.openhab.binding.http.internal.http.RefreshingUrlCache;
+import org.openhab.binding.http.internal.http.UrlCacheRegistry;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
 
+import com.github.tomakehurst.wiremock.client.WireMock;
+
 /**
  * The {@link RefreshingUrlCacheTest} implements tests for the {@link RefreshingUrlCache}
  *
@@ -245,6 +250,88 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
         assertTrue(returnedQueryValue.matches("\\d{4}-\\d{2}-\\d{2}"));
     }
 
+    @Test
+    public void testConditionalRequestIsSentWithValidators() {
+        String eTag = "\"1234\"";
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withHeader("ETag", eTag).withBody(TEST_CONTENT)));
+        stubFor(get(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo(eTag)).atPriority(1)
+                .willReturn(aResponse().withStatus(304)));
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // the content of the first response is passed again for 304 responses
+        waitForAssert(() -> assertEquals(3, contentWrappers.size()));
+        urlCache.stop();
+
+        WireMock.verify(getRequestedFor(urlEqualTo(TEST_LOCATION)).withHeader("If-None-Match", equalTo(eTag)));
+        verify(statusListener, never()).onHttpError(any());
+        assertTrue(contentWrappers.stream().map(Objects::requireNonNull).map(ChannelHandlerContent::getAsString)
+                .allMatch(TEST_CONTENT::equals));
+        assertTrue(urlCache.getStatistics().notModified() >= 2);
+    }
+
+    @Test
+    public void testNoUpdateOnUnchangedContentWithSkipUnchanged() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        thingConfig.skipUnchanged = true;
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+
+        // wait for at least three requests
+        verify(statusListener, timeout(4000).atLeast(3)).onHttpSuccess();
+        urlCache.stop();
+
+        assertEquals(1, contentWrappers.size());
+        assertTrue(urlCache.getStatistics().unchanged() >= 2);
+    }
+
+    @Test
+    public void testContentIsSharedBetweenSubscriptions() {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        HttpStatusListener otherStatusListener = mock(HttpStatusListener.class);
+        List<@Nullable ChannelHandlerContent> otherContentWrappers = new CopyOnWriteArrayList<>();
+
+        RefreshingUrlCache urlCache = getUrlCache(TEST_CONTENT);
+        RefreshingUrlCache.Subscription subscription = urlCache.subscribe(rateLimitedHttpClient, otherStatusListener);
+        subscription.addConsumer(otherContentWrappers::add);
+        subscription.start(10);
+
+        waitForAssert(() -> assertEquals(2, otherContentWrappers.size()));
+        verify(otherStatusListener, timeout(2000).atLeast(2)).onHttpSuccess();
+        urlCache.stop();
+
+        // both subscriptions are refreshed with the shorter interval and share the requests
+        verify(otherStatusListener, never()).onHttpError(any());
+        RefreshingUrlCache.Statistics statistics = urlCache.getStatistics();
+        assertTrue(statistics.shared() >= 2);
+        assertFalse(contentWrappers.isEmpty());
+    }
+
+    @Test
+    public void testRegistrySharesEqualRequests() {
+        UrlCacheRegistry registry = new UrlCacheRegistry(scheduler);
+        HttpThingConfig otherThingConfig = new HttpThingConfig();
+        otherThingConfig.timeout = thingConfig.timeout;
+
+        RefreshingUrlCache.Subscription subscription1 = registry.subscribe(rateLimitedHttpClient, url, thingConfig,
+                TEST_CONTENT, null, statusListener);
+        RefreshingUrlCache.Subscription subscription2 = registry.subscribe(rateLimitedHttpClient, url,
+                otherThingConfig, TEST_CONTENT, null, statusListener);
+        assertEquals(1, registry.getStatistics().size());
+        assertEquals(2, registry.getStatistics().get(0).subscriptions());
+
+        otherThingConfig.headers = new ArrayList<>(List.of("X-SMARTHOME=TESTVALUE"));
+        RefreshingUrlCache.Subscription subscription3 = registry.subscribe(rateLimitedHttpClient, url,
+                otherThingConfig, TEST_CONTENT, null, statusListener);
+        assertEquals(2, registry.getStatistics().size());
+
+        subscription1.stop();
+        subscription3.stop();
+        assertEquals(1, registry.getStatistics().size());
+        subscription2.stop();
+        assertTrue(registry.getStatistics().isEmpty());
+    }
+
     /**
      * helper method to create a {@link RefreshingUrlCache} and add a test listener
      *
@@ -252,10 +339,10 @@ public class RefreshingUrlCacheTest extends AbstractWireMockTest {
      * @return the cache object
      */
     private RefreshingUrlCache getUrlCache(String content) {
-        RefreshingUrlCache urlCache = new RefreshingUrlCache(rateLimitedHttpClient, url, thingConfig, content, null,
-                statusListener);
-        urlCache.addConsumer(contentWrappers::add);
-        urlCache.start(scheduler, thingConfig.refresh);
+        RefreshingUrlCache urlCache = new RefreshingUrlCache(url, thingConfig, content, null, scheduler);
+        RefreshingUrlCache.Subscription subscription = urlCache.subscribe(rateLimitedHttpClient, statusListener);
+        subscription.addConsumer(contentWrappers::add);
+        subscription.start(thingConfig.refresh);
         return urlCache;
     }
 }
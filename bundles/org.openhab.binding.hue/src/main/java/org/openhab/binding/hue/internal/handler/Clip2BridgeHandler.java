@@ -15,18 +15,22 @@ package org.openhab.binding.hue.internal.handler;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -131,7 +135,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     private @Nullable Future<?> checkConnectionTask;
     private @Nullable Future<?> updateOnlineStateTask;
     private @Nullable ScheduledFuture<?> scheduledUpdateTask;
-    private Map<Integer, Future<?>> resourcesEventTasks = new ConcurrentHashMap<>();
+    private @Nullable Future<?> resourcesEventTask;
+
+    /**
+     * Queue of SSE events which have not yet been dispatched to the child things. Events arriving while a dispatch is
+     * pending are dispatched by the same task, but still one event after the other.
+     */
+    private final Queue<ResourcesEvent> pendingResourcesEvents = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean resourcesEventTaskScheduled = new AtomicBoolean();
+    private final Clip2ResourceRouter<Clip2ThingHandler> resourceRouter = new Clip2ResourceRouter<>(
+            this::getClip2ThingHandlers, Clip2ThingHandler::getSubscribedResourceIds);
 
     private boolean assetsLoaded;
     private int applKeyRetriesRemaining;
@@ -258,6 +271,16 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        resourceRouter.invalidate();
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        resourceRouter.invalidate();
+    }
+
     /**
      * If a child thing has been added, and the bridge is online, update the child's data.
      */
@@ -290,10 +313,11 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
             checkConnectionTask = null;
             updateOnlineStateTask = null;
             scheduledUpdateTask = null;
-            synchronized (resourcesEventTasks) {
-                resourcesEventTasks.values().forEach(task -> cancelTask(task, true));
-                resourcesEventTasks.clear();
-            }
+            cancelTask(resourcesEventTask, true);
+            resourcesEventTask = null;
+            pendingResourcesEvents.clear();
+            resourcesEventTaskScheduled.set(false);
+            resourceRouter.clear();
             ServiceRegistration<?> registration = trustManagerRegistration;
             if (Objects.nonNull(registration)) {
                 registration.unregister();
@@ -543,38 +567,86 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Called when an SSE event message comes in with a valid list of resources. For each resource received, inform all
-     * child thing handlers with the respective resource.
+     * Called when an SSE event message comes in with a valid list of resources. The resources are queued, and then
+     * dispatched to only those child thing handlers which consume the respective resource.
      *
      * @param resources a list of incoming resource objects.
      */
     public void onResourcesEvent(List<Resource> resources) {
         if (assetsLoaded) {
-            synchronized (resourcesEventTasks) {
-                int index = resourcesEventTasks.size();
-                resourcesEventTasks.put(index, scheduler.submit(() -> {
-                    onResourcesEventTask(resources);
-                    resourcesEventTasks.remove(index);
-                }));
+            pendingResourcesEvents.add(new ResourcesEvent(resources, System.nanoTime()));
+            if (resourcesEventTaskScheduled.compareAndSet(false, true)) {
+                resourcesEventTask = scheduler.submit(() -> onResourcesEventTask());
             }
         }
     }
 
-    private void onResourcesEventTask(List<Resource> resources) {
-        int numberOfResources = resources.size();
-        logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
-        Setters.mergeLightResources(resources);
-        if (numberOfResources != resources.size()) {
-            logger.debug("onResourcesEventTask() merged to {} resources", resources.size());
+    private void onResourcesEventTask() {
+        try {
+            dispatchResourcesEvents();
+        } finally {
+            resourcesEventTaskScheduled.set(false);
+            // reschedule if events arrived meanwhile
+            if (assetsLoaded && !pendingResourcesEvents.isEmpty()
+                    && resourcesEventTaskScheduled.compareAndSet(false, true)) {
+                resourcesEventTask = scheduler.submit(() -> onResourcesEventTask());
+            }
         }
-        if (onResources(resources)) {
-            updateAutomationChannelsNow();
+    }
+
+    /**
+     * Dispatch all pending SSE events in their original order. The event boundaries are kept, so each child thing
+     * handler is called at most once per event, with only the resources of that event. This matters e.g. for the
+     * detection of a scene activation, which must not suppress a scene deactivation of another event.
+     */
+    private void dispatchResourcesEvents() {
+        int eventCount = 0;
+        ResourcesEvent event;
+        while ((event = pendingResourcesEvents.poll()) != null) {
+            List<Resource> resources = event.resources();
+            int numberOfResources = resources.size();
+            logger.debug("onResourcesEventTask() resource count {}", numberOfResources);
+            Setters.mergeLightResources(resources);
+            if (numberOfResources != resources.size()) {
+                logger.debug("onResourcesEventTask() merged to {} resources", resources.size());
+            }
+            if (onResources(resources)) {
+                updateAutomationChannelsNow();
+            }
+            resourceRouter.route(resources).forEach((handler, eventResources) -> handler.onResources(eventResources));
+            resourceRouter.recordDispatch(event.receivedNanos());
+            eventCount++;
+        }
+        if (eventCount > 0 && logger.isTraceEnabled()) {
+            logger.trace("onResourcesEventTask() dispatched {} events, {}", eventCount,
+                    resourceRouter.getDispatchStatistics());
         }
+    }
+
+    private List<Clip2ThingHandler> getClip2ThingHandlers() {
+        List<Clip2ThingHandler> handlers = new ArrayList<>();
         getThing().getThings().forEach(thing -> {
             if (thing.getHandler() instanceof Clip2ThingHandler clip2ThingHandler) {
-                clip2ThingHandler.onResources(resources);
+                handlers.add(clip2ThingHandler);
             }
         });
+        return handlers;
+    }
+
+    /**
+     * Called by a child thing handler when the set of resources it consumes has changed.
+     */
+    public void onResourceSubscriptionsChanged() {
+        resourceRouter.invalidate();
+    }
+
+    /**
+     * Get the statistics of the SSE event dispatching for the console app.
+     *
+     * @return a description of the statistics.
+     */
+    public String getEventDispatchStatistics() {
+        return resourceRouter.getDispatchStatistics();
     }
 
     /**
@@ -933,4 +1005,10 @@ public class Clip2BridgeHandler extends BaseBridgeHandler {
         }
         return requireUpdateChannels;
     }
+
+    /**
+     * The resources of an SSE event together with the {@link System#nanoTime()} of its reception.
+     */
+    private record ResourcesEvent(List<Resource> resources, long receivedNanos) {
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+import org.openhab.binding.hue.internal.api.dto.clip2.ResourceReference;
+
+/**
+ * The {@link Clip2ResourceRouter} decides which subscribers shall receive the resources of an SSE event.
+ *
+ * It keeps an index from resource ID to the subscribers which consume that resource. A resource is delivered to the
+ * subscribers of its own ID, and to the subscribers of the ID of its owner and of its group, so that e.g. a newly
+ * added scene reaches the room or zone it belongs to. The index is rebuilt lazily after it has been invalidated, since
+ * subscriptions change rarely compared to the rate of events.
+ *
+ * The router also keeps statistics about the latency between the reception of an event and its dispatch.
+ *
+ * @param <T> the type of the subscribers
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2ResourceRouter<T> {
+
+    private final Supplier<Collection<T>> subscribers;
+    private final Function<T, Set<String>> subscriptions;
+    private final AtomicBoolean indexStale = new AtomicBoolean(true);
+
+    private volatile Map<String, List<T>> index = Map.of();
+
+    private long dispatchCount = 0;
+    private long dispatchNanosTotal = 0;
+    private long dispatchNanosMax = 0;
+    private long dispatchNanosLast = 0;
+
+    /**
+     * Create a new router.
+     *
+     * @param subscribers supplies the current subscribers when the index is rebuilt
+     * @param subscriptions supplies the IDs of the resources a subscriber consumes
+     */
+    public Clip2ResourceRouter(Supplier<Collection<T>> subscribers, Function<T, Set<String>> subscriptions) {
+        this.subscribers = subscribers;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Mark the index as outdated, e.g. because a subscriber was added or its subscriptions have changed.
+     */
+    public void invalidate() {
+        indexStale.set(true);
+    }
+
+    private Map<String, List<T>> getIndex() {
+        if (indexStale.getAndSet(false)) {
+            Map<String, List<T>> newIndex = new HashMap<>();
+            for (T subscriber : subscribers.get()) {
+                for (String resourceId : subscriptions.apply(subscriber)) {
+                    newIndex.computeIfAbsent(resourceId, k -> new ArrayList<>(1)).add(subscriber);
+                }
+            }
+            index = newIndex;
+        }
+        return index;
+    }
+
+    /**
+     * Group the given resources by the subscribers which consume them. The order of the resources is retained.
+     *
+     * @param resources the resources of one event.
+     * @return a map between each subscriber and the resources it consumes.
+     */
+    public Map<T, List<Resource>> route(List<Resource> resources) {
+        Map<String, List<T>> index = getIndex();
+        Map<T, List<Resource>> batches = new LinkedHashMap<>();
+        for (Resource resource : resources) {
+            addToBatches(batches, index, resource.getId(), resource);
+            addToBatches(batches, index, getReferenceId(resource.getOwner()), resource);
+            addToBatches(batches, index, getReferenceId(resource.getGroup()), resource);
+        }
+        return batches;
+    }
+
+    private static @Nullable String getReferenceId(@Nullable ResourceReference reference) {
+        return Objects.nonNull(reference) ? reference.getId() : null;
+    }
+
+    private void addToBatches(Map<T, List<Resource>> batches, Map<String, List<T>> index, @Nullable String resourceId,
+            Resource resource) {
+        List<T> targets = Objects.nonNull(resourceId) ? index.get(resourceId) : null;
+        if (Objects.nonNull(targets)) {
+            for (T target : targets) {
+                List<Resource> batch = batches.computeIfAbsent(target, k -> new ArrayList<>());
+                // a resource may match a subscriber more than once, e.g. by its own ID and its owner ID
+                if (batch.isEmpty() || batch.get(batch.size() - 1) != resource) {
+                    batch.add(resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record the time between the reception of an event and the dispatch of its resources.
+     *
+     * @param receivedNanos the {@link System#nanoTime()} when the event was received.
+     */
+    public synchronized void recordDispatch(long receivedNanos) {
+        long latency = System.nanoTime() - receivedNanos;
+        dispatchCount++;
+        dispatchNanosTotal += latency;
+        dispatchNanosMax = Math.max(dispatchNanosMax, latency);
+        dispatchNanosLast = latency;
+    }
+
+    /**
+     * Get a description of the dispatch latency statistics.
+     */
+    public synchronized String getDispatchStatistics() {
+        long average = dispatchCount > 0 ? dispatchNanosTotal / dispatchCount : 0;
+        return String.format("events: %d, latency last: %d µs, average: %d µs, max: %d µs, indexed resources: %d",
+                dispatchCount, TimeUnit.NANOSECONDS.toMicros(dispatchNanosLast),
+                TimeUnit.NANOSECONDS.toMicros(average), TimeUnit.NANOSECONDS.toMicros(dispatchNanosMax),
+                index.size());
+    }
+
+    public synchronized long getDispatchCount() {
+        return dispatchCount;
+    }
+
+    /**
+     * Clear the index and the statistics.
+     */
+    public synchronized void clear() {
+        index = Map.of();
+        indexStale.set(true);
+        dispatchCount = 0;
+        dispatchNanosTotal = 0;
+        dispatchNanosMax = 0;
+        dispatchNanosLast = 0;
+    }
+}
@@ -618,6 +618,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
         thisResource.setId(resourceId);
         this.resourceId = resourceId;
         logger.debug("{} -> initialize()", resourceId);
+        notifyResourceSubscriptionsChanged();
 
         updateThingFromLegacy();
         updateStatus(ThingStatus.UNKNOWN);
@@ -728,6 +729,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                     sceneResource.setContentType(ContentType.FULL_STATE);
                     sceneContributorsCache.put(sceneResource.getId(), sceneResource);
                     sceneResourceEntries.put(sceneResource.getName(), sceneResource);
+                    notifyResourceSubscriptionsChanged();
                     updateSceneChannelStateDescription();
                     return FLAG_SCENE_ADD;
                 }
@@ -736,6 +738,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
                 Resource deletedScene = sceneContributorsCache.remove(sceneResource.getId());
                 if (Objects.nonNull(deletedScene)) {
                     sceneResourceEntries.remove(deletedScene.getName());
+                    notifyResourceSubscriptionsChanged();
                     updateSceneChannelStateDescription();
                     return FLAG_SCENE_DELETE;
                 }
@@ -1173,6 +1176,32 @@ public class Clip2ThingHandler extends BaseThingHandler {
             commandResourceIds.clear();
             commandResourceIds.putAll(services.stream() // use a 'mergeFunction' to prevent duplicates
                     .collect(Collectors.toMap(ResourceReference::getType, ResourceReference::getId, (r1, r2) -> r1)));
+
+            notifyResourceSubscriptionsChanged();
+        }
+    }
+
+    /**
+     * Get the IDs of the resources that this thing consumes, i.e. its own resource, and the resources of its service
+     * and scene contributors. Used by the bridge handler to route incoming events.
+     *
+     * @return the set of resource IDs.
+     */
+    public Set<String> getSubscribedResourceIds() {
+        Set<String> resourceIds = new HashSet<>(serviceContributorsCache.keySet());
+        resourceIds.addAll(sceneContributorsCache.keySet());
+        resourceIds.add(resourceId);
+        return resourceIds;
+    }
+
+    /**
+     * Inform the bridge handler that the set of resources consumed by this thing has changed.
+     */
+    private void notifyResourceSubscriptionsChanged() {
+        try {
+            getBridgeHandler().onResourceSubscriptionsChanged();
+        } catch (AssetNotLoadedException e) {
+            // the bridge handler rebuilds its index when this thing is initialized again
         }
     }
 
@@ -1303,6 +1332,7 @@ public class Clip2ThingHandler extends BaseThingHandler {
 
             if (!scenes.isEmpty()) {
                 sceneContributorsCache.putAll(scenes.stream().collect(Collectors.toMap(s -> s.getId(), s -> s)));
+                notifyResourceSubscriptionsChanged();
                 sceneResourceEntries.putAll(scenes.stream().collect(Collectors.toMap(s -> s.getName(), s -> s)));
 
                 State state = Objects.requireNonNull(
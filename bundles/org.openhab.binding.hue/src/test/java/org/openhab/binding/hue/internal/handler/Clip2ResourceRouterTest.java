@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.api.dto.clip2.Resource;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link Clip2ResourceRouter}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class Clip2ResourceRouterTest {
+
+    private static final Gson GSON = new Gson();
+
+    private final Map<String, Set<String>> subscriptions = new HashMap<>();
+    private final List<String> rebuilds = new ArrayList<>();
+    private final Clip2ResourceRouter<String> router = new Clip2ResourceRouter<>(() -> {
+        rebuilds.add("rebuild");
+        return subscriptions.keySet();
+    }, subscriber -> subscriptions.getOrDefault(subscriber, Set.of()));
+
+    private static Resource resource(String id) {
+        return new Resource().setId(id);
+    }
+
+    private static Resource sceneInGroup(String id, String groupId) {
+        return GSON.fromJson("{\"id\":\"" + id + "\",\"type\":\"scene\",\"group\":{\"rid\":\"" + groupId
+                + "\",\"rtype\":\"room\"}}", Resource.class);
+    }
+
+    @Test
+    void resourcesAreOnlyRoutedToSubscribers() {
+        subscriptions.put("lamp", Set.of("device1", "light1"));
+        subscriptions.put("room", Set.of("room1", "grouped1"));
+
+        Resource light = resource("light1");
+        Resource grouped = resource("grouped1");
+        Resource unknown = resource("motion9");
+        Resource light2 = resource("light1");
+        Map<String, List<Resource>> batches = router.route(List.of(light, grouped, unknown, light2));
+
+        assertEquals(List.of("lamp", "room"), List.copyOf(batches.keySet()));
+        assertEquals(List.of(light, light2), batches.get("lamp"));
+        assertEquals(List.of(grouped), batches.get("room"));
+    }
+
+    @Test
+    void resourcesAreRoutedByGroup() {
+        subscriptions.put("room", Set.of("room1"));
+        subscriptions.put("zone", Set.of("zone1"));
+
+        Resource scene = sceneInGroup("scene1", "room1");
+        Map<String, List<Resource>> batches = router.route(List.of(scene));
+
+        assertEquals(Set.of("room"), batches.keySet());
+        assertEquals(List.of(scene), batches.get("room"));
+    }
+
+    @Test
+    void resourceIsDeliveredOncePerSubscriber() {
+        subscriptions.put("room", Set.of("room1", "scene1"));
+
+        Resource scene = sceneInGroup("scene1", "room1");
+        assertEquals(List.of(scene), router.route(List.of(scene)).get("room"));
+    }
+
+    @Test
+    void indexIsRebuiltOnlyWhenInvalidated() {
+        subscriptions.put("lamp", Set.of("light1"));
+        router.route(List.of(resource("light1")));
+        router.route(List.of(resource("light1")));
+        assertEquals(1, rebuilds.size());
+
+        subscriptions.put("lamp", Set.of("light1", "light2"));
+        assertTrue(router.route(List.of(resource("light2"))).isEmpty());
+
+        router.invalidate();
+        assertEquals(1, router.route(List.of(resource("light2"))).size());
+        assertEquals(2, rebuilds.size());
+    }
+
+    @Test
+    void dispatchesAreCounted() {
+        router.recordDispatch(System.nanoTime());
+        router.recordDispatch(System.nanoTime());
+        assertEquals(2, router.getDispatchCount());
+        assertTrue(router.getDispatchStatistics().startsWith("events: 2"));
+
+        router.clear();
+        assertEquals(0, router.getDispatchCount());
+    }
+}
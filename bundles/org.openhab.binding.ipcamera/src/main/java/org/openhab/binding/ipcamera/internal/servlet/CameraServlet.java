@@ -49,8 +49,9 @@ public class CameraServlet extends IpCameraServlet {
 
     private final IpCameraHandler handler;
     public OpenStreams openStreams = new OpenStreams();
-    private OpenStreams openSnapshotStreams = new OpenStreams();
-    private OpenStreams openAutoFpsStreams = new OpenStreams();
+    private OpenStreams openSnapshotStreams = new OpenStreams(1);
+    private OpenStreams openAutoFpsStreams = new OpenStreams(1);
+    private volatile int autoFpsCounter = 0;
 
     public CameraServlet(IpCameraHandler handler, HttpService httpService) {
         super(handler, httpService, INIT_PARAMETERS);
@@ -161,98 +162,42 @@ public class CameraServlet extends IpCameraServlet {
                 }
                 return;
             case "/snapshots.mjpeg":
+                StreamOutput output = new StreamOutput(resp, openSnapshotStreams, this::snapshotStreamClosed);
                 handler.streamingSnapshotMjpeg = true;
                 handler.startSnapshotPolling();
-                StreamOutput output = new StreamOutput(resp);
-                openSnapshotStreams.addStream(output);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(handler.cameraConfig.getPollTime());
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openSnapshotStreams.removeStream(output);
-                        logger.debug("Now there are {} snapshots.mjpeg streams open.",
-                                openSnapshotStreams.getNumberOfStreams());
-                        if (openSnapshotStreams.isEmpty()) {
-                            handler.streamingSnapshotMjpeg = false;
-                            handler.stopSnapshotPolling();
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                openSnapshotStreams.startPolling(handler::getSnapshot, handler.cameraConfig.getPollTime());
+                output.start(req);
+                return;
             case "/ipcamera.mjpeg":
                 if (openStreams.isEmpty()) {
                     logger.debug("First stream requested, opening up stream from camera");
                     handler.openCamerasStream();
                     if (handler.usingRtspForMjpeg()) {
-                        output = new StreamOutput(resp);
+                        output = new StreamOutput(resp, openStreams, this::mjpegStreamClosed);
                     } else {
-                        output = new StreamOutput(resp, handler.mjpegContentType);
+                        output = new StreamOutput(resp, openStreams, handler.mjpegContentType,
+                                this::mjpegStreamClosed);
                     }
                 } else if (handler.usingRtspForMjpeg()) {
-                    output = new StreamOutput(resp);
+                    output = new StreamOutput(resp, openStreams, this::mjpegStreamClosed);
                 } else {
                     ChannelTracking tracker = handler.channelTrackingMap.get(handler.getTinyUrl(handler.mjpegUri));
                     if (tracker == null || !tracker.getChannel().isOpen()) {
                         logger.debug("Not the first stream requested but the stream from camera was closed");
                         handler.openCamerasStream();
                     }
-                    output = new StreamOutput(resp, handler.mjpegContentType);
+                    output = new StreamOutput(resp, openStreams, handler.mjpegContentType, this::mjpegStreamClosed);
                 }
-                openStreams.addStream(output);
-                do {
-                    try {
-                        output.sendFrame();
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openStreams.removeStream(output);
-                        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
-                        if (openStreams.isEmpty()) {
-                            if (output.isSnapshotBased) {
-                                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
-                                if (localMjpeg != null) {
-                                    localMjpeg.stopConverting();
-                                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
-                                    // in handler's pollCameraRunnable() check for frozen camera
-                                    handler.ffmpegMjpeg = null;
-                                }
-                            } else {
-                                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
-                            }
-                            logger.debug("All ipcamera.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (!openStreams.isEmpty());
+                output.start(req);
+                return;
             case "/autofps.mjpeg":
                 handler.streamingAutoFps = true;
-                output = new StreamOutput(resp);
-                openAutoFpsStreams.addStream(output);
-                int counter = 0;
-                do {
-                    try {
-                        if (handler.motionDetected) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        } // every 8 seconds if no motion or the first three snapshots to fill any FIFO
-                        else if (counter % 8 == 0 || counter < 3) {
-                            output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        }
-                        counter++;
-                        Thread.sleep(1000);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        openAutoFpsStreams.removeStream(output);
-                        logger.debug("Now there are {} autofps.mjpeg streams open.",
-                                openAutoFpsStreams.getNumberOfStreams());
-                        if (openAutoFpsStreams.isEmpty()) {
-                            handler.streamingAutoFps = false;
-                            logger.debug("All autofps.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                output = new StreamOutput(resp, openAutoFpsStreams, this::autoFpsStreamClosed);
+                // send the first three snapshots quickly to fill any FIFO of the new client
+                autoFpsCounter = 0;
+                openAutoFpsStreams.startPolling(this::nextAutoFpsFrame, 1000);
+                output.start(req);
+                return;
             case "/instar":
                 InstarHandler instar = new InstarHandler(handler);
                 instar.alarmTriggered(pathInfo + "?" + req.getQueryString());
@@ -272,6 +217,55 @@ public class CameraServlet extends IpCameraServlet {
         }
     }
 
+    private void snapshotStreamClosed() {
+        logger.debug("Now there are {} snapshots.mjpeg streams open.", openSnapshotStreams.getNumberOfStreams());
+        if (openSnapshotStreams.isEmpty()) {
+            openSnapshotStreams.stopPolling();
+            openSnapshotStreams.clearFrames();
+            handler.streamingSnapshotMjpeg = false;
+            handler.stopSnapshotPolling();
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
+    private void mjpegStreamClosed() {
+        logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
+        if (openStreams.isEmpty()) {
+            if (handler.usingRtspForMjpeg()) {
+                Ffmpeg localMjpeg = handler.ffmpegMjpeg;
+                if (localMjpeg != null) {
+                    localMjpeg.stopConverting();
+                    // Set reference to ffmpegMjpeg to null to prevent automatic reconnection
+                    // in handler's pollCameraRunnable() check for frozen camera
+                    handler.ffmpegMjpeg = null;
+                }
+            } else {
+                handler.closeChannel(handler.getTinyUrl(handler.mjpegUri));
+            }
+            openStreams.clearFrames();
+            logger.debug("All ipcamera.mjpeg streams have stopped.");
+        }
+    }
+
+    private void autoFpsStreamClosed() {
+        logger.debug("Now there are {} autofps.mjpeg streams open.", openAutoFpsStreams.getNumberOfStreams());
+        if (openAutoFpsStreams.isEmpty()) {
+            openAutoFpsStreams.stopPolling();
+            openAutoFpsStreams.clearFrames();
+            handler.streamingAutoFps = false;
+            logger.debug("All autofps.mjpeg streams have stopped.");
+        }
+    }
+
+    private byte @Nullable [] nextAutoFpsFrame() {
+        int counter = autoFpsCounter++;
+        // every 8 seconds if no motion or the first three snapshots to fill any FIFO
+        if (handler.motionDetected || counter % 8 == 0 || counter < 3) {
+            return handler.getSnapshot();
+        }
+        return null;
+    }
+
     @Override
     protected void sendFile(HttpServletResponse response, String filename, String contentType) throws IOException {
         // Ensure no files can be sourced from parent or child folders
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link FrameRing} holds the most recent frames of a stream for all its viewers. Frames are stored once, each
+ * viewer only keeps the sequence number of the next frame it sends, so adding a viewer does not add any copying. A
+ * viewer that falls behind by more than the capacity of the ring has to skip to a newer frame.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRing {
+    private static final byte[] PART_HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] PART_END = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicReferenceArray<@Nullable Frame> frames;
+    private volatile long published = 0;
+    private volatile byte[] boundary;
+    private final byte[] partHeaderStart;
+
+    /**
+     * @param capacity the number of frames kept
+     * @param boundary the multipart boundary used in the headers of snapshot based streams
+     */
+    public FrameRing(int capacity, String boundary) {
+        frames = new AtomicReferenceArray<>(capacity);
+        this.boundary = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        partHeaderStart = ("--" + boundary + "\r\nContent-Type: image/jpeg\r\nContent-Length: ")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Set the multipart boundary of a stream that is passed through from the camera.
+     */
+    public void setBoundary(String boundary) {
+        this.boundary = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public int getCapacity() {
+        return frames.length();
+    }
+
+    /**
+     * Get the sequence number the next published frame will have.
+     */
+    public long getPublished() {
+        return published;
+    }
+
+    /**
+     * Add a frame, replacing the oldest frame if the ring is full. The frame must not be modified afterwards.
+     *
+     * @param data the frame or chunk of a stream
+     */
+    public synchronized void publish(byte[] data) {
+        long sequence = published;
+        frames.set((int) (sequence % frames.length()), new Frame(sequence, data, boundary));
+        published = sequence + 1;
+    }
+
+    /**
+     * Drop all frames, e.g. when the last viewer has left, so they do not stay in memory. Sequence numbers keep
+     * counting up.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < frames.length(); i++) {
+            frames.set(i, null);
+        }
+    }
+
+    /**
+     * Get the frame with the given sequence number.
+     *
+     * @return the frame or <code>null</code> if it was not published yet or already replaced
+     */
+    public @Nullable Frame read(long sequence) {
+        if (sequence < 0 || sequence >= published) {
+            return null;
+        }
+        Frame frame = frames.get((int) (sequence % frames.length()));
+        return frame != null && frame.sequence == sequence ? frame : null;
+    }
+
+    /**
+     * A published frame. The multipart header and the start of a part within a passed through chunk are computed at
+     * most once, no matter how many viewers send the frame.
+     */
+    public class Frame {
+        final long sequence;
+        final byte[] data;
+        private final byte[] boundary;
+        private volatile int partStart = -2;
+        private volatile byte @Nullable [] partHeader;
+
+        private Frame(long sequence, byte[] data, byte[] boundary) {
+            this.sequence = sequence;
+            this.data = data;
+            this.boundary = boundary;
+        }
+
+        /**
+         * Get the multipart header for sending this frame as an image of a snapshot based stream.
+         */
+        byte[] getPartHeader() {
+            byte[] header = partHeader;
+            if (header == null) {
+                byte[] length = String.valueOf(data.length).getBytes(StandardCharsets.US_ASCII);
+                header = new byte[partHeaderStart.length + length.length + PART_HEADER_END.length];
+                System.arraycopy(partHeaderStart, 0, header, 0, partHeaderStart.length);
+                System.arraycopy(length, 0, header, partHeaderStart.length, length.length);
+                System.arraycopy(PART_HEADER_END, 0, header, partHeaderStart.length + length.length,
+                        PART_HEADER_END.length);
+                partHeader = header;
+            }
+            return header;
+        }
+
+        /**
+         * Get the offset of the first multipart boundary within this chunk of a passed through stream.
+         *
+         * @return the offset or -1 if the chunk does not contain a boundary
+         */
+        int getPartStart() {
+            int start = partStart;
+            if (start == -2) {
+                start = indexOf(data, boundary);
+                partStart = start;
+            }
+            return start;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        if (pattern.length == 0) {
+            return -1;
+        }
+        byte first = pattern[0];
+        outer: for (int i = 0; i <= data.length - pattern.length; i++) {
+            if (data[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -16,6 +16,9 @@ import static org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
@@ -37,14 +40,26 @@ import org.osgi.service.http.HttpService;
 @NonNullByDefault
 public class GroupServlet extends IpCameraServlet {
     private static final long serialVersionUID = -234658667574L;
+    private static final Dictionary<Object, Object> INIT_PARAMETERS = new Hashtable<>(
+            Map.of("async-supported", "true"));
     private final IpCameraGroupHandler handler;
-    public int snapshotStreamsOpen = 0;
+    private final OpenStreams openSnapshotStreams = new OpenStreams(1);
+    public volatile int snapshotStreamsOpen = 0;
 
     public GroupServlet(IpCameraGroupHandler handler, HttpService httpService) {
-        super(handler, httpService);
+        super(handler, httpService, INIT_PARAMETERS);
         this.handler = handler;
     }
 
+    private void snapshotStreamClosed() {
+        snapshotStreamsOpen = openSnapshotStreams.getNumberOfStreams();
+        if (snapshotStreamsOpen == 0) {
+            openSnapshotStreams.stopPolling();
+            openSnapshotStreams.clearFrames();
+            logger.debug("All snapshots.mjpeg streams have stopped.");
+        }
+    }
+
     @Override
     protected void doGet(@Nullable HttpServletRequest req, @Nullable HttpServletResponse resp) throws IOException {
         if (req == null || resp == null) {
@@ -85,21 +100,11 @@ public class GroupServlet extends IpCameraServlet {
             case "/ipcamera.mjpeg":
             case "/snapshots.mjpeg":
                 req.getSession().setMaxInactiveInterval(0);
-                snapshotStreamsOpen++;
-                StreamOutput output = new StreamOutput(resp);
-                do {
-                    try {
-                        output.sendSnapshotBasedFrame(handler.getSnapshot());
-                        Thread.sleep(1005);
-                    } catch (InterruptedException | IOException e) {
-                        // Never stop streaming until IOException. Occurs when browser stops the stream.
-                        snapshotStreamsOpen--;
-                        if (snapshotStreamsOpen == 0) {
-                            logger.debug("All snapshots.mjpeg streams have stopped.");
-                        }
-                        return;
-                    }
-                } while (true);
+                StreamOutput output = new StreamOutput(resp, openSnapshotStreams, this::snapshotStreamClosed);
+                openSnapshotStreams.startPolling(handler::getSnapshot, 1005);
+                output.start(req);
+                snapshotStreamsOpen = openSnapshotStreams.getNumberOfStreams();
+                return;
             default:
                 // example is "/1ipcameraxx.ts"
                 if (pathInfo.endsWith(".ts")) {
@@ -139,4 +144,10 @@ public class GroupServlet extends IpCameraServlet {
         }
         super.sendSnapshotImage(response, contentType, snapshot);
     }
+
+    @Override
+    public void dispose() {
+        openSnapshotStreams.closeAllStreams();
+        super.dispose();
+    }
 }
@@ -12,56 +12,136 @@
  */
 package org.openhab.binding.ipcamera.internal.servlet;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
- * 1 to many streams without needing to open more than 1 source stream.
+ * The {@link OpenStreams} Keeps track of all open mjpeg streams. Each frame is stored once in a {@link FrameRing} that
+ * all streams read from, to allow 1 to many streams without needing to open more than 1 source stream or to copy
+ * frames per stream.
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Giovanni Battista - Shared frame ring and polling job
  */
 @NonNullByDefault
 public class OpenStreams {
-    private List<StreamOutput> openStreams = Collections.synchronizedList(new ArrayList<>());
+    // a passed through stream arrives in chunks, which slow clients need to catch up to the next part
+    private static final int RING_CAPACITY = 64;
+    private final Logger logger = LoggerFactory.getLogger(OpenStreams.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("ipcamera");
+    private final List<StreamOutput> openStreams = new CopyOnWriteArrayList<>();
     public String boundary = "thisMjpegStream";
+    private final FrameRing frames;
+    private @Nullable ScheduledFuture<?> pollingJob;
 
-    public synchronized void addStream(StreamOutput stream) {
+    /**
+     * Create the streams of a camera stream which may be passed through in chunks.
+     */
+    public OpenStreams() {
+        this(RING_CAPACITY);
+    }
+
+    /**
+     * @param ringCapacity the number of frames kept for the streams, 1 for streams of whole snapshots which always
+     *            send the newest one
+     */
+    public OpenStreams(int ringCapacity) {
+        frames = new FrameRing(ringCapacity, boundary);
+    }
+
+    FrameRing getFrames() {
+        return frames;
+    }
+
+    public void addStream(StreamOutput stream) {
         openStreams.add(stream);
     }
 
-    public synchronized void removeStream(StreamOutput stream) {
+    public void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
     }
 
-    public synchronized int getNumberOfStreams() {
+    public int getNumberOfStreams() {
         return openStreams.size();
     }
 
-    public synchronized boolean isEmpty() {
+    public boolean isEmpty() {
         return openStreams.isEmpty();
     }
 
     public synchronized void updateContentType(String contentType, String boundary) {
         this.boundary = boundary;
+        frames.setBoundary(boundary);
         for (StreamOutput stream : openStreams) {
             stream.updateContentType(contentType);
         }
     }
 
-    public synchronized void queueFrame(byte[] frame) {
+    /**
+     * Hand a frame, or a chunk of a passed through stream, to all open streams. The array must not be modified
+     * afterwards.
+     */
+    public void queueFrame(byte[] frame) {
+        frames.publish(frame);
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.frameAvailable();
+        }
+    }
+
+    /**
+     * Start queueing a frame from the source at a fixed rate, so snapshot based streams share a single job no matter
+     * how many streams are open.
+     *
+     * @param source supplies the current snapshot, or <code>null</code> to skip a frame
+     * @param periodMs time between frames in milliseconds
+     */
+    public synchronized void startPolling(Supplier<byte @Nullable []> source, long periodMs) {
+        if (pollingJob == null) {
+            pollingJob = scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    byte[] frame = source.get();
+                    if (frame != null) {
+                        queueFrame(frame);
+                    }
+                } catch (RuntimeException e) {
+                    // keep the job running, the next snapshot may succeed
+                    logger.debug("Failed to get a frame for the open streams: {}", e.getMessage());
+                }
+            }, 0, periodMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drop the stored frames, to be called once the last stream was closed.
+     */
+    public void clearFrames() {
+        frames.clear();
+    }
+
+    public synchronized void stopPolling() {
+        ScheduledFuture<?> localJob = pollingJob;
+        if (localJob != null) {
+            localJob.cancel(false);
+            pollingJob = null;
         }
     }
 
-    public synchronized void closeAllStreams() {
+    public void closeAllStreams() {
+        stopPolling();
         for (StreamOutput stream : openStreams) {
             stream.close();
         }
         openStreams.clear();
+        frames.clear();
     }
 }
@@ -13,91 +13,221 @@
 package org.openhab.binding.ipcamera.internal.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link StreamOutput} Streams mjpeg out to a client
+ * The {@link StreamOutput} Streams mjpeg out to a client. It keeps a position in the {@link FrameRing} of its
+ * {@link OpenStreams} and writes with non-blocking I/O whenever the client can take more data, so no thread is held
+ * per client. A client that is too slow skips frames instead of delaying the other clients.
+ * <p>
+ * A passed through stream is only sent from the start of a part. If a client falls so far behind that the rest of
+ * the current part was already dropped from the ring, that part is cut short: it is terminated and followed by the
+ * next part that is still available, so the client discards the incomplete image and continues with a complete one.
  *
  * @author Matthew Skinner - Initial contribution
+ * @author Giovanni Battista - Asynchronous writes from a shared frame ring
  */
 @NonNullByDefault
-public class StreamOutput {
+public class StreamOutput implements WriteListener, AsyncListener {
     public final Logger logger = LoggerFactory.getLogger(getClass());
     private final HttpServletResponse response;
-    private final String boundary;
+    private final OpenStreams streams;
+    private final FrameRing frames;
+    private final Runnable closeListener;
     private String contentType;
-    private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<>(50);
+    private @Nullable ServletOutputStream output;
+    private @Nullable AsyncContext asyncContext;
+    // data still to be written, each entry covering the part of its array that is sent
+    private final Deque<ByteBuffer> pending = new ArrayDeque<>();
+    private long nextSequence;
+    private boolean resync = true;
+    private boolean partStarted = false;
+    private boolean flushNeeded = false;
+    private boolean waitingForData = false;
     private boolean connected = false;
+    private boolean closed = false;
     public boolean isSnapshotBased = false;
 
-    public StreamOutput(HttpServletResponse response) throws IOException {
-        boundary = "thisMjpegStream";
-        contentType = "multipart/x-mixed-replace; boundary=" + boundary;
+    /**
+     * Create a stream that wraps each frame as a jpeg part.
+     */
+    public StreamOutput(HttpServletResponse response, OpenStreams streams, Runnable closeListener) {
+        this.contentType = "multipart/x-mixed-replace; boundary=" + streams.boundary;
         this.response = response;
-        output = response.getOutputStream();
+        this.streams = streams;
+        this.frames = streams.getFrames();
+        this.closeListener = closeListener;
         isSnapshotBased = true;
+        // start with the last frame, if any, so the picture appears instantly
+        nextSequence = Math.max(0, frames.getPublished() - 1);
     }
 
-    public StreamOutput(HttpServletResponse response, String contentType) throws IOException {
-        boundary = "";
+    /**
+     * Create a stream that passes the multipart stream of the camera through.
+     *
+     * @param contentType the Content-Type of the camera stream, or empty if it is not known yet
+     */
+    public StreamOutput(HttpServletResponse response, OpenStreams streams, String contentType,
+            Runnable closeListener) {
         this.contentType = contentType;
         this.response = response;
-        output = response.getOutputStream();
-        if (!contentType.isEmpty()) {
+        this.streams = streams;
+        this.frames = streams.getFrames();
+        this.closeListener = closeListener;
+        nextSequence = frames.getPublished();
+    }
+
+    /**
+     * Switch the request to asynchronous mode and start streaming. The servlet returns right after calling this.
+     */
+    public synchronized void start(HttpServletRequest request) throws IOException {
+        if (isSnapshotBased || !contentType.isEmpty()) {
             sendInitialHeaders();
             connected = true;
         }
+        AsyncContext localContext = request.startAsync(request, response);
+        localContext.setTimeout(0);
+        localContext.addListener(this);
+        asyncContext = localContext;
+        ServletOutputStream localOutput = response.getOutputStream();
+        output = localOutput;
+        streams.addStream(this);
+        localOutput.setWriteListener(this);
     }
 
-    public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+    public synchronized void updateContentType(String contentType) {
+        this.contentType = contentType;
         if (!connected) {
             sendInitialHeaders();
-            // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
             connected = true;
+            if (waitingForData) {
+                waitingForData = false;
+                writeFrames();
+            }
         }
-        output.write(header.getBytes());
-        output.write(currentSnapshot);
-        output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            logger.debug("FIFO buffer has run out of space: {}", e.getMessage());
-            fifo.remove();
-            fifo.add(frame);
+    /**
+     * Called when a new frame was added to the ring. Only resumes writing if the stream ran out of data, otherwise
+     * the frame is picked up by the write that is already in progress.
+     */
+    public synchronized void frameAvailable() {
+        if (waitingForData) {
+            waitingForData = false;
+            writeFrames();
         }
     }
 
-    public void updateContentType(String contentType) {
-        this.contentType = contentType;
-        if (!connected) {
-            sendInitialHeaders();
-            connected = true;
+    @Override
+    public synchronized void onWritePossible() {
+        writeFrames();
+    }
+
+    private void writeFrames() {
+        ServletOutputStream localOutput = output;
+        if (closed || localOutput == null) {
+            return;
+        }
+        try {
+            while (localOutput.isReady()) {
+                ByteBuffer data = pending.poll();
+                if (data != null) {
+                    localOutput.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+                    flushNeeded = true;
+                } else if (!connected || !nextFrame()) {
+                    if (flushNeeded) {
+                        flushNeeded = false;
+                        localOutput.flush();
+                    } else {
+                        waitingForData = true;
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Occurs when browser stops the stream.
+            logger.debug("Stream to client closed: {}", e.getMessage());
+            close();
         }
     }
 
-    public void sendFrame() throws IOException, InterruptedException {
+    /**
+     * Queue the data of the next frame to send.
+     *
+     * @return <code>false</code> if there is no new frame
+     */
+    private boolean nextFrame() {
+        long published = frames.getPublished();
         if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
-        } else if (connected) {
-            output.write(fifo.take());
+            // always send the newest snapshot, older ones are of no use
+            Frame frame = nextSequence < published ? frames.read(published - 1) : null;
+            if (frame == null) {
+                return false;
+            }
+            nextSequence = frame.sequence + 1;
+            if (resync) {
+                // iOS needs to have two jpgs sent for the picture to appear instantly.
+                resync = false;
+                queuePart(frame);
+            }
+            queuePart(frame);
+            return true;
+        }
+        if (resync) {
+            // continue at the beginning of a part
+            for (long sequence = Math.max(nextSequence, published - frames.getCapacity()); sequence < published;
+                    sequence++) {
+                Frame frame = frames.read(sequence);
+                if (frame != null && frame.getPartStart() >= 0) {
+                    nextSequence = sequence + 1;
+                    resync = false;
+                    if (partStarted) {
+                        // terminate the part that was cut short, the boundary is only recognised after a line break
+                        pending.add(ByteBuffer.wrap(FrameRing.PART_END));
+                    }
+                    partStarted = true;
+                    int partStart = frame.getPartStart();
+                    pending.add(ByteBuffer.wrap(frame.data, partStart, frame.data.length - partStart));
+                    return true;
+                }
+            }
+            nextSequence = published;
+            return false;
+        }
+        Frame frame = frames.read(nextSequence);
+        if (frame == null) {
+            if (nextSequence < published) {
+                logger.debug("Client is too slow, skipping to the next part of the stream");
+                resync = true;
+                return nextFrame();
+            }
+            return false;
         }
+        nextSequence++;
+        pending.add(ByteBuffer.wrap(frame.data));
+        return true;
+    }
+
+    private void queuePart(Frame frame) {
+        pending.add(ByteBuffer.wrap(frame.getPartHeader()));
+        pending.add(ByteBuffer.wrap(frame.data));
+        pending.add(ByteBuffer.wrap(FrameRing.PART_END));
     }
 
     private void sendInitialHeaders() {
@@ -106,10 +236,52 @@ public class StreamOutput {
         response.setHeader("Access-Control-Expose-Headers", "*");
     }
 
+    @Override
+    public void onError(@Nullable Throwable t) {
+        logger.debug("Stream to client failed: {}", t == null ? "" : t.getMessage());
+        close();
+    }
+
+    @Override
+    public void onComplete(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onTimeout(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onError(@Nullable AsyncEvent event) {
+        close();
+    }
+
+    @Override
+    public void onStartAsync(@Nullable AsyncEvent event) {
+    }
+
+    /**
+     * Stop streaming to the client, remove the stream from its {@link OpenStreams} and notify the close listener.
+     */
     public void close() {
-        try {
-            output.close();
-        } catch (IOException e) {
+        AsyncContext localContext;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+            localContext = asyncContext;
+        }
+        streams.removeStream(this);
+        if (localContext != null) {
+            try {
+                localContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
         }
+        closeListener.run();
     }
 }
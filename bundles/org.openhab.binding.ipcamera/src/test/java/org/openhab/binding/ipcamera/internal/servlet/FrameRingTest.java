@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.ipcamera.internal.servlet.FrameRing.Frame;
+
+/**
+ * Tests the {@link FrameRing}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class FrameRingTest {
+
+    private static byte[] bytes(String data) {
+        return data.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void oldFramesAreReplaced() {
+        FrameRing ring = new FrameRing(2, "boundary");
+        ring.publish(bytes("a"));
+        ring.publish(bytes("b"));
+        ring.publish(bytes("c"));
+
+        assertEquals(3, ring.getPublished());
+        assertNull(ring.read(0));
+        Frame frame = ring.read(2);
+        assertNotNull(frame);
+        assertArrayEquals(bytes("c"), frame.data);
+        assertNull(ring.read(3));
+    }
+
+    @Test
+    public void snapshotRingKeepsOnlyTheNewestFrame() {
+        FrameRing ring = new FrameRing(1, "boundary");
+        ring.publish(bytes("a"));
+        ring.publish(bytes("b"));
+
+        assertNull(ring.read(0));
+        assertNotNull(ring.read(1));
+    }
+
+    @Test
+    public void clearDropsFramesButKeepsSequence() {
+        FrameRing ring = new FrameRing(4, "boundary");
+        ring.publish(bytes("a"));
+        ring.publish(bytes("b"));
+        ring.clear();
+
+        assertNull(ring.read(0));
+        assertNull(ring.read(1));
+        assertEquals(2, ring.getPublished());
+
+        ring.publish(bytes("c"));
+        assertNotNull(ring.read(2));
+    }
+
+    @Test
+    public void partHeaderContainsLength() {
+        FrameRing ring = new FrameRing(1, "boundary");
+        ring.publish(bytes("jpeg"));
+        Frame frame = ring.read(0);
+        assertNotNull(frame);
+
+        assertEquals("--boundary\r\nContent-Type: image/jpeg\r\nContent-Length: 4\r\n\r\n",
+                new String(frame.getPartHeader(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void partStartIsFoundInChunks() {
+        FrameRing ring = new FrameRing(4, "ignored");
+        ring.setBoundary("cam");
+        ring.publish(bytes("end of jpeg\r\n--cam\r\nContent-Type: image/jpeg"));
+        ring.publish(bytes("middle of jpeg --ca"));
+
+        Frame withPart = ring.read(0);
+        Frame withoutPart = ring.read(1);
+        assertNotNull(withPart);
+        assertNotNull(withoutPart);
+        assertEquals(13, withPart.getPartStart());
+        assertEquals(-1, withoutPart.getPartStart());
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Tests the {@link StreamOutput}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class StreamOutputTest {
+
+    private @Mock @NonNullByDefault({}) HttpServletRequest request;
+    private @Mock @NonNullByDefault({}) HttpServletResponse response;
+    private @Mock @NonNullByDefault({}) AsyncContext asyncContext;
+    private final ClientOutput client = new ClientOutput();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    /**
+     * Collects the data sent to the client, which can be made to stop accepting data.
+     */
+    private static class ClientOutput extends ServletOutputStream {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(@Nullable WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        String received() {
+            return new String(data.toByteArray(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        when(request.startAsync(any(), any())).thenReturn(asyncContext);
+        when(response.getOutputStream()).thenReturn(client);
+    }
+
+    private static byte[] bytes(String data) {
+        return data.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String part(String jpeg) {
+        return "--thisMjpegStream\r\nContent-Type: image/jpeg\r\nContent-Length: " + jpeg.length() + "\r\n\r\n" + jpeg
+                + "\r\n";
+    }
+
+    @Test
+    public void snapshotStreamSendsNewestSnapshot() throws IOException {
+        OpenStreams streams = new OpenStreams(1);
+        streams.queueFrame(bytes("jpeg1"));
+        StreamOutput output = new StreamOutput(response, streams, closed::incrementAndGet);
+        output.start(request);
+        output.onWritePossible();
+        // the first snapshot is sent twice for the picture to appear instantly
+        assertEquals(part("jpeg1") + part("jpeg1"), client.received());
+
+        client.ready = false;
+        streams.queueFrame(bytes("jpeg2"));
+        streams.queueFrame(bytes("jpeg3"));
+        client.ready = true;
+        output.onWritePossible();
+        assertEquals(part("jpeg1") + part("jpeg1") + part("jpeg3"), client.received());
+    }
+
+    @Test
+    public void passthroughStreamStartsAtPart() throws IOException {
+        OpenStreams streams = new OpenStreams();
+        streams.updateContentType("multipart/x-mixed-replace; boundary=cam", "cam");
+        StreamOutput output = new StreamOutput(response, streams, "multipart/x-mixed-replace; boundary=cam",
+                closed::incrementAndGet);
+        output.start(request);
+        output.onWritePossible();
+
+        streams.queueFrame(bytes("rest of a jpeg\r\n--cam\r\nA"));
+        streams.queueFrame(bytes("B"));
+        assertEquals("--cam\r\nAB", client.received());
+    }
+
+    @Test
+    public void slowClientSkipsToNextPart() throws IOException {
+        OpenStreams streams = new OpenStreams();
+        streams.updateContentType("multipart/x-mixed-replace; boundary=cam", "cam");
+        StreamOutput output = new StreamOutput(response, streams, "multipart/x-mixed-replace; boundary=cam",
+                closed::incrementAndGet);
+        output.start(request);
+        output.onWritePossible();
+        streams.queueFrame(bytes("\r\n--cam\r\nA"));
+
+        client.ready = false;
+        for (int i = 0; i < streams.getFrames().getCapacity(); i++) {
+            streams.queueFrame(bytes("B"));
+        }
+        streams.queueFrame(bytes("\r\n--cam\r\nC"));
+        client.ready = true;
+        output.onWritePossible();
+
+        // the part that was cut short is terminated before the next part starts
+        assertEquals("--cam\r\nA\r\n--cam\r\nC", client.received());
+    }
+
+    @Test
+    public void slowClientSkipsToPartInsideChunk() throws IOException {
+        OpenStreams streams = new OpenStreams();
+        streams.updateContentType("multipart/x-mixed-replace; boundary=cam", "cam");
+        StreamOutput output = new StreamOutput(response, streams, "multipart/x-mixed-replace; boundary=cam",
+                closed::incrementAndGet);
+        output.start(request);
+        output.onWritePossible();
+        streams.queueFrame(bytes("\r\n--cam\r\nA"));
+
+        client.ready = false;
+        for (int i = 0; i < streams.getFrames().getCapacity(); i++) {
+            streams.queueFrame(bytes("B"));
+        }
+        streams.queueFrame(bytes("end of B\r\n--cam\r\nC"));
+        client.ready = true;
+        output.onWritePossible();
+
+        // only the new part is sent after the terminated one, not the rest of the previous part
+        assertEquals("--cam\r\nA\r\n--cam\r\nC", client.received());
+    }
+
+    @Test
+    public void closeRemovesStream() throws IOException {
+        OpenStreams streams = new OpenStreams(1);
+        StreamOutput output = new StreamOutput(response, streams, closed::incrementAndGet);
+        output.start(request);
+        assertEquals(1, streams.getNumberOfStreams());
+
+        output.close();
+        output.close();
+        assertTrue(streams.isEmpty());
+        assertEquals(1, closed.get());
+        verify(asyncContext).complete();
+    }
+}
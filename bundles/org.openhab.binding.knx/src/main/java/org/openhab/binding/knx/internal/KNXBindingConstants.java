@@ -54,6 +54,7 @@ public class KNXBindingConstants {
     public static final String MANUFACTURER_FIRMWARE_REVISION = "manufacturerFirmwareRevision";
     public static final String MANUFACTURER_ORDER_INFO = "manufacturerOrderInfo";
     public static final String MAX_APDU_LENGTH = "maxApduLength";
+    public static final String READ_PROGRESS = "readProgress";
 
     // Thing Configuration parameters
     public static final String IP_ADDRESS = "ipAddress";
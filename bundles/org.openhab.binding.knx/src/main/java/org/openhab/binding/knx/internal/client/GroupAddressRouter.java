@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * The {@link GroupAddressRouter} routes incoming telegrams to the {@link GroupAddressListener}s interested in their
+ * destination.
+ *
+ * Listeners announcing their group addresses via {@link GroupAddressListener#getGroupAddresses()} are found through
+ * an index, all others are asked via {@link GroupAddressListener#listensTo(GroupAddress)}. Notifications are queued
+ * per listener and processed in order by at most one task at a time, so telegrams for the same thing are never
+ * processed concurrently or out of order, and a burst of telegrams does not create one task per telegram.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressRouter {
+
+    /**
+     * Maximum number of notifications processed by one task before yielding to other listeners.
+     */
+    static final int MAX_BATCH_SIZE = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(GroupAddressRouter.class);
+
+    private final Executor executor;
+    private final Map<GroupAddress, Set<GroupAddressListener>> index = new ConcurrentHashMap<>();
+    private final Map<GroupAddressListener, Set<GroupAddress>> indexedAddresses = new ConcurrentHashMap<>();
+    private final Set<GroupAddressListener> unindexedListeners = new CopyOnWriteArraySet<>();
+    private final Map<GroupAddressListener, ListenerQueue> queues = new ConcurrentHashMap<>();
+
+    public GroupAddressRouter(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Add a listener, or update the group addresses of an already added listener.
+     *
+     * @param listener the listener
+     */
+    public synchronized void add(GroupAddressListener listener) {
+        removeFromIndex(listener);
+        Set<GroupAddress> groupAddresses = listener.getGroupAddresses();
+        if (groupAddresses == null) {
+            unindexedListeners.add(listener);
+        } else {
+            Set<GroupAddress> snapshot = Set.copyOf(groupAddresses);
+            indexedAddresses.put(listener, snapshot);
+            snapshot.forEach(ga -> index.computeIfAbsent(ga, k -> new CopyOnWriteArraySet<>()).add(listener));
+        }
+        queues.computeIfAbsent(listener, ListenerQueue::new);
+    }
+
+    /**
+     * Remove a listener. Notifications already queued for the listener are still delivered.
+     *
+     * @param listener the listener
+     */
+    public synchronized void remove(GroupAddressListener listener) {
+        removeFromIndex(listener);
+        queues.remove(listener);
+    }
+
+    private void removeFromIndex(GroupAddressListener listener) {
+        unindexedListeners.remove(listener);
+        Set<GroupAddress> groupAddresses = indexedAddresses.remove(listener);
+        if (groupAddresses != null) {
+            groupAddresses.forEach(ga -> index.computeIfPresent(ga, (k, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            }));
+        }
+    }
+
+    /**
+     * Queue a notification for every listener interested in the given group address.
+     *
+     * @param destination the destination of the telegram
+     * @param notification the notification to apply to each interested listener
+     * @return {@code true} if at least one listener is interested in the destination
+     */
+    public boolean route(GroupAddress destination, Consumer<GroupAddressListener> notification) {
+        boolean handled = false;
+        Set<GroupAddressListener> listeners = index.get(destination);
+        if (listeners != null) {
+            for (GroupAddressListener listener : listeners) {
+                handled |= enqueue(listener, notification);
+            }
+        }
+        for (GroupAddressListener listener : unindexedListeners) {
+            if (listener.listensTo(destination)) {
+                handled |= enqueue(listener, notification);
+            }
+        }
+        return handled;
+    }
+
+    private boolean enqueue(GroupAddressListener listener, Consumer<GroupAddressListener> notification) {
+        ListenerQueue queue = queues.get(listener);
+        if (queue == null) {
+            // removed concurrently
+            return false;
+        }
+        queue.add(notification);
+        return true;
+    }
+
+    /**
+     * Get the number of registered listeners.
+     */
+    public int size() {
+        return queues.size();
+    }
+
+    /**
+     * Remove all listeners.
+     */
+    public synchronized void clear() {
+        index.clear();
+        indexedAddresses.clear();
+        unindexedListeners.clear();
+        queues.clear();
+    }
+
+    /**
+     * Ordered queue of pending notifications for one listener.
+     */
+    private class ListenerQueue implements Runnable {
+        private final GroupAddressListener listener;
+        private final Queue<Consumer<GroupAddressListener>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        ListenerQueue(GroupAddressListener listener) {
+            this.listener = listener;
+        }
+
+        void add(Consumer<GroupAddressListener> notification) {
+            pending.add(notification);
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+                Consumer<GroupAddressListener> notification = pending.poll();
+                if (notification == null) {
+                    break;
+                }
+                try {
+                    notification.accept(listener);
+                } catch (RuntimeException e) {
+                    logger.warn("Listener {} failed to process telegram: {}", listener, e.getMessage(), e);
+                }
+            }
+            scheduled.set(false);
+            // re-schedule if notifications arrived meanwhile or the batch limit was reached
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ListenerQueue [listener=" + listener + ", pending=" + pending.size() + "]";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GroupAddressRouter [groupAddresses=" + index.size() + ", listeners=" + queues.size() + "]";
+    }
+
+    // visible for testing
+    @Nullable
+    Set<GroupAddressListener> getIndexedListeners(GroupAddress destination) {
+        return index.get(destination);
+    }
+}
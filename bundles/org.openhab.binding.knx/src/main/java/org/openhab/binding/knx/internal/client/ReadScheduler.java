@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * The {@link ReadScheduler} queues the read requests of a bridge and determines the pause before the next request.
+ *
+ * Every group address is queued at most once. Requests are served by {@link ReadPriority}, and in the order they were
+ * queued within the same priority. Queuing an address again with a higher priority moves it ahead.
+ *
+ * With adaptive pacing, the pause between two requests is adjusted between a quarter and eight times the configured
+ * reading pause: it is doubled whenever the bus is busy or slow to answer, and reduced step by step otherwise.
+ * Without adaptive pacing, the configured reading pause is always used.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    /**
+     * Number of telegrams per second received from the bus above which the bus is considered busy.
+     */
+    static final int BUSY_TELEGRAMS_PER_SECOND = 20;
+    /**
+     * Response time of a read request above which the bus is considered busy.
+     */
+    static final long SLOW_RESPONSE_MILLIS = 500;
+    static final int MIN_PAUSE_DIVISOR = 4;
+    static final int MAX_PAUSE_FACTOR = 8;
+
+    private static final long WINDOW_MILLIS = 1000;
+
+    private final int readRetriesLimit;
+    private final long readingPause;
+    private final long minPause;
+    private final long maxPause;
+    private final boolean adaptive;
+    private final LongSupplier clock;
+
+    private final Map<GroupAddress, ReadDatapoint> queued = new HashMap<>();
+    // one queue per priority, may contain stale entries for datapoints which have been moved to a higher priority
+    private final List<Deque<ReadDatapoint>> queues = List.of(new ArrayDeque<>(), new ArrayDeque<>(),
+            new ArrayDeque<>());
+
+    private long pause;
+    private long windowStart;
+    private int telegramsInWindow = 0;
+    private int telegramsPerSecond = 0;
+    private int total = 0;
+
+    /**
+     * Create a new scheduler.
+     *
+     * @param readRetriesLimit maximum number of read attempts per datapoint
+     * @param readingPause configured pause between two read requests in milliseconds
+     * @param adaptive whether the pause is adjusted to the observed bus load
+     */
+    public ReadScheduler(int readRetriesLimit, int readingPause, boolean adaptive) {
+        this(readRetriesLimit, readingPause, adaptive, System::currentTimeMillis);
+    }
+
+    ReadScheduler(int readRetriesLimit, int readingPause, boolean adaptive, LongSupplier clock) {
+        this.readRetriesLimit = readRetriesLimit;
+        this.readingPause = Math.max(0, readingPause);
+        this.minPause = this.readingPause / MIN_PAUSE_DIVISOR;
+        this.maxPause = Math.max(this.readingPause * MAX_PAUSE_FACTOR, SLOW_RESPONSE_MILLIS);
+        this.adaptive = adaptive;
+        this.clock = clock;
+        this.pause = this.readingPause;
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Queue a read request for the given datapoint.
+     *
+     * @param datapoint the datapoint to read
+     * @param priority priority of the request
+     * @return {@code true} if the request was queued or moved ahead, {@code false} if it was already queued
+     */
+    public synchronized boolean add(Datapoint datapoint, ReadPriority priority) {
+        ReadDatapoint readDatapoint = queued.get(datapoint.getMainAddress());
+        if (readDatapoint == null) {
+            if (queued.isEmpty()) {
+                // start a new batch for progress reporting
+                total = 0;
+            }
+            total++;
+            enqueue(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+            return true;
+        }
+        if (priority.compareTo(readDatapoint.getPriority()) < 0) {
+            readDatapoint.setPriority(priority);
+            queues.get(priority.ordinal()).add(readDatapoint);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Queue a failed read request again with low priority, if it has not reached the retry limit.
+     *
+     * @param readDatapoint the failed request
+     * @return {@code false} if the retry limit is reached
+     */
+    public synchronized boolean retry(ReadDatapoint readDatapoint) {
+        if (readDatapoint.getRetries() >= readDatapoint.getLimit()) {
+            return false;
+        }
+        if (!queued.containsKey(readDatapoint.getDatapoint().getMainAddress())) {
+            readDatapoint.setPriority(ReadPriority.LOW);
+            enqueue(readDatapoint);
+        }
+        return true;
+    }
+
+    private void enqueue(ReadDatapoint readDatapoint) {
+        queued.put(readDatapoint.getDatapoint().getMainAddress(), readDatapoint);
+        queues.get(readDatapoint.getPriority().ordinal()).add(readDatapoint);
+    }
+
+    /**
+     * Get the next read request.
+     *
+     * @return the request with the highest priority, or {@code null} if nothing is queued
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            Deque<ReadDatapoint> queue = queues.get(priority.ordinal());
+            ReadDatapoint readDatapoint;
+            while ((readDatapoint = queue.poll()) != null) {
+                GroupAddress address = readDatapoint.getDatapoint().getMainAddress();
+                if (readDatapoint.getPriority() == priority && queued.get(address) == readDatapoint) {
+                    queued.remove(address);
+                    return readDatapoint;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Record a telegram received from the bus.
+     */
+    public synchronized void telegramReceived() {
+        updateWindow(clock.getAsLong());
+        telegramsInWindow++;
+    }
+
+    /**
+     * Record the outcome of a read request and adjust the pause before the next one.
+     *
+     * @param responseMillis time until the request was answered
+     * @param answered whether the request was answered, a missing answer does not indicate a busy bus
+     */
+    public synchronized void readCompleted(long responseMillis, boolean answered) {
+        if (!adaptive) {
+            return;
+        }
+        updateWindow(clock.getAsLong());
+        if (telegramsPerSecond > BUSY_TELEGRAMS_PER_SECOND || (answered && responseMillis > SLOW_RESPONSE_MILLIS)) {
+            pause = Math.min(Math.max(pause * 2, 1), maxPause);
+        } else if (answered) {
+            pause = Math.max(pause - Math.max(pause / 4, 1), minPause);
+        }
+    }
+
+    private void updateWindow(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= WINDOW_MILLIS) {
+            // the rate of the last complete window, nothing was received if more than one window has passed
+            telegramsPerSecond = elapsed < 2 * WINDOW_MILLIS ? telegramsInWindow : 0;
+            telegramsInWindow = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Get the pause before the next read request in milliseconds.
+     */
+    public synchronized long getPause() {
+        return pause;
+    }
+
+    /**
+     * Get the number of queued read requests.
+     */
+    public synchronized int getPending() {
+        return queued.size();
+    }
+
+    /**
+     * Get the number of datapoints queued since the queue was empty the last time.
+     */
+    public synchronized int getTotal() {
+        return total;
+    }
+
+    /**
+     * Remove all queued read requests.
+     */
+    public synchronized void clear() {
+        queued.clear();
+        queues.forEach(Deque::clear);
+        total = 0;
+        pause = readingPause;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ReadScheduler [pending=" + queued.size() + ", total=" + total + ", pause=" + pause + "ms]";
+    }
+}
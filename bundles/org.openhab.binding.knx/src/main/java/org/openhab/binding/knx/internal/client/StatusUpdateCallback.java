@@ -44,4 +44,13 @@ public interface StatusUpdateCallback {
      * @param description the description of the status
      */
     void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, String description);
+
+    /**
+     * Updates the progress of reading the queued datapoints.
+     *
+     * @param done the number of datapoints read (or given up) since the queue was empty the last time
+     * @param total the number of datapoints queued since the queue was empty the last time
+     */
+    default void updateReadProgress(int done, int total) {
+    }
 }
@@ -25,6 +25,7 @@ public class BridgeConfiguration {
     private int autoReconnectPeriod = 0;
     private int readingPause = 0;
     private int readRetriesLimit = 0;
+    private boolean adaptiveReadingPause = false;
     private int responseTimeout = 0;
     private String keyringFile = "";
     private String keyringPassword = "";
@@ -41,6 +42,10 @@ public class BridgeConfiguration {
         return readRetriesLimit;
     }
 
+    public boolean isAdaptiveReadingPause() {
+        return adaptiveReadingPause;
+    }
+
     public int getResponseTimeout() {
         return responseTimeout;
     }
@@ -14,6 +14,7 @@ package org.openhab.binding.knx.internal.dpt;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -108,6 +109,9 @@ public class DPTUtil {
             Map.entry(DPTXlatorString.DPT_STRING_8859_1.getID(), Set.of(StringType.class)), //
             Map.entry(DPTXlatorString.DPT_STRING_ASCII.getID(), Set.of(StringType.class)));
 
+    // allowed types of DPTs resolved via their main type, avoids matching DPT_PATTERN for every telegram
+    private static final Map<String, Set<Class<? extends Type>>> RESOLVED_TYPES = new ConcurrentHashMap<>();
+
     private DPTUtil() {
         // prevent instantiation
     }
@@ -120,6 +124,9 @@ public class DPTUtil {
      */
     public static Set<Class<? extends Type>> getAllowedTypes(String dptId) {
         Set<Class<? extends Type>> allowedTypes = DPT_TYPE_MAP.get(dptId);
+        if (allowedTypes == null) {
+            allowedTypes = RESOLVED_TYPES.get(dptId);
+        }
         if (allowedTypes == null) {
             Matcher m = DPT_PATTERN.matcher(dptId);
             if (!m.matches()) {
@@ -128,6 +135,7 @@ public class DPTUtil {
             }
 
             allowedTypes = DPT_MAIN_TYPE_MAP.getOrDefault(m.group("main"), Set.of());
+            RESOLVED_TYPES.put(dptId, allowedTypes);
         }
         return allowedTypes;
     }
@@ -15,15 +15,23 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.openhab.binding.knx.internal.KNXBindingConstants.disableUoM;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.measure.Unit;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DateTimeType;
@@ -48,8 +56,11 @@ import tuwien.auto.calimero.KNXFormatException;
 import tuwien.auto.calimero.KNXIllegalArgumentException;
 import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
@@ -82,6 +93,37 @@ public class ValueDecoder {
             .compile("(?:\\((?<x>\\d+(?:[,.]\\d+)?) (?<y>\\d+(?:[,.]\\d+)?)\\))?\\s*(?:(?<Y>\\d+(?:[,.]\\d+)?)\\s%)?");
     public static final Pattern TSD_SEPARATOR = Pattern.compile("^[0-9]+(?<sep>[,\\.])[0-9][0-9][0-9].*");
 
+    // main types which are decoded from the numeric value of the translator, without creating its string value
+    private static final Set<String> NUMERIC_MAIN_TYPES = Set.of("1", "5", "9", "13", "14");
+    // DPTs decoded straight from the raw data, without a translator (scaled time periods are left to Calimero)
+    private static final Set<String> DIRECT_DPTS = directDpts();
+    // minimum data length of the directly decoded main types
+    private static final Map<String, Integer> DIRECT_DPT_SIZES = Map.of("1", 1, "5", 1, "7", 2, "9", 2, "13", 4, "14",
+            4);
+    // maximum number of idle translators kept per DPT
+    private static final int MAX_POOLED_TRANSLATORS = 4;
+
+    private static final Map<String, Queue<DPTXlator>> TRANSLATOR_POOL = new ConcurrentHashMap<>();
+    private static final Map<String, DptId> DPT_IDS = new ConcurrentHashMap<>();
+    private static final Map<String, Unit<?>> UNITS = new ConcurrentHashMap<>();
+
+    private record DptId(String main, String sub) {
+    }
+
+    private static Set<String> directDpts() {
+        Set<String> dpts = new HashSet<>(DPTXlatorBoolean.getSubTypesStatic().keySet());
+        dpts.add(DPTXlator8BitUnsigned.DPT_SCALING.getID());
+        dpts.add(DPTXlator8BitUnsigned.DPT_PERCENT_U8.getID());
+        dpts.add(DPTXlator8BitUnsigned.DPT_VALUE_1_UCOUNT.getID());
+        dpts.addAll(DPTXlator2ByteUnsigned.getSubTypesStatic().keySet());
+        dpts.remove(DPTXlator2ByteUnsigned.DPT_TIMEPERIOD_10.getID());
+        dpts.remove(DPTXlator2ByteUnsigned.DPT_TIMEPERIOD_100.getID());
+        dpts.addAll(DPTXlator2ByteFloat.getSubTypesStatic().keySet());
+        dpts.addAll(DPTXlator4ByteSigned.getSubTypesStatic().keySet());
+        dpts.addAll(DPTXlator4ByteFloat.getSubTypesStatic().keySet());
+        return Set.copyOf(dpts);
+    }
+
     private static boolean check235001(byte[] data) throws KNXException {
         if (data.length != 6) {
             throw new KNXFormatException("DPT235 broken frame");
@@ -113,14 +155,21 @@ public class ValueDecoder {
      * @return the data converted to an openHAB Type (or null if conversion failed)
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
+        if (DIRECT_DPTS.contains(dptId)) {
+            DptId dpt = parseDptId(dptId);
+            if (dpt != null && data.length >= DIRECT_DPT_SIZES.getOrDefault(dpt.main(), Integer.MAX_VALUE)) {
+                return decodeDirect(dptId, dpt, data, preferredType);
+            }
+        }
+
+        DPTXlator translator = null;
+        // translators are pooled under the DPT they were acquired for, which may differ from their type's id
+        String translatorKey = DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId);
         try {
-            String value = "";
             String translatorDptId = dptId;
-            DPTXlator translator;
             try {
-                translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
+                translator = acquireTranslator(translatorKey);
                 translator.setData(data);
-                value = translator.getValue();
                 translatorDptId = translator.getType().getID();
             } catch (KNXException e) {
                 // special handling for decoding DPTs not yet supported by Calimero
@@ -128,18 +177,18 @@ public class ValueDecoder {
                     if (!check235001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "13.010");
+                    translatorKey = "13.010";
+                    translator = acquireTranslator(translatorKey);
                     translator.setData(data);
-                    value = translator.getValue();
                     dptId = "13.010";
                     translatorDptId = dptId;
                 } else if ("235.61001".equals(dptId)) {
                     if (!check23561001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "5.006");
+                    translatorKey = "5.006";
+                    translator = acquireTranslator(translatorKey);
                     translator.setData(new byte[] { data[4] });
-                    value = translator.getValue();
                     dptId = "5.006";
                     translatorDptId = dptId;
                 } else {
@@ -149,25 +198,27 @@ public class ValueDecoder {
             }
             String id = dptId; // prefer using the user-supplied DPT
 
-            Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
-            if (!m.matches() || m.groupCount() != 2) {
+            DptId dpt = parseDptId(id);
+            if (dpt == null) {
                 LOGGER.trace("User-Supplied DPT '{}' did not match for sub-type, using DPT returned from Translator",
                         id);
                 id = translatorDptId;
-                m = DPTUtil.DPT_PATTERN.matcher(id);
-                if (!m.matches() || m.groupCount() != 2) {
+                dpt = parseDptId(id);
+                if (dpt == null) {
                     LOGGER.warn("Couldn't identify main/sub number in dptID '{}'", id);
                     return null;
                 }
             }
             LOGGER.trace("Finally using datapoint DPT = {}", id);
 
-            String mainType = m.group("main");
-            String subType = m.group("sub");
+            String mainType = dpt.main();
+            String subType = dpt.sub();
+            // numeric types do not need the string representation, which is costly to create
+            String value = NUMERIC_MAIN_TYPES.contains(mainType) ? "" : translator.getValue();
 
             switch (mainType) {
                 case "1":
-                    return handleDpt1(subType, translator, preferredType);
+                    return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean(), preferredType);
                 case "2":
                     DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
                     int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
@@ -241,39 +292,136 @@ public class ValueDecoder {
         } catch (KNXException e) {
             // should never happen unless Calimero changes
             LOGGER.warn("Failed creating a translator for datapoint type '{}'. Please open an issue.", dptId, e);
+        } finally {
+            if (translator != null) {
+                releaseTranslator(translatorKey, translator);
+            }
         }
 
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator, Class<? extends Type> preferredType) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    /**
+     * Decode one of the {@link #DIRECT_DPTS} from the raw data, the same way the corresponding Calimero translator
+     * interprets it, without acquiring a translator.
+     */
+    private static @Nullable Type decodeDirect(String id, DptId dpt, byte[] data, Class<? extends Type> preferredType) {
+        switch (dpt.main()) {
+            case "1":
+                return handleDpt1(dpt.sub(), (data[0] & 0x01) != 0, preferredType);
+            case "5":
+                int unsigned = data[0] & 0xff;
+                if ("001".equals(dpt.sub())) {
+                    // scaling 0..255 -> 0..100 %, rounded like Calimero
+                    return handleNumericValue(id, Math.round(unsigned * 100.0f / 255), null, preferredType);
+                }
+                return handleNumericValue(id, unsigned, null, preferredType);
+            case "7":
+                return handleNumericValue(id, (data[0] & 0xff) << 8 | (data[1] & 0xff), null, preferredType);
+            case "9":
+                if ((data[0] == (byte) 0x7f) && (data[1] == (byte) 0xff)) {
+                    // 0x7fff denotes invalid data
+                    LOGGER.debug("Ignoring incoming packet for DPT '{}', 0x7fff indicates invalid value", id);
+                    return null;
+                }
+                // MEEEEMMM MMMMMMMM: 12 bit two's complement mantissa, 4 bit exponent, resolution 0.01
+                int mantissa = ((data[0] & 0x80) << 24 | (data[0] & 0x07) << 28 | (data[1] & 0xff) << 20) >> 20;
+                int exponent = (data[0] & 0x78) >> 3;
+                return handleNumericValue(id, (1 << exponent) * mantissa * 0.01, null, preferredType);
+            case "13":
+                return handleNumericValue(id, ByteBuffer.wrap(data, 0, 4).getInt(), null, preferredType);
+            case "14":
+                float value = ByteBuffer.wrap(data, 0, 4).getFloat();
+                if (Float.isNaN(value) || Float.isInfinite(value)) {
+                    LOGGER.debug("Ignoring incoming packet for DPT '{}', {} is not a valid value", id, value);
+                    return null;
+                }
+                return handleNumericValue(id, value, null, preferredType);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get a translator for the given DPT, either an idle one from the pool or a newly created one.
+     *
+     * Translators are stateful, so a translator must only be used by one thread until it is released.
+     */
+    private static DPTXlator acquireTranslator(String dptId) throws KNXException {
+        Queue<DPTXlator> pool = TRANSLATOR_POOL.get(dptId);
+        DPTXlator translator = pool != null ? pool.poll() : null;
+        return translator != null ? translator : TranslatorTypes.createTranslator(0, dptId);
+    }
+
+    private static void releaseTranslator(String dptId, DPTXlator translator) {
+        Queue<DPTXlator> pool = TRANSLATOR_POOL.computeIfAbsent(dptId, k -> new ConcurrentLinkedQueue<>());
+        if (pool.size() < MAX_POOLED_TRANSLATORS) {
+            pool.offer(translator);
+        }
+    }
+
+    /**
+     * Visible for testing
+     */
+    static int getPooledTranslatorCount(String dptId) {
+        Queue<DPTXlator> pool = TRANSLATOR_POOL.get(dptId);
+        return pool != null ? pool.size() : 0;
+    }
+
+    private static @Nullable DptId parseDptId(String dptId) {
+        DptId dpt = DPT_IDS.get(dptId);
+        if (dpt == null) {
+            Matcher m = DPTUtil.DPT_PATTERN.matcher(dptId);
+            if (!m.matches() || m.groupCount() != 2) {
+                return null;
+            }
+            dpt = new DptId(m.group("main"), m.group("sub"));
+            DPT_IDS.put(dptId, dpt);
+        }
+        return dpt;
+    }
+
+    private static @Nullable Unit<?> parseUnit(String unit) {
+        Unit<?> parsed = UNITS.get(unit);
+        if (parsed == null) {
+            try {
+                // parse the same way as a QuantityType created from a string would do
+                parsed = new QuantityType<>("0 " + unit).getUnit();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            UNITS.put(unit, parsed);
+        }
+        return parsed;
+    }
+
+    private static Type handleDpt1(String subType, boolean value, Class<? extends Type> preferredType) {
         return switch (subType) {
-            case "008" -> translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+            case "008" -> value ? UpDownType.DOWN : UpDownType.UP;
             case "009", "019" -> {
                 // default is OpenClosedType (Contact), but it may be mapped to OnOffType as well
                 if (OnOffType.class.equals(preferredType)) {
-                    yield OnOffType.from(translatorBoolean.getValueBoolean());
+                    yield OnOffType.from(value);
                 }
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
             }
-            case "010" -> translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-            case "022" -> DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+            case "010" -> value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case "022" -> DecimalType.valueOf(value ? "1" : "0");
             default -> {
                 // default is OnOffType (Switch), but it may be mapped to OpenClosedType as well
                 if (OpenClosedType.class.equals(preferredType)) {
-                    yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
                 }
 
-                yield OnOffType.from(translatorBoolean.getValueBoolean());
+                yield OnOffType.from(value);
             }
         };
     }
@@ -494,9 +642,17 @@ public class ValueDecoder {
 
     private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
             throws KNXFormatException {
+        // prevent loss of precision, do not represent 64bit decimal using double
+        Long signedValue = translator instanceof DPTXlator64BitSigned translatorSigned
+                ? translatorSigned.getValueSigned()
+                : null;
+        return handleNumericValue(id, translator.getNumericValue(), signedValue, preferredType);
+    }
+
+    private static @Nullable Type handleNumericValue(String id, double value, @Nullable Long signedValue,
+            Class<? extends Type> preferredType) {
         Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
 
-        double value = translator.getNumericValue();
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
@@ -506,9 +662,13 @@ public class ValueDecoder {
             String unit = DPTUnits.getUnitForDpt(id);
             if (unit != null) {
                 try {
-                    if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                        // prevent loss of precision, do not represent 64bit decimal using double
-                        return new QuantityType<>(translatorSigned.getValueSigned() + " " + unit);
+                    if (signedValue != null) {
+                        return new QuantityType<>(signedValue + " " + unit);
+                    }
+                    Unit<?> parsedUnit = parseUnit(unit);
+                    if (parsedUnit != null) {
+                        // same value as parsing Double.toString(value), without the string round-trip
+                        return new QuantityType<>(BigDecimal.valueOf(value), parsedUnit);
                     }
                     return new QuantityType<>(value + " " + unit);
                 } catch (IllegalArgumentException e) {
@@ -521,9 +681,8 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(DecimalType.class)) {
-            if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                // prevent loss of precision, do not represent 64bit decimal using double
-                return new DecimalType(translatorSigned.getValueSigned());
+            if (signedValue != null) {
+                return new DecimalType(signedValue);
             }
             return new DecimalType(value);
         }
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
 import tuwien.auto.calimero.GroupAddress;
@@ -33,4 +36,16 @@ public interface GroupAddressListener extends BusMessageListener {
      * @param destination
      */
     boolean listensTo(GroupAddress destination);
+
+    /**
+     * Get all Group Addresses the GroupAddressListener has an interest in.
+     *
+     * The result is used to route telegrams without asking every listener. It is read when the listener is
+     * registered, so listeners need to register again if their Group Addresses change.
+     *
+     * @return the Group Addresses, or {@code null} if only {@link #listensTo(GroupAddress)} can tell
+     */
+    default @Nullable Set<GroupAddress> getGroupAddresses() {
+        return null;
+    }
 }
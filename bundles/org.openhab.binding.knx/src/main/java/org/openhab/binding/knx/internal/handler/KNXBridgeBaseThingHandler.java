@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import static org.openhab.binding.knx.internal.KNXBindingConstants.READ_PROGRESS;
+
 import java.io.File;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -417,4 +419,9 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
     public void updateStatus(ThingStatus status, ThingStatusDetail statusDetail, @Nullable String description) {
         super.updateStatus(status, statusDetail, description);
     }
+
+    @Override
+    public void updateReadProgress(int done, int total) {
+        updateProperty(READ_PROGRESS, total > 0 ? done + "/" + total : null);
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Tests the {@link GroupAddressRouter}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressRouterTest {
+
+    private static final GroupAddress GA_1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA_2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA_3 = new GroupAddress(1, 2, 5);
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final GroupAddressRouter router = new GroupAddressRouter(tasks::add);
+
+    private GroupAddressListener indexedListener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(new HashSet<>(List.of(groupAddresses)));
+        return listener;
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void indexedListenersAreRoutedWithoutScan() {
+        GroupAddressListener listener1 = indexedListener(GA_1, GA_2);
+        GroupAddressListener listener2 = indexedListener(GA_2);
+        router.add(listener1);
+        router.add(listener2);
+
+        List<GroupAddressListener> notified = new ArrayList<>();
+        assertTrue(router.route(GA_1, notified::add));
+        runTasks();
+        assertEquals(List.of(listener1), notified);
+
+        notified.clear();
+        assertTrue(router.route(GA_2, notified::add));
+        runTasks();
+        assertEquals(Set.of(listener1, listener2), new HashSet<>(notified));
+
+        assertFalse(router.route(GA_3, notified::add));
+        verify(listener1, never()).listensTo(any());
+        verify(listener2, never()).listensTo(any());
+    }
+
+    @Test
+    void unindexedListenersAreAsked() {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.listensTo(GA_3)).thenReturn(true);
+        router.add(listener);
+
+        List<GroupAddressListener> notified = new ArrayList<>();
+        assertFalse(router.route(GA_1, notified::add));
+        assertTrue(router.route(GA_3, notified::add));
+        runTasks();
+        assertEquals(List.of(listener), notified);
+    }
+
+    @Test
+    void notificationsForOneListenerAreOrderedAndBatched() {
+        GroupAddressListener listener = indexedListener(GA_1);
+        router.add(listener);
+
+        List<Integer> received = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            router.route(GA_1, l -> received.add(value));
+        }
+        // a single task is pending for the whole burst
+        assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        assertEquals(GroupAddressRouter.MAX_BATCH_SIZE, received.size());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void failingNotificationDoesNotStopQueue() {
+        GroupAddressListener listener = indexedListener(GA_1);
+        router.add(listener);
+
+        List<String> received = new ArrayList<>();
+        router.route(GA_1, l -> {
+            throw new IllegalStateException("test");
+        });
+        router.route(GA_1, l -> received.add("second"));
+        runTasks();
+        assertEquals(List.of("second"), received);
+    }
+
+    @Test
+    void removedAndUpdatedListeners() {
+        GroupAddressListener listener = indexedListener(GA_1);
+        router.add(listener);
+        assertNotNull(router.getIndexedListeners(GA_1));
+
+        when(listener.getGroupAddresses()).thenReturn(Set.of(GA_2));
+        router.add(listener);
+        assertNull(router.getIndexedListeners(GA_1));
+        assertFalse(router.route(GA_1, l -> {
+        }));
+        assertTrue(router.route(GA_2, l -> {
+        }));
+        assertEquals(1, router.size());
+
+        router.remove(listener);
+        assertFalse(router.route(GA_2, l -> {
+        }));
+        assertEquals(0, router.size());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Tests the {@link ReadScheduler}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+class ReadSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    private static Datapoint datapoint(int subGroup) {
+        return new CommandDP(new GroupAddress(1, 2, subGroup), "test", 0, "1.001");
+    }
+
+    private static int subGroup(@Nullable ReadDatapoint readDatapoint) {
+        assertNotNull(readDatapoint);
+        return readDatapoint.getDatapoint().getMainAddress().getSubGroup8();
+    }
+
+    @Test
+    void duplicatesAreQueuedOnce() {
+        ReadScheduler scheduler = new ReadScheduler(3, 50, false);
+        assertTrue(scheduler.add(datapoint(1), ReadPriority.NORMAL));
+        assertFalse(scheduler.add(datapoint(1), ReadPriority.NORMAL));
+        assertFalse(scheduler.add(datapoint(1), ReadPriority.LOW));
+        assertEquals(1, scheduler.getPending());
+
+        assertEquals(1, subGroup(scheduler.poll()));
+        assertNull(scheduler.poll());
+        assertEquals(0, scheduler.getPending());
+    }
+
+    @Test
+    void higherPriorityIsReadFirst() {
+        ReadScheduler scheduler = new ReadScheduler(3, 50, false);
+        scheduler.add(datapoint(1), ReadPriority.LOW);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+        scheduler.add(datapoint(3), ReadPriority.NORMAL);
+        scheduler.add(datapoint(4), ReadPriority.LOW);
+        // moves ahead
+        assertTrue(scheduler.add(datapoint(4), ReadPriority.HIGH));
+
+        assertEquals(4, subGroup(scheduler.poll()));
+        assertEquals(2, subGroup(scheduler.poll()));
+        assertEquals(3, subGroup(scheduler.poll()));
+        assertEquals(1, subGroup(scheduler.poll()));
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void retriesAreLimitedAndQueuedLast() {
+        ReadScheduler scheduler = new ReadScheduler(2, 50, false);
+        scheduler.add(datapoint(1), ReadPriority.HIGH);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+
+        ReadDatapoint failed = scheduler.poll();
+        assertNotNull(failed);
+        failed.incrementRetries();
+        assertTrue(scheduler.retry(failed));
+        assertEquals(ReadPriority.LOW, failed.getPriority());
+
+        assertEquals(2, subGroup(scheduler.poll()));
+        ReadDatapoint retried = scheduler.poll();
+        assertSame(failed, retried);
+        retried.incrementRetries();
+        assertFalse(scheduler.retry(retried));
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void progressCountsCurrentBatch() {
+        ReadScheduler scheduler = new ReadScheduler(3, 50, false);
+        scheduler.add(datapoint(1), ReadPriority.NORMAL);
+        scheduler.add(datapoint(2), ReadPriority.NORMAL);
+        assertEquals(2, scheduler.getTotal());
+        scheduler.poll();
+        assertEquals(1, scheduler.getPending());
+        scheduler.poll();
+
+        // queue was empty, a new batch starts
+        scheduler.add(datapoint(3), ReadPriority.NORMAL);
+        assertEquals(1, scheduler.getTotal());
+    }
+
+    @Test
+    void fixedPauseWithoutAdaptivePacing() {
+        ReadScheduler scheduler = new ReadScheduler(3, 50, false, now::get);
+        scheduler.readCompleted(2000, true);
+        assertEquals(50, scheduler.getPause());
+    }
+
+    @Test
+    void adaptivePacingFollowsBusLoad() {
+        ReadScheduler scheduler = new ReadScheduler(3, 100, true, now::get);
+        assertEquals(100, scheduler.getPause());
+
+        // quiet bus and fast responses: pause decreases down to a quarter
+        for (int i = 0; i < 20; i++) {
+            scheduler.readCompleted(20, true);
+        }
+        assertEquals(100 / ReadScheduler.MIN_PAUSE_DIVISOR, scheduler.getPause());
+
+        // slow responses: pause increases up to the maximum
+        for (int i = 0; i < 20; i++) {
+            scheduler.readCompleted(ReadScheduler.SLOW_RESPONSE_MILLIS + 1, true);
+        }
+        assertEquals(100 * ReadScheduler.MAX_PAUSE_FACTOR, scheduler.getPause());
+
+        // missing answers do not change the pause
+        scheduler.readCompleted(10000, false);
+        assertEquals(100 * ReadScheduler.MAX_PAUSE_FACTOR, scheduler.getPause());
+    }
+
+    @Test
+    void adaptivePacingBacksOffOnBusyBus() {
+        ReadScheduler scheduler = new ReadScheduler(3, 100, true, now::get);
+        for (int i = 0; i <= ReadScheduler.BUSY_TELEGRAMS_PER_SECOND; i++) {
+            scheduler.telegramReceived();
+        }
+        now.set(1000);
+        scheduler.readCompleted(20, true);
+        assertEquals(200, scheduler.getPause());
+
+        // the busy window is over
+        now.set(2000);
+        scheduler.readCompleted(20, true);
+        assertEquals(150, scheduler.getPause());
+    }
+}
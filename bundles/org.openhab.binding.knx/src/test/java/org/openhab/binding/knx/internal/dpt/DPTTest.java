@@ -30,12 +30,17 @@ import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
 
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteSigned;
@@ -43,6 +48,7 @@ import tuwien.auto.calimero.dptxlator.DPTXlator4ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitSigned;
 import tuwien.auto.calimero.dptxlator.DptXlator2ByteSigned;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 
 /**
  *
@@ -524,6 +530,91 @@ class DPTTest {
         assertEquals(rgb[2] * 100d / 255, Double.valueOf(parts[2].replace(',', '.')), 1);
     }
 
+    @Test
+    public void numericValuesMatchStringRepresentation() {
+        assertEquals(new QuantityType<>("21.0 " + DPTUnits.getUnitForDpt("9.001")),
+                ValueDecoder.decode("9.001", new byte[] { 0x0c, 0x1a }, QuantityType.class));
+        assertEquals(new QuantityType<>("100.0 " + DPTUnits.getUnitForDpt("14.056")),
+                ValueDecoder.decode("14.056", new byte[] { 0x42, (byte) 0xc8, 0x00, 0x00 }, QuantityType.class));
+        assertEquals(new QuantityType<>("1000 " + DPTUnits.getUnitForDpt("13.010")),
+                ValueDecoder.decode("13.010", new byte[] { 0x00, 0x00, 0x03, (byte) 0xe8 }, QuantityType.class));
+        assertEquals(new QuantityType<>("100 " + DPTUnits.getUnitForDpt("5.001")),
+                ValueDecoder.decode("5.001", new byte[] { (byte) 0xff }, QuantityType.class));
+    }
+
+    @Test
+    public void repeatedDecodingReusesTranslators() {
+        // translators are pooled, make sure no state leaks between subsequent decodes
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new DecimalType(i), ValueDecoder.decode("5.010", new byte[] { (byte) i }, DecimalType.class));
+            assertEquals(StringType.valueOf("abc" + i), ValueDecoder.decode("16.000",
+                    new byte[] { 'a', 'b', 'c', (byte) ('0' + i), 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, StringType.class));
+        }
+        assertNull(ValueDecoder.decode("5.010", new byte[] {}, DecimalType.class));
+        assertEquals(new DecimalType(42), ValueDecoder.decode("5.010", new byte[] { 42 }, DecimalType.class));
+    }
+
+    @Test
+    public void translatorsArePooledUnderTheRequestedDpt() {
+        // vendor-specific DPTs are translated by the translator of the normalized DPT
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(ValueDecoder.decode("232.60000", new byte[] { 123, 45, 67 }, HSBType.class));
+        }
+        assertEquals(1, ValueDecoder.getPooledTranslatorCount("232.600"));
+        assertEquals(0, ValueDecoder.getPooledTranslatorCount("232.60000"));
+
+        // common DPTs are decoded without any translator
+        int pooled = ValueDecoder.getPooledTranslatorCount("9.001");
+        assertNotNull(ValueDecoder.decode("9.001", new byte[] { 0x0c, 0x1a }, QuantityType.class));
+        assertEquals(pooled, ValueDecoder.getPooledTranslatorCount("9.001"));
+    }
+
+    @Test
+    public void directDecodingMatchesTranslator() throws KNXException {
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i };
+            assertDecodedLikeTranslator("5.001", data);
+            assertDecodedLikeTranslator("5.004", data);
+            assertDecodedLikeTranslator("5.010", data);
+        }
+        for (int i = 0; i < 0x10000; i += 0x7f) {
+            byte[] data = new byte[] { (byte) (i >> 8), (byte) i };
+            assertDecodedLikeTranslator("7.001", data);
+            assertDecodedLikeTranslator("7.600", data);
+            if (i != 0x7fff) {
+                assertDecodedLikeTranslator("9.001", data);
+                assertDecodedLikeTranslator("9.004", data);
+            }
+        }
+        for (int i : new int[] { 0, 1, -1, 1000, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+            byte[] data = new byte[] { (byte) (i >> 24), (byte) (i >> 16), (byte) (i >> 8), (byte) i };
+            assertDecodedLikeTranslator("13.001", data);
+            assertDecodedLikeTranslator("13.010", data);
+        }
+        for (float f : new float[] { 0f, -0.5f, 21.1f, 100f, 1.234e-5f, -3.4e38f }) {
+            int bits = Float.floatToIntBits(f);
+            byte[] data = new byte[] { (byte) (bits >> 24), (byte) (bits >> 16), (byte) (bits >> 8), (byte) bits };
+            assertDecodedLikeTranslator("14.056", data);
+            assertDecodedLikeTranslator("14.068", data);
+        }
+
+        assertEquals(OnOffType.ON, ValueDecoder.decode("1.001", new byte[] { 1 }, OnOffType.class));
+        assertEquals(OnOffType.OFF, ValueDecoder.decode("1.001", new byte[] { 0 }, OnOffType.class));
+        assertEquals(UpDownType.DOWN, ValueDecoder.decode("1.008", new byte[] { 1 }, UpDownType.class));
+        assertEquals(UpDownType.UP, ValueDecoder.decode("1.008", new byte[] { 0 }, UpDownType.class));
+        // too short frames are still rejected
+        assertNull(ValueDecoder.decode("9.001", new byte[] { 0x0c }, QuantityType.class));
+        assertNull(ValueDecoder.decode("13.010", new byte[] { 0, 0, 3 }, QuantityType.class));
+    }
+
+    private static void assertDecodedLikeTranslator(String dptId, byte[] data) throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dptId);
+        translator.setData(data);
+        Type decoded = ValueDecoder.decode(dptId, data, DecimalType.class);
+        assertNotNull(decoded, dptId);
+        assertEquals(translator.getNumericValue(), ((Number) decoded).doubleValue(), 0, dptId);
+    }
+
     // This test checks all our overrides for units. It allows to detect unnecessary overrides when we
     // update Calimero library
     @Test
@@ -15,6 +15,9 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -46,6 +49,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    private static final int READ_RATE_INTERVAL_SECONDS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private final LogFileReader fileReader;
@@ -56,6 +61,11 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
 
+    private final AtomicLong linesRead = new AtomicLong();
+    private long lastLinesRead;
+    private long lastReadRateUpdate;
+    private @Nullable ScheduledFuture<?> readRateJob;
+
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
         this.fileReader = fileReader;
@@ -115,6 +125,10 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             fileReader.registerListener(this);
             fileReader.start(configuration.filePath, configuration.refreshRate);
             updateStatus(ThingStatus.ONLINE);
+            lastLinesRead = linesRead.get();
+            lastReadRateUpdate = System.nanoTime();
+            readRateJob = scheduler.scheduleWithFixedDelay(this::updateReadRate, READ_RATE_INTERVAL_SECONDS,
+                    READ_RATE_INTERVAL_SECONDS, TimeUnit.SECONDS);
         } catch (Exception e) {
             logger.debug("Exception occurred during initalization: {}. ", e.getMessage(), e);
             shutdown();
@@ -160,7 +174,23 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         }
     }
 
+    private void updateReadRate() {
+        long now = System.nanoTime();
+        long lines = linesRead.get();
+        double seconds = (now - lastReadRateUpdate) / 1e9;
+        if (seconds > 0) {
+            updateChannelIfLinked(CHANNEL_LINESPERSECOND, new DecimalType((lines - lastLinesRead) / seconds));
+        }
+        lastLinesRead = lines;
+        lastReadRateUpdate = now;
+    }
+
     private void shutdown() {
+        ScheduledFuture<?> localReadRateJob = readRateJob;
+        if (localReadRateJob != null) {
+            localReadRateJob.cancel(true);
+            readRateJob = null;
+        }
         logger.debug("Stop file reader");
         fileReader.unregisterListener(this);
         fileReader.stop();
@@ -183,6 +213,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         if (line == null) {
             return;
         }
+        linesRead.incrementAndGet();
 
         if (thing.getStatus() != ThingStatus.ONLINE) {
             updateStatus(ThingStatus.ONLINE);
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link LiteralExtractor} finds a literal string that occurs in every match of a regular expression.
+ *
+ * Only the top level of the expression is analyzed: groups, character classes, escapes like <code>\d</code> and
+ * optional characters end a literal, and the longest remaining literal is returned. Only quoted text and escaped
+ * punctuation are taken as literal, every other escape ends the literal, and an escape that is not understood at all
+ * means there is no required literal. Expressions with alternations or flags changing the meaning of literals (case
+ * insensitivity, comments) have no required literal as well.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralExtractor {
+
+    private static final Pattern UNSUPPORTED_FLAGS = Pattern.compile("\\(\\?[a-zA-Z-]*[ixuU]");
+
+    /**
+     * Escapes that consist of a single letter, like <code>\d</code> or <code>\t</code>.
+     */
+    private static final String SINGLE_LETTER_ESCAPES = "dDhHsSvVwWAGZzRXtnrfaeB";
+
+    private String best = "";
+    private final StringBuilder run = new StringBuilder();
+
+    private LiteralExtractor() {
+    }
+
+    /**
+     * Get a literal that occurs in every match of the given regular expression.
+     *
+     * @param regex the regular expression
+     * @return the longest literal found, or null if there is none
+     */
+    public static @Nullable String requiredLiteral(String regex) {
+        if (UNSUPPORTED_FLAGS.matcher(regex).find()) {
+            return null;
+        }
+        return new LiteralExtractor().extract(regex);
+    }
+
+    private @Nullable String extract(String regex) {
+        int length = regex.length();
+        int i = 0;
+        while (i < length) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    i = escape(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    continue;
+                case '[':
+                    flush();
+                    i = skipClass(regex, i);
+                    continue;
+                case '(':
+                    flush();
+                    i = skipGroup(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    continue;
+                case '|':
+                case ')':
+                    return null;
+                case '?':
+                case '*':
+                    dropLast();
+                    flush();
+                    break;
+                case '+':
+                    flush();
+                    break;
+                case '{':
+                    int end = regex.indexOf('}', i);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (regex.substring(i + 1, end).startsWith("0")) {
+                        dropLast();
+                    }
+                    flush();
+                    i = end;
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    flush();
+                    break;
+                default:
+                    run.append(c);
+            }
+            i++;
+        }
+        flush();
+        return best.isEmpty() ? null : best;
+    }
+
+    /**
+     * Handle an escape at the given index.
+     *
+     * @return the index after the escape, or -1 if the escape is not understood
+     */
+    private int escape(String regex, int start) {
+        int length = regex.length();
+        if (start + 1 >= length) {
+            return -1;
+        }
+        char next = regex.charAt(start + 1);
+        if (next == 'Q') {
+            int end = regex.indexOf("\\E", start + 2);
+            if (end < 0) {
+                run.append(regex, start + 2, length);
+                return length;
+            }
+            run.append(regex, start + 2, end);
+            return end + 2;
+        }
+        if (next >= 128 || !Character.isLetterOrDigit(next)) {
+            // escaped punctuation stands for itself
+            run.append(next);
+            return start + 2;
+        }
+
+        // character classes, boundaries, back references and escaped characters
+        flush();
+        int i = start + 2;
+        if (SINGLE_LETTER_ESCAPES.indexOf(next) >= 0) {
+            return i;
+        }
+        switch (next) {
+            case 'b':
+                // \b or \b{g}
+                return i < length && regex.charAt(i) == '{' ? skipBraces(regex, i) : i;
+            case 'p':
+            case 'P':
+                // \pL or \p{Lu}
+                return i < length && regex.charAt(i) == '{' ? skipBraces(regex, i) : i + 1;
+            case 'x':
+                // \xhh or \x{h...h}
+                return i < length && regex.charAt(i) == '{' ? skipBraces(regex, i) : i + 2;
+            case 'N':
+                return skipBraces(regex, i);
+            case 'u':
+                return i + 4;
+            case 'c':
+                return i + 1;
+            case 'k':
+                int end = regex.indexOf('>', i);
+                return end < 0 ? -1 : end + 1;
+            case '0':
+                // up to three octal digits
+                int octalEnd = Math.min(length, i + 3);
+                while (i < octalEnd && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                    i++;
+                }
+                return i;
+            default:
+                if (next >= '1' && next <= '9') {
+                    // back reference, the group number may have several digits
+                    while (i < length && Character.isDigit(regex.charAt(i))) {
+                        i++;
+                    }
+                    return i;
+                }
+                return -1;
+        }
+    }
+
+    private static int skipBraces(String regex, int start) {
+        if (start >= regex.length() || regex.charAt(start) != '{') {
+            return -1;
+        }
+        int end = regex.indexOf('}', start);
+        return end < 0 ? -1 : end + 1;
+    }
+
+    /**
+     * @return the index of the last character of the escape or quoted text starting at the given backslash
+     */
+    private static int skipEscape(String regex, int start) {
+        if (start + 1 < regex.length() && regex.charAt(start + 1) == 'Q') {
+            int end = regex.indexOf("\\E", start + 2);
+            return end < 0 ? regex.length() - 1 : end + 1;
+        }
+        return start + 1;
+    }
+
+    private static int skipClass(String regex, int start) {
+        int i = start + 1;
+        int depth = 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length() && depth > 0) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i = skipEscape(regex, i);
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int i = start + 1;
+        int depth = 1;
+        while (i < regex.length() && depth > 0) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i = skipEscape(regex, i);
+            } else if (c == '[') {
+                i = skipClass(regex, i) - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+            i++;
+        }
+        return depth == 0 ? i : -1;
+    }
+
+    private void dropLast() {
+        if (!run.isEmpty()) {
+            run.setLength(run.length() - 1);
+        }
+    }
+
+    private void flush() {
+        if (run.length() > best.length()) {
+            best = run.toString();
+        }
+        run.setLength(0);
+    }
+}
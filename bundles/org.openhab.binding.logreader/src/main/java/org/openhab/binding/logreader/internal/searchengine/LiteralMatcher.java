@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link LiteralMatcher} checks whether a text contains any of a set of literal strings, scanning the text only
+ * once (Aho-Corasick). Transitions for ASCII characters are precomputed, so the common case needs a single table
+ * lookup per character.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralMatcher {
+
+    private static final int ASCII = 128;
+
+    private final List<Map<Character, Integer>> children = new ArrayList<>();
+    private final int[] fail;
+    private final boolean[] terminal;
+    private final int[] asciiTransitions;
+
+    /**
+     * Create a matcher for the given literals.
+     *
+     * @param literals the literals to search for, must not be empty strings
+     */
+    public LiteralMatcher(Collection<String> literals) {
+        children.add(new HashMap<>());
+        List<Boolean> terminalNodes = new ArrayList<>();
+        terminalNodes.add(false);
+        for (String literal : literals) {
+            int node = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                Integer next = children.get(node).get(literal.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminalNodes.add(false);
+                    children.get(node).put(literal.charAt(i), next);
+                }
+                node = next;
+            }
+            terminalNodes.set(node, true);
+        }
+
+        int size = children.size();
+        fail = new int[size];
+        terminal = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            terminal[i] = terminalNodes.get(i);
+        }
+
+        // breadth first, so the failure link and transitions of shallower nodes are complete when a node is visited
+        asciiTransitions = new int[size * ASCII];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Character, Integer> entry : children.get(0).entrySet()) {
+            if (entry.getKey() < ASCII) {
+                asciiTransitions[entry.getKey()] = entry.getValue();
+            }
+            queue.add(entry.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            terminal[node] |= terminal[fail[node]];
+            for (char c = 0; c < ASCII; c++) {
+                Integer child = children.get(node).get(c);
+                asciiTransitions[node * ASCII + c] = child != null ? child : asciiTransitions[fail[node] * ASCII + c];
+            }
+            for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                fail[entry.getValue()] = next(fail[node], entry.getKey());
+                queue.add(entry.getValue());
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        if (c < ASCII) {
+            return asciiTransitions[state * ASCII + c];
+        }
+        int node = state;
+        while (true) {
+            Integer child = children.get(node).get(c);
+            if (child != null) {
+                return child;
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = fail[node];
+        }
+    }
+
+    /**
+     * Check if the text contains any of the literals.
+     *
+     * @param text the text to search
+     * @return true if at least one literal occurs in the text
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
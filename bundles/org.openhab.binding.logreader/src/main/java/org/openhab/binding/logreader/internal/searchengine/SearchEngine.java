@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -24,13 +25,20 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * This class implements logic for regular expression based searching.
  *
+ * The patterns of each list are combined into a single expression. If every pattern contains a literal that must
+ * occur in a matching line, lines are first searched for these literals at once, and the expression only runs on
+ * lines containing one of them.
+ *
  * @author Pauli Anttila - Initial contribution
+ * @author Giovanni Battista - Combined patterns and literal prefilter
  */
 @NonNullByDefault
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
+
+    private PatternGroup matchers;
+    private PatternGroup blacklistingMatchers;
 
     private long matchCount;
 
@@ -42,8 +50,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, @Nullable String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matchers = new PatternGroup(compilePatterns(patterns));
+        blacklistingMatchers = new PatternGroup(compilePatterns(blacklistingPatterns));
     }
 
     /**
@@ -53,7 +61,7 @@ public class SearchEngine {
      * @return true if one of the search patterns found.
      */
     public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
+        if (matchers.matches(data)) {
             if (notBlacklisted(data)) {
                 matchCount++;
                 return true;
@@ -94,18 +102,59 @@ public class SearchEngine {
     }
 
     private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
+        return !blacklistingMatchers.matches(data);
     }
 
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
+    /**
+     * The patterns of one list, combined into as few expressions as possible.
+     */
+    private static class PatternGroup {
+        private final List<Pattern> patterns;
+        private final @Nullable LiteralMatcher prefilter;
+
+        PatternGroup(List<Pattern> patterns) {
+            this.patterns = combine(patterns);
+
+            List<String> literals = new ArrayList<>();
+            for (Pattern pattern : patterns) {
+                String literal = LiteralExtractor.requiredLiteral(pattern.pattern());
+                if (literal == null) {
+                    // a pattern without a required literal can match any line
+                    literals.clear();
+                    break;
+                }
+                literals.add(literal);
+            }
+            this.prefilter = literals.isEmpty() ? null : new LiteralMatcher(literals);
+        }
+
+        private static List<Pattern> combine(List<Pattern> patterns) {
+            if (patterns.size() < 2
+                    || patterns.stream().anyMatch(pattern -> BACK_REFERENCE.matcher(pattern.pattern()).find())) {
+                // back references are numbered, so they would refer to other groups in a combined expression
+                return patterns;
+            }
+            try {
+                return List.of(Pattern.compile(patterns.stream().map(pattern -> "(?:" + pattern.pattern() + ")")
+                        .collect(Collectors.joining("|"))));
+            } catch (PatternSyntaxException e) {
+                // e.g. the same named group in several patterns
+                return patterns;
+            }
+        }
+
+        boolean matches(String data) {
+            LiteralMatcher localPrefilter = prefilter;
+            if (localPrefilter != null && !localPrefilter.containsAny(data)) {
+                return false;
+            }
             for (Pattern pattern : patterns) {
                 Matcher matcher = pattern.matcher(data);
                 if (matcher.find()) {
                     return true;
                 }
             }
+            return false;
         }
-        return false;
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the {@link LiteralExtractor}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralExtractorTest {
+
+    private static Stream<Arguments> literals() {
+        return Stream.of( //
+                Arguments.of("ERROR", "ERROR", "2025 ERROR [main]"), //
+                Arguments.of("\\[ERROR\\]", "[ERROR]", "2025 [ERROR] failed"), //
+                Arguments.of("\\.log", ".log", "file.log"), //
+                Arguments.of("abc\\d+xyz1", "xyz1", "abc42xyz1"), //
+                Arguments.of("colou?r", "colo", "color"), //
+                Arguments.of("ab{0,2}cd", "cd", "acd"), //
+                Arguments.of("a+bcd", "bcd", "aaabcd"), //
+                Arguments.of("\\Qa.b*c\\E", "a.b*c", "x a.b*c"), //
+                Arguments.of("\\Qab\\E?", "a", "a"), //
+                Arguments.of("[\\Q]\\E]abc", "abc", "]abc"), //
+                Arguments.of("(a)bcd", "bcd", "abcd"), //
+                Arguments.of("\\tab", "ab", "\tab"), //
+                Arguments.of("\\x41BC", "BC", "ABC"), //
+                Arguments.of("\\x{41}BC", "BC", "ABC"), //
+                Arguments.of("\\u0041BCD", "BCD", "ABCD"), //
+                Arguments.of("\\0101xyz", "xyz", "Axyz"), //
+                Arguments.of("\\cAxyz", "xyz", "\u0001xyz"), //
+                Arguments.of("\\pLabc", "abc", "Xabc"), //
+                Arguments.of("\\p{Lu}abc", "abc", "Xabc"), //
+                Arguments.of("\\N{LATIN SMALL LETTER A}bc", "bc", "abc"), //
+                Arguments.of("(a)\\1bc", "bc", "aabc"), //
+                Arguments.of("(?<n>a)\\k<n>bc", "bc", "aabc"), //
+                Arguments.of("\\bword\\b", "word", "a word here"), //
+                Arguments.of("\\b{g}xyz", "xyz", "xyz"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("literals")
+    public void literalIsRequiredByEveryMatch(String regex, String literal, String matchingLine) {
+        assertThat(LiteralExtractor.requiredLiteral(regex), is(literal));
+        assertTrue(Pattern.compile(regex).matcher(matchingLine).find());
+        assertThat(matchingLine, containsString(literal));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "a|b", "(?i)error", "(?x)a b", ".*", "\\d+", "[abc]", "x\\", "\\Eabc", "\\k<n" })
+    public void noRequiredLiteral(String regex) {
+        assertThat(LiteralExtractor.requiredLiteral(regex), is(nullValue()));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link LiteralMatcher}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class LiteralMatcherTest {
+
+    @Test
+    public void findsAnyLiteral() {
+        LiteralMatcher matcher = new LiteralMatcher(List.of("he", "she", "his", "hers"));
+
+        assertTrue(matcher.containsAny("ushers"));
+        assertTrue(matcher.containsAny("this"));
+        assertFalse(matcher.containsAny("xyz"));
+        assertFalse(matcher.containsAny(""));
+    }
+
+    @Test
+    public void followsFailureLinks() {
+        assertTrue(new LiteralMatcher(List.of("abcd", "bcx")).containsAny("abcx"));
+        assertTrue(new LiteralMatcher(List.of("abcd", "bc")).containsAny("abce"));
+        assertFalse(new LiteralMatcher(List.of("abcd", "bcx")).containsAny("abcbcd"));
+    }
+
+    @Test
+    public void findsNonAsciiLiterals() {
+        LiteralMatcher matcher = new LiteralMatcher(List.of("größe", "€"));
+
+        assertTrue(matcher.containsAny("die größe"));
+        assertTrue(matcher.containsAny("10 €"));
+        assertFalse(matcher.containsAny("grösse"));
+    }
+
+    @Test
+    public void agreesWithContains() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            List<String> literals = new ArrayList<>();
+            for (int i = random.nextInt(4) + 1; i > 0; i--) {
+                literals.add(randomText(random, random.nextInt(4) + 1));
+            }
+            String text = randomText(random, random.nextInt(30));
+
+            boolean expected = literals.stream().anyMatch(text::contains);
+
+            assertEquals(expected, new LiteralMatcher(literals).containsAny(text), literals + " in " + text);
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "abcä";
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
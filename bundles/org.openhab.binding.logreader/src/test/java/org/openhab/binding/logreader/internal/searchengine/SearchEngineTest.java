@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SearchEngine}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class SearchEngineTest {
+
+    private static final List<String> LINES = List.of("2025-01-01 [ERROR] failed", "2025-01-01 [WARN ] slow",
+            "Exception in thread main", "ABC", "xABCx", "Axyz", "color", "colour", "\tab", "aabc", "bb", "ab",
+            "ignored ERROR", "", "größe");
+
+    @Test
+    public void blacklistedLinesDoNotMatch() {
+        SearchEngine engine = new SearchEngine("ERROR|WARN", "ignored");
+
+        assertTrue(engine.isMatching("2025-01-01 [ERROR] failed"));
+        assertTrue(engine.isMatching("2025-01-01 [WARN ] slow"));
+        assertFalse(engine.isMatching("ignored ERROR"));
+        assertFalse(engine.isMatching("INFO"));
+        assertThat(engine.getMatchCount(), is(2L));
+
+        engine.clearMatchCount();
+
+        assertThat(engine.getMatchCount(), is(0L));
+    }
+
+    @Test
+    public void matchesLikeTheSinglePatterns() {
+        assertSameMatches("\\[ERROR\\]|Exception", null);
+        assertSameMatches("\\x41BC|\\0101xyz|colou?r", null);
+        assertSameMatches("\\tab|\\u0041BC|gr.ße", "xABC");
+        assertSameMatches("(a)\\1bc|(b)\\1", null);
+        assertSameMatches("ERROR|.*slow", "ignored");
+    }
+
+    private void assertSameMatches(String patterns, @Nullable String blacklist) {
+        SearchEngine engine = new SearchEngine(patterns, blacklist);
+        List<Pattern> compiled = Arrays.stream(patterns.split("\\|")).map(Pattern::compile).toList();
+        Pattern blacklisted = blacklist == null ? null : Pattern.compile(blacklist);
+        for (String line : LINES) {
+            boolean expected = compiled.stream().anyMatch(pattern -> pattern.matcher(line).find())
+                    && (blacklisted == null || !blacklisted.matcher(line).find());
+
+            assertEquals(expected, engine.isMatching(line), patterns + " on '" + line + "'");
+        }
+    }
+}
@@ -22,7 +22,9 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.modbus.internal.AtomicStampedValue;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
+import org.openhab.binding.modbus.internal.ModbusPollCoalescer;
 import org.openhab.binding.modbus.internal.config.ModbusPollerConfiguration;
+import org.openhab.binding.modbus.internal.handler.AbstractModbusEndpointThingHandler;
 import org.openhab.binding.modbus.internal.handler.ModbusDataThingHandler;
 import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
 import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
@@ -43,6 +45,9 @@ import org.openhab.core.thing.ThingStatusInfo;
 import org.openhab.core.thing.binding.BaseBridgeHandler;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.types.Command;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.MetricCounter;
+import org.openhab.io.metrics.MetricTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -85,8 +90,11 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
                 }
             }
             logger.debug("Thing {} received response {}", thing.getUID(), result);
+            long start = System.nanoTime();
             notifyChildren(result);
+            pollTimer.recordSince(start);
             if (result.failure != null) {
+                pollFailureCounter.increment();
                 Exception error = result.failure.getCause();
                 assert error != null;
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
@@ -189,6 +197,8 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     private @NonNullByDefault({}) ModbusPollerConfiguration config;
     private long cacheMillis;
     private volatile @Nullable PollTask pollTask;
+    private volatile @Nullable ModbusPollCoalescer pollCoalescer;
+    private volatile @Nullable ModbusPollCoalescer.Registration coalescedPoll;
     private volatile @Nullable ModbusReadRequestBlueprint request;
     private volatile boolean disposed;
     private volatile List<ModbusDataThingHandler> childCallbacks = new CopyOnWriteArrayList<>();
@@ -199,8 +209,25 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
 
     private @Nullable ModbusReadFunctionCode functionCode;
 
+    private final AddonMetrics metrics;
+    private final MetricTimer pollTimer;
+    private final MetricCounter pollFailureCounter;
+
     public ModbusPollerThingHandler(Bridge bridge) {
+        this(bridge, AddonMetrics.NOOP);
+    }
+
+    /**
+     * @param bridge the poller thing
+     * @param metrics the metrics of the binding, used to record the time needed to process each poll and the number
+     *            of failed polls
+     */
+    public ModbusPollerThingHandler(Bridge bridge, AddonMetrics metrics) {
         super(bridge);
+        this.metrics = metrics;
+        String thingUID = bridge.getUID().toString();
+        pollTimer = metrics.timer("poll.processing.duration", AddonMetrics.TAG_THING, thingUID);
+        pollFailureCounter = metrics.counter("poll.failures", AddonMetrics.TAG_THING, thingUID);
     }
 
     @Override
@@ -295,6 +322,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
         this.callbackDelegator.resetCache();
         comms = null;
         lastPolledDataCache.set(null);
+        metrics.remove(AddonMetrics.TAG_THING, thing.getUID().toString());
     }
 
     /**
@@ -312,7 +340,15 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Unregistering polling from ModbusManager");
             comms.unregisterRegularPoll(localPollTask);
         }
+        ModbusPollCoalescer localPollCoalescer = this.pollCoalescer;
+        ModbusPollCoalescer.Registration localCoalescedPoll = this.coalescedPoll;
+        if (localPollCoalescer != null && localCoalescedPoll != null) {
+            logger.debug("Unregistering polling from endpoint poll coalescer");
+            localPollCoalescer.unregister(localCoalescedPoll);
+        }
         this.pollTask = null;
+        this.pollCoalescer = null;
+        this.coalescedPoll = null;
         request = null;
         comms = null;
         updateStatus(ThingStatus.OFFLINE);
@@ -327,7 +363,7 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
     @SuppressWarnings("null")
     private synchronized void registerPollTask() throws EndpointNotInitializedException {
         logger.trace("registerPollTask()");
-        if (pollTask != null) {
+        if (pollTask != null || coalescedPoll != null) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR);
             logger.debug("pollTask should be unregistered before registering a new one!");
             return;
@@ -361,10 +397,21 @@ public class ModbusPollerThingHandler extends BaseBridgeHandler {
             logger.debug("Not registering polling with ModbusManager since refresh disabled");
             updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE, "Not polling");
         } else {
-            logger.debug("Registering polling with ModbusManager");
-            pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
-                    callbackDelegator);
-            assert pollTask != null;
+            ModbusPollCoalescer localPollCoalescer = null;
+            if (slaveEndpointThingHandler instanceof AbstractModbusEndpointThingHandler<?, ?> endpointHandler) {
+                localPollCoalescer = endpointHandler.getPollCoalescer();
+            }
+            if (localPollCoalescer != null) {
+                logger.debug("Registering polling with endpoint poll coalescer");
+                pollCoalescer = localPollCoalescer;
+                coalescedPoll = localPollCoalescer.register(localRequest, config.getRefresh(), callbackDelegator,
+                        callbackDelegator);
+            } else {
+                logger.debug("Registering polling with ModbusManager");
+                pollTask = localComms.registerRegularPoll(localRequest, config.getRefresh(), 0, callbackDelegator,
+                        callbackDelegator);
+                assert pollTask != null;
+            }
             updateStatus(ThingStatus.ONLINE);
         }
     }
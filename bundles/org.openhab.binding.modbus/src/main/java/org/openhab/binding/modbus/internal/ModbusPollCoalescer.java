@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusPollCoalescer} merges regular polls of an endpoint into fewer Modbus transactions.
+ *
+ * Polls with the same slave id, function code, refresh interval and maximum tries are grouped. Within a group, polls
+ * whose address ranges are adjacent, overlapping or separated by at most <code>maxGap</code> registers (or bits) are
+ * read with a single request, as long as the merged request stays within the protocol limits. The response is sliced
+ * back into one result per original poll, so that callbacks see exactly the data they requested.
+ *
+ * When polls are registered or unregistered, only the requests of the affected group that actually change are
+ * replaced. New requests are started in phase with the existing requests of their group, so that the poll cycle of
+ * a group is not reset.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusPollCoalescer.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final int maxGap;
+    private final IntConsumer requestsSavedListener;
+    private final LongSupplier clock;
+
+    private final Map<GroupKey, List<Registration>> registrations = new HashMap<>();
+    private final Map<GroupKey, List<ScheduledBlock>> scheduledBlocks = new HashMap<>();
+    // time the first request of a group was scheduled, later requests of the group are scheduled in phase with it
+    private final Map<GroupKey, Long> groupStartMillis = new HashMap<>();
+    private int requestsSaved = 0;
+
+    /**
+     * Create a new coalescer.
+     *
+     * @param comms communication interface of the endpoint
+     * @param maxGap maximum number of unused registers (or bits) between two polls that are still merged
+     * @param requestsSavedListener called with the number of requests saved per poll cycle whenever it changes
+     */
+    public ModbusPollCoalescer(ModbusCommunicationInterface comms, int maxGap, IntConsumer requestsSavedListener) {
+        this(comms, maxGap, requestsSavedListener, System::currentTimeMillis);
+    }
+
+    ModbusPollCoalescer(ModbusCommunicationInterface comms, int maxGap, IntConsumer requestsSavedListener,
+            LongSupplier clock) {
+        this.comms = comms;
+        this.maxGap = Math.max(0, maxGap);
+        this.requestsSavedListener = requestsSavedListener;
+        this.clock = clock;
+    }
+
+    /**
+     * Register a regular poll.
+     *
+     * @param request the request of the poll
+     * @param pollPeriodMillis poll interval in milliseconds
+     * @param resultCallback callback receiving the data of <code>request</code>
+     * @param failureCallback callback receiving failures of the (merged) request
+     * @return registration to be passed to {@link #unregister(Registration)}
+     */
+    public synchronized Registration register(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Registration registration = new Registration(request, resultCallback, failureCallback);
+        GroupKey key = new GroupKey(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis,
+                request.getMaxTries());
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        reschedule(key);
+        return registration;
+    }
+
+    /**
+     * Unregister a regular poll. No-op if the registration is not known.
+     */
+    public synchronized void unregister(Registration registration) {
+        registrations.entrySet().stream().filter(entry -> entry.getValue().contains(registration)).findFirst()
+                .ifPresent(entry -> {
+                    entry.getValue().remove(registration);
+                    reschedule(entry.getKey());
+                });
+    }
+
+    /**
+     * Unregister all polls.
+     */
+    public synchronized void close() {
+        scheduledBlocks.values().forEach(blocks -> blocks.forEach(block -> comms.unregisterRegularPoll(block.task)));
+        scheduledBlocks.clear();
+        registrations.clear();
+        groupStartMillis.clear();
+        updateRequestsSaved();
+    }
+
+    /**
+     * Get the number of requests saved per poll cycle compared to polling each registration separately.
+     */
+    public synchronized int getRequestsSaved() {
+        return requestsSaved;
+    }
+
+    private void reschedule(GroupKey key) {
+        List<Registration> members = registrations.getOrDefault(key, List.of());
+        List<ScheduledBlock> oldBlocks = scheduledBlocks.getOrDefault(key, List.of());
+        List<ScheduledBlock> newBlocks = new ArrayList<>();
+        List<Block> addedBlocks = new ArrayList<>();
+        for (Block block : plan(key, members)) {
+            ScheduledBlock unchanged = oldBlocks.stream().filter(old -> old.block.isSameAs(block)).findFirst()
+                    .orElse(null);
+            if (unchanged != null) {
+                newBlocks.add(unchanged);
+            } else {
+                addedBlocks.add(block);
+            }
+        }
+
+        // stop the requests that are replaced, the others keep polling undisturbed
+        for (ScheduledBlock old : oldBlocks) {
+            if (!newBlocks.contains(old)) {
+                comms.unregisterRegularPoll(old.task);
+            }
+        }
+
+        if (members.isEmpty()) {
+            registrations.remove(key);
+            scheduledBlocks.remove(key);
+            groupStartMillis.remove(key);
+        } else {
+            long initialDelay = initialDelay(key);
+            for (Block block : addedBlocks) {
+                PollTask task;
+                if (block.members.size() == 1) {
+                    Registration member = block.members.get(0);
+                    task = comms.registerRegularPoll(member.request, key.pollPeriodMillis, initialDelay,
+                            member.resultCallback, member.failureCallback);
+                } else {
+                    logger.debug("Polling {} with a single request {}", block.members.stream()
+                            .map(member -> member.request.getReference() + "+" + member.request.getDataLength())
+                            .toList(), block.request);
+                    task = comms.registerRegularPoll(block.request, key.pollPeriodMillis, initialDelay, block, block);
+                }
+                newBlocks.add(new ScheduledBlock(block, task));
+            }
+            scheduledBlocks.put(key, newBlocks);
+        }
+        updateRequestsSaved();
+    }
+
+    /**
+     * Get the delay until the next poll cycle of a group, so that new requests poll in phase with the existing ones.
+     */
+    private long initialDelay(GroupKey key) {
+        long now = clock.getAsLong();
+        Long start = groupStartMillis.putIfAbsent(key, now);
+        if (start == null || key.pollPeriodMillis <= 0) {
+            return 0;
+        }
+        long sinceLastCycle = Math.floorMod(now - start, key.pollPeriodMillis);
+        return sinceLastCycle == 0 ? 0 : key.pollPeriodMillis - sinceLastCycle;
+    }
+
+    private List<Block> plan(GroupKey key, List<Registration> members) {
+        int maxLength = switch (key.functionCode) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        };
+
+        List<Registration> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparingInt((Registration member) -> member.request.getReference())
+                .thenComparingInt(member -> member.request.getDataLength()));
+
+        List<Block> blocks = new ArrayList<>();
+        List<Registration> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration member : sorted) {
+            int memberStart = member.request.getReference();
+            int memberEnd = memberStart + member.request.getDataLength();
+            if (!current.isEmpty() && memberStart <= end + maxGap && Math.max(end, memberEnd) - start <= maxLength) {
+                current.add(member);
+                end = Math.max(end, memberEnd);
+            } else {
+                if (!current.isEmpty()) {
+                    blocks.add(new Block(key, start, end - start, current));
+                }
+                current = new ArrayList<>();
+                current.add(member);
+                start = memberStart;
+                end = memberEnd;
+            }
+        }
+        if (!current.isEmpty()) {
+            blocks.add(new Block(key, start, end - start, current));
+        }
+        return blocks;
+    }
+
+    private void updateRequestsSaved() {
+        int saved = registrations.values().stream().mapToInt(List::size).sum()
+                - scheduledBlocks.values().stream().mapToInt(List::size).sum();
+        if (saved != requestsSaved) {
+            requestsSaved = saved;
+            logger.debug("Coalescing polls saves {} requests per poll cycle", saved);
+            requestsSavedListener.accept(saved);
+        }
+    }
+
+    /**
+     * A poll registered with the coalescer.
+     */
+    public static class Registration {
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        public ModbusReadRequestBlueprint getRequest() {
+            return request;
+        }
+    }
+
+    private record GroupKey(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis, int maxTries) {
+    }
+
+    private record ScheduledBlock(Block block, PollTask task) {
+    }
+
+    /**
+     * A merged request, distributing its result to the polls it covers.
+     */
+    private static class Block implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<Registration> members;
+
+        Block(GroupKey key, int start, int length, List<Registration> members) {
+            this.request = new ModbusReadRequestBlueprint(key.unitId, key.functionCode, start, length, key.maxTries);
+            this.members = List.copyOf(members);
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            result.getRegisters().ifPresent(registers -> {
+                byte[] bytes = registers.getBytes();
+                for (Registration member : members) {
+                    int offset = (member.request.getReference() - request.getReference()) * 2;
+                    byte[] slice = new byte[member.request.getDataLength() * 2];
+                    System.arraycopy(bytes, offset, slice, 0, slice.length);
+                    member.resultCallback
+                            .handle(new AsyncModbusReadResult(member.request, new ModbusRegisterArray(slice)));
+                }
+            });
+            result.getBits().ifPresent(bits -> {
+                for (Registration member : members) {
+                    int offset = member.request.getReference() - request.getReference();
+                    BitArray slice = new BitArray(member.request.getDataLength());
+                    for (int i = 0; i < slice.size(); i++) {
+                        slice.setBit(i, bits.getBit(offset + i));
+                    }
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.request, slice));
+                }
+            });
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration member : members) {
+                member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+            }
+        }
+
+        /**
+         * Check if the other block polls the same range for the same registrations.
+         */
+        boolean isSameAs(Block other) {
+            return request.getReference() == other.request.getReference()
+                    && request.getDataLength() == other.request.getDataLength() && members.equals(other.members);
+        }
+
+        @Override
+        public String toString() {
+            return "Block [request=" + request + ", members=" + members.size() + "]";
+        }
+    }
+}
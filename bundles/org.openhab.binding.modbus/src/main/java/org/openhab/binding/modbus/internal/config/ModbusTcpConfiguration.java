@@ -34,6 +34,8 @@ public class ModbusTcpConfiguration {
     private int connectTimeoutMillis = 10_000;
     private boolean enableDiscovery;
     private boolean rtuEncoded;
+    private boolean coalescePollers;
+    private int coalesceMaxGap;
 
     public boolean getRtuEncoded() {
         return rtuEncoded;
@@ -118,4 +120,20 @@ public class ModbusTcpConfiguration {
     public void setDiscoveryEnabled(boolean enableDiscovery) {
         this.enableDiscovery = enableDiscovery;
     }
+
+    public boolean isCoalescePollers() {
+        return coalescePollers;
+    }
+
+    public void setCoalescePollers(boolean coalescePollers) {
+        this.coalescePollers = coalescePollers;
+    }
+
+    public int getCoalesceMaxGap() {
+        return coalesceMaxGap;
+    }
+
+    public void setCoalesceMaxGap(int coalesceMaxGap) {
+        this.coalesceMaxGap = coalesceMaxGap;
+    }
 }
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * Tests the {@link ModbusPollCoalescer}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescerTest {
+
+    private @NonNullByDefault({}) ModbusCommunicationInterface comms;
+    private final AtomicInteger requestsSaved = new AtomicInteger();
+    private final List<AsyncModbusReadResult> results = new ArrayList<>();
+    private final List<AsyncModbusFailure<ModbusReadRequestBlueprint>> failures = new ArrayList<>();
+    private final ModbusReadCallback resultCallback = results::add;
+    private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback = failures::add;
+
+    @BeforeEach
+    public void setUp() {
+        comms = mock(ModbusCommunicationInterface.class);
+        when(comms.registerRegularPoll(any(), anyLong(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> mock(PollTask.class));
+    }
+
+    private static ModbusReadRequestBlueprint holding(int start, int length) {
+        return new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, 3);
+    }
+
+    private List<ModbusReadRequestBlueprint> lastRegisteredRequests(int count) {
+        ArgumentCaptor<ModbusReadRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, atLeast(count)).registerRegularPoll(captor.capture(), anyLong(), anyLong(), any(), any());
+        List<ModbusReadRequestBlueprint> all = captor.getAllValues();
+        return all.subList(all.size() - count, all.size());
+    }
+
+    @Test
+    public void testAdjacentPollsAreMergedAndSliced() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set);
+        ModbusReadRequestBlueprint first = holding(0, 2);
+        ModbusReadRequestBlueprint second = holding(2, 3);
+        ModbusReadRequestBlueprint third = holding(5, 1);
+        coalescer.register(second, 1000, resultCallback, failureCallback);
+        coalescer.register(first, 1000, resultCallback, failureCallback);
+        coalescer.register(third, 1000, resultCallback, failureCallback);
+
+        assertEquals(2, coalescer.getRequestsSaved());
+        assertEquals(2, requestsSaved.get());
+
+        ArgumentCaptor<ModbusReadCallback> callbackCaptor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), callbackCaptor.capture(),
+                any());
+        ModbusReadRequestBlueprint merged = lastRegisteredRequests(1).get(0);
+        assertEquals(0, merged.getReference());
+        assertEquals(6, merged.getDataLength());
+
+        ModbusRegisterArray registers = new ModbusRegisterArray(10, 11, 12, 13, 14, 15);
+        callbackCaptor.getValue().handle(new AsyncModbusReadResult(merged, registers));
+
+        assertEquals(3, results.size());
+        assertSame(first, results.get(0).getRequest());
+        assertEquals(11, results.get(0).getRegisters().get().getRegister(1));
+        assertSame(second, results.get(1).getRequest());
+        assertEquals(3, results.get(1).getRegisters().get().size());
+        assertEquals(12, results.get(1).getRegisters().get().getRegister(0));
+        assertSame(third, results.get(2).getRequest());
+        assertEquals(15, results.get(2).getRegisters().get().getRegister(0));
+    }
+
+    @Test
+    public void testGapsAreOnlyMergedUpToMaxGap() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set);
+        coalescer.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(4, 2), 1000, resultCallback, failureCallback);
+        assertEquals(0, coalescer.getRequestsSaved());
+
+        ModbusPollCoalescer gapTolerant = new ModbusPollCoalescer(comms, 2, requestsSaved::set);
+        gapTolerant.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        gapTolerant.register(holding(4, 2), 1000, resultCallback, failureCallback);
+        assertEquals(1, gapTolerant.getRequestsSaved());
+    }
+
+    @Test
+    public void testIncompatiblePollsAreNotMerged() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set);
+        coalescer.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(2, 2), 2000, resultCallback, failureCallback);
+        coalescer.register(new ModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 4, 2, 3),
+                1000, resultCallback, failureCallback);
+        coalescer.register(holding(100, 100), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(200, 100), 1000, resultCallback, failureCallback);
+
+        assertEquals(0, coalescer.getRequestsSaved());
+    }
+
+    @Test
+    public void testFailureIsReportedToAllMembers() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set);
+        coalescer.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(2, 2), 1000, resultCallback, failureCallback);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> failureCaptor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), any(), failureCaptor.capture());
+        failureCaptor.getValue().handle(new AsyncModbusFailure<>(lastRegisteredRequests(1).get(0), new Exception()));
+
+        assertEquals(2, failures.size());
+        assertEquals(0, failures.get(0).getRequest().getReference());
+        assertEquals(2, failures.get(1).getRequest().getReference());
+    }
+
+    @Test
+    public void testUnregisterReschedulesRemainingPolls() {
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set);
+        ModbusPollCoalescer.Registration first = coalescer.register(holding(0, 2), 1000, resultCallback,
+                failureCallback);
+        coalescer.register(holding(2, 2), 1000, resultCallback, failureCallback);
+        assertEquals(1, requestsSaved.get());
+
+        coalescer.unregister(first);
+        assertEquals(0, requestsSaved.get());
+        ModbusReadRequestBlueprint remaining = lastRegisteredRequests(1).get(0);
+        assertEquals(2, remaining.getReference());
+        assertEquals(2, remaining.getDataLength());
+
+        coalescer.close();
+        verify(comms, times(3)).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void testUnaffectedPollsKeepTheirSchedule() {
+        AtomicLong now = new AtomicLong(10_000);
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set, now::get);
+        coalescer.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(2, 2), 1000, resultCallback, failureCallback);
+        coalescer.register(holding(100, 2), 1000, resultCallback, failureCallback);
+        verify(comms, times(1)).unregisterRegularPoll(any());
+
+        // registering a poll far away from the others does not touch their requests
+        now.addAndGet(2250);
+        coalescer.register(holding(200, 2), 1000, resultCallback, failureCallback);
+        verify(comms, times(1)).unregisterRegularPoll(any());
+
+        // unregistering it only stops its own request
+        ModbusPollCoalescer.Registration extended = coalescer.register(holding(102, 2), 1000, resultCallback,
+                failureCallback);
+        verify(comms, times(2)).unregisterRegularPoll(any());
+        coalescer.unregister(extended);
+        verify(comms, times(3)).unregisterRegularPoll(any());
+        verify(comms, times(6)).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    public void testNewPollsStartInPhaseWithTheirGroup() {
+        AtomicLong now = new AtomicLong(10_000);
+        ModbusPollCoalescer coalescer = new ModbusPollCoalescer(comms, 0, requestsSaved::set, now::get);
+        coalescer.register(holding(0, 2), 1000, resultCallback, failureCallback);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(0L), any(), any());
+
+        now.addAndGet(2250);
+        coalescer.register(holding(100, 2), 1000, resultCallback, failureCallback);
+        verify(comms).registerRegularPoll(any(), eq(1000L), eq(750L), any(), any());
+
+        // another group has its own cycle
+        coalescer.register(holding(0, 2), 5000, resultCallback, failureCallback);
+        verify(comms).registerRegularPoll(any(), eq(5000L), eq(0L), any(), any());
+    }
+}
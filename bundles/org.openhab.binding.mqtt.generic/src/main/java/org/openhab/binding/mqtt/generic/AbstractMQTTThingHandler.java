@@ -71,6 +71,11 @@ import org.slf4j.LoggerFactory;
  * While setting up your {@link ChannelState} you would set the callback to your thing handler,
  * because this base class implements {@link ChannelStateUpdateListener}.
  *
+ * <p>
+ * Channel states sharing a state topic should be routed through {@link #getChannelStateDispatcher()}
+ * ({@link ChannelState#setDispatcher(ChannelStateDispatcher)}), so that a message is decoded only once for all of
+ * them.
+ *
  * @author David Graeff - Initial contribution
  */
 @NonNullByDefault
@@ -81,6 +86,8 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
     private final int subscribeTimeout;
 
     protected @Nullable MqttBrokerConnection connection;
+    // Shares one subscriber per state topic between the channel states of this thing
+    protected final ChannelStateDispatcher channelStateDispatcher = new ChannelStateDispatcher();
 
     private AtomicBoolean messageReceived = new AtomicBoolean(false);
     private Map<String, @Nullable ChannelState> availabilityStates = new ConcurrentHashMap<>();
@@ -285,6 +292,13 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         return connection;
     }
 
+    /**
+     * Return the dispatcher routing the messages of this thing's state topics to its channel states.
+     */
+    public ChannelStateDispatcher getChannelStateDispatcher() {
+        return channelStateDispatcher;
+    }
+
     /**
      * This is for tests only to inject a broker connection.
      *
@@ -12,7 +12,7 @@
  */
 package org.openhab.binding.mqtt.generic;
 
-import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -66,6 +66,10 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    private @Nullable ChannelStateDispatcher dispatcher;
+    private final @Nullable SimpleJsonPath incomingJsonPath;
+    // Payload the cached value was last derived from, together with the resulting state
+    private volatile @Nullable LastMessage lastMessage;
 
     /**
      * Creates a new channel state.
@@ -80,7 +84,8 @@ public class ChannelState implements MqttMessageSubscriber {
             @Nullable ChannelStateUpdateListener channelStateUpdateListener) {
         this(config, channelUID, cachedValue, channelStateUpdateListener,
                 new ChannelTransformation(config.transformationPattern),
-                new ChannelTransformation(config.transformationPatternOut));
+                new ChannelTransformation(config.transformationPatternOut),
+                SimpleJsonPath.of(config.transformationPattern));
     }
 
     /**
@@ -98,6 +103,14 @@ public class ChannelState implements MqttMessageSubscriber {
             @Nullable ChannelStateUpdateListener channelStateUpdateListener,
             @Nullable ChannelTransformation incomingTransformation,
             @Nullable ChannelTransformation outgoingTransformation) {
+        this(config, channelUID, cachedValue, channelStateUpdateListener, incomingTransformation,
+                outgoingTransformation, null);
+    }
+
+    private ChannelState(ChannelConfig config, ChannelUID channelUID, Value cachedValue,
+            @Nullable ChannelStateUpdateListener channelStateUpdateListener,
+            @Nullable ChannelTransformation incomingTransformation,
+            @Nullable ChannelTransformation outgoingTransformation, @Nullable SimpleJsonPath incomingJsonPath) {
         this.config = config;
         this.channelStateUpdateListener = channelStateUpdateListener;
         this.channelUID = channelUID;
@@ -107,6 +120,7 @@ public class ChannelState implements MqttMessageSubscriber {
                 : incomingTransformation;
         this.outgoingTransformation = outgoingTransformation == null ? new ChannelTransformation((String) null)
                 : outgoingTransformation;
+        this.incomingJsonPath = incomingJsonPath;
     }
 
     public boolean isReadOnly() {
@@ -145,6 +159,17 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     @Override
     public void processMessage(String topic, byte[] payload) {
+        processMessage(new IncomingMessage(topic, payload));
+    }
+
+    /**
+     * Incoming message, possibly shared with other channel states of the same topic.
+     *
+     * @param message The message
+     */
+    void processMessage(IncomingMessage message) {
+        final String topic = message.getTopic();
+        final byte[] payload = message.getPayload();
         final ChannelStateUpdateListener channelStateUpdateListener = this.channelStateUpdateListener;
         if (channelStateUpdateListener == null) {
             logger.warn("MQTT message received for topic {}, but MessageSubscriber object hasn't been started!", topic);
@@ -158,10 +183,24 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Same payload as last time: the cached value already holds the resulting state
+        final LastMessage lastMessage = this.lastMessage;
+        if (lastMessage != null && lastMessage.payloadHash() == message.getPayloadHash()
+                && Arrays.equals(lastMessage.payload(), payload)
+                && lastMessage.state().equals(cachedValue.getChannelState())) {
+            channelStateUpdateListener.updateChannelState(channelUID, lastMessage.state());
+            receivedOrTimeout();
+            return;
+        }
+        this.lastMessage = null;
+
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        String strValue = message.getString();
         if (incomingTransformation.isPresent()) {
-            Optional<String> transformedValue = incomingTransformation.apply(strValue);
+            final SimpleJsonPath incomingJsonPath = this.incomingJsonPath;
+            Optional<String> transformedValue = incomingJsonPath != null
+                    ? incomingJsonPath.apply(message, incomingTransformation)
+                    : incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
                 logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
                         incomingTransformation);
@@ -220,6 +259,10 @@ public class ChannelState implements MqttMessageSubscriber {
         if (config.postCommand && newState instanceof Command newCommand) {
             channelStateUpdateListener.postChannelCommand(channelUID, newCommand);
         } else {
+            if (command instanceof State) {
+                // Absolute values always result in the same state, unlike relative commands like INCREASE
+                this.lastMessage = new LastMessage(payload, message.getPayloadHash(), newState);
+            }
             channelStateUpdateListener.updateChannelState(channelUID, newState);
         }
         receivedOrTimeout();
@@ -262,7 +305,11 @@ public class ChannelState implements MqttMessageSubscriber {
     public CompletableFuture<@Nullable Void> stop() {
         final MqttBrokerConnection connection = this.connection;
         if (connection != null && !config.stateTopic.isBlank()) {
-            return connection.unsubscribe(config.stateTopic, this).thenRun(this::internalStop);
+            final ChannelStateDispatcher dispatcher = this.dispatcher;
+            CompletableFuture<Boolean> unsubscription = dispatcher != null
+                    ? dispatcher.unsubscribe(connection, config.stateTopic, this)
+                    : connection.unsubscribe(config.stateTopic, this);
+            return unsubscription.thenRun(this::internalStop);
         } else {
             internalStop();
             return CompletableFuture.completedFuture(null);
@@ -274,6 +321,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastMessage = null;
         cachedValue.resetState();
     }
 
@@ -322,7 +370,11 @@ public class ChannelState implements MqttMessageSubscriber {
 
             this.future = new CompletableFuture<>();
         }
-        connection.subscribe(config.stateTopic, this).thenRun(() -> {
+        final ChannelStateDispatcher dispatcher = this.dispatcher;
+        CompletableFuture<Boolean> subscription = dispatcher != null
+                ? dispatcher.subscribe(connection, config.stateTopic, this)
+                : connection.subscribe(config.stateTopic, this);
+        subscription.thenRun(() -> {
             hasSubscribed = true;
             logger.debug("Subscribed channel {} to topic: {}", this.channelUID, config.stateTopic);
             if (timeout > 0 && !future.isDone()) {
@@ -434,6 +486,16 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = channelStateUpdateListener;
     }
 
+    /**
+     * Route the messages of the state topic through a dispatcher shared with the other channel states of the thing.
+     * Must be set before {@link #start(MqttBrokerConnection, ScheduledExecutorService, int)} is called.
+     *
+     * @param dispatcher The dispatcher, or <code>null</code> to subscribe directly on the broker connection
+     */
+    public void setDispatcher(@Nullable ChannelStateDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     public @Nullable MqttBrokerConnection getConnection() {
         return connection;
     }
@@ -447,4 +509,10 @@ public class ChannelState implements MqttMessageSubscriber {
     public void setConnection(MqttBrokerConnection connection) {
         this.connection = connection;
     }
+
+    /**
+     * A payload together with the state it resulted in, replaced as a whole so that both always belong together.
+     */
+    private record LastMessage(byte[] payload, int payloadHash, State state) {
+    }
 }
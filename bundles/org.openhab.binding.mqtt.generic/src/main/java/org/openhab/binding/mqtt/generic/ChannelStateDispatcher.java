@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ChannelStateDispatcher} shares the decoding of state topic messages between the {@link ChannelState}s
+ * of a thing. A message is decoded once and handed to all channel states of its topic, which also share the parsed
+ * JSON tree of the payload.
+ *
+ * Every channel state still gets its own subscriber on the broker connection. The connection replays retained
+ * messages to each newly added subscriber, so a channel state that joins a topic later receives the retained value,
+ * just like with separate subscriptions. The connection delivers a message to all subscribers of a topic filter with
+ * the same payload array, which is how the subscribers of a topic recognize a message that was already decoded.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ChannelStateDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(ChannelStateDispatcher.class);
+
+    private final Map<String, TopicSubscribers> topics = new HashMap<>();
+
+    /**
+     * Subscribe a channel state to a topic.
+     *
+     * @param connection the broker connection
+     * @param topic the state topic
+     * @param channelState the channel state
+     * @return the future of the subscription
+     */
+    CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, String topic, ChannelState channelState) {
+        ChannelSubscriber subscriber;
+        synchronized (topics) {
+            TopicSubscribers topicSubscribers = topics.computeIfAbsent(topic, TopicSubscribers::new);
+            subscriber = topicSubscribers.subscribers.computeIfAbsent(channelState,
+                    state -> new ChannelSubscriber(topicSubscribers, state));
+        }
+        return connection.subscribe(topic, subscriber);
+    }
+
+    /**
+     * Unsubscribe a channel state from a topic.
+     *
+     * @param connection the broker connection
+     * @param topic the state topic
+     * @param channelState the channel state
+     * @return the future of the unsubscription
+     */
+    CompletableFuture<Boolean> unsubscribe(MqttBrokerConnection connection, String topic, ChannelState channelState) {
+        ChannelSubscriber subscriber;
+        synchronized (topics) {
+            TopicSubscribers topicSubscribers = topics.get(topic);
+            if (topicSubscribers == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            subscriber = topicSubscribers.subscribers.remove(channelState);
+            if (subscriber == null) {
+                return CompletableFuture.completedFuture(true);
+            }
+            if (topicSubscribers.subscribers.isEmpty()) {
+                topics.remove(topic);
+            }
+        }
+        return connection.unsubscribe(topic, subscriber);
+    }
+
+    /**
+     * Get the number of subscribed topics.
+     */
+    public int size() {
+        synchronized (topics) {
+            return topics.size();
+        }
+    }
+
+    /**
+     * The subscribers of one topic filter, together with the message they received last.
+     */
+    private static class TopicSubscribers {
+        private final String topic;
+        private final Map<ChannelState, ChannelSubscriber> subscribers = new LinkedHashMap<>();
+        private volatile @Nullable IncomingMessage lastMessage;
+
+        TopicSubscribers(String topic) {
+            this.topic = topic;
+        }
+
+        /**
+         * Get the decoded message, reusing the last one if the other subscribers of the topic already received it.
+         */
+        IncomingMessage message(String topic, byte[] payload) {
+            IncomingMessage message = lastMessage;
+            if (message == null || message.getPayload() != payload || !message.getTopic().equals(topic)) {
+                message = new IncomingMessage(topic, payload);
+                lastMessage = message;
+            }
+            return message;
+        }
+    }
+
+    private class ChannelSubscriber implements MqttMessageSubscriber {
+        private final TopicSubscribers topicSubscribers;
+        private final ChannelState channelState;
+
+        ChannelSubscriber(TopicSubscribers topicSubscribers, ChannelState channelState) {
+            this.topicSubscribers = topicSubscribers;
+            this.channelState = channelState;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            try {
+                channelState.processMessage(topicSubscribers.message(topic, payload));
+            } catch (RuntimeException e) {
+                logger.warn("Channel {} failed to process message on topic {}: {}", channelState.channelUID(), topic,
+                        e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ChannelSubscriber [topic=" + topicSubscribers.topic + ", channel=" + channelState.channelUID()
+                    + "]";
+        }
+    }
+
+    // visible for testing
+    List<ChannelState> getChannelStates(String topic) {
+        synchronized (topics) {
+            TopicSubscribers topicSubscribers = topics.get(topic);
+            return topicSubscribers == null ? List.of() : List.copyOf(topicSubscribers.subscribers.keySet());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * A message received on a state topic. The decoded payload and its JSON tree are computed on first use, so that all
+ * {@link ChannelState}s receiving the same message share them. A message may be handed to channel states on different
+ * threads, e.g. when a retained message is replayed to a new subscriber, so the computed values are published through
+ * volatile fields.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+class IncomingMessage {
+    private static final JsonElement NOT_JSON = JsonNull.INSTANCE;
+
+    private final String topic;
+    private final byte[] payload;
+    private final int hash;
+    private volatile @Nullable String string;
+    // NOT_JSON once the payload turned out not to be a JSON object
+    private volatile @Nullable JsonElement json;
+
+    IncomingMessage(String topic, byte[] payload) {
+        this.topic = topic;
+        this.payload = payload;
+        this.hash = Arrays.hashCode(payload);
+    }
+
+    String getTopic() {
+        return topic;
+    }
+
+    byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Get the payload decoded as UTF-8.
+     */
+    String getString() {
+        String string = this.string;
+        if (string == null) {
+            string = new String(payload, StandardCharsets.UTF_8);
+            this.string = string;
+        }
+        return string;
+    }
+
+    /**
+     * Get the payload parsed as JSON object.
+     *
+     * @return the JSON tree, or <code>null</code> if the payload is not a JSON object
+     */
+    @Nullable
+    JsonElement getJson() {
+        JsonElement json = this.json;
+        if (json == null) {
+            json = NOT_JSON;
+            String string = getString().trim();
+            if (string.startsWith("{")) {
+                try {
+                    json = JsonParser.parseString(string);
+                } catch (JsonParseException e) {
+                    // not JSON, left to the transformations
+                }
+            }
+            this.json = json;
+        }
+        return json == NOT_JSON ? null : json;
+    }
+
+    /**
+     * Get the hash of the payload bytes.
+     */
+    int getPayloadHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.binding.generic.ChannelTransformation;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * A <code>JSONPATH</code> transformation consisting only of member names, like
+ * <code>JSONPATH:$.state.temperature</code>, evaluated on the JSON tree shared by all channels of a message instead
+ * of parsing the payload once per channel.
+ *
+ * Only results that the JSONPATH transformation service renders identically are resolved here: strings, booleans and
+ * numbers in canonical notation. Everything else is passed to the regular transformation.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+class SimpleJsonPath {
+    private static final Pattern PATTERN = Pattern
+            .compile("^JSONPATH(?::\\s*\\$((?:\\.[A-Za-z_]\\w*)+)|\\s*\\(\\s*\\$((?:\\.[A-Za-z_]\\w*)+)\\s*\\))$");
+
+    private final String[] memberNames;
+
+    private SimpleJsonPath(String[] memberNames) {
+        this.memberNames = memberNames;
+    }
+
+    /**
+     * Get the simple JSON path of a transformation chain.
+     *
+     * @param transformationPattern the transformation patterns of a channel
+     * @return the JSON path, or <code>null</code> if the chain is not a single simple JSONPATH transformation
+     */
+    static @Nullable SimpleJsonPath of(List<String> transformationPattern) {
+        if (transformationPattern.size() != 1) {
+            return null;
+        }
+        Matcher matcher = PATTERN.matcher(transformationPattern.get(0).trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String path = matcher.group(1);
+        if (path == null) {
+            path = matcher.group(2);
+        }
+        if (path == null) {
+            return null;
+        }
+        return new SimpleJsonPath(path.substring(1).split("\\."));
+    }
+
+    /**
+     * Apply the path to a message.
+     *
+     * @param message the message
+     * @param transformation the transformation equivalent to this path, used for results not resolved here
+     * @return the result, or an empty optional if the path does not exist
+     */
+    Optional<String> apply(IncomingMessage message, ChannelTransformation transformation) {
+        JsonElement element = message.getJson();
+        if (element == null) {
+            return transformation.apply(message.getString());
+        }
+        for (String memberName : memberNames) {
+            JsonElement member = element instanceof JsonObject object ? object.get(memberName) : null;
+            if (member == null) {
+                return Optional.empty();
+            }
+            element = member;
+        }
+        if (element instanceof JsonPrimitive primitive) {
+            if (primitive.isString() || primitive.isBoolean()) {
+                return Optional.of(primitive.getAsString());
+            }
+            String number = primitive.getAsString();
+            if (isCanonical(number)) {
+                return Optional.of(number);
+            }
+        }
+        return transformation.apply(message.getString());
+    }
+
+    private static boolean isCanonical(String number) {
+        try {
+            if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                return new BigInteger(number).toString().equals(number);
+            }
+            return Double.toString(Double.parseDouble(number)).equals(number);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "$." + String.join(".", memberNames);
+    }
+}
@@ -25,11 +25,15 @@ import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.BaseThingHandlerFactory;
 import org.openhab.core.thing.binding.ThingHandler;
 import org.openhab.core.thing.binding.ThingHandlerFactory;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.DynamicAddonMetrics;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link MqttThingHandlerFactory} is responsible for creating things and thing
@@ -41,6 +45,8 @@ import org.osgi.service.component.annotations.Reference;
 @NonNullByDefault
 public class MqttThingHandlerFactory extends BaseThingHandlerFactory {
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_BINDING,
+            MqttBindingConstants.BINDING_ID);
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
 
@@ -59,6 +65,16 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory {
     @Override
     protected void deactivate(ComponentContext componentContext) {
         super.deactivate(componentContext);
+        metrics.close();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.setProvider(addonMetricsProvider);
+    }
+
+    protected void unsetAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.unsetProvider(addonMetricsProvider);
     }
 
     @Reference
@@ -75,7 +91,7 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(MqttBindingConstants.GENERIC_MQTT_THING)) {
-            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, 1500);
+            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, 1500, metrics);
         }
         return null;
     }
@@ -44,8 +44,12 @@ import org.openhab.core.thing.binding.builder.ChannelBuilder;
 import org.openhab.core.thing.binding.builder.ThingBuilder;
 import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.types.Command;
+import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.util.UnitUtils;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.MetricCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +63,8 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
     private final Logger logger = LoggerFactory.getLogger(GenericMQTTThingHandler.class);
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
+    private final AddonMetrics metrics;
+    private final MetricCounter messageCounter;
 
     /**
      * Creates a new Thing handler for generic MQTT channels.
@@ -69,8 +75,23 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
             int subscribeTimeout) {
+        this(thing, stateDescProvider, subscribeTimeout, AddonMetrics.NOOP);
+    }
+
+    /**
+     * Creates a new Thing handler for generic MQTT channels.
+     *
+     * @param thing The thing of this handler
+     * @param stateDescProvider A channel state provider
+     * @param subscribeTimeout The subscribe timeout
+     * @param metrics The metrics of the binding, used to count the messages per thing
+     */
+    public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
+            int subscribeTimeout, AddonMetrics metrics) {
         super(thing, subscribeTimeout);
         this.stateDescProvider = stateDescProvider;
+        this.metrics = metrics;
+        this.messageCounter = metrics.counter("messages", AddonMetrics.TAG_THING, thing.getUID().toString());
     }
 
     @Override
@@ -99,10 +120,29 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         super.stop();
     }
 
+    @Override
+    public void updateChannelState(ChannelUID channelUID, State value) {
+        messageCounter.increment();
+        super.updateChannelState(channelUID, value);
+    }
+
+    @Override
+    public void triggerChannel(ChannelUID channelUID, String event) {
+        messageCounter.increment();
+        super.triggerChannel(channelUID, event);
+    }
+
+    @Override
+    public void postChannelCommand(ChannelUID channelUID, Command command) {
+        messageCounter.increment();
+        super.postChannelCommand(channelUID, command);
+    }
+
     @Override
     public void dispose() {
         // Remove all state descriptions of this handler
         channelStateByChannelUID.forEach((uid, state) -> stateDescProvider.remove(uid));
+        metrics.remove(AddonMetrics.TAG_THING, thing.getUID().toString());
         super.dispose();
         // there is a design flaw, we can't clean up our stuff because it is needed by the super-class on disposal for
         // unsubscribing
@@ -178,6 +218,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
             try {
                 Value value = ValueFactory.createValueState(channelConfig, channelTypeUID.getId());
                 ChannelState channelState = createChannelState(channelConfig, channel.getUID(), value);
+                channelState.setDispatcher(channelStateDispatcher);
                 channelStateByChannelUID.put(channel.getUID(), channelState);
                 StateDescription description = value.createStateDescription(channelConfig.commandTopic.isBlank())
                         .build().toStateDescription();
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.binding.mqtt.generic.values.Value;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+import org.openhab.core.thing.ChannelUID;
+
+/**
+ * Tests the {@link ChannelStateDispatcher} class.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class ChannelStateDispatcherTests {
+
+    private static final String TOPIC = "zigbee2mqtt/sensor";
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connectionMock;
+    private @Mock @NonNullByDefault({}) ChannelStateUpdateListener listenerMock;
+    private @Mock @NonNullByDefault({}) ScheduledExecutorService schedulerMock;
+
+    private final ChannelStateDispatcher dispatcher = new ChannelStateDispatcher();
+    private final ChannelUID temperatureUID = new ChannelUID("mqtt:topic:broker:sensor:temperature");
+    private final ChannelUID humidityUID = new ChannelUID("mqtt:topic:broker:sensor:humidity");
+    private final NumberValue temperature = new NumberValue(null, null, null, null);
+    private final TextValue humidity = new TextValue();
+
+    // subscribers per topic and the retained payload, replayed to subscribers added later like the broker connection
+    private final Map<String, Set<MqttMessageSubscriber>> subscribers = new HashMap<>();
+    private byte @Nullable [] retained;
+
+    @BeforeEach
+    public void setUp() {
+        doAnswer(invocation -> {
+            String topic = invocation.getArgument(0);
+            MqttMessageSubscriber subscriber = invocation.getArgument(1);
+            byte[] retained = this.retained;
+            if (subscribers.computeIfAbsent(topic, t -> new LinkedHashSet<>()).add(subscriber) && retained != null) {
+                subscriber.processMessage(topic, retained);
+            }
+            return CompletableFuture.completedFuture(true);
+        }).when(connectionMock).subscribe(any(), any());
+        doAnswer(invocation -> {
+            String topic = invocation.getArgument(0);
+            Set<MqttMessageSubscriber> topicSubscribers = subscribers.get(topic);
+            return CompletableFuture
+                    .completedFuture(topicSubscribers != null && topicSubscribers.remove(invocation.getArgument(1)));
+        }).when(connectionMock).unsubscribe(any(), any());
+    }
+
+    private ChannelState start(ChannelUID channelUID, String jsonPath, Value value) {
+        ChannelConfig config = ChannelConfigBuilder.create(TOPIC, "")
+                .withTransformationPattern(List.of("JSONPATH:" + jsonPath)).build();
+        ChannelState channelState = spy(new ChannelState(config, channelUID, value, listenerMock));
+        channelState.setDispatcher(dispatcher);
+        channelState.start(connectionMock, schedulerMock, 0);
+        return channelState;
+    }
+
+    private void publish(String payload, boolean retain) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        if (retain) {
+            retained = bytes;
+        }
+        subscribers.getOrDefault(TOPIC, Set.of()).forEach(subscriber -> subscriber.processMessage(TOPIC, bytes));
+    }
+
+    @Test
+    public void channelStatesShareTheDecodedMessage() throws Exception {
+        ChannelState first = start(temperatureUID, "$.temperature", temperature);
+        ChannelState second = start(humidityUID, "$.humidity", humidity);
+
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connectionMock, times(2)).subscribe(eq(TOPIC), captor.capture());
+        assertThat(captor.getAllValues().get(0), is(not(captor.getAllValues().get(1))));
+        assertThat(dispatcher.getChannelStates(TOPIC), is(List.of(first, second)));
+        assertThat(dispatcher.size(), is(1));
+
+        publish("{\"temperature\":21.5,\"humidity\":\"40\"}", false);
+
+        assertThat(temperature.getChannelState().toString(), is("21.5"));
+        assertThat(humidity.getChannelState().toString(), is("40"));
+        verify(listenerMock).updateChannelState(eq(temperatureUID), any());
+        verify(listenerMock).updateChannelState(eq(humidityUID), any());
+        ArgumentCaptor<IncomingMessage> firstMessage = ArgumentCaptor.forClass(IncomingMessage.class);
+        ArgumentCaptor<IncomingMessage> secondMessage = ArgumentCaptor.forClass(IncomingMessage.class);
+        verify(first).processMessage(firstMessage.capture());
+        verify(second).processMessage(secondMessage.capture());
+        assertThat(secondMessage.getValue(), is(sameInstance(firstMessage.getValue())));
+
+        first.stop().get();
+        verify(connectionMock).unsubscribe(eq(TOPIC), eq(captor.getAllValues().get(0)));
+        assertThat(dispatcher.getChannelStates(TOPIC), is(List.of(second)));
+
+        second.stop().get();
+        verify(connectionMock).unsubscribe(eq(TOPIC), eq(captor.getAllValues().get(1)));
+        assertThat(dispatcher.size(), is(0));
+    }
+
+    @Test
+    public void retainedMessageReachesChannelStartedLater() throws Exception {
+        start(temperatureUID, "$.temperature", temperature);
+        publish("{\"temperature\":21.5,\"humidity\":\"40\"}", true);
+        assertThat(temperature.getChannelState().toString(), is("21.5"));
+
+        start(humidityUID, "$.humidity", humidity);
+
+        assertThat(humidity.getChannelState().toString(), is("40"));
+        verify(listenerMock).updateChannelState(eq(humidityUID), any());
+        // the retained message is not delivered to the channel that already received it
+        verify(listenerMock).updateChannelState(eq(temperatureUID), any());
+    }
+}
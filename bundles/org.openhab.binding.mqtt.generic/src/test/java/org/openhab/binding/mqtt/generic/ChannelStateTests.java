@@ -416,6 +416,41 @@ public class ChannelStateTests {
         assertThat(((RawType) value.getChannelState()).getMimeType(), is("image/jpeg"));
     }
 
+    @Test
+    public void receiveRepeatedRelativeCommandTest() {
+        NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+
+        c.processMessage("state", "INCREASE".getBytes());
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("35"));
+
+        verify(channelStateUpdateListenerMock, times(4)).updateChannelState(eq(channelUIDMock), any());
+    }
+
+    @Test
+    public void receiveSimpleJsonPathTest() {
+        // resolved on the shared JSON tree, no JSONPATH transformation service is available here
+        ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                .withTransformationPattern(List.of("JSONPATH:$.state.temperature")).build();
+        NumberValue value = new NumberValue(null, null, null, null);
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "{\"state\":{\"temperature\":21.5,\"humidity\":40}}".getBytes());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+
+        c.processMessage("state", "{\"state\":{\"humidity\":41}}".getBytes());
+        assertThat(value.getChannelState().toString(), is("21.5"));
+
+        verify(channelStateUpdateListenerMock, times(1)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Nested
     public class TransformationTests {
         // Copied from org.openhab.core.thing.binding.generic.ChannelTransformationTest
@@ -494,6 +529,26 @@ public class ChannelStateTests {
             verify(channelStateUpdateListenerMock, never()).updateChannelState(eq(channelUIDMock), any());
         }
 
+        @Test
+        public void unchangedPayloadSkipsTransformationTest() throws Exception {
+            ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                    .withTransformationPattern(List.of(T1_NAME + ":" + T1_PATTERN)).build();
+            ChannelState c = spy(new ChannelState(config, channelUIDMock, textValue, channelStateUpdateListenerMock));
+            c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+            c.processMessage("state", T1_INPUT.getBytes());
+            c.processMessage("state", T1_INPUT.getBytes());
+            assertThat(textValue.getChannelState().toString(), is(T1_RESULT));
+            verify(transformationService1Mock, times(1)).transform(eq(T1_PATTERN), eq(T1_INPUT));
+            verify(channelStateUpdateListenerMock, times(2)).updateChannelState(eq(channelUIDMock), any());
+
+            // the cached value no longer matches, so the payload is transformed again
+            textValue.resetState();
+            c.processMessage("state", T1_INPUT.getBytes());
+            assertThat(textValue.getChannelState().toString(), is(T1_RESULT));
+            verify(transformationService1Mock, times(2)).transform(eq(T1_PATTERN), eq(T1_INPUT));
+        }
+
         @Test
         public void transformationPatternOutTest() throws Exception {
             ChannelConfig config = ChannelConfigBuilder.create("state", "command")
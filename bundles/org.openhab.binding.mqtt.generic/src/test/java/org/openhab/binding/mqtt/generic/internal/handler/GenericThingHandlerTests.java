@@ -119,7 +119,9 @@ public class GenericThingHandlerTests {
         assertThat(channelConfig.getStateTopic(), is("test/state"));
         assertThat(channelConfig.getCommandTopic(), is("test/command"));
 
-        verify(connectionMock).subscribe(eq(channelConfig.getStateTopic()), eq(channelConfig));
+        // subscribed through the dispatcher of the thing
+        verify(connectionMock).subscribe(eq(channelConfig.getStateTopic()), any());
+        assertThat(thingHandler.getChannelStateDispatcher().size(), is(1));
 
         verify(callbackMock).statusUpdated(eq(thingMock), argThat(arg -> ThingStatus.ONLINE.equals(arg.getStatus())
                 && ThingStatusDetail.NONE.equals(arg.getStatusDetail())));
@@ -25,12 +25,8 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -57,6 +53,7 @@ import org.slf4j.LoggerFactory;
  * @author David Gräff, 2017 - Rewritten
  * @author Jan N. Klug - refactored host name resolution
  * @author Wouter Born - Reuse ExpiringCacheAsync from Core
+ * @author Giovanni Battista - Perform the probes with the shared {@link PresenceProbeEngine}
  */
 @NonNullByDefault
 public class PresenceDetection implements IPRequestReceivedCallback {
@@ -91,20 +88,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     ExpiringCacheAsync<PresenceDetectionValue> cache;
 
     private final PresenceDetectionListener updateListener;
+    private final PresenceProbeEngine probeEngine;
     private ScheduledExecutorService scheduledExecutorService;
 
     private Set<String> networkInterfaceNames = Set.of();
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService detectionExecutorService;
-    protected @Nullable ExecutorService waitForResultExecutorService;
     private String dhcpState = "off";
     int detectionChecks;
     private String lastReachableNetworkInterfaceName = "";
 
-    public PresenceDetection(final PresenceDetectionListener updateListener,
+    public PresenceDetection(final PresenceDetectionListener updateListener, PresenceProbeEngine probeEngine,
             ScheduledExecutorService scheduledExecutorService, Duration cacheDeviceStateTime)
             throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
         this.scheduledExecutorService = scheduledExecutorService;
         cache = new ExpiringCacheAsync<>(cacheDeviceStateTime);
     }
@@ -322,37 +319,9 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(this::performPresenceDetection).thenAccept(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
-    private void withDestinationAddress(Consumer<InetAddress> consumer) {
-        InetAddress destinationAddress = destination.getValue();
-        if (destinationAddress == null) {
-            logger.trace("The destinationAddress for {} is null", hostname);
-        } else {
-            consumer.accept(destinationAddress);
-        }
-    }
-
-    private void stopDetection() {
-        ExecutorService detectionExecutorService = this.detectionExecutorService;
-        if (detectionExecutorService != null) {
-            logger.debug("Shutting down detectionExecutorService");
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-        }
-        ExecutorService waitForResultExecutorService = this.waitForResultExecutorService;
-        if (waitForResultExecutorService != null) {
-            logger.debug("Shutting down waitForResultExecutorService");
-            waitForResultExecutorService.shutdownNow();
-            this.waitForResultExecutorService = null;
-        }
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and TCP connection attempts simultaneously.
-     * A fixed thread pool will be created with as many threads as necessary to perform all tests at once.
+     * The probes are performed by the {@link PresenceProbeEngine} without blocking a thread per probe.
      *
      * Please be aware of the following restrictions:
      * <ul>
@@ -388,83 +357,66 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return CompletableFuture.completedFuture(pdv);
         }
 
-        stopDetection();
-
-        ExecutorService detectionExecutorService = getThreadsFor(detectionChecks);
-        this.detectionExecutorService = detectionExecutorService;
-        ExecutorService waitForResultExecutorService = getThreadsFor(1);
-        this.waitForResultExecutorService = waitForResultExecutorService;
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            logger.trace("The destinationAddress for {} is null", hostname);
+            return CompletableFuture.completedFuture(finishDetection(pdv));
+        }
 
         List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
 
         for (Integer tcpPort : tcpPorts) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + tcpPort);
-                performServicePing(pdv, tcpPort);
-            }, detectionExecutorService);
+            addAsyncDetection(completableFutures, performServicePing(pdv, destinationAddress, tcpPort));
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
-        if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
+        // ARP ping for IPv4 addresses. One probe for the Windows tool and one probe per network interface for
+        // other tools
+        if (arpPingMethod.canProceed) {
+            CompletableFuture<Void> wakeUp = wakeUpIOS(destinationAddress);
+            if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
                 // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performArpPing(pdv, "");
-            }, detectionExecutorService);
-        } else if (interfaceNames != null) {
-            for (final String interfaceName : interfaceNames) {
-                addAsyncDetection(completableFutures, () -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performArpPing(pdv, interfaceName);
-                }, detectionExecutorService);
+                addAsyncDetection(completableFutures,
+                        wakeUp.thenCompose(v -> performArpPing(pdv, destinationAddress, "")));
+            } else if (interfaceNames != null) {
+                for (final String interfaceName : interfaceNames) {
+                    addAsyncDetection(completableFutures,
+                            wakeUp.thenCompose(v -> performArpPing(pdv, destinationAddress, interfaceName)));
+                }
             }
         }
 
         // ICMP ping
         if (pingMethod != IpPingMethodEnum.DISABLED) {
-            addAsyncDetection(completableFutures, () -> {
-                Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
-                if (pingMethod == IpPingMethodEnum.JAVA_PING) {
-                    performJavaPing(pdv);
-                } else {
-                    performSystemPing(pdv);
-                }
-            }, detectionExecutorService);
+            addAsyncDetection(completableFutures, performIcmpPing(pdv, destinationAddress));
         }
 
-        return CompletableFuture.supplyAsync(() -> {
-            Thread.currentThread().setName("presenceDetectionResult_" + hostname);
-            logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
-            completableFutures.forEach(completableFuture -> {
-                try {
-                    completableFuture.join();
-                } catch (CancellationException | CompletionException e) {
-                    logger.debug("Detection future failed to complete", e);
-                }
-            });
+        logger.debug("Waiting for {} detection futures for {} to complete", completableFutures.size(), hostname);
+        return CompletableFuture.allOf(completableFutures.toArray(CompletableFuture[]::new)).thenApply(v -> {
             logger.debug("All {} detection futures for {} have completed", completableFutures.size(), hostname);
+            return finishDetection(pdv);
+        });
+    }
 
-            if (!pdv.isReachable()) {
-                logger.debug("{} is unreachable, invalidating destination value", hostname);
-                destination.invalidateValue();
-            }
-
-            logger.debug("Sending listener final result: {}", pdv);
-            updateListener.finalDetectionResult(pdv);
+    private PresenceDetectionValue finishDetection(PresenceDetectionValue pdv) {
+        if (!pdv.isReachable()) {
+            logger.debug("{} is unreachable, invalidating destination value", hostname);
+            destination.invalidateValue();
+        }
 
-            detectionExecutorService.shutdownNow();
-            this.detectionExecutorService = null;
-            detectionChecks = 0;
+        logger.debug("Sending listener final result: {}", pdv);
+        updateListener.finalDetectionResult(pdv);
 
-            return pdv;
-        }, waitForResultExecutorService);
+        detectionChecks = 0;
+        return pdv;
     }
 
-    private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures, Runnable detectionRunnable,
-            ExecutorService executorService) {
-        completableFutures.add(CompletableFuture.runAsync(detectionRunnable, executorService)
-                .orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS));
+    private void addAsyncDetection(List<CompletableFuture<Void>> completableFutures,
+            CompletableFuture<Void> detection) {
+        completableFutures.add(detection.orTimeout(timeout.plusSeconds(3).toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    logger.debug("Detection future failed to complete", e);
+                    return null;
+                }));
     }
 
     /**
@@ -508,96 +460,78 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.partialDetectionResult(pdv);
     }
 
-    protected void performServicePing(PresenceDetectionValue pdv, int tcpPort) {
+    protected CompletableFuture<Void> performServicePing(PresenceDetectionValue pdv, InetAddress destinationAddress,
+            int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeout);
-                if (pingResult.isSuccess()) {
-                    updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
-                }
-            } catch (IOException e) {
-                // This should not happen and might be a user configuration issue, we log a warning message therefore.
-                logger.warn("Could not create a socket connection", e);
+        return probeEngine.tcpProbe(destinationAddress, tcpPort, timeout).thenAccept(pingResult -> {
+            if (pingResult != null && pingResult.isSuccess()) {
+                updateReachable(pdv, TCP_CONNECTION, getLatency(pingResult), tcpPort);
             }
         });
     }
 
+    /**
+     * If it is an iOS device, the {@link NetworkUtils#wakeUpIOS(InetAddress)} method is called and the returned
+     * future completes shortly after, so that the device had a chance to wake up before it is ARP pinged.
+     */
+    private CompletableFuture<Void> wakeUpIOS(InetAddress destinationAddress) {
+        if (!iosDevice) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            networkUtils.wakeUpIOS(destinationAddress);
+        } catch (IOException e) {
+            logger.trace("Failed to wake up iOS device {}", hostname, e);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS, scheduledExecutorService));
+    }
+
     /**
      * Performs an "ARP ping" (ARP request) on the given interface.
-     * If it is an iOS device, the {@link NetworkUtils#wakeUpIOS(InetAddress)} method is
-     * called before performing the ARP ping.
      *
      * @param pdv the {@link PresenceDetectionValue} to update
+     * @param destinationAddress the address to ping
      * @param interfaceName the interface name. You can request a list of interface names
      *            from {@link NetworkUtils#getInterfaceNames()} for example.
      */
-    protected void performArpPing(PresenceDetectionValue pdv, String interfaceName) {
+    protected CompletableFuture<Void> performArpPing(PresenceDetectionValue pdv, InetAddress destinationAddress,
+            String interfaceName) {
         logger.trace("Perform ARP ping presence detection for {} on interface: {}", hostname, interfaceName);
 
-        withDestinationAddress(destinationAddress -> {
-            try {
-                if (iosDevice) {
-                    networkUtils.wakeUpIOS(destinationAddress);
-                    Thread.sleep(50);
-                }
-
-                PingResult pingResult = networkUtils.nativeArpPing(arpPingMethod, arpPingUtilPath, interfaceName,
-                        destinationAddress.getHostAddress(), timeout);
-                if (pingResult != null) {
-                    if (pingResult.isSuccess()) {
-                        updateReachable(pdv, ARP_PING, getLatency(pingResult));
-                        lastReachableNetworkInterfaceName = interfaceName;
-                    } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
-                        logger.trace("{} is no longer reachable on network interface: {}", hostname, interfaceName);
-                        lastReachableNetworkInterfaceName = "";
+        return probeEngine.arpProbe(arpPingMethod, arpPingUtilPath, interfaceName, destinationAddress, timeout)
+                .thenAccept(pingResult -> {
+                    if (pingResult != null) {
+                        if (pingResult.isSuccess()) {
+                            updateReachable(pdv, ARP_PING, getLatency(pingResult));
+                            lastReachableNetworkInterfaceName = interfaceName;
+                        } else if (lastReachableNetworkInterfaceName.equals(interfaceName)) {
+                            logger.trace("{} is no longer reachable on network interface: {}", hostname,
+                                    interfaceName);
+                            lastReachableNetworkInterfaceName = "";
+                        }
                     }
-                }
-            } catch (IOException e) {
-                logger.trace("Failed to execute an ARP ping for {}", hostname, e);
-            } catch (InterruptedException ignored) {
-                // This can be ignored, the thread will end anyway
-            }
-        });
+                });
     }
 
     /**
-     * Performs a Java ping. It is not recommended to use this, as it is not interruptible,
-     * and will not work on Windows systems reliably and will fall back from ICMP pings to
+     * Performs an ICMP ping with the configured ping method. The Java ping is not recommended, as it is not
+     * interruptible, and will not work on Windows systems reliably and will fall back from ICMP pings to
      * the TCP echo service on port 7 which barely no device or server supports nowadays.
      *
      * @see InetAddress#isReachable(int)
      */
-    protected void performJavaPing(PresenceDetectionValue pdv) {
-        logger.trace("Perform Java ping presence detection for {}", hostname);
+    protected CompletableFuture<Void> performIcmpPing(PresenceDetectionValue pdv, InetAddress destinationAddress) {
+        logger.trace("Perform {} presence detection for {}", pingMethod, hostname);
 
-        withDestinationAddress(destinationAddress -> {
-            PingResult pingResult = networkUtils.javaPing(timeout, destinationAddress);
-            if (pingResult.isSuccess()) {
+        return probeEngine.icmpProbe(pingMethod, destinationAddress, timeout).thenAccept(pingResult -> {
+            if (pingResult != null && pingResult.isSuccess()) {
                 updateReachable(pdv, ICMP_PING, getLatency(pingResult));
             }
         });
     }
 
-    protected void performSystemPing(PresenceDetectionValue pdv) {
-        logger.trace("Perform native ping presence detection for {}", hostname);
-
-        withDestinationAddress(destinationAddress -> {
-            try {
-                PingResult pingResult = networkUtils.nativePing(pingMethod, destinationAddress.getHostAddress(),
-                        timeout);
-                if (pingResult != null && pingResult.isSuccess()) {
-                    updateReachable(pdv, ICMP_PING, getLatency(pingResult));
-                }
-            } catch (IOException e) {
-                logger.trace("Failed to execute a native ping for {}", hostname, e);
-            } catch (InterruptedException e) {
-                // This can be ignored, the thread will end anyway
-            }
-        });
-    }
-
     private Duration getLatency(PingResult pingResult) {
         logger.trace("Getting latency from ping result {} using latency mode {}", pingResult,
                 preferResponseTimeAsLatency);
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.BatchPinger;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.TcpConnectProber;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PresenceProbeEngine} performs the presence detection probes of all things on a few shared threads.
+ * <ul>
+ * <li>TCP connection attempts are non-blocking and performed by a single {@link TcpConnectProber}.
+ * <li>ICMP pings are batched into a single fping process per batch if fping is installed, otherwise (and for ARP
+ * pings) one process is started per probe. At most {@link #MAX_RUNNING_PROCESSES} processes run at the same time.
+ * Their termination is observed with {@link Process#onExit()}, so apart from the process reaper threads of the JVM no
+ * thread waits for them.
+ * <li>Equal probes (e.g. from several things monitoring the same host) which are requested while a probe is in
+ * progress share its result.
+ * </ul>
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class PresenceProbeEngine implements AutoCloseable {
+
+    static final int MAX_RUNNING_PROCESSES = 32;
+    private static final String FPING_TOOL_PATH = "fping";
+    // grace period for tools which do not support a timeout
+    private static final Duration PROCESS_TIMEOUT_GRACE = Duration.ofSeconds(3);
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+
+    private final NetworkUtils networkUtils;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService blockingExecutor;
+    private final TcpConnectProber tcpConnectProber;
+    private final Map<ProbeKey, CompletableFuture<@Nullable PingResult>> inProgress = new ConcurrentHashMap<>();
+    private final Queue<Runnable> waitingProcesses = new ArrayDeque<>();
+    private int runningProcesses = 0;
+    private @Nullable BatchPinger batchPinger;
+    private boolean batchPingerChecked = false;
+
+    public PresenceProbeEngine(ScheduledExecutorService scheduler) {
+        this(new NetworkUtils(), scheduler);
+    }
+
+    PresenceProbeEngine(NetworkUtils networkUtils, ScheduledExecutorService scheduler) {
+        this.networkUtils = networkUtils;
+        this.scheduler = scheduler;
+        this.blockingExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("network-ping"));
+        this.tcpConnectProber = new TcpConnectProber("OH-binding-network-tcp-probe");
+    }
+
+    @Override
+    public void close() {
+        tcpConnectProber.close();
+        blockingExecutor.shutdownNow();
+        synchronized (this) {
+            waitingProcesses.clear();
+        }
+        inProgress.values().forEach(future -> future.cancel(false));
+        inProgress.clear();
+    }
+
+    /**
+     * Try to establish a TCP connection to the given port.
+     *
+     * @param address the destination address
+     * @param port the TCP port
+     * @param timeout the timeout before the attempt is aborted
+     * @return the {@link PingResult} of connecting to the given port
+     */
+    public CompletableFuture<@Nullable PingResult> tcpProbe(InetAddress address, int port, Duration timeout) {
+        return deduplicate(new ProbeKey(PresenceDetectionType.TCP_CONNECTION, address, String.valueOf(port)),
+                () -> tcpConnectProber.probe(new InetSocketAddress(address, port), timeout)
+                        .thenApply(pingResult -> pingResult));
+    }
+
+    /**
+     * Perform an ICMP ping with the given method.
+     *
+     * @param method the ping method
+     * @param address the destination address
+     * @param timeout the timeout before the ping is aborted
+     * @return the {@link PingResult}, <code>null</code> if no ping was executed
+     */
+    public CompletableFuture<@Nullable PingResult> icmpProbe(@Nullable IpPingMethodEnum method, InetAddress address,
+            Duration timeout) {
+        if (method == null || method == IpPingMethodEnum.DISABLED) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return deduplicate(new ProbeKey(PresenceDetectionType.ICMP_PING, address, method.name()), () -> {
+            if (method == IpPingMethodEnum.JAVA_PING) {
+                return runLimited(() -> CompletableFuture
+                        .supplyAsync(() -> networkUtils.javaPing(timeout, address), blockingExecutor));
+            }
+            BatchPinger batchPinger = getBatchPinger(method);
+            if (batchPinger != null) {
+                CompletableFuture<@Nullable PingResult> result = new CompletableFuture<>();
+                batchPinger.ping(address.getHostAddress(), timeout).whenComplete((pingResult, e) -> {
+                    if (e == null) {
+                        result.complete(pingResult);
+                    } else {
+                        // fping failed, use the native ping utility instead
+                        nativePing(method, address, timeout).whenComplete((r, e2) -> result.complete(r));
+                    }
+                });
+                return result;
+            }
+            return nativePing(method, address, timeout);
+        });
+    }
+
+    /**
+     * Perform an ARP ping on the given interface.
+     *
+     * @param arpingTool the detected arping tool
+     * @param arpUtilPath the path of the arping tool
+     * @param interfaceName the network interface
+     * @param address the destination IPv4 address
+     * @param timeout the timeout before the ping is aborted
+     * @return the {@link PingResult}, <code>null</code> if no ping was executed
+     */
+    public CompletableFuture<@Nullable PingResult> arpProbe(ArpPingUtilEnum arpingTool, String arpUtilPath,
+            String interfaceName, InetAddress address, Duration timeout) {
+        return deduplicate(new ProbeKey(PresenceDetectionType.ARP_PING, address, interfaceName), () -> {
+            List<String> command = networkUtils.arpPingCommand(arpingTool, arpUtilPath, interfaceName,
+                    address.getHostAddress(), timeout);
+            if (command == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return runProcess(command, timeout, true);
+        });
+    }
+
+    private CompletableFuture<@Nullable PingResult> nativePing(IpPingMethodEnum method, InetAddress address,
+            Duration timeout) {
+        List<String> command = networkUtils.nativePingCommand(method, address.getHostAddress(), timeout);
+        if (command == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return runProcess(command, timeout, false);
+    }
+
+    private synchronized @Nullable BatchPinger getBatchPinger(IpPingMethodEnum method) {
+        if (method == IpPingMethodEnum.WINDOWS_PING) {
+            return null;
+        }
+        if (!batchPingerChecked) {
+            batchPingerChecked = true;
+            if (networkUtils.isFpingAvailable(FPING_TOOL_PATH)) {
+                logger.debug("Using fping for batched ICMP pings");
+                batchPinger = new BatchPinger(FPING_TOOL_PATH, scheduler, blockingExecutor);
+            }
+        }
+        BatchPinger batchPinger = this.batchPinger;
+        return batchPinger != null && batchPinger.isUsable() ? batchPinger : null;
+    }
+
+    private CompletableFuture<@Nullable PingResult> deduplicate(ProbeKey key,
+            Supplier<CompletableFuture<@Nullable PingResult>> probe) {
+        CompletableFuture<@Nullable PingResult> future = new CompletableFuture<>();
+        CompletableFuture<@Nullable PingResult> existing = inProgress.putIfAbsent(key, future);
+        if (existing != null) {
+            logger.trace("Sharing the result of the {} probe in progress for {}", key.type(), key.address());
+            return existing.copy();
+        }
+        try {
+            // complete on the scheduler, so that result processing never runs on the selector or process reaper
+            probe.get().whenCompleteAsync((result, e) -> {
+                inProgress.remove(key, future);
+                if (e != null) {
+                    future.completeExceptionally(e);
+                } else {
+                    future.complete(result);
+                }
+            }, scheduler);
+        } catch (RuntimeException e) {
+            inProgress.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future.copy();
+    }
+
+    /**
+     * Run a task starting blocking work or a process once less than {@link #MAX_RUNNING_PROCESSES} are running.
+     */
+    private CompletableFuture<@Nullable PingResult> runLimited(
+            Supplier<CompletableFuture<@Nullable PingResult>> task) {
+        CompletableFuture<@Nullable PingResult> result = new CompletableFuture<>();
+        synchronized (this) {
+            waitingProcesses.add(() -> {
+                CompletableFuture<@Nullable PingResult> future;
+                try {
+                    future = task.get();
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                future.whenComplete((pingResult, e) -> {
+                    synchronized (this) {
+                        runningProcesses--;
+                    }
+                    startWaitingProcesses();
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(pingResult);
+                    }
+                });
+            });
+        }
+        startWaitingProcesses();
+        return result;
+    }
+
+    private void startWaitingProcesses() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                if (runningProcesses >= MAX_RUNNING_PROCESSES || (next = waitingProcesses.poll()) == null) {
+                    return;
+                }
+                runningProcesses++;
+            }
+            next.run();
+        }
+    }
+
+    private CompletableFuture<@Nullable PingResult> runProcess(List<String> command, Duration timeout,
+            boolean arpPing) {
+        return runLimited(() -> {
+            Instant execStartTime = Instant.now();
+            Process proc;
+            try {
+                proc = new ProcessBuilder(command).start();
+            } catch (IOException e) {
+                logger.trace("Failed to execute {}", command, e);
+                return CompletableFuture.completedFuture(null);
+            }
+            return proc.onExit().orTimeout(timeout.plus(PROCESS_TIMEOUT_GRACE).toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((p, e) -> {
+                        if (e != null) {
+                            logger.trace("{} did not terminate in time", command);
+                            proc.destroyForcibly();
+                            PingResult result = new PingResult(false, Duration.between(execStartTime, Instant.now()));
+                            result.setTimedOut(true);
+                            return result;
+                        }
+                        try {
+                            return arpPing ? networkUtils.parseArpPingResult(proc, execStartTime)
+                                    : networkUtils.parseNativePingResult(proc, execStartTime);
+                        } catch (IOException e2) {
+                            logger.trace("Failed to read the result of {}", command, e2);
+                            return null;
+                        }
+                    });
+        });
+    }
+
+    private record ProbeKey(PresenceDetectionType type, InetAddress address, String detail) {
+    }
+}
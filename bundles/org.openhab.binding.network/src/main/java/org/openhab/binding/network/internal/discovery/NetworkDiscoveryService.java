@@ -15,24 +15,28 @@ package org.openhab.binding.network.internal.discovery;
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 import static org.openhab.binding.network.internal.utils.NetworkUtils.durationToMillis;
 
+import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.network.internal.NetworkBindingConfiguration;
-import org.openhab.binding.network.internal.PresenceDetection;
-import org.openhab.binding.network.internal.PresenceDetectionListener;
-import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
+import org.openhab.binding.network.internal.discovery.SubnetSweep.HostState;
+import org.openhab.binding.network.internal.utils.AddressRange;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
+import org.openhab.binding.network.internal.utils.PingResult;
 import org.openhab.core.config.core.Configuration;
 import org.openhab.core.config.discovery.AbstractDiscoveryService;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -49,32 +53,50 @@ import org.slf4j.LoggerFactory;
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * <p>
+ * The addresses are probed by a {@link SubnetSweep} without blocking a thread per address, devices are reported as
+ * soon as they answer. A scan which is stopped before all addresses were probed is resumed by the next scan of the
+ * same networks.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
+ * @author Giovanni Battista - Sweep the networks with adaptive concurrency
  */
 @NonNullByDefault
-@Component(service = DiscoveryService.class, configurationPid = "discovery.network")
-public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
+// the binding configuration, e.g. the maximum number of IPs per interface, is set for the binding PID
+@Component(service = DiscoveryService.class, configurationPid = { "discovery.network", "binding.network" })
+public class NetworkDiscoveryService extends AbstractDiscoveryService {
     static final Duration PING_TIMEOUT = Duration.ofMillis(500);
-    static final int MAXIMUM_IPS_PER_INTERFACE = 255;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
+    private static final long IOS_WAKE_UP_DELAY_MS = 50;
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
     // TCP port 548 (Apple Filing Protocol (AFP))
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Set.of(80, 548, 554, 1025);
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable PresenceProbeEngine probeEngine = null;
+    private @Nullable SubnetSweep sweep = null;
+    private List<AddressRange> sweepRanges = List.of();
+    private @Nullable ResumePoint resumePoint = null;
+    private IpPingMethodEnum pingMethod = IpPingMethodEnum.DISABLED;
+    private Set<String> interfaceNames = Set.of();
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
     public NetworkDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS,
-                (int) Math.round(new NetworkUtils().getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE).size()
-                        * (durationToMillis(PING_TIMEOUT) / 1000.0)),
-                false);
+                scanTimeout(new NetworkBindingConfiguration().discoveryMaximumIPsPerInterface), false);
+    }
+
+    @Override
+    public int getScanTimeout() {
+        return scanTimeout(configuration.discoveryMaximumIPsPerInterface);
+    }
+
+    private static int scanTimeout(int maximumIPsPerInterface) {
+        return (int) Math.round(new NetworkUtils().getNetworkRanges(maximumIPsPerInterface).stream()
+                .mapToLong(AddressRange::size).sum() * (durationToMillis(PING_TIMEOUT) / 1000.0));
     }
 
     @Override
@@ -97,90 +119,181 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        stopScan();
+        synchronized (this) {
+            PresenceProbeEngine probeEngine = this.probeEngine;
+            if (probeEngine != null) {
+                // cancels the probes in flight, so that the sweep finishes
+                probeEngine.close();
+            }
         }
         super.deactivate();
     }
 
+    /**
+     * Starts a sweep over every IP on each interface on the network, or resumes the last sweep if it was stopped
+     * before all IPs were probed.
+     */
     @Override
-    public void partialDetectionResult(PresenceDetectionValue value) {
-        final String ip = value.getHostAddress();
-        if (value.isPingReachable()) {
-            newPingDevice(ip);
-        } else if (value.isTcpServiceReachable()) {
-            List<Integer> tcpServices = value.getReachableTcpPorts();
-            for (int port : tcpServices) {
-                newServiceDevice(ip, port);
-            }
+    protected synchronized void startScan() {
+        if (sweep != null) {
+            logger.debug("Network scan is already running");
+            return;
+        }
+        List<AddressRange> ranges = networkUtils.getNetworkRanges(configuration.discoveryMaximumIPsPerInterface);
+        long resumeIndex = 0;
+        ResumePoint resumePoint = this.resumePoint;
+        if (resumePoint != null && resumePoint.ranges().equals(ranges)) {
+            resumeIndex = resumePoint.index();
+        } else {
+            removeOlderResults(getTimestampOfLastScan(), null);
+        }
+        this.resumePoint = null;
+
+        PresenceProbeEngine probeEngine = new PresenceProbeEngine(scheduler);
+        this.probeEngine = probeEngine;
+        pingMethod = networkUtils.determinePingMethod();
+        interfaceNames = configuration.arpPingUtilMethod.canProceed
+                && configuration.arpPingUtilMethod != ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS
+                        ? networkUtils.getInterfaceNames()
+                        : Set.of("");
+
+        sweepRanges = ranges;
+        SubnetSweep sweep = new SubnetSweep(ranges, address -> probeHost(probeEngine, address), this::progress);
+        this.sweep = sweep;
+        if (resumeIndex > 0) {
+            logger.debug("Resuming Network Device Discovery at address {} of {}", resumeIndex, sweep.getTotal());
+        } else {
+            logger.debug("Starting Network Device Discovery of {} addresses", sweep.getTotal());
         }
+        sweep.start(resumeIndex).thenRun(() -> sweepFinished(sweep));
     }
 
     @Override
-    public void finalDetectionResult(PresenceDetectionValue value) {
+    protected synchronized void stopScan() {
+        super.stopScan();
+        SubnetSweep sweep = this.sweep;
+        if (sweep == null) {
+            return;
+        }
+        long resumeIndex = sweep.stop();
+        if (resumeIndex < sweep.getTotal()) {
+            logger.debug("Network Device Discovery stopped at address {} of {}", resumeIndex, sweep.getTotal());
+            resumePoint = new ResumePoint(sweepRanges, resumeIndex);
+        }
+    }
+
+    private synchronized void sweepFinished(SubnetSweep sweep) {
+        if (this.sweep != sweep) {
+            return;
+        }
+        this.sweep = null;
+        PresenceProbeEngine probeEngine = this.probeEngine;
+        if (probeEngine != null) {
+            probeEngine.close();
+            this.probeEngine = null;
+        }
+        if (resumePoint == null) {
+            logger.debug("Scan of {} IPs successful", sweep.getTotal());
+            super.stopScan();
+        }
+    }
+
+    private void progress(long completed, long total, int concurrency) {
+        logger.debug("Network Device Discovery probed {} of {} addresses, probing up to {} addresses at once",
+                completed, total, concurrency);
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Probes a host with ICMP and ARP pings and on the TCP service ports and reports it as soon as one probe
+     * succeeds.
+     * <p>
+     * The state of an unreachable host is derived from the signals of the single probes: it timed out only if a TCP
+     * connection attempt got no answer until its deadline, and no other probe got an answer (e.g. connection refused
+     * or no route to host). Failed pings give no signal, the ping tools do not tell why they failed. The time probes
+     * spend queued in the probe engine is not taken into account.
+     *
+     * @param probeEngine the engine performing the probes
+     * @param address the address of the host
+     * @return the state of the host once all probes completed
      */
-    @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    CompletableFuture<HostState> probeHost(PresenceProbeEngine probeEngine, InetAddress address) {
+        String ip = address.getHostAddress();
+        AtomicBoolean pingReachable = new AtomicBoolean();
+        List<CompletableFuture<@Nullable HostState>> probes = new ArrayList<>();
+        Runnable pingDevice = () -> {
+            if (!pingReachable.getAndSet(true)) {
+                newPingDevice(ip);
+            }
+        };
+
+        probes.add(probe(probeEngine.icmpProbe(pingMethod, address, PING_TIMEOUT), false, pingDevice));
+
+        ArpPingUtilEnum arpPingMethod = configuration.arpPingUtilMethod;
+        if (arpPingMethod.canProceed) {
+            CompletableFuture<Void> wakeUp = wakeUpIOS(address);
+            for (String interfaceName : interfaceNames) {
+                probes.add(wakeUp.thenCompose(v -> probe(probeEngine.arpProbe(arpPingMethod,
+                        configuration.arpPingToolPath, interfaceName, address, PING_TIMEOUT), false, pingDevice)));
+            }
         }
-        removeOlderResults(getTimestampOfLastScan(), null);
-        logger.trace("Starting Network Device Discovery");
-
-        final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
-
-        for (String ip : networkIPs) {
-            final PresenceDetection pd = new PresenceDetection(this, scheduler, Duration.ofSeconds(2));
-            pd.setHostname(ip);
-            pd.setIOSDevice(true);
-            pd.setUseDhcpSniffing(false);
-            pd.setTimeout(PING_TIMEOUT);
-            // Ping devices
-            pd.setUseIcmpPing(true);
-            pd.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            pd.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                try {
-                    pd.getValue();
-                } catch (ExecutionException | InterruptedException e) {
-                    stopScan();
-                }
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
+
+        for (int port : tcpServicePorts) {
+            probes.add(probe(probeEngine.tcpProbe(address, port, PING_TIMEOUT), true, () -> {
+                // ping devices are preferred over service devices
+                if (!pingReachable.get()) {
+                    newServiceDevice(ip, port);
                 }
-            });
+            }));
         }
+
+        return CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).handle((v, e) -> hostState(probes));
     }
 
-    @Override
-    protected synchronized void stopScan() {
-        super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
-            return;
+    /**
+     * @param probe the probe
+     * @param answersOnFailure whether a failed probe which did not time out got an answer from the network
+     * @param onSuccess called if the probe succeeded
+     * @return the state of the host according to the probe, <code>null</code> if the probe gives no signal
+     */
+    private CompletableFuture<@Nullable HostState> probe(CompletableFuture<@Nullable PingResult> probe,
+            boolean answersOnFailure, Runnable onSuccess) {
+        return probe.handle((pingResult, e) -> {
+            if (pingResult == null) {
+                return null;
+            } else if (pingResult.isSuccess()) {
+                onSuccess.run();
+                return HostState.REACHABLE;
+            } else if (pingResult.isTimedOut()) {
+                return HostState.TIMEOUT;
+            }
+            return answersOnFailure ? HostState.UNREACHABLE : null;
+        });
+    }
+
+    private static HostState hostState(List<CompletableFuture<@Nullable HostState>> probes) {
+        boolean timedOut = false;
+        boolean answered = false;
+        for (CompletableFuture<@Nullable HostState> probe : probes) {
+            HostState state = probe.isCompletedExceptionally() ? null : probe.getNow(null);
+            if (state == HostState.REACHABLE) {
+                return HostState.REACHABLE;
+            }
+            timedOut |= state == HostState.TIMEOUT;
+            answered |= state == HostState.UNREACHABLE;
         }
+        // an answer shows that the probes of this host were not lost, even if another probe timed out
+        return timedOut && !answered ? HostState.TIMEOUT : HostState.UNREACHABLE;
+    }
 
+    private CompletableFuture<Void> wakeUpIOS(InetAddress address) {
         try {
-            service.awaitTermination(PING_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
+            networkUtils.wakeUpIOS(address);
+        } catch (IOException e) {
+            logger.trace("Failed to wake up a possible iOS device at {}", address, e);
         }
-        service.shutdown();
-        executorService = null;
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(IOS_WAKE_UP_DELAY_MS, TimeUnit.MILLISECONDS, scheduler));
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -189,7 +302,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called while probing the hosts in {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -222,7 +335,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link #startScan()}.
+     * Submit newly discovered devices. This method is called while probing the hosts in {@link #startScan()}.
      *
      * @param ip The device IP
      */
@@ -233,4 +346,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         thingDiscovered(DiscoveryResultBuilder.create(createPingUID(ip)).withTTL(DISCOVERY_RESULT_TTL)
                 .withProperties(properties).withLabel("Network Device (" + ip + ")").build());
     }
+
+    private record ResumePoint(List<AddressRange> ranges, long index) {
+    }
 }
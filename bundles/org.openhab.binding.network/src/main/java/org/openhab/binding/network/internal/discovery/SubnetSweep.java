@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.network.internal.utils.AddressRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetSweep} probes all addresses of a list of {@link AddressRange}s with a bounded but adaptive number
+ * of hosts in flight.
+ *
+ * Addresses are computed from their index when they are probed, and only the indices of the hosts in flight are
+ * kept, so the memory needed does not depend on the size of the ranges. The number of hosts in flight is raised
+ * step by step as long as the rate of timed out hosts stays close to its average and is halved when it rises
+ * clearly, which indicates that probes (or their answers) get lost. A stopped sweep reports the index from which a
+ * new sweep can resume without skipping any address.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetSweep {
+
+    static final int INITIAL_CONCURRENCY = 64;
+    static final int MIN_CONCURRENCY = 8;
+    static final int MAX_CONCURRENCY = 1024;
+    // number of completed hosts between two adjustments of the concurrency
+    static final int WINDOW = 64;
+    private static final int CONCURRENCY_STEP = 16;
+    private static final double TIMEOUT_RATE_TOLERANCE = 0.2;
+    private static final double TIMEOUT_RATE_SMOOTHING = 0.25;
+
+    /**
+     * The outcome of probing a host.
+     */
+    public enum HostState {
+        REACHABLE,
+        /** the host answered negatively, e.g. by refusing a connection, or its probes gave no signal */
+        UNREACHABLE,
+        /** the probes of the host got no answer before their deadlines, so they or their answers may have got lost */
+        TIMEOUT
+    }
+
+    /**
+     * Listener for the progress of a sweep.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after every {@link SubnetSweep#WINDOW} completed hosts and when the sweep finished.
+         *
+         * @param completed the number of addresses below the resume index
+         * @param total the number of addresses of the sweep
+         * @param concurrency the current maximum number of hosts in flight
+         */
+        void progress(long completed, long total, int concurrency);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetSweep.class);
+
+    private final List<AddressRange> ranges;
+    private final long total;
+    private final Function<InetAddress, CompletableFuture<HostState>> prober;
+    private final ProgressListener progressListener;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long next;
+    private int concurrency = INITIAL_CONCURRENCY;
+    private int windowCompleted = 0;
+    private int windowTimeouts = 0;
+    private double averageTimeoutRate = -1;
+    private boolean stopped = false;
+    private boolean filling = false;
+
+    /**
+     * Create a sweep.
+     *
+     * @param ranges the address ranges to probe
+     * @param prober probes a host, the returned future must complete within a bounded time
+     * @param progressListener receives the progress of the sweep
+     */
+    public SubnetSweep(List<AddressRange> ranges, Function<InetAddress, CompletableFuture<HostState>> prober,
+            ProgressListener progressListener) {
+        this.ranges = List.copyOf(ranges);
+        this.total = ranges.stream().mapToLong(AddressRange::size).sum();
+        this.prober = prober;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Get the number of addresses of this sweep.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Start probing.
+     *
+     * @param resumeIndex the index of the first address to probe, as returned by {@link #stop()} of a previous sweep
+     *            over the same ranges, or 0
+     * @return a future completing when all addresses were probed or the sweep was stopped and all hosts in flight
+     *         completed
+     */
+    public CompletableFuture<Void> start(long resumeIndex) {
+        synchronized (this) {
+            next = Math.max(0, Math.min(resumeIndex, total));
+        }
+        fill();
+        return finished;
+    }
+
+    /**
+     * Stop starting new probes. Hosts in flight are still completed.
+     *
+     * @return the index from which a new sweep over the same ranges can resume
+     */
+    public long stop() {
+        long resumeIndex;
+        boolean done;
+        synchronized (this) {
+            stopped = true;
+            resumeIndex = getResumeIndex();
+            done = inFlight.isEmpty();
+        }
+        if (done) {
+            finished.complete(null);
+        }
+        return resumeIndex;
+    }
+
+    /**
+     * Get the current maximum number of hosts in flight.
+     */
+    public synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    private long getResumeIndex() {
+        return inFlight.isEmpty() ? next : inFlight.first();
+    }
+
+    private void fill() {
+        synchronized (this) {
+            // a probe completing synchronously must not start probes recursively, the running loop picks up the
+            // free slot
+            if (filling) {
+                return;
+            }
+            filling = true;
+        }
+        boolean done;
+        while (true) {
+            long index;
+            synchronized (this) {
+                if (stopped || next >= total || inFlight.size() >= concurrency) {
+                    filling = false;
+                    done = inFlight.isEmpty();
+                    break;
+                }
+                index = next++;
+                inFlight.add(index);
+            }
+            startProbe(index);
+        }
+        if (done) {
+            finished.complete(null);
+        }
+    }
+
+    private void startProbe(long index) {
+        CompletableFuture<HostState> probe;
+        try {
+            probe = prober.apply(addressAt(index));
+        } catch (RuntimeException e) {
+            logger.debug("Probing address {} failed", index, e);
+            probe = CompletableFuture.completedFuture(HostState.UNREACHABLE);
+        }
+        probe.whenComplete((state, e) -> {
+            completed(index, e == null ? state : HostState.UNREACHABLE);
+            fill();
+        });
+    }
+
+    private InetAddress addressAt(long index) {
+        long offset = index;
+        for (AddressRange range : ranges) {
+            if (offset < range.size()) {
+                return range.get((int) offset);
+            }
+            offset -= range.size();
+        }
+        throw new IndexOutOfBoundsException("Address index " + index + " is not within " + total + " addresses");
+    }
+
+    private void completed(long index, HostState state) {
+        long resumeIndex;
+        int currentConcurrency;
+        synchronized (this) {
+            inFlight.remove(index);
+            windowCompleted++;
+            if (state == HostState.TIMEOUT) {
+                windowTimeouts++;
+            }
+            boolean done = inFlight.isEmpty() && next >= total;
+            if (windowCompleted < WINDOW && !done) {
+                return;
+            }
+            adjustConcurrency();
+            resumeIndex = getResumeIndex();
+            currentConcurrency = concurrency;
+        }
+        progressListener.progress(resumeIndex, total, currentConcurrency);
+    }
+
+    private void adjustConcurrency() {
+        double timeoutRate = (double) windowTimeouts / windowCompleted;
+        if (averageTimeoutRate < 0) {
+            averageTimeoutRate = timeoutRate;
+        }
+        if (timeoutRate > averageTimeoutRate + TIMEOUT_RATE_TOLERANCE) {
+            concurrency = Math.max(MIN_CONCURRENCY, concurrency / 2);
+            logger.trace("Timeout rate rose to {}, reducing concurrency to {}", timeoutRate, concurrency);
+        } else {
+            concurrency = Math.min(MAX_CONCURRENCY, concurrency + CONCURRENCY_STEP);
+        }
+        averageTimeoutRate += (timeoutRate - averageTimeoutRate) * TIMEOUT_RATE_SMOOTHING;
+        windowCompleted = 0;
+        windowTimeouts = 0;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A range of consecutive IPv4 addresses. Addresses are computed on demand, so that large networks can be iterated
+ * without holding all their addresses in memory.
+ *
+ * @param first the first address as unsigned 32 bit value
+ * @param size the number of addresses in the range
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public record AddressRange(int first, int size) {
+
+    /**
+     * Create the range of all host addresses (excluding network and broadcast address) of the network of the given
+     * IPv4 address.
+     *
+     * @param address an address of the network
+     * @param prefix the CIDR prefix length of the network
+     * @param maximum the maximum number of addresses of the range or 0 for all
+     * @return the range of host addresses
+     */
+    public static AddressRange ofNetwork(Inet4Address address, int prefix, int maximum) {
+        byte[] octets = address.getAddress();
+        int value = ((octets[0] & 0xFF) << 24) | ((octets[1] & 0xFF) << 16) | ((octets[2] & 0xFF) << 8)
+                | (octets[3] & 0xFF);
+        int mask = prefix == 0 ? 0 : 0xFFFFFFFF << (32 - prefix);
+        int size = (int) Math.max(0, Math.min(Integer.MAX_VALUE, (1L << (32 - prefix)) - 2));
+        if (maximum != 0 && maximum < size) {
+            size = maximum;
+        }
+        return new AddressRange((value & mask) + 1, size);
+    }
+
+    /**
+     * Get the address at the given index of this range.
+     *
+     * @param index the index, between 0 and {@link #size()} (exclusive)
+     * @return the address
+     */
+    public InetAddress get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int value = first + index;
+        try {
+            return InetAddress.getByAddress(new byte[] { (byte) (value >>> 24), (byte) (value >>> 16),
+                    (byte) (value >>> 8), (byte) value });
+        } catch (UnknownHostException e) {
+            // cannot happen for an address of four bytes
+            throw new IllegalStateException(e);
+        }
+    }
+}
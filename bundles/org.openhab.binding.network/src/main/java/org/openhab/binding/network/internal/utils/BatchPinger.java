@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link BatchPinger} sends ICMP pings to many hosts with a single process of the
+ * <a href="https://fping.org/">fping</a> utility instead of forking one ping process per host.
+ * <p>
+ * Ping requests are collected for {@link #BATCH_DELAY} (or until {@link #MAX_BATCH_SIZE} hosts are requested) and
+ * the targets are passed to fping over its standard input. Each host receives its own {@link PingResult} with the
+ * round trip time reported by fping as response time.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class BatchPinger {
+
+    static final Duration BATCH_DELAY = Duration.ofMillis(50);
+    static final int MAX_BATCH_SIZE = 256;
+
+    // e.g. "192.168.0.1 is alive (0.42 ms)" or "192.168.0.2 is unreachable"
+    private static final Pattern RESULT_PATTERN = Pattern
+            .compile("^(\\S+) is (alive|unreachable)(?: \\((\\d+(?:\\.\\d+)?) ms\\))?");
+
+    private final Logger logger = LoggerFactory.getLogger(BatchPinger.class);
+
+    private final String fpingToolPath;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final Map<Long, Batch> pending = new HashMap<>();
+    private volatile boolean usable = true;
+
+    /**
+     * @param fpingToolPath the path of the fping executable
+     * @param scheduler the scheduler used to delay the start of a batch
+     * @param executor the executor reading the results of a batch, needs one thread per running batch
+     */
+    public BatchPinger(String fpingToolPath, ScheduledExecutorService scheduler, Executor executor) {
+        this.fpingToolPath = fpingToolPath;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Return <code>false</code> if fping failed to execute. Pings are not possible anymore in that case.
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Ping a host with the next batch.
+     *
+     * @param host the IP address of the host
+     * @param timeout the timeout before the ping is considered as failed
+     * @return the result of the ping, completes exceptionally if fping could not be executed
+     */
+    public synchronized CompletableFuture<PingResult> ping(String host, Duration timeout) {
+        long timeoutMillis = Math.max(1, timeout.toMillis());
+        Batch batch = pending.get(timeoutMillis);
+        if (batch == null) {
+            Batch newBatch = new Batch(timeoutMillis);
+            pending.put(timeoutMillis, newBatch);
+            scheduler.schedule(() -> start(newBatch), BATCH_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            batch = newBatch;
+        }
+        CompletableFuture<PingResult> future = batch.targets.computeIfAbsent(host, h -> new CompletableFuture<>());
+        if (batch.targets.size() >= MAX_BATCH_SIZE) {
+            start(batch);
+        }
+        return future;
+    }
+
+    private void start(Batch batch) {
+        synchronized (this) {
+            if (pending.get(batch.timeoutMillis) != batch) {
+                // already started
+                return;
+            }
+            pending.remove(batch.timeoutMillis);
+        }
+        executor.execute(() -> run(batch));
+    }
+
+    private void run(Batch batch) {
+        Instant execStartTime = Instant.now();
+        List<String> command = List.of(fpingToolPath, "-e", "-r", "0", "-t", String.valueOf(batch.timeoutMillis));
+        logger.trace("Pinging {} hosts with fping", batch.targets.size());
+        try {
+            Process proc = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (OutputStream stdin = proc.getOutputStream()) {
+                stdin.write(String.join("\n", batch.targets.keySet()).getBytes(StandardCharsets.US_ASCII));
+            }
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    processLine(batch, line, execStartTime);
+                }
+            }
+            // exit code 0: all hosts alive, 1: some hosts unreachable, 2: unknown hosts, 3/4: invalid arguments or
+            // system call failure
+            int exitCode = proc.waitFor();
+            if (exitCode > 2) {
+                throw new IOException("fping exited with code " + exitCode);
+            }
+            Duration executionTime = Duration.between(execStartTime, Instant.now());
+            batch.targets.values().forEach(future -> future.complete(new PingResult(false, executionTime)));
+        } catch (IOException e) {
+            logger.debug("Batch ping failed, falling back to single pings: {}", e.getMessage());
+            usable = false;
+            batch.targets.values().forEach(future -> future.completeExceptionally(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.targets.values().forEach(future -> future.cancel(false));
+        }
+    }
+
+    private void processLine(Batch batch, String line, Instant execStartTime) {
+        Matcher matcher = RESULT_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            logger.trace("Ignoring fping output '{}'", line);
+            return;
+        }
+        CompletableFuture<PingResult> future = batch.targets.get(matcher.group(1));
+        if (future == null) {
+            return;
+        }
+        String latency = matcher.group(3);
+        if ("alive".equals(matcher.group(2))) {
+            // the execution time of the whole batch is meaningless for a single host, use the round trip time
+            Duration responseTime = latency != null ? NetworkUtils.millisToDuration(Double.parseDouble(latency))
+                    : Duration.between(execStartTime, Instant.now());
+            PingResult pingResult = new PingResult(true, responseTime);
+            pingResult.setResponseTime(responseTime);
+            future.complete(pingResult);
+        } else {
+            future.complete(new PingResult(false, Duration.between(execStartTime, Instant.now())));
+        }
+    }
+
+    private static class Batch {
+        private final long timeoutMillis;
+        private final Map<String, CompletableFuture<PingResult>> targets = new LinkedHashMap<>();
+
+        Batch(long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+}
@@ -15,19 +15,13 @@ package org.openhab.binding.network.internal.utils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.ConnectException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.Inet4Address;
 import java.net.InetAddress;
-import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
-import java.net.NoRouteToHostException;
 import java.net.PortUnreachableException;
-import java.net.Socket;
 import java.net.SocketException;
-import java.net.SocketTimeoutException;
-import java.net.UnknownHostException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -111,35 +105,6 @@ public class NetworkUtils {
                 .collect(Collectors.toSet());
     }
 
-    /**
-     * Gets every IPv4 address on the network defined by its cidr
-     *
-     * @return The collected IPv4 Addresses
-     */
-    private List<String> getIPAddresses(CidrAddress adr) {
-        List<String> result = new ArrayList<>();
-        byte[] octets = adr.getAddress().getAddress();
-        final int addressCount = (1 << (32 - adr.getPrefix())) - 2;
-        final int ipMask = 0xFFFFFFFF << (32 - adr.getPrefix());
-        octets[0] &= ipMask >> 24;
-        octets[1] &= ipMask >> 16;
-        octets[2] &= ipMask >> 8;
-        octets[3] &= ipMask;
-        try {
-            final CidrAddress baseIp = new CidrAddress(InetAddress.getByAddress(octets), (short) adr.getPrefix());
-            for (int i = 1; i <= addressCount; i++) {
-                int octet = i & ~ipMask;
-                byte[] segments = baseIp.getAddress().getAddress();
-                segments[2] += (octet >> 8);
-                segments[3] += octet;
-                result.add(InetAddress.getByAddress(segments).getHostAddress());
-            }
-        } catch (UnknownHostException e) {
-            logger.trace("Could not build net IP address.", e);
-        }
-        return result;
-    }
-
     /**
      * Get a set of all interface names.
      *
@@ -163,24 +128,24 @@ public class NetworkUtils {
     }
 
     /**
-     * Determines every IP which can be assigned on all available interfaces
+     * Determines the ranges of IPs which can be assigned on all available interfaces
      *
      * @param maximumPerInterface The maximum of IP addresses per interface or 0 to get all.
-     * @return Every single IP which can be assigned on the Networks the computer is connected to
+     * @return The ranges of IPs which can be assigned on the Networks the computer is connected to
      */
-    public Set<String> getNetworkIPs(int maximumPerInterface) {
-        return getNetworkIPs(getInterfaceIPs(), maximumPerInterface);
+    public List<AddressRange> getNetworkRanges(int maximumPerInterface) {
+        return getNetworkRanges(getInterfaceIPs(), maximumPerInterface);
     }
 
     /**
-     * Takes the interfaceIPs and fetches every IP which can be assigned on their network
+     * Takes the interfaceIPs and determines the range of IPs which can be assigned on their network
      *
      * @param interfaceIPs The IPs which are assigned to the Network Interfaces
      * @param maximumPerInterface The maximum of IP addresses per interface or 0 to get all.
-     * @return Every single IP which can be assigned on the Networks the computer is connected to
+     * @return The ranges of IPs which can be assigned on the Networks the computer is connected to
      */
-    private Set<String> getNetworkIPs(Set<CidrAddress> interfaceIPs, int maximumPerInterface) {
-        Set<String> networkIPs = new LinkedHashSet<>();
+    List<AddressRange> getNetworkRanges(Set<CidrAddress> interfaceIPs, int maximumPerInterface) {
+        Set<AddressRange> networkRanges = new LinkedHashSet<>();
 
         short minCidrPrefixLength = 8; // historic Class A network, addresses = 16777214
         if (maximumPerInterface != 0) {
@@ -196,45 +161,19 @@ public class NetworkUtils {
                 maximumPerInterface);
 
         for (CidrAddress cidrNotation : interfaceIPs) {
-            if (cidrNotation.getPrefix() < minCidrPrefixLength) {
+            int prefix = cidrNotation.getPrefix();
+            if (prefix < minCidrPrefixLength) {
                 logger.info(
                         "CIDR prefix is smaller than /{} on interface with address {}, truncating to /{}, some addresses might be lost",
                         minCidrPrefixLength, cidrNotation, minCidrPrefixLength);
-                cidrNotation = new CidrAddress(cidrNotation.getAddress(), minCidrPrefixLength);
-            }
-
-            List<String> addresses = getIPAddresses(cidrNotation);
-            int len = addresses.size();
-            if (maximumPerInterface != 0 && maximumPerInterface < len) {
-                len = maximumPerInterface;
+                prefix = minCidrPrefixLength;
             }
-            for (int i = 0; i < len; i++) {
-                networkIPs.add(addresses.get(i));
+            if (cidrNotation.getAddress() instanceof Inet4Address address) {
+                networkRanges.add(AddressRange.ofNetwork(address, prefix, maximumPerInterface));
             }
         }
 
-        return networkIPs;
-    }
-
-    /**
-     * Try to establish a TCP connection to the given port.
-     *
-     * @param host the IP or hostname
-     * @param port the TCP port. Must be not 0.
-     * @param timeout the timeout before the call aborts
-     * @return the {@link PingResult} of connecting to the given port
-     * @throws IOException if an error occurs during the connection
-     */
-    public PingResult servicePing(String host, int port, Duration timeout) throws IOException {
-        Instant execStartTime = Instant.now();
-        boolean success = false;
-        try (Socket socket = new Socket()) {
-            socket.connect(new InetSocketAddress(host, port), (int) timeout.toMillis());
-            success = true;
-        } catch (ConnectException | SocketTimeoutException | NoRouteToHostException e) {
-            logger.trace("Could not connect to {}:{}", host, port, e);
-        }
-        return new PingResult(success, Duration.between(execStartTime, Instant.now()));
+        return new ArrayList<>(networkRanges);
     }
 
     /**
@@ -260,9 +199,15 @@ public class NetworkUtils {
             }
         }
 
+        List<String> command = nativePingCommand(method, "127.0.0.1", Duration.ofSeconds(1));
+        if (command == null) {
+            return IpPingMethodEnum.JAVA_PING;
+        }
         try {
-            PingResult pingResult = nativePing(method, "127.0.0.1", Duration.ofSeconds(1));
-            if (pingResult != null && pingResult.isSuccess()) {
+            Instant execStartTime = Instant.now();
+            Process proc = new ProcessBuilder(command).start();
+            proc.waitFor();
+            if (parseNativePingResult(proc, execStartTime).isSuccess()) {
                 return method;
             }
         } catch (IOException e) {
@@ -297,6 +242,14 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the fping utility is available and executable on the given path.
+     */
+    public boolean isFpingAvailable(String fpingToolPath) {
+        String result = ExecUtil.executeCommandLineAndWaitResponse(Duration.ofSeconds(1), fpingToolPath, "-v");
+        return result != null && result.contains("fping: Version");
+    }
+
     public enum IpPingMethodEnum {
         DISABLED,
         JAVA_PING,
@@ -306,49 +259,49 @@ public class NetworkUtils {
     }
 
     /**
-     * Use the native ping utility of the operating system to detect device presence.
+     * Build the command line of the native ping utility of the operating system.
      *
+     * @param method the ping method
      * @param hostname The DNS name, IPv4 or IPv6 address. Must not be null.
-     * @param timeout the timeout before the call aborts. Be aware that DNS resolution is not part of this timeout.
-     * @return Ping result information. <code>null</code> if ping command was not executed.
-     * @throws IOException The ping command could probably not be found
+     * @param timeout the timeout before the call aborts
+     * @return the command line or <code>null</code> if the method has no native ping utility
      */
-    public @Nullable PingResult nativePing(@Nullable IpPingMethodEnum method, String hostname, Duration timeout)
-            throws IOException, InterruptedException {
-        Instant execStartTime = Instant.now();
-
-        Process proc;
+    public @Nullable List<String> nativePingCommand(@Nullable IpPingMethodEnum method, String hostname,
+            Duration timeout) {
         if (method == null) {
             return null;
         }
         // Yes, all supported operating systems have their own ping utility with a different command line
         switch (method) {
             case IPUTILS_LINUX_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeout.toSeconds()), "-c", "1", hostname)
-                        .start();
-                break;
+                return List.of("ping", "-w", String.valueOf(timeout.toSeconds()), "-c", "1", hostname);
             case MAC_OS_PING:
-                proc = new ProcessBuilder("ping", "-t", String.valueOf(timeout.toSeconds()), "-c", "1", hostname)
-                        .start();
-                break;
+                return List.of("ping", "-t", String.valueOf(timeout.toSeconds()), "-c", "1", hostname);
             case WINDOWS_PING:
-                proc = new ProcessBuilder("ping", "-w", String.valueOf(timeout.toMillis()), "-n", "1", hostname)
-                        .start();
-                break;
+                return List.of("ping", "-w", String.valueOf(timeout.toMillis()), "-n", "1", hostname);
             case JAVA_PING:
             default:
                 // We cannot estimate the command line for any other operating system and just return null
                 return null;
         }
+    }
 
+    /**
+     * Evaluate a terminated native ping process.
+     *
+     * @param proc the terminated process started with a command line from {@link #nativePingCommand}
+     * @param execStartTime the time the process was started
+     * @return Ping result information
+     * @throws IOException if the output of the process can not be read
+     */
+    public PingResult parseNativePingResult(Process proc, Instant execStartTime) throws IOException {
         // The return code is 0 for a successful ping, 1 if device didn't
         // respond, and 2 if there is another error like network interface
         // not ready.
         // Exception: return code is also 0 in Windows for all requests on the local subnet.
         // see https://superuser.com/questions/403905/ping-from-windows-7-get-no-reply-but-sets-errorlevel-to-0
 
-        int result = proc.waitFor();
-        if (result != 0) {
+        if (proc.exitValue() != 0) {
             return new PingResult(false, Duration.between(execStartTime, Instant.now()));
         }
 
@@ -391,44 +344,45 @@ public class NetworkUtils {
     }
 
     /**
-     * Execute the arping tool to perform an ARP ping (only for IPv4 addresses).
-     * There exist two different arping utils with the same name unfortunately.
-     * <ul>
-     * <li>iputils arping which is sometimes preinstalled on Fedora/Ubuntu and the
-     * <li>https://github.com/ThomasHabets/arping which also works on Windows and macOS.
-     * </ul>
+     * Build the command line of the arping tool (only for IPv4 addresses).
      *
-     * @param arpUtilPath The arping absolute path including filename. Example: "arping" or "/usr/bin/arping" or
-     *            "C:\something\arping.exe" or "arp-ping.exe"
+     * @param arpingTool the detected arping tool
+     * @param arpUtilPath The arping absolute path including filename
      * @param interfaceName An interface name, on linux for example "wlp58s0", shown by ifconfig. Must not be null.
      * @param ipV4address The ipV4 address. Must not be null.
      * @param timeout the timeout before the call aborts
-     * @return Ping result information. <code>null</code> if ping command was not executed.
-     * @throws IOException The ping command could probably not be found
+     * @return the command line or <code>null</code> if the tool can not be used
      */
-    public @Nullable PingResult nativeArpPing(@Nullable ArpPingUtilEnum arpingTool, @Nullable String arpUtilPath,
-            String interfaceName, String ipV4address, Duration timeout) throws IOException, InterruptedException {
+    public @Nullable List<String> arpPingCommand(@Nullable ArpPingUtilEnum arpingTool, @Nullable String arpUtilPath,
+            String interfaceName, String ipV4address, Duration timeout) {
         if (arpUtilPath == null || arpingTool == null || !arpingTool.canProceed) {
             return null;
         }
-        Instant execStartTime = Instant.now();
-        Process proc;
         if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING_WITHOUT_TIMEOUT) {
-            proc = new ProcessBuilder(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address).start();
+            return List.of(arpUtilPath, "-c", "1", "-i", interfaceName, ipV4address);
         } else if (arpingTool == ArpPingUtilEnum.THOMAS_HABERT_ARPING) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeout.toSeconds()), "-C", "1", "-i",
-                    interfaceName, ipV4address).start();
+            return List.of(arpUtilPath, "-w", String.valueOf(timeout.toSeconds()), "-C", "1", "-i", interfaceName,
+                    ipV4address);
         } else if (arpingTool == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeout.toMillis()), "-x", ipV4address).start();
+            return List.of(arpUtilPath, "-w", String.valueOf(timeout.toMillis()), "-x", ipV4address);
         } else {
-            proc = new ProcessBuilder(arpUtilPath, "-w", String.valueOf(timeout.toSeconds()), "-c", "1", "-I",
-                    interfaceName, ipV4address).start();
+            return List.of(arpUtilPath, "-w", String.valueOf(timeout.toSeconds()), "-c", "1", "-I", interfaceName,
+                    ipV4address);
         }
+    }
 
+    /**
+     * Evaluate a terminated arping process.
+     *
+     * @param proc the terminated process started with a command line from {@link #arpPingCommand}
+     * @param execStartTime the time the process was started
+     * @return Ping result information
+     * @throws IOException if the output of the process can not be read
+     */
+    public PingResult parseArpPingResult(Process proc, Instant execStartTime) throws IOException {
         // The return code is 0 for a successful ping. 1 if device didn't respond and 2 if there is another error like
         // network interface not ready.
-        int result = proc.waitFor();
-        if (result != 0) {
+        if (proc.exitValue() != 0) {
             return new PingResult(false, Duration.between(execStartTime, Instant.now()));
         }
 
@@ -30,6 +30,7 @@ public class PingResult {
     private boolean success;
     private @Nullable Duration responseTime;
     private Duration executionTime;
+    private boolean timedOut;
 
     /**
      * @param success <code>true</code> if the device was reachable, <code>false</code> if not.
@@ -62,6 +63,21 @@ public class PingResult {
         this.responseTime = responseTime;
     }
 
+    /**
+     * @return <code>true</code> if no answer was received before the timeout expired, <code>false</code> if an answer
+     *         was received or the reason of the failure is unknown.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * @param timedOut whether no answer was received before the timeout expired.
+     */
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
     @Override
     public String toString() {
         Duration responseTime = this.responseTime;
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpConnectProber} performs non-blocking TCP connection attempts for any number of destinations on a
+ * single thread using one {@link Selector}.
+ * <p>
+ * A probe is successful if the connection could be established, the execution time is the time needed to connect.
+ * At most {@link #MAX_IN_FLIGHT} connection attempts are pending at the same time, further probes are queued. The
+ * timeout of a probe starts when its connection attempt starts, so a probe is only
+ * {@link PingResult#isTimedOut() timed out} if the destination did not answer, no matter how long it was queued.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber implements AutoCloseable {
+
+    static final int MAX_IN_FLIGHT = 512;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+
+    private final String threadName;
+    private final Queue<Probe> submitted = new ConcurrentLinkedQueue<>();
+
+    // only accessed by the selector thread
+    private final Queue<Probe> waiting = new ArrayDeque<>();
+    private final PriorityQueue<Probe> deadlines = new PriorityQueue<>(
+            Comparator.comparingLong(probe -> probe.deadline));
+
+    private @Nullable Selector selector;
+    private @Nullable Thread thread;
+    private volatile boolean closed = false;
+
+    public TcpConnectProber(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Try to establish a TCP connection to the given address.
+     *
+     * @param address the destination address and port
+     * @param timeout the timeout before the attempt is aborted
+     * @return the {@link PingResult} of connecting to the given address
+     */
+    public CompletableFuture<PingResult> probe(InetSocketAddress address, Duration timeout) {
+        Probe probe = new Probe(address, timeout);
+        if (closed) {
+            probe.future.cancel(false);
+            return probe.future;
+        }
+        try {
+            Selector selector = start();
+            submitted.add(probe);
+            selector.wakeup();
+        } catch (IOException e) {
+            logger.warn("Could not open selector for TCP presence detection: {}", e.getMessage());
+            probe.future.completeExceptionally(e);
+        }
+        return probe.future;
+    }
+
+    private synchronized Selector start() throws IOException {
+        Selector selector = this.selector;
+        if (selector == null) {
+            selector = Selector.open();
+            this.selector = selector;
+            Thread thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            this.thread = thread;
+            thread.start();
+        }
+        return selector;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        Selector selector = this.selector;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        Thread thread = this.thread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        this.thread = null;
+    }
+
+    private void run() {
+        Selector selector = this.selector;
+        if (selector == null) {
+            return;
+        }
+        try {
+            while (!closed) {
+                startProbes(selector);
+                Probe next = deadlines.peek();
+                if (next == null) {
+                    selector.select();
+                } else {
+                    long waitMillis = TimeUnit.NANOSECONDS.toMillis(next.deadline - System.nanoTime());
+                    if (waitMillis > 0) {
+                        selector.select(waitMillis);
+                    } else {
+                        selector.selectNow();
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Probe probe = (Probe) key.attachment();
+                    try {
+                        if (((SocketChannel) key.channel()).finishConnect()) {
+                            finish(probe, true, false);
+                        }
+                    } catch (IOException e) {
+                        // e.g. connection refused
+                        logger.trace("Could not connect to {}", probe.address, e);
+                        finish(probe, false, false);
+                    }
+                }
+                expireProbes();
+            }
+        } catch (IOException e) {
+            logger.warn("TCP presence detection stopped: {}", e.getMessage());
+        } finally {
+            submitted.forEach(probe -> probe.future.cancel(false));
+            waiting.forEach(probe -> probe.future.cancel(false));
+            Probe probe;
+            while ((probe = deadlines.peek()) != null) {
+                finish(probe, false, false);
+            }
+            submitted.clear();
+            waiting.clear();
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Closing the selector failed: {}", e.getMessage());
+            }
+            synchronized (this) {
+                if (this.selector == selector) {
+                    this.selector = null;
+                }
+            }
+        }
+    }
+
+    private void startProbes(Selector selector) {
+        Probe probe;
+        while ((probe = submitted.poll()) != null) {
+            waiting.add(probe);
+        }
+        while (deadlines.size() < MAX_IN_FLIGHT && (probe = waiting.poll()) != null) {
+            probe.start = System.nanoTime();
+            probe.deadline = probe.start + probe.timeout.toNanos();
+            try {
+                SocketChannel channel = SocketChannel.open();
+                probe.channel = channel;
+                channel.configureBlocking(false);
+                if (channel.connect(probe.address)) {
+                    finish(probe, true, false);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    deadlines.add(probe);
+                }
+            } catch (IOException | RuntimeException e) {
+                // e.g. no route to host or unresolved address
+                logger.trace("Could not connect to {}", probe.address, e);
+                finish(probe, false, false);
+            }
+        }
+    }
+
+    private void expireProbes() {
+        long now = System.nanoTime();
+        Probe probe;
+        while ((probe = deadlines.peek()) != null && probe.deadline - now <= 0) {
+            logger.trace("Connecting to {} timed out", probe.address);
+            finish(probe, false, true);
+        }
+    }
+
+    private void finish(Probe probe, boolean success, boolean timedOut) {
+        deadlines.remove(probe);
+        SocketChannel channel = probe.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.trace("Closing the connection to {} failed", probe.address, e);
+            }
+        }
+        PingResult result = new PingResult(success, Duration.ofNanos(System.nanoTime() - probe.start));
+        result.setTimedOut(timedOut);
+        probe.future.complete(result);
+    }
+
+    private static class Probe {
+        private final InetSocketAddress address;
+        private final Duration timeout;
+        private final CompletableFuture<PingResult> future = new CompletableFuture<>();
+        private @Nullable SocketChannel channel;
+        private long start;
+        private long deadline;
+
+        Probe(InetSocketAddress address, Duration timeout) {
+            this.address = address;
+            this.timeout = timeout;
+        }
+    }
+}
@@ -19,13 +19,20 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,11 +59,12 @@ public class PresenceDetectionTest {
     private @NonNullByDefault({}) PresenceDetection subject;
 
     private @Mock @NonNullByDefault({}) Consumer<PresenceDetectionValue> callback;
-    private @Mock @NonNullByDefault({}) ExecutorService detectionExecutorService;
-    private @Mock @NonNullByDefault({}) ExecutorService waitForResultExecutorService;
     private @Mock @NonNullByDefault({}) ScheduledExecutorService scheduledExecutorService;
     private @Mock @NonNullByDefault({}) PresenceDetectionListener listener;
     private @Mock @NonNullByDefault({}) NetworkUtils networkUtils;
+    private @Mock @NonNullByDefault({}) PresenceProbeEngine probeEngine;
+
+    private final List<CompletableFuture<@Nullable PingResult>> probes = new ArrayList<>();
 
     @BeforeEach
     public void setUp() {
@@ -64,8 +72,18 @@ public class PresenceDetectionTest {
         when(networkUtils.getInterfaceNames()).thenReturn(Set.of("TESTinterface"));
         doReturn(ArpPingUtilEnum.IPUTILS_ARPING).when(networkUtils).determineNativeArpPingMethod(anyString());
         doReturn(IpPingMethodEnum.WINDOWS_PING).when(networkUtils).determinePingMethod();
-
-        subject = spy(new PresenceDetection(listener, scheduledExecutorService, Duration.ofSeconds(2)));
+        // Run the delayed iOS wake up continuation directly
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduledExecutorService).execute(any());
+
+        // Every probe stays pending until the test completes it
+        when(probeEngine.tcpProbe(any(), anyInt(), any())).thenAnswer(invocation -> newProbe());
+        when(probeEngine.arpProbe(any(), anyString(), anyString(), any(), any())).thenAnswer(invocation -> newProbe());
+        when(probeEngine.icmpProbe(any(), any(), any())).thenAnswer(invocation -> newProbe());
+
+        subject = spy(new PresenceDetection(listener, probeEngine, scheduledExecutorService, Duration.ofSeconds(2)));
         subject.networkUtils = networkUtils;
 
         // Set a useful configuration. The default presenceDetection is a no-op.
@@ -80,68 +98,63 @@ public class PresenceDetectionTest {
         assertThat(subject.pingMethod, is(IpPingMethodEnum.WINDOWS_PING));
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
-    @Test
-    public void threadCountTest() {
-        assertNull(subject.detectionExecutorService);
+    private synchronized CompletableFuture<@Nullable PingResult> newProbe() {
+        CompletableFuture<@Nullable PingResult> probe = new CompletableFuture<>();
+        probes.add(probe);
+        return probe;
+    }
 
-        doNothing().when(subject).performArpPing(any(), any());
-        doNothing().when(subject).performJavaPing(any());
-        doNothing().when(subject).performSystemPing(any());
-        doNothing().when(subject).performServicePing(any(), anyInt());
+    private synchronized void completeProbes(@Nullable PingResult pingResult) {
+        probes.forEach(probe -> probe.complete(pingResult));
+    }
 
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+    private void waitForProbes(int count) throws InterruptedException {
+        // the ARP ping is requested after the iOS wake up delay
+        for (int i = 0; i < 100; i++) {
+            synchronized (this) {
+                if (probes.size() >= count) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+        fail("Only " + probes.size() + " of " + count + " probes were requested");
+    }
 
-        subject.getValue(callback -> {
-        });
+    @Test
+    public void detectionChecksTest() throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture<PresenceDetectionValue> result = subject.performPresenceDetection();
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Checks: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.detectionExecutorService);
+        waitForProbes(3);
+        assertFalse(result.isDone());
 
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+        completeProbes(new PingResult(false, Duration.ofMillis(10)));
 
+        PresenceDetectionValue pdv = result.get(1, TimeUnit.SECONDS);
+        assertFalse(pdv.isReachable());
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.detectionExecutorService);
+        verify(listener, never()).partialDetectionResult(any());
+        verify(listener).finalDetectionResult(pdv);
     }
 
     @Test
-    public void partialAndFinalCallbackTests() throws InterruptedException, IOException {
-        PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
-        doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
-        doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
-                anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
-
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
-
-        subject.performPresenceDetection();
-
-        assertThat(subject.detectionChecks, is(3));
-
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        ArgumentCaptor<Runnable> runnableCapture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(runnableCapture.capture());
-        runnableCapture.getValue().run();
+    public void partialAndFinalCallbackTests()
+            throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        CompletableFuture<PresenceDetectionValue> result = subject.performPresenceDetection();
+        waitForProbes(3);
+        completeProbes(new PingResult(true, Duration.ofMillis(10)));
+        result.get(1, TimeUnit.SECONDS);
 
         assertThat(subject.detectionChecks, is(0));
 
-        verify(subject, times(0)).performJavaPing(any());
-        verify(subject).performSystemPing(any());
-        verify(subject).performArpPing(any(), any());
-        verify(subject).performServicePing(any(), anyInt());
+        InetAddress destination = InetAddress.getByName("127.0.0.1");
+        verify(probeEngine).tcpProbe(destination, 1010, Duration.ofMillis(300));
+        verify(probeEngine).arpProbe(ArpPingUtilEnum.IPUTILS_ARPING, "arping", "TESTinterface", destination,
+                Duration.ofMillis(300));
+        verify(probeEngine).icmpProbe(IpPingMethodEnum.WINDOWS_PING, destination, Duration.ofMillis(300));
+        verify(networkUtils).wakeUpIOS(destination);
 
         verify(listener, times(3)).partialDetectionResult(any());
         ArgumentCaptor<PresenceDetectionValue> pdvCapture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
@@ -151,40 +164,38 @@ public class PresenceDetectionTest {
     }
 
     @Test
-    public void cacheTest() throws InterruptedException, IOException {
-        PingResult pingResult = new PingResult(true, Duration.ofMillis(10));
-        doReturn(pingResult).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), any());
-        doReturn(pingResult).when(networkUtils).nativeArpPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(),
-                anyString(), any(), any());
-        doReturn(pingResult).when(networkUtils).servicePing(anyString(), anyInt(), any());
+    public void failedProbeDoesNotPreventFinalResult()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        CompletableFuture<PresenceDetectionValue> result = subject.performPresenceDetection();
+        waitForProbes(3);
+        synchronized (this) {
+            probes.get(0).completeExceptionally(new IllegalStateException("test"));
+        }
+        completeProbes(new PingResult(true, Duration.ofMillis(10)));
 
-        doReturn(detectionExecutorService).when(subject).getThreadsFor(3);
-        doReturn(waitForResultExecutorService).when(subject).getThreadsFor(1);
+        PresenceDetectionValue pdv = result.get(1, TimeUnit.SECONDS);
+        assertTrue(pdv.isReachable());
+        verify(listener, times(2)).partialDetectionResult(any());
+        verify(listener).finalDetectionResult(pdv);
+    }
 
+    @Test
+    public void cacheTest() throws InterruptedException {
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection();
-        assertNotNull(subject.detectionExecutorService);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
-        ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(detectionExecutorService, times(3)).execute(capture.capture());
-        for (Runnable r : capture.getAllValues()) {
-            r.run();
-        }
-
-        // "Wait" for the presence detection to finish
-        capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(waitForResultExecutorService, times(1)).execute(capture.capture());
-        capture.getValue().run();
+        // Complete the different probes now
+        waitForProbes(3);
+        completeProbes(new PingResult(true, Duration.ofMillis(10)));
 
         // Although there are multiple partial results and a final result,
         // the getValue() consumers get the fastest response possible, and only once.
-        verify(callback, times(1)).accept(any());
+        verify(callback, timeout(1000).times(1)).accept(any());
 
         // As long as the cache is valid, we can get the result back again
         subject.getValue(callback);
@@ -14,13 +14,16 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.net.InetAddress;
 import java.time.Duration;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,12 +33,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.network.internal.NetworkBindingConstants;
-import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
+import org.openhab.binding.network.internal.discovery.SubnetSweep.HostState;
+import org.openhab.binding.network.internal.utils.PingResult;
 import org.openhab.core.config.discovery.DiscoveryListener;
 import org.openhab.core.config.discovery.DiscoveryResult;
 
 /**
- * Tests cases for {@see PresenceDetectionValue}
+ * Tests cases for {@see NetworkDiscoveryService}
  *
  * @author David Graeff - Initial contribution
  */
@@ -45,28 +50,38 @@ import org.openhab.core.config.discovery.DiscoveryResult;
 public class DiscoveryTest {
     private final String ip = "127.0.0.1";
 
-    private @Mock @NonNullByDefault({}) PresenceDetectionValue value;
+    private @Mock @NonNullByDefault({}) PresenceProbeEngine probeEngine;
     private @Mock @NonNullByDefault({}) DiscoveryListener listener;
 
     @BeforeEach
     public void setUp() {
-        when(value.getHostAddress()).thenReturn(ip);
-        when(value.getLowestLatency()).thenReturn(Duration.ofMillis(10));
-        when(value.isReachable()).thenReturn(true);
-        when(value.getSuccessfulDetectionTypes()).thenReturn("TESTMETHOD");
+        when(probeEngine.icmpProbe(any(), any(), any())).thenReturn(result(false));
+        when(probeEngine.arpProbe(any(), anyString(), anyString(), any(), any())).thenReturn(result(false));
+        when(probeEngine.tcpProbe(any(), anyInt(), any())).thenReturn(result(false));
+    }
+
+    private static CompletableFuture<@Nullable PingResult> result(boolean success) {
+        return CompletableFuture.completedFuture(new PingResult(success, Duration.ofMillis(10)));
+    }
+
+    private static CompletableFuture<@Nullable PingResult> timedOut() {
+        PingResult pingResult = new PingResult(false, NetworkDiscoveryService.PING_TIMEOUT);
+        pingResult.setTimedOut(true);
+        return CompletableFuture.completedFuture(pingResult);
     }
 
     @Test
-    public void pingDeviceDetected() {
+    public void pingDeviceDetected() throws Exception {
         NetworkDiscoveryService d = new NetworkDiscoveryService();
         d.addDiscoveryListener(listener);
 
         ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
 
         // Ping device
-        when(value.isPingReachable()).thenReturn(true);
-        when(value.isTcpServiceReachable()).thenReturn(false);
-        d.partialDetectionResult(value);
+        when(probeEngine.icmpProbe(any(), any(), any())).thenReturn(result(true));
+        when(probeEngine.tcpProbe(any(), eq(80), any())).thenReturn(result(true));
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(1, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.REACHABLE));
         verify(listener).thingDiscovered(any(), result.capture());
         DiscoveryResult dresult = result.getValue();
         assertThat(dresult.getThingUID(), is(NetworkDiscoveryService.createPingUID(ip)));
@@ -74,21 +89,63 @@ public class DiscoveryTest {
     }
 
     @Test
-    public void tcpDeviceDetected() {
+    public void tcpDeviceDetected() throws Exception {
         NetworkDiscoveryService d = new NetworkDiscoveryService();
         d.addDiscoveryListener(listener);
 
         ArgumentCaptor<DiscoveryResult> result = ArgumentCaptor.forClass(DiscoveryResult.class);
 
         // TCP device
-        when(value.isPingReachable()).thenReturn(false);
-        when(value.isTcpServiceReachable()).thenReturn(true);
-        when(value.getReachableTcpPorts()).thenReturn(List.of(1010));
-        d.partialDetectionResult(value);
+        when(probeEngine.tcpProbe(any(), eq(548), any())).thenReturn(result(true));
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(1, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.REACHABLE));
         verify(listener).thingDiscovered(any(), result.capture());
         DiscoveryResult dresult = result.getValue();
-        assertThat(dresult.getThingUID(), is(NetworkDiscoveryService.createServiceUID(ip, 1010)));
+        assertThat(dresult.getThingUID(), is(NetworkDiscoveryService.createServiceUID(ip, 548)));
         assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_HOSTNAME), is(ip));
-        assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(1010));
+        assertThat(dresult.getProperties().get(NetworkBindingConstants.PARAMETER_PORT), is(548));
+    }
+
+    @Test
+    public void unreachableDeviceNotDetected() throws Exception {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        d.addDiscoveryListener(listener);
+
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(1, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.UNREACHABLE));
+        verify(listener, never()).thingDiscovered(any(), any());
+    }
+
+    @Test
+    public void unansweredConnectionAttemptsTimeOut() throws Exception {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        when(probeEngine.tcpProbe(any(), anyInt(), any())).thenReturn(timedOut());
+
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(1, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.TIMEOUT));
+    }
+
+    @Test
+    public void answeredConnectionAttemptIsNoTimeout() throws Exception {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        when(probeEngine.tcpProbe(any(), anyInt(), any())).thenReturn(timedOut());
+        // e.g. connection refused
+        when(probeEngine.tcpProbe(any(), eq(554), any())).thenReturn(result(false));
+
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(1, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.UNREACHABLE));
+    }
+
+    @Test
+    public void slowProbesAreNoTimeout() throws Exception {
+        NetworkDiscoveryService d = new NetworkDiscoveryService();
+        // e.g. a probe which was queued for a long time, but then refused quickly
+        when(probeEngine.tcpProbe(any(), anyInt(), any())).thenReturn(CompletableFuture.supplyAsync(
+                () -> new PingResult(false, Duration.ofMillis(1)),
+                CompletableFuture.delayedExecutor(NetworkDiscoveryService.PING_TIMEOUT.toMillis() * 2,
+                        TimeUnit.MILLISECONDS)));
+
+        HostState state = d.probeHost(probeEngine, InetAddress.getByName(ip)).get(5, TimeUnit.SECONDS);
+        assertThat(state, is(HostState.UNREACHABLE));
     }
 }
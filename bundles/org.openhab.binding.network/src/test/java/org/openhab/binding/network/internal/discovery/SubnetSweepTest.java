@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.network.internal.discovery.SubnetSweep.HostState;
+import org.openhab.binding.network.internal.utils.AddressRange;
+
+/**
+ * Tests the {@link SubnetSweep}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetSweepTest {
+
+    private static final AddressRange NETWORK_16 = AddressRange.ofNetwork((Inet4Address) address("10.1.2.3"), 16, 0);
+
+    private final Map<InetAddress, CompletableFuture<HostState>> pending = new LinkedHashMap<>();
+    private final AtomicLong progress = new AtomicLong();
+
+    private static InetAddress address(String ip) {
+        try {
+            return InetAddress.getByName(ip);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private CompletableFuture<HostState> pendingProbe(InetAddress address) {
+        CompletableFuture<HostState> probe = new CompletableFuture<>();
+        pending.put(address, probe);
+        return probe;
+    }
+
+    private void completePending(HostState state, int count) {
+        List<CompletableFuture<HostState>> probes = new ArrayList<>(pending.values()).subList(0,
+                Math.min(count, pending.size()));
+        pending.values().removeAll(probes);
+        probes.forEach(probe -> probe.complete(state));
+    }
+
+    @Test
+    public void addressRangeOfNetwork() {
+        assertEquals(65534, NETWORK_16.size());
+        assertEquals(address("10.1.0.1"), NETWORK_16.get(0));
+        assertEquals(address("10.1.255.254"), NETWORK_16.get(65533));
+
+        AddressRange limited = AddressRange.ofNetwork((Inet4Address) address("192.168.1.77"), 24, 10);
+        assertEquals(10, limited.size());
+        assertEquals(address("192.168.1.1"), limited.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> limited.get(10));
+    }
+
+    @Test
+    public void wholeNetworkIsSweptWithSynchronousProbes() {
+        Set<InetAddress> probed = new HashSet<>();
+        SubnetSweep sweep = new SubnetSweep(List.of(NETWORK_16), address -> {
+            probed.add(address);
+            return CompletableFuture.completedFuture(HostState.UNREACHABLE);
+        }, (completed, total, concurrency) -> progress.set(completed));
+
+        CompletableFuture<Void> finished = sweep.start(0);
+
+        assertTrue(finished.isDone());
+        assertEquals(65534, probed.size());
+        assertEquals(65534, progress.get());
+    }
+
+    @Test
+    public void concurrencyIsBoundedAndAdapted() {
+        SubnetSweep sweep = new SubnetSweep(List.of(NETWORK_16), this::pendingProbe, (c, t, n) -> {
+        });
+        sweep.start(0);
+        assertEquals(SubnetSweep.INITIAL_CONCURRENCY, pending.size());
+
+        // without timeouts the concurrency is raised
+        completePending(HostState.UNREACHABLE, SubnetSweep.WINDOW);
+        int raised = sweep.getConcurrency();
+        assertTrue(raised > SubnetSweep.INITIAL_CONCURRENCY);
+        assertEquals(raised, pending.size());
+
+        // a rising timeout rate halves the concurrency
+        completePending(HostState.TIMEOUT, SubnetSweep.WINDOW);
+        assertEquals(raised / 2, sweep.getConcurrency());
+        assertTrue(pending.size() <= raised);
+    }
+
+    @Test
+    public void stoppedSweepCanBeResumed() {
+        AddressRange range = AddressRange.ofNetwork((Inet4Address) address("192.168.1.1"), 24, 0);
+        SubnetSweep sweep = new SubnetSweep(List.of(range), this::pendingProbe, (c, t, n) -> {
+        });
+        CompletableFuture<Void> finished = sweep.start(0);
+
+        // complete all but the first probe
+        CompletableFuture<HostState> first = pending.remove(range.get(0));
+        assertNotNull(first);
+        completePending(HostState.UNREACHABLE, SubnetSweep.INITIAL_CONCURRENCY);
+
+        long resumeIndex = sweep.stop();
+        assertEquals(0, resumeIndex);
+        assertFalse(finished.isDone());
+        first.complete(HostState.REACHABLE);
+        completePending(HostState.UNREACHABLE, Integer.MAX_VALUE);
+        assertTrue(finished.isDone());
+
+        Set<InetAddress> probed = new HashSet<>();
+        SubnetSweep resumed = new SubnetSweep(List.of(range), address -> {
+            probed.add(address);
+            return CompletableFuture.completedFuture(HostState.UNREACHABLE);
+        }, (c, t, n) -> {
+        });
+        assertTrue(resumed.start(resumeIndex).isDone());
+        assertEquals(254, probed.size());
+
+        probed.clear();
+        SubnetSweep resumedLater = new SubnetSweep(List.of(range), address -> {
+            probed.add(address);
+            return CompletableFuture.completedFuture(HostState.UNREACHABLE);
+        }, (c, t, n) -> {
+        });
+        assertTrue(resumedLater.start(200).isDone());
+        assertEquals(54, probed.size());
+        assertFalse(probed.contains(range.get(199)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TcpConnectProber}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProberTest {
+
+    private final TcpConnectProber prober = new TcpConnectProber("test-tcp-probe");
+
+    @AfterEach
+    public void tearDown() {
+        prober.close();
+    }
+
+    @Test
+    public void openPortIsReachable() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober
+                    .probe(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()),
+                            Duration.ofSeconds(2))
+                    .get(5, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess());
+        }
+    }
+
+    @Test
+    public void closedPortIsNotReachable() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+        PingResult result = prober
+                .probe(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), Duration.ofSeconds(2))
+                .get(5, TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+        // the connection was refused
+        assertFalse(result.isTimedOut());
+    }
+
+    @Test
+    public void unansweredProbeTimesOut() throws Exception {
+        // 192.0.2.0/24 is reserved for documentation, connection attempts are not answered
+        PingResult result = prober
+                .probe(new InetSocketAddress(InetAddress.getByName("192.0.2.1"), 80), Duration.ofMillis(200))
+                .get(5, TimeUnit.SECONDS);
+        assertFalse(result.isSuccess());
+        // without a route, the attempt fails immediately instead
+        assumeTrue(result.getExecutionTime().toMillis() >= 200);
+        assertTrue(result.isTimedOut());
+    }
+
+    @Test
+    public void manyProbesAreQueued() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, TcpConnectProber.MAX_IN_FLIGHT * 2,
+                InetAddress.getLoopbackAddress())) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            List<CompletableFuture<PingResult>> results = new ArrayList<>();
+            for (int i = 0; i < TcpConnectProber.MAX_IN_FLIGHT + 10; i++) {
+                results.add(prober.probe(address, Duration.ofSeconds(5)));
+            }
+            for (CompletableFuture<PingResult> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+    }
+
+    @Test
+    public void pendingProbesFailOnClose() throws Exception {
+        // 192.0.2.0/24 is reserved for documentation, connection attempts are not answered
+        CompletableFuture<PingResult> result = prober
+                .probe(new InetSocketAddress(InetAddress.getByName("192.0.2.1"), 80), Duration.ofSeconds(30));
+        prober.close();
+        // the probe is either cancelled before it was started or fails
+        assertFalse(result.handle((pingResult, e) -> pingResult != null && pingResult.isSuccess()).get(5,
+                TimeUnit.SECONDS));
+    }
+}
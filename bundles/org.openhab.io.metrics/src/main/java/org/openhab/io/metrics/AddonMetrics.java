@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link AddonMetrics} registers the meters of a single add-on. Meters are identified by their name and tags, which
+ * are given as key/value pairs. Requesting a meter that already exists returns the existing one, so it is cheap to
+ * look meters up again, but hot paths should keep a reference.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public interface AddonMetrics {
+
+    /**
+     * Tag for meters that belong to a thing, the value is the thing UID.
+     */
+    String TAG_THING = "thing";
+
+    /**
+     * Metrics that discard all measurements, for when no {@link AddonMetricsProvider} is available.
+     */
+    AddonMetrics NOOP = new AddonMetrics() {
+        @Override
+        public MetricTimer timer(String name, String... tags) {
+            return (duration, unit) -> {
+            };
+        }
+
+        @Override
+        public MetricCounter counter(String name, String... tags) {
+            return amount -> {
+            };
+        }
+
+        @Override
+        public void gauge(String name, Supplier<Number> value, String... tags) {
+        }
+
+        @Override
+        public void remove(String... tags) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Get a timer, e.g. for the duration of requests.
+     *
+     * @param name the name of the timer, relative to the add-on
+     * @param tags the tags as key/value pairs
+     */
+    MetricTimer timer(String name, String... tags);
+
+    /**
+     * Get a counter, e.g. for the number of received messages.
+     *
+     * @param name the name of the counter, relative to the add-on
+     * @param tags the tags as key/value pairs
+     */
+    MetricCounter counter(String name, String... tags);
+
+    /**
+     * Register a gauge, e.g. for the size of a queue. The supplier is called whenever the gauge is read and must not
+     * block.
+     *
+     * @param name the name of the gauge, relative to the add-on
+     * @param value supplies the current value
+     * @param tags the tags as key/value pairs
+     */
+    void gauge(String name, Supplier<Number> value, String... tags);
+
+    /**
+     * Remove all meters of the add-on that have all the given tags, e.g. when a thing is disposed.
+     *
+     * @param tags the tags as key/value pairs
+     */
+    void remove(String... tags);
+
+    /**
+     * Remove all meters of the add-on.
+     */
+    void close();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link AddonMetricsProvider} is the service add-ons use to obtain their {@link AddonMetrics}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public interface AddonMetricsProvider {
+
+    String TYPE_BINDING = "binding";
+    String TYPE_PERSISTENCE = "persistence";
+    String TYPE_IO = "io";
+
+    /**
+     * Get the metrics of an add-on. All meters are named <code>&lt;addonType&gt;.&lt;addonId&gt;.&lt;name&gt;</code>,
+     * e.g. <code>binding.http.request.duration</code>.
+     *
+     * @param addonType the type of the add-on, e.g. {@link #TYPE_BINDING}
+     * @param addonId the id of the add-on, e.g. <code>http</code>
+     * @return the metrics of the add-on
+     */
+    AddonMetrics getMetrics(String addonType, String addonId);
+}
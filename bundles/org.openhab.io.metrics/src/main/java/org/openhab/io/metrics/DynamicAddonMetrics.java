@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * {@link DynamicAddonMetrics} lets an add-on use its metrics regardless of whether an {@link AddonMetricsProvider} is
+ * available. Until a provider is set, all measurements are discarded. Timers and counters handed out before are
+ * redirected to the new provider on their next use, and registered gauges are registered again. This allows add-ons to
+ * reference the provider with an optional and dynamic reference.
+ * <p>
+ * Timers and counters are also registered again on their next use after {@link #remove(String...)} removed them, so
+ * that a thing handler can keep its meters across a dispose and a subsequent initialize.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class DynamicAddonMetrics implements AddonMetrics {
+    private final String addonType;
+    private final String addonId;
+    private final Map<MeterKey, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+    private @Nullable AddonMetricsProvider provider;
+    private volatile AddonMetrics delegate = NOOP;
+    // replaced whenever meters resolved before may no longer be registered
+    private volatile Object generation = new Object();
+
+    /**
+     * @param addonType the type of the add-on, e.g. {@link AddonMetricsProvider#TYPE_BINDING}
+     * @param addonId the id of the add-on, e.g. <code>http</code>
+     */
+    public DynamicAddonMetrics(String addonType, String addonId) {
+        this.addonType = addonType;
+        this.addonId = addonId;
+    }
+
+    /**
+     * Set the provider to register the meters with. The meters registered with the previous provider are removed.
+     *
+     * @param provider the provider
+     */
+    public synchronized void setProvider(AddonMetricsProvider provider) {
+        this.provider = provider;
+        switchTo(provider.getMetrics(addonType, addonId));
+    }
+
+    /**
+     * Stop using a provider. Does nothing if another provider has been set in the meantime, so it can be called from
+     * the unbind method of a dynamic reference.
+     *
+     * @param provider the provider that is going away
+     */
+    public synchronized void unsetProvider(AddonMetricsProvider provider) {
+        if (this.provider == provider) {
+            this.provider = null;
+            switchTo(NOOP);
+        }
+    }
+
+    private void switchTo(AddonMetrics next) {
+        AddonMetrics previous = delegate;
+        if (previous == next) {
+            return;
+        }
+        previous.close();
+        delegate = next;
+        generation = new Object();
+        gauges.forEach((key, value) -> next.gauge(key.name(), value, key.tags()));
+    }
+
+    @Override
+    public MetricTimer timer(String name, String... tags) {
+        return new DynamicTimer(new MeterKey(name, tags));
+    }
+
+    @Override
+    public MetricCounter counter(String name, String... tags) {
+        return new DynamicCounter(new MeterKey(name, tags));
+    }
+
+    @Override
+    public synchronized void gauge(String name, Supplier<Number> value, String... tags) {
+        gauges.put(new MeterKey(name, tags), value);
+        delegate.gauge(name, value, tags);
+    }
+
+    @Override
+    public synchronized void remove(String... tags) {
+        gauges.keySet().removeIf(key -> key.hasTags(tags));
+        delegate.remove(tags);
+        generation = new Object();
+    }
+
+    @Override
+    public synchronized void close() {
+        gauges.clear();
+        delegate.close();
+    }
+
+    private record MeterKey(String name, String[] tags) {
+        boolean hasTags(String... required) {
+            for (int i = 0; i + 1 < required.length; i += 2) {
+                boolean found = false;
+                for (int j = 0; j + 1 < tags.length && !found; j += 2) {
+                    found = tags[j].equals(required[i]) && tags[j + 1].equals(required[i + 1]);
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            return o instanceof MeterKey other && name.equals(other.name) && Arrays.equals(tags, other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+    }
+
+    /**
+     * A meter together with the generation it was obtained in.
+     */
+    private record Resolved<M>(Object generation, M meter) {
+    }
+
+    private class DynamicTimer implements MetricTimer {
+        private final MeterKey key;
+        private volatile @Nullable Resolved<MetricTimer> resolved;
+
+        DynamicTimer(MeterKey key) {
+            this.key = key;
+        }
+
+        @Override
+        public void record(long duration, TimeUnit unit) {
+            Object current = generation;
+            Resolved<MetricTimer> timer = resolved;
+            if (timer == null || timer.generation() != current) {
+                timer = new Resolved<>(current, delegate.timer(key.name(), key.tags()));
+                resolved = timer;
+            }
+            timer.meter().record(duration, unit);
+        }
+    }
+
+    private class DynamicCounter implements MetricCounter {
+        private final MeterKey key;
+        private volatile @Nullable Resolved<MetricCounter> resolved;
+
+        DynamicCounter(MeterKey key) {
+            this.key = key;
+        }
+
+        @Override
+        public void increment(double amount) {
+            Object current = generation;
+            Resolved<MetricCounter> counter = resolved;
+            if (counter == null || counter.generation() != current) {
+                counter = new Resolved<>(current, delegate.counter(key.name(), key.tags()));
+                resolved = counter;
+            }
+            counter.meter().increment(amount);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link MetricCounter} counts events.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface MetricCounter {
+
+    /**
+     * Increase the counter.
+     *
+     * @param amount the amount to add
+     */
+    void increment(double amount);
+
+    /**
+     * Increase the counter by one.
+     */
+    default void increment() {
+        increment(1);
+    }
+}
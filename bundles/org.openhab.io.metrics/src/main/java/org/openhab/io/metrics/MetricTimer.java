@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * {@link MetricTimer} records durations.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+@FunctionalInterface
+public interface MetricTimer {
+
+    /**
+     * Record a duration.
+     *
+     * @param duration the duration
+     * @param unit the unit of the duration
+     */
+    void record(long duration, TimeUnit unit);
+
+    /**
+     * Record the time passed since a start time taken from {@link System#nanoTime()}.
+     *
+     * @param startNanos the start time
+     */
+    default void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.MetricCounter;
+import org.openhab.io.metrics.MetricTimer;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The {@link MicrometerAddonMetricsProvider} registers the meters of add-ons with the openHAB meter registry, so they
+ * are exported like the core metrics.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = AddonMetricsProvider.class)
+public class MicrometerAddonMetricsProvider implements AddonMetricsProvider {
+    private final Logger logger = LoggerFactory.getLogger(MicrometerAddonMetricsProvider.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MicrometerAddonMetrics> addonMetrics = new HashMap<>();
+
+    @Activate
+    public MicrometerAddonMetricsProvider(@Reference MeterRegistryProvider meterRegistryProvider) {
+        this.meterRegistry = meterRegistryProvider.getOHMeterRegistry();
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        addonMetrics.values().forEach(MicrometerAddonMetrics::close);
+        addonMetrics.clear();
+    }
+
+    @Override
+    public synchronized AddonMetrics getMetrics(String addonType, String addonId) {
+        String prefix = addonType + "." + addonId + ".";
+        return addonMetrics.computeIfAbsent(prefix, MicrometerAddonMetrics::new);
+    }
+
+    private class MicrometerAddonMetrics implements AddonMetrics {
+        private final String prefix;
+        private final Set<Meter.Id> meterIds = ConcurrentHashMap.newKeySet();
+
+        MicrometerAddonMetrics(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public MetricTimer timer(String name, String... tags) {
+            Timer timer = Timer.builder(prefix + name).tags(tags).register(meterRegistry);
+            meterIds.add(timer.getId());
+            return timer::record;
+        }
+
+        @Override
+        public MetricCounter counter(String name, String... tags) {
+            Counter counter = Counter.builder(prefix + name).tags(tags).register(meterRegistry);
+            meterIds.add(counter.getId());
+            return counter::increment;
+        }
+
+        @Override
+        public void gauge(String name, Supplier<Number> value, String... tags) {
+            Gauge gauge = Gauge.builder(prefix + name, value).tags(tags).strongReference(true).register(meterRegistry);
+            meterIds.add(gauge.getId());
+        }
+
+        @Override
+        public void remove(String... tags) {
+            List<Tag> required = Tags.of(tags).stream().toList();
+            meterIds.removeIf(id -> {
+                if (id.getTags().containsAll(required)) {
+                    meterRegistry.remove(id);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        @Override
+        public void close() {
+            logger.debug("Removing {} meters starting with '{}'", meterIds.size(), prefix);
+            meterIds.forEach(meterRegistry::remove);
+            meterIds.clear();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.io.metrics.internal.MicrometerAddonMetricsProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link DynamicAddonMetrics}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class DynamicAddonMetricsTest {
+
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_BINDING, "http");
+
+    @Test
+    public void measurementsWithoutProviderAreDiscarded() {
+        MetricTimer timer = metrics.timer("request.duration");
+        MetricCounter counter = metrics.counter("requests");
+
+        timer.record(10, TimeUnit.MILLISECONDS);
+        counter.increment();
+        metrics.gauge("cache.size", () -> 1);
+        metrics.remove(AddonMetrics.TAG_THING, "http:url:a");
+        metrics.close();
+    }
+
+    @Test
+    public void metersFollowTheProvider() {
+        CompositeMeterRegistry first = registry();
+        CompositeMeterRegistry second = registry();
+        AddonMetricsProvider firstProvider = provider(first);
+        AddonMetricsProvider secondProvider = provider(second);
+        MetricTimer timer = metrics.timer("request.duration", AddonMetrics.TAG_THING, "http:url:a");
+        MetricCounter counter = metrics.counter("requests");
+        metrics.gauge("cache.size", () -> 4);
+
+        timer.record(10, TimeUnit.MILLISECONDS);
+        metrics.setProvider(firstProvider);
+        timer.record(20, TimeUnit.MILLISECONDS);
+        counter.increment();
+
+        Timer firstTimer = first.find("binding.http.request.duration").timer();
+        assertThat(firstTimer, is(notNullValue()));
+        assertThat(firstTimer.count(), is(1L));
+        Gauge firstGauge = first.find("binding.http.cache.size").gauge();
+        assertThat(firstGauge, is(notNullValue()));
+        assertThat(firstGauge.value(), is(4.0));
+
+        metrics.setProvider(secondProvider);
+        counter.increment(2);
+
+        assertThat(first.getMeters(), is(empty()));
+        Counter secondCounter = second.find("binding.http.requests").counter();
+        assertThat(secondCounter, is(notNullValue()));
+        assertThat(secondCounter.count(), is(2.0));
+        assertThat(second.find("binding.http.cache.size").gauge(), is(notNullValue()));
+    }
+
+    @Test
+    public void unsetProviderOnlyRemovesTheCurrentProvider() {
+        CompositeMeterRegistry first = registry();
+        CompositeMeterRegistry second = registry();
+        AddonMetricsProvider firstProvider = provider(first);
+        AddonMetricsProvider secondProvider = provider(second);
+        MetricCounter counter = metrics.counter("requests");
+
+        metrics.setProvider(firstProvider);
+        metrics.setProvider(secondProvider);
+        metrics.unsetProvider(firstProvider);
+        counter.increment();
+
+        Counter secondCounter = second.find("binding.http.requests").counter();
+        assertThat(secondCounter, is(notNullValue()));
+        assertThat(secondCounter.count(), is(1.0));
+
+        metrics.unsetProvider(secondProvider);
+        counter.increment();
+
+        assertThat(second.getMeters(), is(empty()));
+    }
+
+    @Test
+    public void removedGaugesAreNotRegisteredAgain() {
+        CompositeMeterRegistry registry = registry();
+        metrics.gauge("queue.size", () -> 1, AddonMetrics.TAG_THING, "http:url:a", "kind", "state");
+        metrics.gauge("queue.size", () -> 2, AddonMetrics.TAG_THING, "http:url:b", "kind", "state");
+
+        metrics.remove(AddonMetrics.TAG_THING, "http:url:a");
+        metrics.setProvider(provider(registry));
+
+        assertThat(registry.find("binding.http.queue.size").tag(AddonMetrics.TAG_THING, "http:url:a").gauge(),
+                is(nullValue()));
+        assertThat(registry.find("binding.http.queue.size").tag(AddonMetrics.TAG_THING, "http:url:b").gauge(),
+                is(notNullValue()));
+    }
+
+    @Test
+    public void removedMetersAreRegisteredAgainOnUse() {
+        CompositeMeterRegistry registry = registry();
+        metrics.setProvider(provider(registry));
+        MetricTimer timer = metrics.timer("request.duration", AddonMetrics.TAG_THING, "http:url:a");
+        MetricCounter counter = metrics.counter("requests", AddonMetrics.TAG_THING, "http:url:a");
+        timer.record(10, TimeUnit.MILLISECONDS);
+        counter.increment();
+
+        // dispose and initialize of the same handler
+        metrics.remove(AddonMetrics.TAG_THING, "http:url:a");
+        assertThat(registry.getMeters(), is(empty()));
+        timer.record(20, TimeUnit.MILLISECONDS);
+        counter.increment();
+
+        Timer registeredTimer = registry.find("binding.http.request.duration").tag(AddonMetrics.TAG_THING, "http:url:a")
+                .timer();
+        assertThat(registeredTimer, is(notNullValue()));
+        assertThat(registeredTimer.count(), is(1L));
+        Counter registeredCounter = registry.find("binding.http.requests").counter();
+        assertThat(registeredCounter, is(notNullValue()));
+        assertThat(registeredCounter.count(), is(1.0));
+    }
+
+    private static CompositeMeterRegistry registry() {
+        CompositeMeterRegistry registry = new CompositeMeterRegistry();
+        registry.add(new SimpleMeterRegistry());
+        return registry;
+    }
+
+    private static AddonMetricsProvider provider(CompositeMeterRegistry registry) {
+        MeterRegistryProvider meterRegistryProvider = mock(MeterRegistryProvider.class);
+        when(meterRegistryProvider.getOHMeterRegistry()).thenReturn(registry);
+        return new MicrometerAddonMetricsProvider(meterRegistryProvider);
+    }
+}
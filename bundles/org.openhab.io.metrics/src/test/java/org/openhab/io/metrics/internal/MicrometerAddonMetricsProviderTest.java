@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.metrics.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.MetricCounter;
+import org.openhab.io.metrics.MetricTimer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link MicrometerAddonMetricsProvider}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class MicrometerAddonMetricsProviderTest {
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final MeterRegistryProvider meterRegistryProvider = mock(MeterRegistryProvider.class);
+    private @NonNullByDefault({}) MicrometerAddonMetricsProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        registry.add(new SimpleMeterRegistry());
+        when(meterRegistryProvider.getOHMeterRegistry()).thenReturn(registry);
+        provider = new MicrometerAddonMetricsProvider(meterRegistryProvider);
+    }
+
+    @Test
+    public void metersAreNamedAfterTheAddon() {
+        AddonMetrics metrics = provider.getMetrics(AddonMetricsProvider.TYPE_BINDING, "http");
+
+        MetricTimer timer = metrics.timer("request.duration", AddonMetrics.TAG_THING, "http:url:a");
+        timer.record(20, TimeUnit.MILLISECONDS);
+        timer.record(40, TimeUnit.MILLISECONDS);
+
+        Timer registered = registry.find("binding.http.request.duration").tag(AddonMetrics.TAG_THING, "http:url:a")
+                .timer();
+        assertThat(registered, is(notNullValue()));
+        assertThat(registered.count(), is(2L));
+        assertThat(registered.totalTime(TimeUnit.MILLISECONDS), is(60.0));
+    }
+
+    @Test
+    public void sameAddonGetsTheSameMetrics() {
+        AddonMetrics metrics = provider.getMetrics(AddonMetricsProvider.TYPE_PERSISTENCE, "jdbc");
+
+        assertThat(provider.getMetrics(AddonMetricsProvider.TYPE_PERSISTENCE, "jdbc"), is(sameInstance(metrics)));
+        assertThat(provider.getMetrics(AddonMetricsProvider.TYPE_PERSISTENCE, "influxdb"),
+                is(not(sameInstance(metrics))));
+    }
+
+    @Test
+    public void countersAndGaugesAreRegistered() {
+        AddonMetrics metrics = provider.getMetrics(AddonMetricsProvider.TYPE_IO, "openhabcloud");
+        AtomicInteger queueSize = new AtomicInteger(3);
+
+        MetricCounter counter = metrics.counter("itemupdates.sent");
+        counter.increment();
+        counter.increment(2);
+        metrics.gauge("queue.size", queueSize::get);
+
+        Counter registeredCounter = registry.find("io.openhabcloud.itemupdates.sent").counter();
+        assertThat(registeredCounter, is(notNullValue()));
+        assertThat(registeredCounter.count(), is(3.0));
+        Gauge registeredGauge = registry.find("io.openhabcloud.queue.size").gauge();
+        assertThat(registeredGauge, is(notNullValue()));
+        assertThat(registeredGauge.value(), is(3.0));
+        queueSize.set(5);
+        assertThat(registeredGauge.value(), is(5.0));
+    }
+
+    @Test
+    public void removeOnlyRemovesMetersWithAllTags() {
+        AddonMetrics metrics = provider.getMetrics(AddonMetricsProvider.TYPE_BINDING, "modbus");
+        metrics.timer("poll.duration", AddonMetrics.TAG_THING, "modbus:poller:a");
+        metrics.counter("poll.failures", AddonMetrics.TAG_THING, "modbus:poller:a");
+        metrics.timer("poll.duration", AddonMetrics.TAG_THING, "modbus:poller:b");
+        metrics.counter("polls");
+
+        metrics.remove(AddonMetrics.TAG_THING, "modbus:poller:a");
+
+        assertThat(registry.find("binding.modbus.poll.duration").tag(AddonMetrics.TAG_THING, "modbus:poller:a")
+                .timer(), is(nullValue()));
+        assertThat(registry.find("binding.modbus.poll.failures").counter(), is(nullValue()));
+        assertThat(registry.find("binding.modbus.poll.duration").tag(AddonMetrics.TAG_THING, "modbus:poller:b")
+                .timer(), is(notNullValue()));
+        assertThat(registry.find("binding.modbus.polls").counter(), is(notNullValue()));
+    }
+
+    @Test
+    public void closeOnlyRemovesMetersOfTheAddon() {
+        AddonMetrics http = provider.getMetrics(AddonMetricsProvider.TYPE_BINDING, "http");
+        AddonMetrics mqtt = provider.getMetrics(AddonMetricsProvider.TYPE_BINDING, "mqtt");
+        http.counter("requests");
+        http.gauge("cache.size", () -> 1);
+        mqtt.counter("messages");
+
+        http.close();
+
+        assertThat(registry.find("binding.http.requests").counter(), is(nullValue()));
+        assertThat(registry.find("binding.http.cache.size").gauge(), is(nullValue()));
+        assertThat(registry.find("binding.mqtt.messages").counter(), is(notNullValue()));
+    }
+
+    @Test
+    public void deactivateRemovesAllAddonMeters() {
+        provider.getMetrics(AddonMetricsProvider.TYPE_BINDING, "http").counter("requests");
+        provider.getMetrics(AddonMetricsProvider.TYPE_PERSISTENCE, "jdbc").timer("store.duration");
+
+        provider.deactivate();
+
+        assertThat(registry.getMeters(), is(empty()));
+    }
+}
@@ -38,13 +38,13 @@ import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.URIUtil;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.io.metrics.AddonMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +58,7 @@ import io.socket.engineio.client.Transport;
 import io.socket.engineio.client.transports.WebSocket;
 import io.socket.parser.Packet;
 import io.socket.parser.Parser;
+import io.socket.thread.EventThread;
 import okhttp3.OkHttpClient.Builder;
 import okhttp3.logging.HttpLoggingInterceptor;
 import okhttp3.logging.HttpLoggingInterceptor.Level;
@@ -154,6 +155,16 @@ public class CloudClient {
     protected final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
+    /*
+     * Coalesces and batches item updates sent to the openHAB Cloud
+     */
+    private final ItemUpdateUplink itemUpdateUplink;
+
+    /*
+     * Streams the content of proxied responses to the openHAB Cloud
+     */
+    private final ProxyResponseStreamer responseStreamer;
+
     @SuppressWarnings("null")
     private final AtomicReference<Optional<ScheduledFuture<?>>> reconnectFuture = new AtomicReference<>(
             Optional.empty());
@@ -165,9 +176,11 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateWindow time in milliseconds during which updates of an exposed item are coalesced
+     * @param metrics metrics of the openHAB Cloud connector
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, long itemUpdateWindow, AddonMetrics metrics) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
@@ -175,6 +188,10 @@ public class CloudClient {
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
         this.jettyClient = httpClient;
+        this.itemUpdateUplink = new ItemUpdateUplink(scheduler, EventThread::exec, this::isConnected,
+                this::emitItemUpdate, itemUpdateWindow, metrics);
+        this.responseStreamer = new ProxyResponseStreamer(EventThread::exec, EventThread::nextTick,
+                httpClient.getExecutor(), (event, message) -> socket.emit(event, message));
         reconnectBackoff.setMin(RECONNECT_MIN);
         reconnectBackoff.setMax(RECONNECT_MAX);
         reconnectBackoff.setJitter(RECONNECT_JITTER);
@@ -236,6 +253,12 @@ public class CloudClient {
                             headers.put("remoteaccess", List.of(((Boolean) remoteAccessEnabled).toString()));
                         }
                     });
+                    // the transport has written all packets, so the buffers of proxied responses can be reused and the
+                    // next batch of item updates can be sent
+                    transport.on(Transport.EVENT_DRAIN, drainArgs -> {
+                        responseStreamer.onDrain();
+                        itemUpdateUplink.onDrain();
+                    });
                 })//
                 .on(Manager.EVENT_CONNECT_ERROR, args -> {
                     if (args.length > 0) {
@@ -381,6 +404,8 @@ public class CloudClient {
         isConnected = false;
         // And clean up the list of running requests
         runningRequests.clear();
+        responseStreamer.clear();
+        itemUpdateUplink.clear();
     }
 
     /**
@@ -475,20 +500,12 @@ public class CloudClient {
                 } catch (JSONException e) {
                     logger.debug("{}", e.getMessage());
                 }
-            }).onResponseContent((theResponse, content) -> {
+            }).onResponseContentAsync((theResponse, content, callback) -> {
                 logger.debug("onResponseContent: {}, content size {}", requestId, String.valueOf(content.remaining()));
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    responseJson.put("body", BufferUtil.toArray(content));
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("{}", StandardCharsets.UTF_8.decode(content).toString());
-                    }
-                    socket.emit("responseContentBinary", responseJson);
-                    logger.trace("Sent content to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
+                if (logger.isTraceEnabled()) {
+                    logger.trace("{}", StandardCharsets.UTF_8.decode(content.duplicate()).toString());
                 }
+                responseStreamer.content(requestId, content, callback);
             }).onRequestFailure((origRequest, failure) -> {
                 logger.debug("onRequestFailure: {},  {}", requestId, failure.getMessage());
                 JSONObject responseJson = new JSONObject();
@@ -515,14 +532,17 @@ public class CloudClient {
                         logger.debug("Response Failure: {}", result.getResponseFailure().getMessage());
                     }
                 }
-                JSONObject responseJson = new JSONObject();
-                try {
-                    responseJson.put("id", requestId);
-                    socket.emit("responseFinished", responseJson);
-                    logger.debug("Finished responding to request {}", requestId);
-                } catch (JSONException e) {
-                    logger.debug("{}", e.getMessage());
-                }
+                // sent once all content of the response has been sent
+                responseStreamer.finish(requestId, () -> {
+                    JSONObject responseJson = new JSONObject();
+                    try {
+                        responseJson.put("id", requestId);
+                        socket.emit("responseFinished", responseJson);
+                        logger.debug("Finished responding to request {}", requestId);
+                    } catch (JSONException e) {
+                        logger.debug("{}", e.getMessage());
+                    }
+                });
             });
 
             // If successfully submitted request to http client, add it to the list of currently
@@ -561,6 +581,7 @@ public class CloudClient {
                 request.abort(new InterruptedException());
                 runningRequests.remove(requestId);
             }
+            responseStreamer.cancel(requestId);
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
         }
@@ -758,25 +779,26 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are coalesced, so only the latest state of an item within the
+     * configured window is sent.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
-            }
-        } else {
-            logger.debug("No connection, Item update is not sent");
+        itemUpdateUplink.send(itemName, itemState);
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        JSONObject itemUpdateMessage = new JSONObject();
+        try {
+            itemUpdateMessage.put("itemName", itemName);
+            itemUpdateMessage.put("itemStatus", itemState);
+            socket.emit("itemupdate", itemUpdateMessage);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
         }
     }
 
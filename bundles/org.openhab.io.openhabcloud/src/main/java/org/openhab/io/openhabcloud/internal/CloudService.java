@@ -47,6 +47,8 @@ import org.openhab.core.net.HttpServiceUtil;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.util.StringUtils;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.DynamicAddonMetrics;
 import org.openhab.io.openhabcloud.NotificationAction;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -55,6 +57,8 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,11 +80,14 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_WINDOW = "itemUpdateWindow";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
     private static final int DEFAULT_LOCAL_OPENHAB_REQUEST_TIMEOUT = 30000;
+    private static final long DEFAULT_ITEM_UPDATE_WINDOW = 500;
     private static final String HTTPCLIENT_NAME = "openhabcloud";
+    private static final String ADDON_ID = "openhabcloud";
 
     private final Logger logger = LoggerFactory.getLogger(CloudService.class);
 
@@ -90,9 +97,11 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private final HttpClient httpClient;
     protected final ItemRegistry itemRegistry;
     protected final EventPublisher eventPublisher;
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_IO, ADDON_ID);
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private long itemUpdateWindow;
     private int localPort;
 
     @Activate
@@ -257,6 +266,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     protected void deactivate() {
         logger.debug("openHAB Cloud connector deactivated");
         cloudClient.shutdown();
+        metrics.close();
         try {
             httpClient.stop();
         } catch (Exception e) {
@@ -264,6 +274,15 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         }
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.setProvider(addonMetricsProvider);
+    }
+
+    protected void unsetAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.unsetProvider(addonMetricsProvider);
+    }
+
     @Modified
     protected void modified(Map<String, ?> config) {
         if (config != null && config.get(CFG_MODE) != null) {
@@ -278,6 +297,17 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             cloudBaseUrl = DEFAULT_URL;
         }
 
+        itemUpdateWindow = DEFAULT_ITEM_UPDATE_WINDOW;
+        Object windowCfg = config.get(CFG_ITEM_UPDATE_WINDOW);
+        if (windowCfg != null) {
+            try {
+                itemUpdateWindow = Math.max(0, Long.parseLong(windowCfg.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' for {}, using {} ms", windowCfg, CFG_ITEM_UPDATE_WINDOW,
+                        DEFAULT_ITEM_UPDATE_WINDOW);
+            }
+        }
+
         exposedItems = new HashSet<>();
         Object expCfg = config.get(CFG_EXPOSE);
         if (expCfg instanceof String value) {
@@ -314,7 +344,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, itemUpdateWindow, metrics);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.metrics.AddonMetrics;
+import org.openhab.io.metrics.MetricCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ItemUpdateUplink} coalesces item updates sent to the openHAB Cloud.
+ *
+ * Only the latest state of each item is kept until the next flush, which happens at most once per window and sends
+ * up to {@link #MAX_BATCH_SIZE} updates at once. Flushes run on the executor of the socket, and a new flush is only
+ * scheduled once the transport reported via {@link #onDrain()} that it has written the previous batch. If the socket
+ * falls behind, further updates are coalesced instead of queued.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateUplink {
+
+    /**
+     * Maximum number of updates sent by a single flush, the remaining ones are sent with the next window.
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Maximum number of items with a pending update, updates of further items are dropped.
+     */
+    static final int MAX_PENDING_ITEMS = 10_000;
+
+    /**
+     * Time after which a flush no longer waits for the previous batch to be drained, in case a drain event got lost.
+     */
+    static final long DRAIN_TIMEOUT_MILLIS = 30_000;
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateUplink.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Executor socketExecutor;
+    private final BooleanSupplier connected;
+    private final BiConsumer<String, String> sender;
+    private final long windowMillis;
+
+    private final Map<String, String> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean awaitingDrain = new AtomicBoolean();
+    private volatile long awaitingDrainSince;
+
+    private final MetricCounter sentCounter;
+    private final MetricCounter coalescedCounter;
+    private final MetricCounter droppedCounter;
+
+    /**
+     * Create a new uplink.
+     *
+     * @param scheduler scheduler for delaying flushes
+     * @param socketExecutor executor of the socket, runs the flushes
+     * @param connected tells whether the socket is connected
+     * @param sender sends a single update, called with the item name and state
+     * @param windowMillis time to wait for further updates before flushing, 0 to flush as soon as possible
+     * @param metrics metrics for the number of sent, coalesced and dropped updates
+     */
+    public ItemUpdateUplink(ScheduledExecutorService scheduler, Executor socketExecutor, BooleanSupplier connected,
+            BiConsumer<String, String> sender, long windowMillis, AddonMetrics metrics) {
+        this.scheduler = scheduler;
+        this.socketExecutor = socketExecutor;
+        this.connected = connected;
+        this.sender = sender;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.sentCounter = metrics.counter("itemupdates.sent");
+        this.coalescedCounter = metrics.counter("itemupdates.coalesced");
+        this.droppedCounter = metrics.counter("itemupdates.dropped");
+    }
+
+    /**
+     * Queue an update, replacing a pending update of the same item.
+     *
+     * @param itemName the name of the item
+     * @param itemState the new state
+     */
+    public void send(String itemName, String itemState) {
+        if (!connected.getAsBoolean()) {
+            logger.debug("No connection, Item update is not sent");
+            droppedCounter.increment();
+            return;
+        }
+        synchronized (pending) {
+            if (pending.put(itemName, itemState) != null) {
+                coalescedCounter.increment();
+            } else if (pending.size() > MAX_PENDING_ITEMS) {
+                pending.remove(itemName);
+                logger.debug("Too many pending Item updates, update '{}' for item '{}' is dropped", itemState,
+                        itemName);
+                droppedCounter.increment();
+                return;
+            }
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Drop all pending updates, e.g. after the connection was lost.
+     */
+    public void clear() {
+        awaitingDrain.set(false);
+        int dropped;
+        synchronized (pending) {
+            dropped = pending.size();
+            pending.clear();
+        }
+        if (dropped > 0) {
+            logger.debug("Dropped {} pending Item updates", dropped);
+            droppedCounter.increment(dropped);
+        }
+    }
+
+    /**
+     * Called when the transport of the socket has written all packets handed to it, so the next batch can be sent.
+     */
+    public void onDrain() {
+        if (awaitingDrain.getAndSet(false)) {
+            boolean remaining;
+            synchronized (pending) {
+                remaining = !pending.isEmpty();
+            }
+            if (remaining) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private boolean isDraining() {
+        return awaitingDrain.get()
+                && System.nanoTime() - awaitingDrainSince < TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+    }
+
+    private void scheduleFlush() {
+        if (isDraining()) {
+            // onDrain() schedules the flush
+            return;
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            if (windowMillis == 0) {
+                socketExecutor.execute(this::flush);
+            } else {
+                scheduler.schedule(() -> socketExecutor.execute(this::flush), windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        List<Map.Entry<String, String>> batch = new ArrayList<>();
+        boolean remaining;
+        synchronized (pending) {
+            Iterator<Map.Entry<String, String>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                Map.Entry<String, String> entry = iterator.next();
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                iterator.remove();
+            }
+            remaining = !pending.isEmpty();
+        }
+        flushScheduled.set(false);
+
+        if (!connected.getAsBoolean()) {
+            droppedCounter.increment(batch.size());
+            clear();
+            return;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        logger.debug("Sending {} Item updates", batch.size());
+        // set before sending, the drain may be reported while the batch is still being sent
+        awaitingDrainSince = System.nanoTime();
+        awaitingDrain.set(true);
+        for (Map.Entry<String, String> update : batch) {
+            try {
+                sender.accept(update.getKey(), update.getValue());
+                sentCounter.increment();
+            } catch (RuntimeException e) {
+                logger.debug("Failed to send update for item '{}': {}", update.getKey(), e.getMessage());
+                droppedCounter.increment();
+            }
+        }
+        if (remaining) {
+            scheduleFlush();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.util.Callback;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ProxyResponseStreamer} streams the bodies of proxied responses to the openHAB Cloud.
+ *
+ * Content is only consumed from the local response while the bytes not yet written by the transport stay within a
+ * per-request and a global budget. Otherwise the content callback is completed later, so Jetty stops reading the
+ * response until the socket has caught up. Waiting chunks of concurrent requests are sent in turns, so a large response
+ * does not delay the others. Full chunks use buffers from a small pool.
+ *
+ * Sent chunks still count against the budgets, and their buffers are only reused, once the transport reported via
+ * {@link #onDrain()} that it has written them. Until then the socket may still hold a reference to the buffer.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyResponseStreamer {
+
+    static final int CHUNK_SIZE = 8 * 1024;
+    static final int REQUEST_BUDGET = 256 * 1024;
+    static final int GLOBAL_BUDGET = 2 * 1024 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 32;
+    private static final int MAX_CHUNKS_PER_RUN = 32;
+
+    private final Logger logger = LoggerFactory.getLogger(ProxyResponseStreamer.class);
+
+    private final Executor socketExecutor;
+    private final Executor releaseExecutor;
+    private final Executor callbackExecutor;
+    private final BiConsumer<String, JSONObject> emitter;
+
+    private final Map<Integer, Stream> streams = new HashMap<>();
+    private final Deque<Stream> ready = new ArrayDeque<>();
+    private final Deque<Stream> parked = new ArrayDeque<>();
+    private final Deque<byte[]> bufferPool = new ArrayDeque<>();
+    private final List<Sent> unconfirmed = new ArrayList<>();
+    private int inFlight;
+    private boolean sendScheduled;
+
+    /**
+     * Create a new streamer.
+     *
+     * @param socketExecutor queues tasks on the thread of the socket, all messages are sent from there
+     * @param releaseExecutor runs tasks after the socket has handled the current event, used to release written chunks
+     *            once the socket has handed its remaining packets to the transport
+     * @param callbackExecutor completes the content callbacks of Jetty
+     * @param emitter sends a message with the given event name
+     */
+    public ProxyResponseStreamer(Executor socketExecutor, Executor releaseExecutor, Executor callbackExecutor,
+            BiConsumer<String, JSONObject> emitter) {
+        this.socketExecutor = socketExecutor;
+        this.releaseExecutor = releaseExecutor;
+        this.callbackExecutor = callbackExecutor;
+        this.emitter = emitter;
+    }
+
+    /**
+     * Queue content of a response. The callback is completed as soon as the content has been copied, which may be
+     * delayed until enough bytes of this and other responses have been sent.
+     *
+     * @param requestId the id of the proxied request
+     * @param content the content
+     * @param callback the callback to complete once the content has been consumed
+     */
+    public void content(int requestId, ByteBuffer content, Callback callback) {
+        synchronized (this) {
+            Stream stream = streams.computeIfAbsent(requestId, Stream::new);
+            if (parked.isEmpty() && fits(stream, content.remaining())) {
+                enqueue(stream, content);
+            } else {
+                logger.trace("Waiting for budget to send {} bytes of request {}", content.remaining(), requestId);
+                stream.parkedContent = content;
+                stream.parkedCallback = callback;
+                parked.add(stream);
+                return;
+            }
+        }
+        callbackExecutor.execute(callback::succeeded);
+    }
+
+    /**
+     * Run the given task after all queued content of a response has been sent.
+     *
+     * @param requestId the id of the proxied request
+     * @param finisher sends the end of the response
+     */
+    public void finish(int requestId, Runnable finisher) {
+        synchronized (this) {
+            Stream stream = streams.get(requestId);
+            if (stream != null) {
+                failParked(stream);
+                if (stream.queued) {
+                    stream.finisher = finisher;
+                    return;
+                }
+                streams.remove(requestId);
+            }
+        }
+        socketExecutor.execute(finisher);
+    }
+
+    /**
+     * Discard all queued content of a response.
+     *
+     * @param requestId the id of the proxied request
+     */
+    public void cancel(int requestId) {
+        synchronized (this) {
+            Stream stream = streams.remove(requestId);
+            if (stream == null) {
+                return;
+            }
+            discard(stream);
+        }
+        resumeParked();
+    }
+
+    /**
+     * Discard all queued content, e.g. after the connection was lost.
+     */
+    public void clear() {
+        synchronized (this) {
+            streams.values().forEach(this::discard);
+            streams.clear();
+            // the buffers may still be referenced by the closed socket, so they are not reused
+            unconfirmed.forEach(sent -> release(sent.stream(), sent.chunk()));
+            unconfirmed.clear();
+        }
+    }
+
+    /**
+     * Called when the transport of the socket has written all packets handed to it. Releases the budget and the
+     * buffers of the chunks sent so far.
+     */
+    public void onDrain() {
+        List<Sent> written;
+        synchronized (this) {
+            if (unconfirmed.isEmpty()) {
+                return;
+            }
+            written = new ArrayList<>(unconfirmed);
+            unconfirmed.clear();
+        }
+        // packets the socket queued while the transport was busy are handed to the transport right after this event,
+        // which copies them
+        releaseExecutor.execute(() -> {
+            synchronized (this) {
+                for (Sent sent : written) {
+                    release(sent.stream(), sent.chunk());
+                    recycle(sent.chunk());
+                }
+            }
+            resumeParked();
+        });
+    }
+
+    private void discard(Stream stream) {
+        failParked(stream);
+        ready.remove(stream);
+        stream.queued = false;
+        Chunk chunk;
+        while ((chunk = stream.chunks.poll()) != null) {
+            // never handed to the socket, so the buffer can be reused right away
+            release(stream, chunk);
+            recycle(chunk);
+        }
+    }
+
+    private void failParked(Stream stream) {
+        Callback callback = stream.parkedCallback;
+        if (callback != null) {
+            parked.remove(stream);
+            stream.parkedContent = null;
+            stream.parkedCallback = null;
+            callbackExecutor.execute(() -> callback.failed(new CancellationException()));
+        }
+    }
+
+    private boolean fits(Stream stream, int length) {
+        // always accept content if nothing is in flight, even if it exceeds a budget on its own
+        return (stream.inFlight == 0 || stream.inFlight + length <= REQUEST_BUDGET)
+                && (inFlight == 0 || inFlight + length <= GLOBAL_BUDGET);
+    }
+
+    private void enqueue(Stream stream, ByteBuffer content) {
+        int length = content.remaining();
+        while (content.remaining() >= CHUNK_SIZE) {
+            byte[] buffer = bufferPool.poll();
+            if (buffer == null) {
+                buffer = new byte[CHUNK_SIZE];
+            }
+            content.get(buffer);
+            stream.chunks.add(new Chunk(buffer, true));
+        }
+        if (content.hasRemaining()) {
+            byte[] buffer = new byte[content.remaining()];
+            content.get(buffer);
+            stream.chunks.add(new Chunk(buffer, false));
+        }
+        stream.inFlight += length;
+        inFlight += length;
+        if (!stream.queued) {
+            stream.queued = true;
+            ready.add(stream);
+        }
+        if (!sendScheduled) {
+            sendScheduled = true;
+            socketExecutor.execute(this::send);
+        }
+    }
+
+    private void release(Stream stream, Chunk chunk) {
+        stream.inFlight -= chunk.data.length;
+        inFlight -= chunk.data.length;
+    }
+
+    private synchronized void recycle(Chunk chunk) {
+        if (chunk.pooled && bufferPool.size() < MAX_POOLED_BUFFERS) {
+            bufferPool.push(chunk.data);
+        }
+    }
+
+    /**
+     * Sends queued chunks, taking one chunk of each response in turn. Runs on the socket thread.
+     */
+    private void send() {
+        for (int i = 0; i < MAX_CHUNKS_PER_RUN; i++) {
+            Stream stream;
+            Chunk chunk;
+            synchronized (this) {
+                stream = ready.poll();
+                if (stream == null) {
+                    break;
+                }
+                chunk = stream.chunks.poll();
+            }
+            if (chunk != null) {
+                JSONObject responseJson = new JSONObject();
+                try {
+                    responseJson.put("id", stream.requestId);
+                    responseJson.put("body", chunk.data);
+                    emitter.accept("responseContentBinary", responseJson);
+                    logger.trace("Sent {} bytes of content to request {}", chunk.data.length, stream.requestId);
+                } catch (JSONException e) {
+                    logger.debug("{}", e.getMessage());
+                }
+            }
+
+            Runnable finisher = null;
+            synchronized (this) {
+                if (chunk != null) {
+                    // released once the transport has written it
+                    unconfirmed.add(new Sent(stream, chunk));
+                }
+                if (!stream.chunks.isEmpty()) {
+                    ready.add(stream);
+                } else {
+                    stream.queued = false;
+                    finisher = stream.finisher;
+                    if (finisher != null) {
+                        streams.remove(stream.requestId);
+                    }
+                }
+            }
+            if (finisher != null) {
+                finisher.run();
+            }
+        }
+
+        synchronized (this) {
+            if (ready.isEmpty()) {
+                sendScheduled = false;
+            } else {
+                socketExecutor.execute(this::send);
+            }
+        }
+    }
+
+    private void resumeParked() {
+        List<Callback> callbacks = new ArrayList<>();
+        synchronized (this) {
+            Stream stream;
+            while ((stream = parked.peek()) != null) {
+                ByteBuffer content = stream.parkedContent;
+                Callback callback = stream.parkedCallback;
+                if (content == null || callback == null) {
+                    parked.poll();
+                    continue;
+                }
+                if (!fits(stream, content.remaining())) {
+                    break;
+                }
+                parked.poll();
+                stream.parkedContent = null;
+                stream.parkedCallback = null;
+                enqueue(stream, content);
+                callbacks.add(callback);
+            }
+        }
+        callbacks.forEach(callback -> callbackExecutor.execute(callback::succeeded));
+    }
+
+    /**
+     * The queued content of a single response.
+     */
+    private static class Stream {
+        private final int requestId;
+        private final Deque<Chunk> chunks = new ArrayDeque<>();
+        private int inFlight;
+        private boolean queued;
+        private @Nullable ByteBuffer parkedContent;
+        private @Nullable Callback parkedCallback;
+        private @Nullable Runnable finisher;
+
+        Stream(int requestId) {
+            this.requestId = requestId;
+        }
+    }
+
+    private record Chunk(byte[] data, boolean pooled) {
+    }
+
+    /**
+     * A chunk handed to the socket, which the transport has not confirmed as written yet.
+     */
+    private record Sent(Stream stream, Chunk chunk) {
+    }
+}
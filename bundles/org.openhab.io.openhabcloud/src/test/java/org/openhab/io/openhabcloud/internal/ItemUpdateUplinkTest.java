@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.metrics.AddonMetrics;
+
+/**
+ * Tests the {@link ItemUpdateUplink}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ItemUpdateUplinkTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final List<Runnable> socketTasks = new ArrayList<>();
+    private final List<Map.Entry<String, String>> sent = new ArrayList<>();
+    private boolean connected = true;
+
+    private ItemUpdateUplink uplink(long windowMillis) {
+        return new ItemUpdateUplink(scheduler, socketTasks::add, () -> connected,
+                (itemName, itemState) -> sent.add(Map.entry(itemName, itemState)), windowMillis, AddonMetrics.NOOP);
+    }
+
+    private void runSocketTasks() {
+        List<Runnable> tasks = new ArrayList<>(socketTasks);
+        socketTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void updatesWithinTheWindowAreCoalesced() {
+        ItemUpdateUplink uplink = uplink(500);
+
+        uplink.send("Item1", "1");
+        uplink.send("Item2", "1");
+        uplink.send("Item1", "2");
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(flush.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        assertThat(socketTasks, is(empty()));
+
+        flush.getValue().run();
+        runSocketTasks();
+
+        assertThat(sent, contains(Map.entry("Item1", "2"), Map.entry("Item2", "1")));
+    }
+
+    @Test
+    public void nextBatchWaitsForTheDrain() {
+        ItemUpdateUplink uplink = uplink(0);
+
+        uplink.send("Item1", "1");
+        runSocketTasks();
+        uplink.send("Item1", "2");
+        uplink.send("Item1", "3");
+
+        assertThat(sent, contains(Map.entry("Item1", "1")));
+        assertThat(socketTasks, is(empty()));
+
+        uplink.onDrain();
+        runSocketTasks();
+
+        assertThat(sent, contains(Map.entry("Item1", "1"), Map.entry("Item1", "3")));
+    }
+
+    @Test
+    public void drainWithoutPendingUpdatesSchedulesNothing() {
+        ItemUpdateUplink uplink = uplink(0);
+
+        uplink.send("Item1", "1");
+        runSocketTasks();
+        uplink.onDrain();
+
+        assertThat(socketTasks, is(empty()));
+
+        uplink.send("Item1", "2");
+        runSocketTasks();
+
+        assertThat(sent, contains(Map.entry("Item1", "1"), Map.entry("Item1", "2")));
+    }
+
+    @Test
+    public void batchesAreLimited() {
+        ItemUpdateUplink uplink = uplink(0);
+        int count = ItemUpdateUplink.MAX_BATCH_SIZE + 5;
+
+        for (int i = 0; i < count; i++) {
+            uplink.send("Item" + i, "ON");
+        }
+        runSocketTasks();
+
+        assertThat(sent, hasSize(ItemUpdateUplink.MAX_BATCH_SIZE));
+        assertThat(socketTasks, is(empty()));
+
+        uplink.onDrain();
+        runSocketTasks();
+
+        assertThat(sent, hasSize(count));
+    }
+
+    @Test
+    public void pendingItemsAreBounded() {
+        ItemUpdateUplink uplink = uplink(0);
+
+        for (int i = 0; i <= ItemUpdateUplink.MAX_PENDING_ITEMS; i++) {
+            uplink.send("Item" + i, "ON");
+        }
+        runSocketTasks();
+        while (sent.size() < ItemUpdateUplink.MAX_PENDING_ITEMS) {
+            int before = sent.size();
+            uplink.onDrain();
+            runSocketTasks();
+            if (sent.size() == before) {
+                break;
+            }
+        }
+
+        assertThat(sent, hasSize(ItemUpdateUplink.MAX_PENDING_ITEMS));
+        assertThat(sent.stream().map(Map.Entry::getKey).toList(),
+                not(hasItem("Item" + ItemUpdateUplink.MAX_PENDING_ITEMS)));
+    }
+
+    @Test
+    public void updatesAreDroppedWithoutConnection() {
+        ItemUpdateUplink uplink = uplink(0);
+        connected = false;
+
+        uplink.send("Item1", "1");
+
+        assertThat(socketTasks, is(empty()));
+
+        connected = true;
+        uplink.send("Item2", "1");
+        connected = false;
+        runSocketTasks();
+
+        assertThat(sent, is(empty()));
+    }
+
+    @Test
+    public void clearStopsWaitingForTheDrain() {
+        ItemUpdateUplink uplink = uplink(0);
+
+        uplink.send("Item1", "1");
+        runSocketTasks();
+        uplink.send("Item1", "2");
+        uplink.clear();
+        uplink.send("Item1", "3");
+        runSocketTasks();
+
+        assertThat(sent, contains(Map.entry("Item1", "1"), Map.entry("Item1", "3")));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.util.Callback;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ProxyResponseStreamer}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class ProxyResponseStreamerTest {
+
+    private final List<Runnable> socketTasks = new ArrayList<>();
+    private final List<Runnable> releaseTasks = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private final List<byte[]> bodies = new ArrayList<>();
+
+    private final ProxyResponseStreamer streamer = new ProxyResponseStreamer(socketTasks::add, releaseTasks::add,
+            Runnable::run, (event, message) -> {
+                events.add(event + ":" + message.getInt("id"));
+                bodies.add((byte[]) message.get("body"));
+            });
+
+    @Test
+    public void contentIsSentInChunks() {
+        byte[] content = content(2 * ProxyResponseStreamer.CHUNK_SIZE + 10, 1);
+        RecordingCallback callback = new RecordingCallback();
+
+        streamer.content(1, ByteBuffer.wrap(content), callback);
+
+        assertTrue(callback.succeeded);
+        run(socketTasks);
+        assertThat(events, contains("responseContentBinary:1", "responseContentBinary:1", "responseContentBinary:1"));
+        assertThat(bodies.get(2).length, is(10));
+        byte[] received = new byte[content.length];
+        int offset = 0;
+        for (byte[] body : bodies) {
+            System.arraycopy(body, 0, received, offset, body.length);
+            offset += body.length;
+        }
+        assertArrayEquals(content, received);
+    }
+
+    @Test
+    public void requestBudgetIsOnlyReleasedOnDrain() {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.REQUEST_BUDGET, 1)), first);
+        streamer.content(1, ByteBuffer.wrap(content(100, 2)), second);
+        run(socketTasks);
+
+        assertTrue(first.succeeded);
+        assertFalse(second.succeeded);
+        assertThat(bodies, hasSize(ProxyResponseStreamer.REQUEST_BUDGET / ProxyResponseStreamer.CHUNK_SIZE));
+
+        streamer.onDrain();
+
+        assertFalse(second.succeeded);
+
+        run(releaseTasks);
+        run(socketTasks);
+
+        assertTrue(second.succeeded);
+        assertThat(bodies, hasSize(ProxyResponseStreamer.REQUEST_BUDGET / ProxyResponseStreamer.CHUNK_SIZE + 1));
+    }
+
+    @Test
+    public void globalBudgetIsSharedByAllRequests() {
+        int requests = ProxyResponseStreamer.GLOBAL_BUDGET / ProxyResponseStreamer.REQUEST_BUDGET;
+        for (int i = 0; i < requests; i++) {
+            streamer.content(i, ByteBuffer.wrap(content(ProxyResponseStreamer.REQUEST_BUDGET, i)),
+                    new RecordingCallback());
+        }
+        RecordingCallback last = new RecordingCallback();
+
+        streamer.content(requests, ByteBuffer.wrap(content(100, 0)), last);
+        run(socketTasks);
+
+        assertFalse(last.succeeded);
+
+        streamer.onDrain();
+        run(releaseTasks);
+
+        assertTrue(last.succeeded);
+    }
+
+    @Test
+    public void buffersAreOnlyReusedAfterDrain() {
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.CHUNK_SIZE, 1)), new RecordingCallback());
+        run(socketTasks);
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.CHUNK_SIZE, 2)), new RecordingCallback());
+        run(socketTasks);
+
+        assertThat(bodies.get(1), is(not(sameInstance(bodies.get(0)))));
+        assertArrayEquals(content(ProxyResponseStreamer.CHUNK_SIZE, 1), bodies.get(0));
+
+        streamer.onDrain();
+        run(releaseTasks);
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.CHUNK_SIZE, 3)), new RecordingCallback());
+        run(socketTasks);
+
+        assertThat(bodies.get(2), is(anyOf(sameInstance(bodies.get(0)), sameInstance(bodies.get(1)))));
+        assertArrayEquals(content(ProxyResponseStreamer.CHUNK_SIZE, 3), bodies.get(2));
+    }
+
+    @Test
+    public void clearReleasesTheBudgetButNotTheBuffers() {
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.REQUEST_BUDGET, 1)),
+                new RecordingCallback());
+        run(socketTasks);
+        byte[] sentBuffer = bodies.get(0);
+
+        streamer.clear();
+        RecordingCallback callback = new RecordingCallback();
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.CHUNK_SIZE, 2)), callback);
+        run(socketTasks);
+
+        assertTrue(callback.succeeded);
+        assertThat(bodies.get(bodies.size() - 1), is(not(sameInstance(sentBuffer))));
+        assertArrayEquals(content(ProxyResponseStreamer.CHUNK_SIZE, 1), sentBuffer);
+    }
+
+    @Test
+    public void cancelDiscardsQueuedContentAndFailsParkedContent() {
+        RecordingCallback parked = new RecordingCallback();
+        streamer.content(1, ByteBuffer.wrap(content(ProxyResponseStreamer.REQUEST_BUDGET, 1)),
+                new RecordingCallback());
+        streamer.content(1, ByteBuffer.wrap(content(100, 2)), parked);
+
+        streamer.cancel(1);
+        run(socketTasks);
+
+        assertThat(events, is(empty()));
+        assertThat(parked.failure, is(notNullValue()));
+    }
+
+    @Test
+    public void finisherRunsAfterTheLastChunk() {
+        streamer.content(1, ByteBuffer.wrap(content(2 * ProxyResponseStreamer.CHUNK_SIZE, 1)),
+                new RecordingCallback());
+        streamer.finish(1, () -> events.add("responseFinished:1"));
+        streamer.finish(2, () -> events.add("responseFinished:2"));
+        run(socketTasks);
+
+        assertThat(events, containsInAnyOrder("responseContentBinary:1", "responseContentBinary:1",
+                "responseFinished:1", "responseFinished:2"));
+        assertThat(events.indexOf("responseFinished:1"), is(2));
+    }
+
+    private static byte[] content(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i * 31 + seed);
+        }
+        return content;
+    }
+
+    private static void run(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private static class RecordingCallback implements Callback {
+        private boolean succeeded;
+        private @Nullable Throwable failure;
+
+        @Override
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        @Override
+        public void failed(@Nullable Throwable x) {
+            failure = x;
+        }
+    }
+}
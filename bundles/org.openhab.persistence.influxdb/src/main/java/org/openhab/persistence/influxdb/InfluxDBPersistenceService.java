@@ -14,6 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -33,6 +36,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -48,12 +52,16 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.DynamicAddonMetrics;
+import org.openhab.io.metrics.MetricTimer;
 import org.openhab.persistence.influxdb.internal.FilterCriteriaQueryCreator;
 import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpool;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
@@ -98,6 +106,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
     private static final int COMMIT_INTERVAL = 3; // in s
+    private static final int REPLAY_CHUNK_SIZE = 1000;
+    private static final Duration MAX_REPLAY_BACKOFF = Duration.ofMinutes(5);
     protected static final String CONFIG_URI = "persistence:influxdb";
 
     // External dependencies
@@ -111,11 +121,19 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     // storage
     private final ScheduledFuture<?> storeJob;
     private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final @Nullable InfluxDBSpool spool;
+    private Instant nextReplay = Instant.MIN;
+    private Duration replayBackoff = Duration.ofSeconds(COMMIT_INTERVAL);
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
     private Map<String, Class<? extends State>> desiredClasses = new HashMap<>();
 
+    // instrumentation
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_PERSISTENCE,
+            SERVICE_NAME);
+    private final MetricTimer writeTimer = metrics.timer("write.duration");
+
     @Activate
     public InfluxDBPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference InfluxDBMetadataService influxDBMetadataService, Map<String, Object> config) {
@@ -123,10 +141,13 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.spool = configuration.isSpoolEnabled() ? createSpool() : null;
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
                     .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            metrics.gauge("queue.size", pointsQueue::size);
+            metrics.gauge("spool.size", this::getSpoolSize);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -144,6 +165,20 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    // Visible for testing
+    protected @Nullable InfluxDBSpool createSpool() {
+        Path spoolDir = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb", "spool");
+        InfluxDBSpool spool = new InfluxDBSpool(spoolDir, configuration.getSpoolMaxSize() * 1024L * 1024L,
+                configuration.getSpoolDropPolicy());
+        try {
+            spool.open();
+            return spool;
+        } catch (IOException e) {
+            logger.warn("Failed to open the spool, points will only be queued in memory: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -154,11 +189,21 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
+        InfluxDBSpool spool = this.spool;
+        if (!pointsQueue.isEmpty() && spool != null) {
+            List<InfluxPoint> points = new ArrayList<>();
+            pointsQueue.drainTo(points);
+            int dropped = spool.append(points);
+            logger.info("Spooled {} points that could not be stored yet.", points.size() - dropped);
+            if (dropped > 0) {
+                logger.warn("InfluxDB failed to finally store {} points.", dropped);
+            }
+        } else if (!pointsQueue.isEmpty()) {
             logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
         }
 
         influxDBRepository.disconnect();
+        metrics.close();
         logger.info("InfluxDB persistence service stopped.");
     }
 
@@ -283,18 +328,102 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
+    /**
+     * Get the number of points waiting in memory to be written.
+     */
+    public int getQueueSize() {
+        return pointsQueue.size();
+    }
+
+    /**
+     * Get the size of the disk spool in bytes.
+     *
+     * @return size of the spool, 0 if the spool is disabled
+     */
+    public long getSpoolSize() {
+        InfluxDBSpool spool = this.spool;
+        return spool != null ? spool.getSize() : 0;
+    }
+
+    /**
+     * Get the number of points dropped because the disk spool was full.
+     */
+    public long getSpoolDroppedPoints() {
+        InfluxDBSpool spool = this.spool;
+        return spool != null ? spool.getDroppedPoints() : 0;
+    }
+
+    public boolean isSpoolEnabled() {
+        return spool != null;
+    }
+
+    private synchronized void commit() {
+        InfluxDBSpool spool = this.spool;
+        boolean hasSpooledPoints = spool != null && !spool.isEmpty();
+        if ((!pointsQueue.isEmpty() || hasSpooledPoints) && checkConnection()) {
             List<InfluxPoint> points = new ArrayList<>();
             pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
+            if (!points.isEmpty() && !write(points)) {
                 logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
                 pointsQueue.addAll(points);
                 influxDBRepository.disconnect();
             } else {
                 logger.trace("Wrote {} elements to database", points.size());
+                if (spool != null && hasSpooledPoints) {
+                    replaySpool(spool);
+                }
             }
         }
+        if (spool != null && pointsQueue.size() > configuration.getQueueSize()) {
+            List<InfluxPoint> points = new ArrayList<>();
+            pointsQueue.drainTo(points);
+            int dropped = spool.append(points);
+            logger.debug("Moved {} queued points to the spool, spool size is {} bytes.", points.size() - dropped,
+                    spool.getSize());
+            if (dropped > 0) {
+                logger.warn("Spool is full, dropped {} points.", dropped);
+            }
+        }
+    }
+
+    private boolean write(List<InfluxPoint> points) {
+        long start = System.nanoTime();
+        boolean success = influxDBRepository.write(points);
+        writeTimer.recordSince(start);
+        return success;
+    }
+
+    /**
+     * Write the oldest spooled segment in chunks. Failed attempts are retried with an increasing delay.
+     */
+    private void replaySpool(InfluxDBSpool spool) {
+        if (Instant.now().isBefore(nextReplay)) {
+            return;
+        }
+        InfluxDBSpool.Segment segment = spool.readOldest();
+        if (segment == null) {
+            return;
+        }
+        List<InfluxPoint> points = segment.getPoints();
+        for (int from = 0; from < points.size(); from += REPLAY_CHUNK_SIZE) {
+            List<InfluxPoint> chunk = points.subList(from, Math.min(points.size(), from + REPLAY_CHUNK_SIZE));
+            if (!write(chunk)) {
+                // chunks that were already written are written again, InfluxDB overwrites identical points
+                logger.warn("Failed to write spooled points, retrying in {}s.", replayBackoff.toSeconds());
+                nextReplay = Instant.now().plus(replayBackoff);
+                replayBackoff = replayBackoff.multipliedBy(2);
+                if (replayBackoff.compareTo(MAX_REPLAY_BACKOFF) > 0) {
+                    replayBackoff = MAX_REPLAY_BACKOFF;
+                }
+                influxDBRepository.disconnect();
+                return;
+            }
+        }
+        spool.remove(segment);
+        nextReplay = Instant.MIN;
+        replayBackoff = Duration.ofSeconds(COMMIT_INTERVAL);
+        logger.debug("Wrote {} spooled points to database, {} bytes left in spool.", points.size(),
+                spool.getSize());
     }
 
     /**
@@ -355,6 +484,15 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         });
     }
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.setProvider(addonMetricsProvider);
+    }
+
+    public void unsetAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.unsetProvider(addonMetricsProvider);
+    }
+
     @Reference(cardinality = ReferenceCardinality.AT_LEAST_ONE, policy = ReferencePolicy.DYNAMIC)
     public void setItemFactory(ItemFactory itemFactory) {
         itemFactories.add(itemFactory);
@@ -39,6 +39,9 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String SPOOL_MAX_SIZE_PARAM = "spoolMaxSize";
+    public static final String SPOOL_DROP_POLICY_PARAM = "spoolDropPolicy";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +54,9 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int spoolMaxSize;
+    private final InfluxDBSpool.DropPolicy spoolDropPolicy;
+    private final int queueSize;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +70,19 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        spoolMaxSize = ConfigParser.valueAsOrElse(config.get(SPOOL_MAX_SIZE_PARAM), Integer.class, 0);
+        spoolDropPolicy = parseDropPolicy(ConfigParser.valueAsOrElse(config.get(SPOOL_DROP_POLICY_PARAM),
+                String.class, InfluxDBSpool.DropPolicy.OLDEST.name()));
+        queueSize = ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 10000);
+    }
+
+    private InfluxDBSpool.DropPolicy parseDropPolicy(String value) {
+        try {
+            return InfluxDBSpool.DropPolicy.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid spool drop policy {}, using {}", value, InfluxDBSpool.DropPolicy.OLDEST);
+            return InfluxDBSpool.DropPolicy.OLDEST;
+        }
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -154,12 +173,37 @@ public class InfluxDBConfiguration {
         return version;
     }
 
+    /**
+     * Get the maximum size of the disk spool in MB.
+     *
+     * @return maximum size, 0 if the spool is disabled
+     */
+    public int getSpoolMaxSize() {
+        return spoolMaxSize;
+    }
+
+    public boolean isSpoolEnabled() {
+        return spoolMaxSize > 0;
+    }
+
+    public InfluxDBSpool.DropPolicy getSpoolDropPolicy() {
+        return spoolDropPolicy;
+    }
+
+    /**
+     * Get the number of queued points above which points are moved to the disk spool.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
     @Override
     public String toString() {
         return "InfluxDBConfiguration{url='" + url + "', user='" + user + "', password='" + password.length()
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", spoolMaxSize=" + spoolMaxSize + ", spoolDropPolicy="
+                + spoolDropPolicy + ", queueSize=" + queueSize + '}';
     }
 }
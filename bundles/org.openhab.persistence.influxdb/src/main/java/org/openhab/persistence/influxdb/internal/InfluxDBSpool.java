@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only disk spool for points that could not be written to InfluxDB.
+ *
+ * Points are appended to segment files of limited size, the oldest segment is replayed and deleted first. The total
+ * size of all segments is limited, the {@link DropPolicy} decides whether the oldest segment or the new points are
+ * dropped when the limit is reached. A segment that cannot be read completely, e.g. because of a truncated record
+ * after a power failure or a corrupt record, is moved to a quarantine directory after the points before the bad
+ * record have been replayed, so that the remaining data is kept for manual recovery.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpool {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String QUARANTINE_DIRECTORY = "quarantine";
+    private static final long MAX_SEGMENT_SIZE = 1024 * 1024;
+    private static final long MIN_SEGMENT_SIZE = 4096;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_DECIMAL = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_INTEGER = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+
+    public enum DropPolicy {
+        /**
+         * Delete the oldest segment to make room for new points.
+         */
+        OLDEST,
+        /**
+         * Discard new points while the spool is full.
+         */
+        NEWEST
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpool.class);
+
+    private final Path directory;
+    private final long maxSize;
+    private final long segmentSize;
+    private final DropPolicy dropPolicy;
+
+    // segment sequence number -> size in bytes, the last segment is the one points are appended to
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private long nextSequence = 0;
+    private long size = 0;
+    private long droppedPoints = 0;
+    private boolean activeSegmentClosed = true;
+
+    public InfluxDBSpool(Path directory, long maxSize, DropPolicy dropPolicy) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, maxSize / 8));
+        this.dropPolicy = dropPolicy;
+    }
+
+    /**
+     * Create the spool directory if needed and pick up segments left from a previous run.
+     *
+     * @throws IOException if the directory cannot be created or read
+     */
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        segments.clear();
+        size = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    long sequence = Long.parseLong(
+                            fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+                    long segmentBytes = Files.size(path);
+                    segments.put(sequence, segmentBytes);
+                    size += segmentBytes;
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring unexpected file '{}' in spool directory", path);
+                }
+            }
+        }
+        nextSequence = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        activeSegmentClosed = true;
+        if (!segments.isEmpty()) {
+            logger.info("Found {} spooled bytes in {} segments, they will be written when InfluxDB is available.",
+                    size, segments.size());
+        }
+    }
+
+    /**
+     * Append points to the spool.
+     *
+     * @param points the points to append
+     * @return the number of points that were dropped
+     */
+    public synchronized int append(List<InfluxPoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        int dropped = 0;
+        int index = 0;
+        try {
+            while (index < points.size()) {
+                Map.Entry<Long, Long> active = activeSegmentClosed ? null : segments.lastEntry();
+                if (active == null || active.getValue() >= segmentSize) {
+                    active = Map.entry(nextSequence++, 0L);
+                    segments.put(active.getKey(), 0L);
+                    activeSegmentClosed = false;
+                }
+                long written = 0;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(segmentPath(active.getKey()), StandardOpenOption.CREATE,
+                                StandardOpenOption.APPEND)))) {
+                    while (index < points.size() && active.getValue() + written < segmentSize) {
+                        byte[] record = encode(points.get(index));
+                        if (size + written + record.length + Integer.BYTES > maxSize && !makeRoom(written + record.length)) {
+                            dropped += points.size() - index;
+                            index = points.size();
+                            break;
+                        }
+                        out.writeInt(record.length);
+                        out.write(record);
+                        written += Integer.BYTES + record.length;
+                        index++;
+                    }
+                } finally {
+                    if (segments.containsKey(active.getKey())) {
+                        segments.put(active.getKey(), active.getValue() + written);
+                    }
+                    size += written;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to spool points to '{}': {}", directory, e.getMessage());
+            dropped += points.size() - index;
+        }
+        droppedPoints += dropped;
+        return dropped;
+    }
+
+    /**
+     * Read the points of the oldest segment. The segment is kept until {@link #remove(Segment)} is called.
+     *
+     * Reading stops at the first record that cannot be read, the returned segment then only contains the points
+     * before that record and is not {@link Segment#isComplete() complete}.
+     *
+     * @return the oldest segment, or <code>null</code> if the spool is empty
+     */
+    public synchronized @Nullable Segment readOldest() {
+        Map.Entry<Long, Long> oldest = segments.firstEntry();
+        if (oldest == null) {
+            return null;
+        }
+        long sequence = oldest.getKey();
+        if (sequence == segments.lastKey()) {
+            // don't append to a segment that is being replayed
+            activeSegmentClosed = true;
+        }
+        List<InfluxPoint> points = new ArrayList<>();
+        long remaining = oldest.getValue();
+        boolean complete = false;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(segmentPath(sequence))))) {
+            while (remaining > 0) {
+                int length = in.readInt();
+                if (length < 0 || length > remaining - Integer.BYTES) {
+                    throw new IOException("Invalid record length " + length);
+                }
+                byte[] record = new byte[length];
+                in.readFully(record);
+                points.add(decode(record));
+                remaining -= Integer.BYTES + length;
+            }
+            complete = true;
+        } catch (EOFException e) {
+            logger.warn("Spool segment {} ends with a truncated record after {} points", sequence, points.size());
+        } catch (IOException e) {
+            logger.warn("Failed to read spool segment {} after {} points: {}", sequence, points.size(),
+                    e.getMessage());
+        }
+        return new Segment(sequence, points, complete);
+    }
+
+    /**
+     * Remove a segment after its points have been written. A segment that could not be read completely is moved
+     * to the quarantine directory instead of being deleted.
+     *
+     * @param segment the segment returned by {@link #readOldest()}
+     */
+    public synchronized void remove(Segment segment) {
+        Long segmentBytes = segments.remove(segment.sequence);
+        if (segmentBytes == null) {
+            // already dropped to make room for new points
+            return;
+        }
+        size -= segmentBytes;
+        if (segment.isComplete()) {
+            deleteSegment(segment.sequence);
+        } else {
+            quarantineSegment(segment.sequence);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Get the size of all spooled segments in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Get the number of points dropped because the spool was full or could not be written.
+     */
+    public synchronized long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    private boolean makeRoom(long pending) {
+        if (dropPolicy == DropPolicy.NEWEST) {
+            return false;
+        }
+        while (size + pending + Integer.BYTES > maxSize && segments.size() > 1) {
+            Map.Entry<Long, Long> oldest = segments.pollFirstEntry();
+            if (oldest == null) {
+                break;
+            }
+            logger.warn("Spool is full, dropping segment {} with {} bytes.", oldest.getKey(), oldest.getValue());
+            deleteSegment(oldest.getKey());
+            size -= oldest.getValue();
+        }
+        return size + pending + Integer.BYTES <= maxSize;
+    }
+
+    private void deleteSegment(long sequence) {
+        try {
+            Files.deleteIfExists(segmentPath(sequence));
+        } catch (IOException e) {
+            logger.warn("Failed to delete spool segment {}: {}", sequence, e.getMessage());
+        }
+    }
+
+    private void quarantineSegment(long sequence) {
+        Path source = segmentPath(sequence);
+        Path target = directory.resolve(QUARANTINE_DIRECTORY).resolve(source.getFileName());
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(source, target);
+            logger.warn("Moved spool segment {} that could not be read completely to '{}'", sequence, target);
+        } catch (IOException e) {
+            logger.warn("Failed to move spool segment {} to '{}', deleting it: {}", sequence, target,
+                    e.getMessage());
+            deleteSegment(sequence);
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * The points read from a spooled segment.
+     */
+    public static class Segment {
+        private final long sequence;
+        private final List<InfluxPoint> points;
+        private final boolean complete;
+
+        private Segment(long sequence, List<InfluxPoint> points, boolean complete) {
+            this.sequence = sequence;
+            this.points = points;
+            this.complete = complete;
+        }
+
+        public List<InfluxPoint> getPoints() {
+            return points;
+        }
+
+        /**
+         * Check if all records of the segment were read.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    // Visible for testing
+    static byte[] encode(InfluxPoint point) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(point.getMeasurementName());
+            out.writeLong(point.getTime().toEpochMilli());
+            writeValue(out, point.getValue());
+            Map<String, String> tags = point.getTags();
+            out.writeInt(tags.size());
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                out.writeUTF(tag.getKey());
+                writeString(out, tag.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // Visible for testing
+    static InfluxPoint decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF())
+                    .withTime(Instant.ofEpochMilli(in.readLong()));
+            Object value = readValue(in);
+            if (value != null) {
+                builder.withValue(value);
+            }
+            int tagCount = in.readInt();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(in.readUTF(), readString(in));
+            }
+            return builder.build();
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeUTF(decimal.toString());
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(intValue);
+        } else if (value instanceof Number number) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static @Nullable Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_DECIMAL -> new BigDecimal(in.readUTF());
+            case TYPE_LONG -> in.readLong();
+            case TYPE_INTEGER -> in.readInt();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_STRING -> readString(in);
+            default -> throw new IOException("Unknown value type " + type);
+        };
+    }
+
+    // strings are written with their length as int, writeUTF is limited to 64k
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
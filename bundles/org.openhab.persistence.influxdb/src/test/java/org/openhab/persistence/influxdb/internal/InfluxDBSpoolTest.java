@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link InfluxDBSpool}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpoolTest {
+    public @TempDir @NonNullByDefault({}) Path folder;
+
+    @Test
+    public void encodeDecodeRoundtrip() throws IOException {
+        InfluxPoint point = InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(1234567890L))
+                .withValue(new BigDecimal("21.5")).withTag("item", "Temperature").withTag("label", "Living Room")
+                .build();
+
+        InfluxPoint decoded = InfluxDBSpool.decode(InfluxDBSpool.encode(point));
+
+        assertThat(decoded.getMeasurementName(), is("measurement"));
+        assertThat(decoded.getTime(), is(point.getTime()));
+        assertThat(decoded.getValue(), is(new BigDecimal("21.5")));
+        assertThat(decoded.getTags(), is(point.getTags()));
+    }
+
+    @Test
+    public void pointsAreReadInOrderAndSurviveReopen() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 1024 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        spool.open();
+        assertThat(spool.append(points(0, 10)), is(0));
+        assertThat(spool.isEmpty(), is(false));
+
+        InfluxDBSpool reopened = new InfluxDBSpool(folder, 1024 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        reopened.open();
+        assertThat(reopened.getSize(), is(spool.getSize()));
+
+        InfluxDBSpool.Segment segment = Objects.requireNonNull(reopened.readOldest());
+        assertThat(segment.isComplete(), is(true));
+        assertThat(segment.getPoints().stream().map(InfluxPoint::getValue).toList(),
+                contains(IntStream.range(0, 10).boxed().toArray()));
+
+        reopened.remove(segment);
+        assertThat(reopened.isEmpty(), is(true));
+        assertThat(reopened.getSize(), is(0L));
+    }
+
+    @Test
+    public void dropOldestKeepsNewestPoints() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 16 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        spool.open();
+        for (int i = 0; i < 100; i++) {
+            spool.append(points(i * 100, 100));
+        }
+
+        assertThat(spool.getSize(), is(lessThanOrEqualTo(16L * 1024)));
+        assertThat(spool.getDroppedPoints(), is(0L));
+        assertThat((Integer) oldestPoints(spool).get(0).getValue(), is(greaterThan(0)));
+    }
+
+    @Test
+    public void appendDoesNotExceedMaximumSizeWhenEvictingSmallSegments() throws IOException {
+        // reopening starts a new segment, so the spool fills up with small segments that are evicted one by one
+        for (int i = 0; i < 50; i++) {
+            InfluxDBSpool spool = new InfluxDBSpool(folder, 16 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+            spool.open();
+            spool.append(points(i * 10, 10));
+
+            assertThat(spool.getSize(), is(lessThanOrEqualTo(16L * 1024)));
+            assertThat(spool.getDroppedPoints(), is(0L));
+        }
+    }
+
+    @Test
+    public void dropNewestRejectsPointsWhenFull() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 16 * 1024, InfluxDBSpool.DropPolicy.NEWEST);
+        spool.open();
+        int dropped = 0;
+        for (int i = 0; i < 100; i++) {
+            dropped += spool.append(points(i * 100, 100));
+        }
+
+        assertThat(spool.getSize(), is(lessThanOrEqualTo(16L * 1024)));
+        assertThat(dropped, is(greaterThan(0)));
+        assertThat(spool.getDroppedPoints(), is((long) dropped));
+        assertThat(oldestPoints(spool).get(0).getValue(), is(0));
+    }
+
+    @Test
+    public void corruptSegmentIsQuarantinedAfterReplayingItsReadablePoints() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 1024 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        spool.open();
+        List<InfluxPoint> points = points(0, 10);
+        spool.append(points);
+        Path segmentFile = segmentFiles().get(0);
+
+        // corrupt the value type of the fourth record
+        int offset = 0;
+        for (int i = 0; i < 3; i++) {
+            offset += Integer.BYTES + InfluxDBSpool.encode(points.get(i)).length;
+        }
+        byte[] bytes = Files.readAllBytes(segmentFile);
+        bytes[offset + Integer.BYTES + 2 + "measurement".length() + Long.BYTES] = 42;
+        Files.write(segmentFile, bytes);
+
+        InfluxDBSpool.Segment segment = Objects.requireNonNull(spool.readOldest());
+        assertThat(segment.isComplete(), is(false));
+        assertThat(segment.getPoints().stream().map(InfluxPoint::getValue).toList(), contains(0, 1, 2));
+
+        spool.remove(segment);
+        assertThat(spool.isEmpty(), is(true));
+        assertThat(spool.getSize(), is(0L));
+        assertThat(Files.exists(segmentFile), is(false));
+        Path quarantined = folder.resolve("quarantine").resolve(segmentFile.getFileName());
+        assertThat(Files.readAllBytes(quarantined), is(bytes));
+    }
+
+    @Test
+    public void truncatedSegmentIsQuarantined() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 1024 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        spool.open();
+        spool.append(points(0, 10));
+        Path segmentFile = segmentFiles().get(0);
+        byte[] bytes = Files.readAllBytes(segmentFile);
+        Files.write(segmentFile, Arrays.copyOf(bytes, bytes.length - 3));
+
+        InfluxDBSpool reopened = new InfluxDBSpool(folder, 1024 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        reopened.open();
+        InfluxDBSpool.Segment segment = Objects.requireNonNull(reopened.readOldest());
+        assertThat(segment.isComplete(), is(false));
+        assertThat(segment.getPoints().size(), is(9));
+
+        reopened.remove(segment);
+        assertThat(Files.exists(folder.resolve("quarantine").resolve(segmentFile.getFileName())), is(true));
+    }
+
+    @Test
+    public void removingDroppedSegmentKeepsOtherSegments() throws IOException {
+        InfluxDBSpool spool = new InfluxDBSpool(folder, 16 * 1024, InfluxDBSpool.DropPolicy.OLDEST);
+        spool.open();
+        spool.append(points(0, 100));
+        InfluxDBSpool.Segment segment = Objects.requireNonNull(spool.readOldest());
+
+        // the segment being replayed is dropped to make room for new points
+        for (int i = 1; i < 100; i++) {
+            spool.append(points(i * 100, 100));
+        }
+        int segmentCount = spool.getSegmentCount();
+        long size = spool.getSize();
+        spool.remove(segment);
+
+        assertThat(spool.getSegmentCount(), is(segmentCount));
+        assertThat(spool.getSize(), is(size));
+    }
+
+    private List<InfluxPoint> oldestPoints(InfluxDBSpool spool) {
+        InfluxDBSpool.Segment segment = spool.readOldest();
+        return segment == null ? List.of() : segment.getPoints();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    private List<InfluxPoint> points(int start, int count) {
+        return IntStream.range(start, start + count)
+                .mapToObj(i -> InfluxPoint.newBuilder("measurement").withTime(Instant.ofEpochMilli(i)).withValue(i)
+                        .withTag("item", "Item").build())
+                .toList();
+    }
+}
@@ -14,14 +14,14 @@ package org.openhab.persistence.inmemory.internal;
 
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -32,6 +32,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
+import org.openhab.core.library.items.ColorItem;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -66,11 +69,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     protected static final String CONFIG_URI = "persistence:inmemory";
     private final String MAX_ENTRIES_CONFIG = "maxEntries";
     private final long MAX_ENTRIES_DEFAULT = 512;
+    private final String COMPACT_STORAGE_CONFIG = "compactStorage";
+    private final boolean COMPACT_STORAGE_DEFAULT = false;
 
     private final Logger logger = LoggerFactory.getLogger(InMemoryPersistenceService.class);
 
     private final Map<String, PersistItem> persistMap = new ConcurrentHashMap<>();
     private long maxEntries = MAX_ENTRIES_DEFAULT;
+    private boolean compactStorage = COMPACT_STORAGE_DEFAULT;
 
     @Activate
     public void activate(Map<String, Object> config) {
@@ -81,14 +87,14 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     @Modified
     public void modified(Map<String, Object> config) {
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
+        compactStorage = ConfigParser.valueAsOrElse(config.get(COMPACT_STORAGE_CONFIG), Boolean.class,
+                COMPACT_STORAGE_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
             Lock lock = persistItem.lock();
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.storage().trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -112,28 +118,29 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return persistMap.entrySet().stream().map(this::toItemInfo).collect(Collectors.toSet());
+        return persistMap.entrySet().stream().map(this::toItemInfo).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     @Override
     public void store(Item item) {
-        internalStore(item.getName(), ZonedDateTime.now(), item.getState());
+        internalStore(item, item.getName(), ZonedDateTime.now(), item.getState());
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
         String finalName = Objects.requireNonNullElse(alias, item.getName());
-        internalStore(finalName, ZonedDateTime.now(), item.getState());
+        internalStore(item, finalName, ZonedDateTime.now(), item.getState());
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        internalStore(item.getName(), date, state);
+        internalStore(item, item.getName(), date, state);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        internalStore(Objects.requireNonNullElse(alias, item.getName()), date, state);
+        internalStore(item, Objects.requireNonNullElse(alias, item.getName()), date, state);
     }
 
     @Override
@@ -151,8 +158,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.storage().removeIf(filter.getBeginDate(), filter.getEndDate(), e -> applies(e, filter));
         } finally {
             lock.unlock();
         }
@@ -171,16 +177,29 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
+        boolean ascending = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING;
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+        int pageSize = filter.getPageSize();
+
         Lock lock = persistItem.lock();
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
+            // entries are already ordered by timestamp, so only the requested range and page needs to be visited
+            List<HistoricItem> result = new ArrayList<>();
+            Iterator<PersistEntry> iterator = persistItem.storage().iterator(filter.getBeginDate(),
+                    filter.getEndDate(), ascending);
+            while (iterator.hasNext() && result.size() < pageSize) {
+                PersistEntry entry = iterator.next();
+                if (!applies(entry, filter)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(toHistoricItem(itemName, entry));
+            }
+            return result;
         } finally {
             lock.unlock();
         }
@@ -192,14 +211,20 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return List.of(PersistenceStrategy.Globals.FORECAST);
     }
 
-    private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
+    private @Nullable PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
         Lock lock = itemEntry.getValue().lock();
         lock.lock();
         try {
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            ItemStorage storage = itemEntry.getValue().storage();
+            Integer count = storage.size();
+            ZonedDateTime earliestTimestamp = storage.getEarliest();
+            ZonedDateTime latestTimestamp = storage.getLatest();
+            if (earliestTimestamp == null || latestTimestamp == null) {
+                return null;
+            }
+            Instant earliest = earliestTimestamp.toInstant();
+            Instant latest = latestTimestamp.toInstant();
             return new PersistenceItemInfo() {
 
                 @Override
@@ -246,28 +271,40 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         };
     }
 
-    private void internalStore(String itemName, ZonedDateTime timestamp, State state) {
+    private void internalStore(Item item, String itemName, ZonedDateTime timestamp, State state) {
         if (state instanceof UnDefType) {
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(
+                persistMap.computeIfAbsent(itemName, k -> new PersistItem(createStorage(item), new ReentrantLock())));
 
         Lock lock = persistItem.lock();
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            ItemStorage storage = persistItem.storage();
+            if (!storage.add(timestamp, state, maxEntries)) {
+                logger.debug("State '{}' of item '{}' cannot be stored compactly, switching to regular storage.",
+                        state, itemName);
+                ItemStorage fallback = new TreeSetItemStorage();
+                storage.iterator(null, null, true)
+                        .forEachRemaining(e -> fallback.add(e.timestamp(), e.state(), maxEntries));
+                fallback.add(timestamp, state, maxEntries);
+                persistItem.setStorage(fallback);
             }
         } finally {
             lock.unlock();
         }
     }
 
+    private ItemStorage createStorage(Item item) {
+        if (compactStorage
+                && (item instanceof NumberItem || (item instanceof DimmerItem && !(item instanceof ColorItem)))) {
+            return new NumericRingItemStorage();
+        }
+        return new TreeSetItemStorage();
+    }
+
     @SuppressWarnings("unchecked")
     private boolean applies(PersistEntry entry, FilterCriteria filter) {
         ZonedDateTime beginDate = filter.getBeginDate();
@@ -294,7 +331,7 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return !entry.state().equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (entry.state() instanceof Comparable comparableState && entry.state().getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -313,9 +350,25 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
+    private static class PersistItem {
+        private ItemStorage storage;
+        private final Lock lock;
+
+        public PersistItem(ItemStorage storage, Lock lock) {
+            this.storage = storage;
+            this.lock = lock;
+        }
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+        public ItemStorage storage() {
+            return storage;
+        }
+
+        public void setStorage(ItemStorage storage) {
+            this.storage = storage;
+        }
+
+        public Lock lock() {
+            return lock;
+        }
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link ItemStorage} holds the persisted values of a single item, ordered by timestamp.
+ *
+ * Implementations are not thread-safe, callers have to hold the lock of the item while accessing them.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public interface ItemStorage {
+
+    /**
+     * Add a value and purge the oldest values if more than {@code maxEntries} values are stored afterwards.
+     *
+     * If a value with the same timestamp is already stored, the stored value is kept.
+     *
+     * @param timestamp the timestamp of the value
+     * @param state the value
+     * @param maxEntries maximum number of values to keep, 0 for no limit
+     * @return {@code false} if the state cannot be stored by this storage, {@code true} otherwise
+     */
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries);
+
+    /**
+     * Purge the oldest values until at most {@code maxEntries} values are stored.
+     *
+     * @param maxEntries maximum number of values to keep, 0 for no limit
+     */
+    void trim(long maxEntries);
+
+    int size();
+
+    @Nullable
+    ZonedDateTime getEarliest();
+
+    @Nullable
+    ZonedDateTime getLatest();
+
+    /**
+     * Iterate over all values between {@code begin} and {@code end}.
+     *
+     * The bounds only narrow down the range that is visited, entries close to the bounds may still have to be
+     * checked by the caller.
+     *
+     * @param begin lower bound of the range or {@code null} to start with the oldest value
+     * @param end upper bound of the range or {@code null} to end with the latest value
+     * @param ascending {@code true} to iterate from the oldest to the latest value, {@code false} for the reverse
+     */
+    Iterator<PersistEntry> iterator(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, boolean ascending);
+
+    /**
+     * Remove all values between {@code begin} and {@code end} that match the filter.
+     *
+     * @return the number of removed values
+     */
+    int removeIf(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter);
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericRingItemStorage} is a compact {@link ItemStorage} for numeric states.
+ *
+ * Timestamps are stored as epoch milliseconds and values as doubles in two parallel ring arrays, so no objects are
+ * allocated per stored value. The type (and unit) of the first stored state is used for all values, states of a
+ * different type or with an incompatible unit are rejected. Timestamps are truncated to milliseconds and restored in
+ * the system time zone.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class NumericRingItemStorage implements ItemStorage {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private enum ValueType {
+        DECIMAL,
+        PERCENT,
+        QUANTITY
+    }
+
+    private long[] timestamps = new long[0];
+    private double[] values = new double[0];
+    private int head = 0;
+    private int size = 0;
+
+    private @Nullable ValueType valueType;
+    private @Nullable Unit<?> unit;
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        Double value = toValue(state);
+        if (value == null) {
+            return false;
+        }
+
+        long millis = timestamp.toInstant().toEpochMilli();
+        int index = upperBound(millis);
+        if (index > 0 && timestampAt(index - 1) == millis) {
+            // keep the already stored value
+            return true;
+        }
+        if (maxEntries > 0 && size >= maxEntries) {
+            if (index == 0) {
+                // older than all retained values, it would be purged immediately
+                return true;
+            }
+            int purge = (int) (size - maxEntries + 1);
+            dropOldest(purge);
+            index = Math.max(0, index - purge);
+        }
+
+        ensureCapacity(size + 1, maxEntries);
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            timestamps[to] = timestamps[from];
+            values[to] = values[from];
+        }
+        timestamps[physical(index)] = millis;
+        values[physical(index)] = value;
+        size++;
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0 && size > maxEntries) {
+            dropOldest((int) (size - maxEntries));
+        }
+        if (maxEntries > 0 && timestamps.length > maxEntries) {
+            resize((int) maxEntries);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getEarliest() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(0));
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getLatest() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(size - 1));
+    }
+
+    @Override
+    public Iterator<PersistEntry> iterator(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            boolean ascending) {
+        int from = lowerIndex(begin);
+        int to = upperIndex(end);
+        return new Iterator<>() {
+            private int next = ascending ? from : to - 1;
+
+            @Override
+            public boolean hasNext() {
+                return ascending ? next < to : next >= from;
+            }
+
+            @Override
+            public PersistEntry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                PersistEntry entry = entryAt(next);
+                next += ascending ? 1 : -1;
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public int removeIf(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter) {
+        int from = lowerIndex(begin);
+        int to = upperIndex(end);
+
+        // compact the remaining values of the range, then move the tail
+        int write = from;
+        for (int read = from; read < to; read++) {
+            if (!filter.test(entryAt(read))) {
+                copy(read, write++);
+            }
+        }
+        int removed = to - write;
+        if (removed > 0) {
+            for (int read = to; read < size; read++) {
+                copy(read, write++);
+            }
+            size -= removed;
+        }
+        return removed;
+    }
+
+    private @Nullable Double toValue(State state) {
+        ValueType type;
+        if (state instanceof QuantityType<?>) {
+            type = ValueType.QUANTITY;
+        } else if (state.getClass() == PercentType.class) {
+            type = ValueType.PERCENT;
+        } else if (state.getClass() == DecimalType.class) {
+            type = ValueType.DECIMAL;
+        } else {
+            return null;
+        }
+
+        ValueType valueType = this.valueType;
+        if (valueType == null) {
+            this.valueType = type;
+            if (state instanceof QuantityType<?> quantity) {
+                unit = quantity.getUnit();
+            }
+        } else if (valueType != type) {
+            return null;
+        }
+
+        Unit<?> unit = this.unit;
+        if (state instanceof QuantityType<?> quantity && unit != null) {
+            QuantityType<?> converted = quantity.toUnit(unit);
+            return converted == null ? null : converted.doubleValue();
+        }
+        return ((DecimalType) state).doubleValue();
+    }
+
+    private State toState(double value) {
+        Unit<?> unit = this.unit;
+        if (valueType == ValueType.QUANTITY && unit != null) {
+            return new QuantityType<>(value, unit);
+        } else if (valueType == ValueType.PERCENT) {
+            return new PercentType(BigDecimal.valueOf(value));
+        }
+        return new DecimalType(value);
+    }
+
+    private ZonedDateTime toZonedDateTime(long millis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private PersistEntry entryAt(int index) {
+        int physical = physical(index);
+        return new PersistEntry(toZonedDateTime(timestamps[physical]), toState(values[physical]));
+    }
+
+    private int physical(int index) {
+        int physical = head + index;
+        return physical >= timestamps.length ? physical - timestamps.length : physical;
+    }
+
+    private long timestampAt(int index) {
+        return timestamps[physical(index)];
+    }
+
+    private void copy(int from, int to) {
+        if (from != to) {
+            timestamps[physical(to)] = timestamps[physical(from)];
+            values[physical(to)] = values[physical(from)];
+        }
+    }
+
+    private int lowerIndex(@Nullable ZonedDateTime begin) {
+        return begin == null ? 0 : lowerBound(begin.toInstant().toEpochMilli());
+    }
+
+    private int upperIndex(@Nullable ZonedDateTime end) {
+        return end == null ? size : upperBound(end.toInstant().toEpochMilli());
+    }
+
+    /**
+     * Find the index of the first value with a timestamp equal to or after {@code millis}.
+     */
+    private int lowerBound(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the index of the first value with a timestamp after {@code millis}.
+     */
+    private int upperBound(long millis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void dropOldest(int count) {
+        head = physical(count);
+        size -= count;
+    }
+
+    private void ensureCapacity(int required, long maxEntries) {
+        if (required > timestamps.length) {
+            long capacity = Math.max(INITIAL_CAPACITY, (long) timestamps.length * 2);
+            if (maxEntries > 0) {
+                capacity = Math.min(capacity, maxEntries);
+            }
+            resize((int) Math.min(Math.max(capacity, required), Integer.MAX_VALUE - 8));
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            newTimestamps[i] = timestampAt(i);
+            newValues[i] = values[physical(i)];
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        head = 0;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link TreeSetItemStorage} is an {@link ItemStorage} for states of any type.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class TreeSetItemStorage implements ItemStorage {
+
+    private final TreeSet<PersistEntry> database = new TreeSet<>(Comparator.comparing(PersistEntry::timestamp));
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        database.add(new PersistEntry(timestamp, state));
+        trim(maxEntries);
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries > 0) {
+            while (database.size() > maxEntries) {
+                database.pollFirst();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return database.size();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getEarliest() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime getLatest() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+
+    @Override
+    public Iterator<PersistEntry> iterator(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end,
+            boolean ascending) {
+        NavigableSet<PersistEntry> range = range(begin, end);
+        return ascending ? range.iterator() : range.descendingSet().iterator();
+    }
+
+    @Override
+    public int removeIf(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end, Predicate<PersistEntry> filter) {
+        int removed = 0;
+        Iterator<PersistEntry> iterator = range(begin, end).iterator();
+        while (iterator.hasNext()) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private NavigableSet<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        // ZonedDateTime orders equal instants by their local time, so the bounds are widened by one nanosecond
+        // to include all entries at exactly the begin or end instant regardless of their zone
+        NavigableSet<PersistEntry> range = database;
+        if (begin != null) {
+            range = range.tailSet(new PersistEntry(begin.minusNanos(1), UnDefType.NULL), true);
+        }
+        if (end != null) {
+            range = range.headSet(new PersistEntry(end.plusNanos(1), UnDefType.NULL), true);
+        }
+        return range;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * This class represents the aggregation applied per time bucket by aggregated queries.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public enum JdbcAggregation {
+    /**
+     * Average of all values in the bucket, numeric items only.
+     */
+    AVG(true),
+    /**
+     * Lowest value in the bucket, numeric items only.
+     */
+    MIN(true),
+    /**
+     * Highest value in the bucket, numeric items only.
+     */
+    MAX(true),
+    /**
+     * Last value in the bucket.
+     */
+    LAST(false);
+
+    private final boolean numeric;
+
+    JdbcAggregation(boolean numeric) {
+        this.numeric = numeric;
+    }
+
+    /**
+     * Checks if this aggregation can only be applied to numeric values.
+     */
+    public boolean isNumeric() {
+        return numeric;
+    }
+}
@@ -66,6 +66,11 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int writeBehindInterval = 0;
+    private int writeBehindBatchSize = 500;
+    private int writeBehindMaxSize = JdbcWriteBuffer.DEFAULT_MAX_SIZE;
+    private int queryFetchSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -185,6 +190,30 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: tableIdDigitCount={}", tableIdDigitCount);
         }
 
+        String wi = (String) configuration.get("writeBehindInterval");
+        if (wi != null && !wi.isBlank() && isNumericPattern.matcher(wi).matches()) {
+            writeBehindInterval = Integer.parseInt(wi);
+            logger.debug("JDBC::updateConfig: writeBehindInterval={}", writeBehindInterval);
+        }
+
+        String wb = (String) configuration.get("writeBehindBatchSize");
+        if (wb != null && !wb.isBlank() && isNumericPattern.matcher(wb).matches()) {
+            writeBehindBatchSize = Math.max(1, Integer.parseInt(wb));
+            logger.debug("JDBC::updateConfig: writeBehindBatchSize={}", writeBehindBatchSize);
+        }
+
+        String wm = (String) configuration.get("writeBehindMaxSize");
+        if (wm != null && !wm.isBlank() && isNumericPattern.matcher(wm).matches()) {
+            writeBehindMaxSize = Math.max(1, Integer.parseInt(wm));
+            logger.debug("JDBC::updateConfig: writeBehindMaxSize={}", writeBehindMaxSize);
+        }
+
+        String qf = (String) configuration.get("queryFetchSize");
+        if (qf != null && !qf.isBlank() && isNumericPattern.matcher(qf).matches()) {
+            queryFetchSize = Integer.parseInt(qf);
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
         String rt = (String) configuration.get("rebuildTableNames");
         if (rt != null && !rt.isBlank()) {
             rebuildTableNames = Boolean.parseBoolean(rt);
@@ -404,6 +433,36 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    /**
+     * Checks if states should be buffered and written in batches instead of one statement per state.
+     *
+     * @return true if a write-behind interval is configured.
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBehindInterval > 0;
+    }
+
+    public int getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public int getWriteBehindMaxSize() {
+        return writeBehindMaxSize;
+    }
+
+    /**
+     * Get the number of rows fetched at a time when streaming query results.
+     *
+     * @return fetch size, 0 if query results are not streamed.
+     */
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
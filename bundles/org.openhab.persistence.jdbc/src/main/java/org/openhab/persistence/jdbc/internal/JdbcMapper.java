@@ -35,6 +35,7 @@ import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -226,6 +227,16 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected void storeItemValues(Item item, List<JdbcPendingState> states, @Nullable String alias)
+            throws JdbcException {
+        logger.debug("JDBC::storeItemValues: item={} count={}", item, states.size());
+        String tableName = getTable(item, alias);
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(item, tableName, states);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -243,6 +254,30 @@ public class JdbcMapper {
         return result;
     }
 
+    protected Iterable<HistoricItem> getHistItemFilterQueryStreamed(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int fetchSize) throws JdbcSQLException {
+        logger.debug(
+                "JDBC::getHistItemFilterQueryStreamed filter='{}' numberDecimalcount='{}' table='{}' item='{}' fetchSize='{}'",
+                filter, numberDecimalcount, table, item, fetchSize);
+        Iterable<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQueryStreamed(item, filter,
+                numberDecimalcount, table, item.getName(), timeZoneProvider.getTimeZone(), fetchSize);
+        errCnt = 0;
+        return result;
+    }
+
+    protected List<HistoricItem> getHistItemAggregatedQuery(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, JdbcAggregation aggregation, long bucketSeconds) throws JdbcSQLException {
+        logger.debug(
+                "JDBC::getHistItemAggregatedQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' aggregation='{}' bucketSeconds='{}'",
+                filter, numberDecimalcount, table, item, aggregation, bucketSeconds);
+        long timerStart = System.currentTimeMillis();
+        List<HistoricItem> result = conf.getDBDAO().doGetHistItemAggregatedQuery(item, filter, numberDecimalcount,
+                table, item.getName(), timeZoneProvider.getTimeZone(), aggregation, bucketSeconds);
+        logTime("getHistItemAggregatedQuery", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+        return result;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -12,10 +12,12 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,6 +25,9 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -34,6 +39,10 @@ import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.ColorItem;
+import org.openhab.core.library.items.DimmerItem;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.RollershutterItem;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.ModifiablePersistenceService;
@@ -43,9 +52,13 @@ import org.openhab.core.persistence.QueryablePersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.io.metrics.AddonMetricsProvider;
+import org.openhab.io.metrics.DynamicAddonMetrics;
+import org.openhab.io.metrics.MetricTimer;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.framework.BundleContext;
@@ -54,6 +67,8 @@ import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,11 +92,26 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private final JdbcWriteBuffer writeBuffer = new JdbcWriteBuffer();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> writeBehindJob;
+    private volatile long lastFlushDuration = 0;
+    private volatile int lastFlushCount = 0;
+    private volatile long failedCount = 0;
+    private volatile long reportedDroppedCount = 0;
+    private volatile boolean databaseUnavailable = false;
+
+    private final DynamicAddonMetrics metrics = new DynamicAddonMetrics(AddonMetricsProvider.TYPE_PERSISTENCE,
+            JdbcPersistenceServiceConstants.SERVICE_ID);
+    private final MetricTimer storeTimer = metrics.timer("store.duration");
+    private final MetricTimer flushTimer = metrics.timer("flush.duration");
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
         super(timeZoneProvider);
         this.itemRegistry = itemRegistry;
+        metrics.gauge("queue.size", writeBuffer::size);
     }
 
     /**
@@ -120,8 +150,20 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        stopWriteBehind();
+        scheduler.shutdown();
         // closeConnection();
         initialized = false;
+        metrics.close();
+    }
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    public void setAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.setProvider(addonMetricsProvider);
+    }
+
+    public void unsetAddonMetricsProvider(AddonMetricsProvider addonMetricsProvider) {
+        metrics.unsetProvider(addonMetricsProvider);
     }
 
     @Override
@@ -137,22 +179,191 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        if (isWriteBehindEnabled()) {
+            enqueue(item, null, item.getState(), null);
+        } else {
+            scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        }
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        if (isWriteBehindEnabled()) {
+            enqueue(item, null, item.getState(), alias);
+        } else {
+            scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        }
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        if (isWriteBehindEnabled()) {
+            enqueue(item, date, state, null);
+        } else {
+            scheduler.execute(() -> internalStore(item, date, state, null));
+        }
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        if (isWriteBehindEnabled()) {
+            enqueue(item, date, state, alias);
+        } else {
+            scheduler.execute(() -> internalStore(item, date, state, alias));
+        }
+    }
+
+    private boolean isWriteBehindEnabled() {
+        JdbcConfiguration conf = this.conf;
+        return conf != null && conf.isWriteBehindEnabled();
+    }
+
+    private void enqueue(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // The state is written later, so the time of the state change has to be captured now
+        ZonedDateTime stateDate = date != null ? date : ZonedDateTime.now();
+        int size = writeBuffer.add(new JdbcPendingState(item, state, stateDate, alias));
+        // while the database is unavailable, only the write-behind job retries to write the buffer
+        if (size >= conf.getWriteBehindBatchSize() && !databaseUnavailable
+                && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(this::flushWriteBuffer);
+        }
+    }
+
+    private synchronized void flushWriteBuffer() {
+        flushScheduled.set(false);
+        long droppedCount = writeBuffer.getDroppedCount();
+        if (droppedCount > reportedDroppedCount) {
+            logger.warn("JDBC::flush: Write-behind buffer is full ({} states). Dropped the {} oldest states!",
+                    writeBuffer.getMaxSize(), droppedCount - reportedDroppedCount);
+            reportedDroppedCount = droppedCount;
+        }
+        if (writeBuffer.isEmpty()) {
+            return;
+        }
+        Map<String, List<JdbcPendingState>> pendingStates = writeBuffer.drain();
+        int count = pendingStates.values().stream().mapToInt(List::size).sum();
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::flush: No connection to database. Keeping {} buffered states for the next flush! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    count, errCnt, conf.getErrReconnectThreshold());
+            databaseUnavailable = true;
+            requeue(pendingStates);
+            return;
+        }
+        long timerStart = System.currentTimeMillis();
+        Map<String, List<JdbcPendingState>> unwrittenStates = new LinkedHashMap<>();
+        for (Entry<String, List<JdbcPendingState>> entry : pendingStates.entrySet()) {
+            List<JdbcPendingState> states = entry.getValue();
+            JdbcPendingState first = states.get(0);
+            try {
+                storeItemValues(first.getItem(), states, first.getAlias());
+            } catch (JdbcException e) {
+                count -= states.size();
+                if (checkDBAccessability()) {
+                    // the database is reachable, so retrying would fail again
+                    failedCount += states.size();
+                    logger.warn("JDBC::flush: Unable to store {} states for item '{}'", states.size(),
+                            first.getPersistedName(), e);
+                } else {
+                    unwrittenStates.put(entry.getKey(), states);
+                }
+            }
+        }
+        if (!unwrittenStates.isEmpty()) {
+            logger.warn("JDBC::flush: Lost connection to database. Keeping {} states of {} items for the next flush",
+                    unwrittenStates.values().stream().mapToInt(List::size).sum(), unwrittenStates.size());
+            databaseUnavailable = true;
+            requeue(unwrittenStates);
+        } else {
+            databaseUnavailable = false;
+        }
+        lastFlushCount = count;
+        lastFlushDuration = System.currentTimeMillis() - timerStart;
+        flushTimer.record(lastFlushDuration, TimeUnit.MILLISECONDS);
+        logger.debug("JDBC: Flushed {} states for {} items to SQL database in {} ms.", count, pendingStates.size(),
+                lastFlushDuration);
+    }
+
+    private void requeue(Map<String, List<JdbcPendingState>> states) {
+        int dropped = writeBuffer.requeue(states);
+        if (dropped > 0) {
+            logger.warn("JDBC::flush: Write-behind buffer is full ({} states). Dropped the {} oldest states!",
+                    writeBuffer.getMaxSize(), dropped);
+            reportedDroppedCount += dropped;
+        }
+    }
+
+    private void startWriteBehind() {
+        stopWriteBehindJob();
+        writeBuffer.setMaxSize(conf.getWriteBehindMaxSize());
+        if (conf.isWriteBehindEnabled()) {
+            int interval = conf.getWriteBehindInterval();
+            logger.debug("JDBC::startWriteBehind: interval={} ms batchSize={}", interval,
+                    conf.getWriteBehindBatchSize());
+            writeBehindJob = scheduler.scheduleWithFixedDelay(this::flushWriteBuffer, interval, interval,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void stopWriteBehindJob() {
+        ScheduledFuture<?> writeBehindJob = this.writeBehindJob;
+        if (writeBehindJob != null) {
+            writeBehindJob.cancel(false);
+            this.writeBehindJob = null;
+        }
+    }
+
+    private void stopWriteBehind() {
+        stopWriteBehindJob();
+        if (!writeBuffer.isEmpty()) {
+            logger.debug("JDBC::deactivate: flushing {} buffered states", writeBuffer.size());
+            flushWriteBuffer();
+            if (!writeBuffer.isEmpty()) {
+                logger.warn("JDBC::deactivate: {} buffered states could not be written and are lost",
+                        writeBuffer.size());
+            }
+        }
+    }
+
+    /**
+     * Get the number of states currently waiting in the write-behind buffer.
+     */
+    public int getWriteBufferSize() {
+        return writeBuffer.size();
+    }
+
+    /**
+     * Get the duration in milliseconds of the last write-behind flush.
+     */
+    public long getLastFlushDuration() {
+        return lastFlushDuration;
+    }
+
+    /**
+     * Get the number of states written by the last write-behind flush.
+     */
+    public int getLastFlushCount() {
+        return lastFlushCount;
+    }
+
+    /**
+     * Get the number of buffered states that could not be written, either because the database rejected them or
+     * because they were dropped from the full buffer.
+     */
+    public long getDroppedCount() {
+        return failedCount + writeBuffer.getDroppedCount();
+    }
+
+    /**
+     * Check if the write-behind mode is active.
+     */
+    public boolean isWriteBehindActive() {
+        return writeBehindJob != null;
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
@@ -171,6 +382,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         try {
             long timerStart = System.currentTimeMillis();
             storeItemValue(item, state, date, alias);
+            storeTimer.record(System.currentTimeMillis() - timerStart, TimeUnit.MILLISECONDS);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Stored item '{}' as '{}' in SQL database at {} in {} ms.", item.getName(), state,
                         new Date(), System.currentTimeMillis() - timerStart);
@@ -212,36 +424,16 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return List.of();
         }
 
-        // Get the item name from the filter
-        // Also get the Item object so we can determine the type
-        Item item = null;
         String itemName = filter.getItemName();
         if (itemName == null) {
             logger.warn("Item name is missing in filter {}", filter);
             return List.of();
         }
-        logger.debug("JDBC::query: item is {}", itemName);
-        try {
-            item = itemRegistry.getItem(itemName);
-        } catch (ItemNotFoundException e1) {
-            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+        Item item = getQueryItem(itemName);
+        if (item == null) {
             return List.of();
         }
 
-        if (item instanceof GroupItem) {
-            // For Group Item is BaseItem needed to get correct Type of Value.
-            item = GroupItem.class.cast(item).getBaseItem();
-            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
-            if (item == null) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
-                return List.of();
-            }
-            if (item instanceof GroupItem) {
-                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
-                return List.of();
-            }
-        }
-
         String localAlias = alias != null ? alias : itemName;
         String table = itemNameToTableNameMap.get(localAlias);
         if (table == null) {
@@ -251,6 +443,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
 
         try {
+            int fetchSize = conf.getQueryFetchSize();
+            if (fetchSize > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+                // Unpaged queries may return any number of rows, so they are read page by page while iterating
+                return getHistItemFilterQueryStreamed(filter, conf.getNumberDecimalcount(), table, item, fetchSize);
+            }
             long timerStart = System.currentTimeMillis();
             List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
             if (logger.isDebugEnabled()) {
@@ -266,6 +463,104 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Queries the {@link PersistenceService} for data with a given filter
+     * criteria, aggregated by the database into buckets of the given duration.
+     *
+     * Paging of the filter is ignored. When the database does not support
+     * aggregated queries, the non-aggregated data is returned.
+     *
+     * @param filter the filter to apply to the query
+     * @param alias for the item
+     * @param aggregation the aggregation to apply per bucket
+     * @param bucket the duration of each bucket
+     * @return a time series of items, one per bucket containing data
+     */
+    public Iterable<HistoricItem> queryAggregated(FilterCriteria filter, @Nullable String alias,
+            JdbcAggregation aggregation, Duration bucket) {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::queryAggregated: database not connected, query aborted for item '{}'",
+                    filter.getItemName());
+            return List.of();
+        }
+        if (!conf.getDBDAO().isAggregatedQuerySupported()) {
+            logger.debug("JDBC::queryAggregated: not supported by database, falling back to regular query");
+            return query(filter, alias);
+        }
+
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            logger.warn("Item name is missing in filter {}", filter);
+            return List.of();
+        }
+        Item item = getQueryItem(itemName);
+        if (item == null) {
+            return List.of();
+        }
+        if (aggregation.isNumeric() && !isNumericItem(item)) {
+            logger.warn("JDBC::queryAggregated: aggregation {} is not supported for item '{}'", aggregation,
+                    itemName);
+            return List.of();
+        }
+
+        String localAlias = alias != null ? alias : itemName;
+        String table = itemNameToTableNameMap.get(localAlias);
+        if (table == null) {
+            logger.debug(
+                    "JDBC::queryAggregated: unable to find table for item with name or alias: '{}', no data in database.",
+                    localAlias);
+            return List.of();
+        }
+
+        try {
+            long timerStart = System.currentTimeMillis();
+            List<HistoricItem> items = getHistItemAggregatedQuery(filter, conf.getNumberDecimalcount(), table, item,
+                    aggregation, Math.max(1, bucket.toSeconds()));
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Aggregated query for item '{}' returned {} rows in {} ms", itemName, items.size(),
+                        System.currentTimeMillis() - timerStart);
+            }
+            return items;
+        } catch (JdbcSQLException e) {
+            logger.warn("JDBC::queryAggregated: Unable to query item", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Get the item for a query. For a {@link GroupItem}, its base item is returned, as it is needed to get the
+     * correct type of value.
+     */
+    private @Nullable Item getQueryItem(String itemName) {
+        logger.debug("JDBC::query: item is {}", itemName);
+        Item item;
+        try {
+            item = itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e1) {
+            logger.error("JDBC::query: unable to get item for itemName: '{}'. Ignore and give up!", itemName);
+            return null;
+        }
+
+        if (item instanceof GroupItem groupItem) {
+            item = groupItem.getBaseItem();
+            logger.debug("JDBC::query: item is instanceof GroupItem '{}'", itemName);
+            if (item == null) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is null. Ignore and give up!");
+                return null;
+            }
+            if (item instanceof GroupItem) {
+                logger.debug("JDBC::query: BaseItem of GroupItem is a GroupItem too. Ignore and give up!");
+                return null;
+            }
+        }
+        return item;
+    }
+
+    private boolean isNumericItem(Item item) {
+        return item instanceof NumberItem || item instanceof RollershutterItem
+                || (item instanceof DimmerItem && !(item instanceof ColorItem));
+    }
+
     private void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
@@ -283,6 +578,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } else {
             initialized = false;
         }
+        if (conf.valid) {
+            startWriteBehind();
+        }
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
+
+/**
+ * The {@link JdbcWriteBuffer} collects states for the write-behind mode, grouped per persisted item name
+ * (item name or alias), until they are drained and written to the database as one batch per item table.
+ *
+ * States for the same item are kept in the order they were added. The buffer holds at most
+ * {@link #getMaxSize()} states; when it is full, the oldest states are dropped to make room for new ones.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBuffer {
+
+    public static final int DEFAULT_MAX_SIZE = 100000;
+
+    private final Deque<JdbcPendingState> pendingStates = new ArrayDeque<>();
+    private int maxSize;
+    private long droppedCount = 0;
+
+    public JdbcWriteBuffer() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public JdbcWriteBuffer(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Add a state to the buffer. If the buffer is full, the oldest state is dropped.
+     *
+     * @param pendingState the state to add
+     * @return number of buffered states after adding
+     */
+    public synchronized int add(JdbcPendingState pendingState) {
+        pendingStates.addLast(pendingState);
+        trim();
+        return pendingStates.size();
+    }
+
+    /**
+     * Remove and return all buffered states.
+     *
+     * @return map of persisted item name to the states in insertion order
+     */
+    public synchronized Map<String, List<JdbcPendingState>> drain() {
+        Map<String, List<JdbcPendingState>> drained = new LinkedHashMap<>();
+        for (JdbcPendingState pendingState : pendingStates) {
+            drained.computeIfAbsent(pendingState.getPersistedName(), k -> new ArrayList<>()).add(pendingState);
+        }
+        pendingStates.clear();
+        return drained;
+    }
+
+    /**
+     * Put states that could not be written back in front of the buffer, so they are written with the next flush
+     * before any state added in the meantime. If the buffer is full, the oldest states are dropped.
+     *
+     * @param states the states to put back, as returned by {@link #drain()}
+     * @return number of states dropped because the buffer is full
+     */
+    public synchronized int requeue(Map<String, List<JdbcPendingState>> states) {
+        List<JdbcPendingState> requeued = new ArrayList<>();
+        states.values().forEach(requeued::addAll);
+        for (int i = requeued.size() - 1; i >= 0; i--) {
+            pendingStates.addFirst(requeued.get(i));
+        }
+        return trim();
+    }
+
+    private int trim() {
+        int dropped = 0;
+        while (pendingStates.size() > maxSize) {
+            pendingStates.removeFirst();
+            dropped++;
+        }
+        droppedCount += dropped;
+        return dropped;
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        trim();
+    }
+
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the number of states dropped because the buffer was full.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public synchronized int size() {
+        return pendingStates.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingStates.isEmpty();
+    }
+}
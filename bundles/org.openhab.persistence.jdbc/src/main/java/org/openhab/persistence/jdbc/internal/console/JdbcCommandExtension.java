@@ -12,6 +12,8 @@
  */
 package org.openhab.persistence.jdbc.internal.console;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -28,10 +30,14 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
+import org.openhab.persistence.jdbc.internal.JdbcAggregation;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -51,6 +57,8 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_WRITE_BUFFER = "writebuffer";
+    private static final String CMD_AGGREGATE = "aggregate";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,7 +66,7 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_WRITE_BUFFER, CMD_AGGREGATE), false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
@@ -135,6 +143,11 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_WRITE_BUFFER.equalsIgnoreCase(args[0])) {
+            writeBufferStatus(persistenceService, console);
+            return true;
+        } else if (args.length == 4 && CMD_AGGREGATE.equalsIgnoreCase(args[0])) {
+            return aggregate(persistenceService, console, args[1], args[2], args[3]);
         }
         return false;
     }
@@ -252,6 +265,38 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void writeBufferStatus(JdbcPersistenceService persistenceService, Console console) {
+        if (!persistenceService.isWriteBehindActive()) {
+            console.println("Write-behind is disabled.");
+            return;
+        }
+        console.println("Buffered states:     " + persistenceService.getWriteBufferSize());
+        console.println("Last flush count:    " + persistenceService.getLastFlushCount());
+        console.println("Last flush duration: " + persistenceService.getLastFlushDuration() + " ms");
+        console.println("Dropped states:      " + persistenceService.getDroppedCount());
+    }
+
+    private boolean aggregate(JdbcPersistenceService persistenceService, Console console, String itemName,
+            String function, String bucketMinutes) {
+        JdbcAggregation aggregation;
+        long minutes;
+        try {
+            aggregation = JdbcAggregation.valueOf(function.toUpperCase());
+            minutes = Long.parseLong(bucketMinutes);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setBeginDate(ZonedDateTime.now().minusDays(1));
+        filter.setOrdering(Ordering.ASCENDING);
+        for (HistoricItem historicItem : persistenceService.queryAggregated(filter, null, aggregation,
+                Duration.ofMinutes(minutes))) {
+            console.println(historicItem.getTimestamp() + "  " + historicItem.getState());
+        }
+        return true;
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +306,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_WRITE_BUFFER, "show write-behind buffer statistics"),
+                buildCommandUsage(CMD_AGGREGATE + " <itemName> <avg|min|max|last> <bucketMinutes>",
+                        "show values of the last day aggregated by the database"));
     }
 
     @Override
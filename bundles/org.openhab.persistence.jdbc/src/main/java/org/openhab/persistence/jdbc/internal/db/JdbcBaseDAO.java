@@ -56,10 +56,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.JdbcAggregation;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -446,12 +448,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
+        String sql = storeItemValueWithTimeProvider(storedVO);
+        Object[] params = storeItemValueWithTimeParamsProvider(storedVO, date);
+        logger.debug("JDBC::doStoreItemValue sql={} date={} value='{}'", sql, date, storedVO.getValue());
         try {
             Yank.execute(sql, params);
         } catch (YankSQLException e) {
@@ -459,6 +458,37 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Store a list of timestamped states for one item table as a single JDBC batch.
+     *
+     * The states are written in list order, so a later state for the same timestamp wins on databases that
+     * update on duplicate keys.
+     *
+     * @param item the item the states belong to
+     * @param tableName the table to store the states in
+     * @param states the states to store, must not be empty
+     * @throws JdbcSQLException on SQL errors
+     */
+    public void doStoreItemValues(Item item, String tableName, List<JdbcPendingState> states)
+            throws JdbcSQLException {
+        JdbcPendingState first = states.get(0);
+        ItemVO firstVO = storeItemValueProvider(item, first.getState(), new ItemVO(tableName, null));
+        String sql = storeItemValueWithTimeProvider(firstVO);
+        Object[][] params = new Object[states.size()][];
+        params[0] = storeItemValueWithTimeParamsProvider(firstVO, first.getDate());
+        for (int i = 1; i < states.size(); i++) {
+            JdbcPendingState pendingState = states.get(i);
+            ItemVO storedVO = storeItemValueProvider(item, pendingState.getState(), new ItemVO(tableName, null));
+            params[i] = storeItemValueWithTimeParamsProvider(storedVO, pendingState.getDate());
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
         String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
@@ -473,12 +503,78 @@ public class JdbcBaseDAO {
             logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
             return List.of();
         }
-        // we already retrieve the unit here once as it is a very costly operation
-        String itemName = item.getName();
-        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
-                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
-                .collect(Collectors.<HistoricItem> toList());
+        return toHistoricItems(item, m);
+    }
+
+    /**
+     * Query the historic states of an item that follow a given time in the order of the filter.
+     *
+     * Paging of the filter is applied to the rows following that time, so that the next page of a result can be read
+     * with an index range scan instead of skipping all rows of the previous pages.
+     *
+     * @param after the time of the last row of the previous page, not included in the result
+     */
+    public List<HistoricItem> doGetHistItemFilterQueryAfter(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, Instant after) throws JdbcSQLException {
+        String sql = histItemKeysetQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        Object[] params = { timeParamProvider(after) };
+        logger.debug("JDBC::doGetHistItemFilterQueryAfter sql={} after={}", sql, after);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemFilterQueryAfter Query failed. Returning an empty list.");
+            return List.of();
+        }
+        return toHistoricItems(item, m);
+    }
+
+    /**
+     * Query the historic states of an item without loading them into memory at once.
+     *
+     * The first {@code fetchSize} rows are read immediately, further pages of {@code fetchSize} rows are read when
+     * the returned {@link Iterable} is iterated.
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterQueryStreamed(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int fetchSize)
+            throws JdbcSQLException {
+        logger.debug("JDBC::doGetHistItemFilterQueryStreamed filter={} fetchSize={}", filter, fetchSize);
+        return new JdbcStreamingHistoricItems(this, item, filter, numberDecimalcount, table, name, timeZone,
+                fetchSize);
+    }
+
+    /**
+     * Query the historic states of an item aggregated in SQL per time bucket.
+     *
+     * Paging of the filter is ignored, each bucket with values results in one {@link HistoricItem} with the time of
+     * the first (or for {@link JdbcAggregation#LAST} the last) value in the bucket.
+     *
+     * @throws UnsupportedOperationException if the database does not support aggregated queries
+     */
+    public List<HistoricItem> doGetHistItemAggregatedQuery(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, JdbcAggregation aggregation, long bucketSeconds)
+            throws JdbcSQLException {
+        String sql = histItemAggregatedQueryProvider(filter, numberDecimalcount, table, name, timeZone, aggregation,
+                bucketSeconds);
+        logger.debug("JDBC::doGetHistItemAggregatedQuery sql={}", sql);
+        List<Object[]> m;
+        try {
+            m = Yank.queryObjectArrays(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        if (m == null) {
+            logger.debug("JDBC::doGetHistItemAggregatedQuery Query failed. Returning an empty list.");
+            return List.of();
+        }
+        return toHistoricItems(item, m);
+    }
+
+    public boolean isAggregatedQuerySupported() {
+        return timeBucketProvider(1) != null;
     }
 
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
@@ -531,6 +627,33 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the query of {@link #histItemFilterQueryProvider} restricted to the rows after the time given as
+     * parameter, in the order of the filter.
+     */
+    protected String histItemKeysetQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName, ZoneId timeZone) {
+        String queryString = histItemFilterQueryProvider(filter, numberDecimalcount, table, simpleName, timeZone);
+        int orderBy = queryString.lastIndexOf(" ORDER BY time");
+        String condition = (queryString.lastIndexOf(" WHERE", orderBy) >= 0 ? " AND" : " WHERE")
+                + (filter.getOrdering() == Ordering.ASCENDING ? " TIME>" : " TIME<") + timePlaceholderProvider();
+        return queryString.substring(0, orderBy) + condition + queryString.substring(orderBy);
+    }
+
+    /**
+     * Provides the SQL expression for a time parameter, see {@link #timeParamProvider(Instant)}.
+     */
+    protected String timePlaceholderProvider() {
+        return "?";
+    }
+
+    /**
+     * Provides the value of a time parameter compared with the time column.
+     */
+    protected Object timeParamProvider(Instant time) {
+        return java.sql.Timestamp.from(time);
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -556,6 +679,62 @@ public class JdbcBaseDAO {
         return filterString;
     }
 
+    /**
+     * Provides the insert statement for a value with explicit timestamp, the timestamp being the first parameter.
+     */
+    protected String storeItemValueWithTimeProvider(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+    }
+
+    /**
+     * Provides the parameters for the statement returned by {@link #storeItemValueWithTimeProvider(ItemVO)}.
+     */
+    protected Object[] storeItemValueWithTimeParamsProvider(ItemVO storedVO, ZonedDateTime date) {
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
+    protected String histItemAggregatedQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
+            String simpleName, ZoneId timeZone, JdbcAggregation aggregation, long bucketSeconds) {
+        String bucket = timeBucketProvider(bucketSeconds);
+        if (bucket == null) {
+            throw new UnsupportedOperationException("Aggregated queries are not supported by " + getClass().getName());
+        }
+        String filterString = resolveTimeFilter(filter, timeZone);
+        String order = (filter.getOrdering() == Ordering.ASCENDING) ? " ASC" : " DESC";
+        String queryString;
+        if (aggregation == JdbcAggregation.LAST) {
+            queryString = "SELECT t.time, t.value FROM " + formattedIdentifier(table) + " t INNER JOIN (SELECT MAX(time) "
+                    + "AS lasttime FROM " + formattedIdentifier(table) + filterString + " GROUP BY " + bucket
+                    + ") b ON t.time = b.lasttime ORDER BY t.time" + order;
+        } else {
+            String value = aggregation.name() + "(value)";
+            if (aggregation == JdbcAggregation.AVG && "NUMBERITEM".equalsIgnoreCase(simpleName)
+                    && numberDecimalcount > -1) {
+                value = roundedValueProvider(value, numberDecimalcount);
+            }
+            queryString = "SELECT MIN(time), " + value + " FROM " + formattedIdentifier(table) + filterString
+                    + " GROUP BY " + bucket + " ORDER BY 1" + order;
+        }
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides an expression grouping the time column into buckets of the given length.
+     *
+     * @return the expression, or null if aggregated queries are not supported
+     */
+    protected @Nullable String timeBucketProvider(long bucketSeconds) {
+        return "FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ")";
+    }
+
+    protected String roundedValueProvider(String value, int numberDecimalcount) {
+        return "ROUND(" + value + "," + numberDecimalcount + ")";
+    }
+
     private String updateItemTableNamesProvider(ItemVO itemTable) {
         String newTableName = itemTable.getNewTableName();
         if (newTableName == null) {
@@ -664,6 +843,15 @@ public class JdbcBaseDAO {
     /*****************
      * H E L P E R S *
      *****************/
+    private List<HistoricItem> toHistoricItems(Item item, List<Object[]> m) {
+        // we already retrieve the unit here once as it is a very costly operation
+        String itemName = item.getName();
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        return m.stream()
+                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
+                .collect(Collectors.<HistoricItem> toList());
+    }
+
     protected State objectAsState(Item item, @Nullable Unit<? extends Quantity<?>> unit, Object v) {
         logger.debug(
                 "JDBC::ItemResultHandler::handleResult getState value = '{}', unit = '{}', getClass = '{}', clazz = '{}'",
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * The {@link JdbcStreamingHistoricItems} is a query result that is read page by page while iterating.
+ *
+ * Each page of {@code pageSize} rows is read with its own query, so a connection is only taken from the pool while
+ * a page is read and an abandoned iterator does not hold any database resources. The following pages are selected by
+ * the time of the last row read instead of an offset, so that the database does not skip all previous rows again. The first page is read when the
+ * result is created, so that errors are reported to the caller of the query. A result that fits into the first page
+ * can be iterated any number of times; otherwise, like a {@link java.nio.file.DirectoryStream}, only one iterator
+ * can be obtained, so the query is not executed again.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStreamingHistoricItems implements Iterable<HistoricItem> {
+
+    private final JdbcBaseDAO dao;
+    private final Item item;
+    private final FilterCriteria filter;
+    private final int numberDecimalcount;
+    private final String table;
+    private final String name;
+    private final ZoneId timeZone;
+    private final int pageSize;
+    private final List<HistoricItem> firstPage;
+    private boolean iterated = false;
+
+    JdbcStreamingHistoricItems(JdbcBaseDAO dao, Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, int pageSize) throws JdbcSQLException {
+        this.dao = dao;
+        this.item = item;
+        this.filter = copyOf(filter);
+        if (filter.getEndDate() == null) {
+            // do not read rows stored while iterating, as they would shift the following pages
+            this.filter.setEndDate(ZonedDateTime.now());
+        }
+        this.numberDecimalcount = numberDecimalcount;
+        this.table = table;
+        this.name = name;
+        this.timeZone = timeZone;
+        this.pageSize = pageSize;
+        this.firstPage = readPage(null);
+    }
+
+    @Override
+    public synchronized Iterator<HistoricItem> iterator() {
+        if (firstPage.size() < pageSize) {
+            return firstPage.iterator();
+        }
+        if (iterated) {
+            throw new IllegalStateException("Query result for item '" + name + "' can only be iterated once");
+        }
+        iterated = true;
+        return new PageIterator();
+    }
+
+    /**
+     * Read the page following a row.
+     *
+     * @param last the last row of the previous page, or <code>null</code> for the first page
+     */
+    private List<HistoricItem> readPage(@Nullable HistoricItem last) throws JdbcSQLException {
+        FilterCriteria pageFilter = copyOf(filter);
+        pageFilter.setPageSize(pageSize);
+        return last == null
+                ? dao.doGetHistItemFilterQuery(item, pageFilter, numberDecimalcount, table, name, timeZone)
+                : dao.doGetHistItemFilterQueryAfter(item, pageFilter, numberDecimalcount, table, name, timeZone,
+                        last.getInstant());
+    }
+
+    private static FilterCriteria copyOf(FilterCriteria filter) {
+        FilterCriteria copy = new FilterCriteria();
+        copy.setItemName(filter.getItemName());
+        copy.setBeginDate(filter.getBeginDate());
+        copy.setEndDate(filter.getEndDate());
+        copy.setOrdering(filter.getOrdering());
+        copy.setOperator(filter.getOperator());
+        copy.setState(filter.getState());
+        return copy;
+    }
+
+    private class PageIterator implements Iterator<HistoricItem> {
+        private List<HistoricItem> page = firstPage;
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            if (index < page.size()) {
+                return true;
+            }
+            if (page.size() < pageSize) {
+                return false;
+            }
+            try {
+                page = readPage(page.get(page.size() - 1));
+            } catch (JdbcSQLException e) {
+                throw new IllegalStateException("Unable to read rows for item '" + name + "'", e);
+            }
+            index = 0;
+            return !page.isEmpty();
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(index++);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * Represents a state waiting in the write-behind buffer to be stored.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcPendingState {
+
+    private final Item item;
+    private final State state;
+    private final ZonedDateTime date;
+    private final @Nullable String alias;
+
+    public JdbcPendingState(Item item, State state, ZonedDateTime date, @Nullable String alias) {
+        this.item = item;
+        this.state = state;
+        this.date = date;
+        this.alias = alias;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ZonedDateTime getDate() {
+        return date;
+    }
+
+    public @Nullable String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Get the name the state is persisted under, i.e. the alias if present, otherwise the item name.
+     */
+    public String getPersistedName() {
+        String alias = this.alias;
+        return alias != null ? alias : item.getName();
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcPendingState [name=" + getPersistedName() + ", state=" + state + ", date=" + date + "]";
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.JdbcPendingState;
+
+/**
+ * Tests the {@link JdbcWriteBuffer}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcWriteBufferTest {
+
+    private final JdbcWriteBuffer writeBuffer = new JdbcWriteBuffer();
+
+    @Test
+    void drainGroupsStatesPerPersistedNameInInsertionOrder() {
+        NumberItem item1 = new NumberItem("Item1");
+        NumberItem item2 = new NumberItem("Item2");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        writeBuffer.add(new JdbcPendingState(item1, new DecimalType(1), now, null));
+        writeBuffer.add(new JdbcPendingState(item2, new DecimalType(2), now, null));
+        writeBuffer.add(new JdbcPendingState(item1, new DecimalType(3), now.plusSeconds(1), null));
+        assertThat(writeBuffer.add(new JdbcPendingState(item1, new DecimalType(4), now, "Alias1")), is(4));
+
+        Map<String, List<JdbcPendingState>> drained = writeBuffer.drain();
+
+        assertThat(drained.keySet(), contains("Item1", "Item2", "Alias1"));
+        assertThat(states(drained.get("Item1")), contains(new DecimalType(1), new DecimalType(3)));
+        assertThat(states(drained.get("Item2")), contains(new DecimalType(2)));
+        assertThat(states(drained.get("Alias1")), contains(new DecimalType(4)));
+        assertThat(writeBuffer.isEmpty(), is(true));
+        assertThat(writeBuffer.size(), is(0));
+    }
+
+    @Test
+    void requeuedStatesAreDrainedBeforeNewStates() {
+        NumberItem item1 = new NumberItem("Item1");
+        NumberItem item2 = new NumberItem("Item2");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        writeBuffer.add(new JdbcPendingState(item1, new DecimalType(1), now, null));
+        writeBuffer.add(new JdbcPendingState(item2, new DecimalType(2), now, null));
+        Map<String, List<JdbcPendingState>> failed = writeBuffer.drain();
+        writeBuffer.add(new JdbcPendingState(item1, new DecimalType(3), now, null));
+
+        assertThat(writeBuffer.requeue(failed), is(0));
+        assertThat(writeBuffer.size(), is(3));
+
+        Map<String, List<JdbcPendingState>> drained = writeBuffer.drain();
+
+        assertThat(drained.keySet(), contains("Item1", "Item2"));
+        assertThat(states(drained.get("Item1")), contains(new DecimalType(1), new DecimalType(3)));
+        assertThat(states(drained.get("Item2")), contains(new DecimalType(2)));
+    }
+
+    @Test
+    void fullBufferDropsOldestStates() {
+        JdbcWriteBuffer writeBuffer = new JdbcWriteBuffer(3);
+        NumberItem item = new NumberItem("Item1");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(writeBuffer.add(new JdbcPendingState(item, new DecimalType(i), now, null)), is(Math.min(i, 3)));
+        }
+        assertThat(writeBuffer.getDroppedCount(), is(1L));
+
+        Map<String, List<JdbcPendingState>> failed = writeBuffer.drain();
+        writeBuffer.add(new JdbcPendingState(item, new DecimalType(5), now, null));
+        writeBuffer.add(new JdbcPendingState(item, new DecimalType(6), now, null));
+
+        assertThat(writeBuffer.requeue(failed), is(2));
+        assertThat(writeBuffer.getDroppedCount(), is(3L));
+        assertThat(states(writeBuffer.drain().get("Item1")),
+                contains(new DecimalType(4), new DecimalType(5), new DecimalType(6)));
+    }
+
+    private List<State> states(@Nullable List<JdbcPendingState> pendingStates) {
+        return pendingStates == null ? List.of()
+                : pendingStates.stream().map(JdbcPendingState::getState).collect(Collectors.toList());
+    }
+}
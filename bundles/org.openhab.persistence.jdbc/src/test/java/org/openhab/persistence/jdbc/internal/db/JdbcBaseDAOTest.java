@@ -66,6 +66,7 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.JdbcAggregation;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -192,6 +193,49 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemKeysetQueryProviderAddsTimeConditionAfterFilter() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setPageSize(100);
+
+        String sql = jdbcBaseDAO.histItemKeysetQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' AND TIME>? ORDER BY time ASC LIMIT 0,100"));
+    }
+
+    @Test
+    void testHistItemKeysetQueryProviderAddsWhereClauseDescendingOrder() {
+        filter.setPageSize(100);
+
+        String sql = jdbcBaseDAO.histItemKeysetQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME<? ORDER BY time DESC LIMIT 0,100"));
+    }
+
+    @Test
+    void testHistItemAggregatedQueryProviderReturnsGroupedSelectQuery() {
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = jdbcBaseDAO.histItemAggregatedQueryProvider(filter, 2, DB_TABLE_NAME, "NUMBERITEM", UTC_ZONE_ID,
+                JdbcAggregation.AVG, 300);
+        assertThat(sql, is("SELECT MIN(time), ROUND(AVG(value),2) FROM " + DB_TABLE_NAME
+                + " GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 300) ORDER BY 1 ASC"));
+    }
+
+    @Test
+    void testHistItemAggregatedQueryProviderWithLastReturnsJoinedSelectQuery() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+
+        String sql = jdbcBaseDAO.histItemAggregatedQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID,
+                JdbcAggregation.LAST, 60);
+        assertThat(sql, is("SELECT t.time, t.value FROM " + DB_TABLE_NAME
+                + " t INNER JOIN (SELECT MAX(time) AS lasttime FROM " + DB_TABLE_NAME + " WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' GROUP BY FLOOR(UNIX_TIMESTAMP(time) / 60)) b ON t.time = b.lasttime ORDER BY t.time DESC"));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
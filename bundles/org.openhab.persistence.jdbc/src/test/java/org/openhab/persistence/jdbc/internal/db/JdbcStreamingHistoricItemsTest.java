@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the {@link JdbcStreamingHistoricItems}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcStreamingHistoricItemsTest {
+
+    private static final ZoneId UTC_ZONE_ID = ZoneId.of("UTC");
+
+    private final NumberItem item = new NumberItem("Item1");
+
+    /**
+     * Holds the rows 0 to {@code rows - 1}, stored at the epoch second of their value.
+     */
+    private static class PagedDAO extends JdbcBaseDAO {
+        private final int rows;
+        private final List<FilterCriteria> queries = new ArrayList<>();
+        private final List<@Nullable Instant> afters = new ArrayList<>();
+        private int failingQuery = -1;
+
+        PagedDAO(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
+                String table, String name, ZoneId timeZone) throws JdbcSQLException {
+            return query(filter, name, null);
+        }
+
+        @Override
+        public List<HistoricItem> doGetHistItemFilterQueryAfter(Item item, FilterCriteria filter,
+                int numberDecimalcount, String table, String name, ZoneId timeZone, Instant after)
+                throws JdbcSQLException {
+            return query(filter, name, after);
+        }
+
+        private List<HistoricItem> query(FilterCriteria filter, String name, @Nullable Instant after)
+                throws JdbcSQLException {
+            queries.add(filter);
+            afters.add(after);
+            if (queries.size() - 1 == failingQuery) {
+                throw new JdbcSQLException(mock(YankSQLException.class));
+            }
+            boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+            IntStream values = IntStream.range(0, rows);
+            if (!ascending) {
+                values = values.map(i -> rows - 1 - i);
+            }
+            if (after != null) {
+                long second = after.getEpochSecond();
+                values = values.filter(i -> ascending ? i > second : i < second);
+            }
+            return values.limit(filter.getPageSize()).mapToObj(
+                    i -> (HistoricItem) new JdbcHistoricItem(name, new DecimalType(i), Instant.ofEpochSecond(i)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void readsAllPages() throws JdbcSQLException {
+        PagedDAO dao = new PagedDAO(7);
+        FilterCriteria filter = new FilterCriteria();
+        filter.setOrdering(Ordering.ASCENDING);
+
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(dao, item, filter, 3, "table",
+                item.getName(), UTC_ZONE_ID, 3);
+
+        assertThat(dao.queries.size(), is(1));
+        assertThat(states(result), contains(new DecimalType(0), new DecimalType(1), new DecimalType(2),
+                new DecimalType(3), new DecimalType(4), new DecimalType(5), new DecimalType(6)));
+        assertThat(dao.queries.size(), is(3));
+        // the following pages start after the last row read, not at an offset
+        assertThat(dao.queries.stream().map(FilterCriteria::getPageNumber).collect(Collectors.toList()),
+                contains(0, 0, 0));
+        assertThat(dao.afters, contains(nullValue(), is(Instant.ofEpochSecond(2)), is(Instant.ofEpochSecond(5))));
+        // the end of the query is fixed, so rows stored while iterating do not shift the pages
+        assertThat(dao.queries.stream().allMatch(q -> q.getEndDate() != null), is(true));
+        assertThat(filter.getEndDate(), is(nullValue()));
+    }
+
+    @Test
+    void readsAllPagesDescending() throws JdbcSQLException {
+        PagedDAO dao = new PagedDAO(5);
+
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(dao, item, new FilterCriteria(), 3,
+                "table", item.getName(), UTC_ZONE_ID, 2);
+
+        assertThat(states(result), contains(new DecimalType(4), new DecimalType(3), new DecimalType(2),
+                new DecimalType(1), new DecimalType(0)));
+        assertThat(dao.afters, contains(nullValue(), is(Instant.ofEpochSecond(3)), is(Instant.ofEpochSecond(1))));
+    }
+
+    @Test
+    void resultWithMultiplePagesCanOnlyBeIteratedOnce() throws JdbcSQLException {
+        PagedDAO dao = new PagedDAO(6);
+
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(dao, item, new FilterCriteria(), 3,
+                "table", item.getName(), UTC_ZONE_ID, 3);
+
+        assertThat(states(result).size(), is(6));
+        assertThrows(IllegalStateException.class, result::iterator);
+        // the last page was empty
+        assertThat(dao.queries.size(), is(3));
+    }
+
+    @Test
+    void resultWithinFirstPageIsNotQueriedAgain() throws JdbcSQLException {
+        PagedDAO dao = new PagedDAO(2);
+
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(dao, item, new FilterCriteria(), 3,
+                "table", item.getName(), UTC_ZONE_ID, 3);
+
+        assertThat(states(result), contains(new DecimalType(1), new DecimalType(0)));
+        assertThat(states(result), contains(new DecimalType(1), new DecimalType(0)));
+        assertThat(dao.queries.size(), is(1));
+    }
+
+    @Test
+    void errorsArePropagated() throws JdbcSQLException {
+        PagedDAO dao = new PagedDAO(0);
+        dao.failingQuery = 0;
+        assertThrows(JdbcSQLException.class, () -> new JdbcStreamingHistoricItems(dao, item, new FilterCriteria(), 3,
+                "table", item.getName(), UTC_ZONE_ID, 3));
+
+        PagedDAO failingDao = new PagedDAO(6);
+        failingDao.failingQuery = 1;
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(failingDao, item, new FilterCriteria(), 3,
+                "table", item.getName(), UTC_ZONE_ID, 3);
+        assertThrows(IllegalStateException.class, () -> states(result));
+    }
+
+    @Test
+    void emptyResult() throws JdbcSQLException {
+        JdbcStreamingHistoricItems result = new JdbcStreamingHistoricItems(new PagedDAO(0), item,
+                new FilterCriteria(), 3, "table", item.getName(), UTC_ZONE_ID, 3);
+
+        assertThat(states(result), is(empty()));
+    }
+
+    private List<State> states(Iterable<HistoricItem> result) {
+        return StreamSupport.stream(result.spliterator(), false).map(HistoricItem::getState)
+                .collect(Collectors.toList());
+    }
+}
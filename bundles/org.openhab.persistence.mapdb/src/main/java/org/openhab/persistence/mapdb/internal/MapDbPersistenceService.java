@@ -25,7 +25,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +39,8 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
@@ -50,6 +56,7 @@ import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,8 +71,10 @@ import com.google.gson.GsonBuilder;
  * @author Martin Kühl - Port to 3.x
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", //
+        property = Constants.SERVICE_PID + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
@@ -74,9 +83,24 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    protected static final String CONFIG_URI = "persistence:mapdb";
+    private static final String COMMIT_INTERVAL_CONFIG = "commitInterval";
+    private static final int COMMIT_INTERVAL_DEFAULT = 5;
+    private static final String COMMIT_SIZE_CONFIG = "commitSize";
+    private static final int COMMIT_SIZE_DEFAULT = 100;
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool;
+
+    /**
+     * holds the stored items that are not yet written to the database, only the latest value per alias is kept
+     */
+    private final Map<String, MapDbItem> dirtyItems = new ConcurrentHashMap<>();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
+    private @Nullable ScheduledFuture<?> commitJob;
+    private int commitInterval = COMMIT_INTERVAL_DEFAULT;
+    private int commitSize = COMMIT_SIZE_DEFAULT;
 
     /**
      * holds the local instance of the MapDB database
@@ -88,9 +112,18 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
 
+    public MapDbPersistenceService() {
+        this(ThreadPoolManager.getScheduledPool(MapDbPersistenceService.class.getSimpleName()));
+    }
+
+    MapDbPersistenceService(ScheduledExecutorService threadPool) {
+        this.threadPool = threadPool;
+    }
+
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        readConfig(config);
 
         try {
             Files.createDirectories(DB_DIR);
@@ -139,16 +172,81 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        startCommitJob();
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    public void modified(Map<String, Object> config) {
+        readConfig(config);
+        if (db != null) {
+            stopCommitJob();
+            startCommitJob();
+        }
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
-        if (db != null) {
-            db.close();
+        stopCommitJob();
+        synchronized (this) {
+            if (db != null) {
+                commitDirtyItems();
+                db.close();
+            }
+        }
+    }
+
+    private void readConfig(Map<String, Object> config) {
+        commitInterval = ConfigParser.valueAsOrElse(config.get(COMMIT_INTERVAL_CONFIG), Integer.class,
+                COMMIT_INTERVAL_DEFAULT);
+        commitSize = ConfigParser.valueAsOrElse(config.get(COMMIT_SIZE_CONFIG), Integer.class, COMMIT_SIZE_DEFAULT);
+        logger.debug("MapDB commit interval is {}s, commit size is {}", commitInterval, commitSize);
+    }
+
+    private void startCommitJob() {
+        if (commitInterval > 0) {
+            commitJob = threadPool.scheduleWithFixedDelay(this::commitDirtyItems, commitInterval, commitInterval,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    private void stopCommitJob() {
+        ScheduledFuture<?> commitJob = this.commitJob;
+        if (commitJob != null) {
+            commitJob.cancel(false);
+            this.commitJob = null;
+        }
+    }
+
+    /**
+     * Writes all dirty items to the map and commits them to the database file with a single commit.
+     */
+    private synchronized void commitDirtyItems() {
+        // items stored from now on need another commit
+        commitScheduled.set(false);
+        if (dirtyItems.isEmpty() || db == null || db.isClosed()) {
+            return;
+        }
+        try {
+            int count = 0;
+            for (Map.Entry<String, MapDbItem> entry : dirtyItems.entrySet()) {
+                String alias = entry.getKey();
+                MapDbItem mItem = entry.getValue();
+                String json = serialize(mItem);
+                map.put(alias, json);
+                // a newer value stored in the meantime stays dirty
+                dirtyItems.remove(alias, mItem);
+                count++;
+                logger.trace("Stored '{}' with state '{}' as '{}' in MapDB database", alias, mItem.getState(), json);
+            }
+            db.commit();
+            logger.debug("Committed {} items to MapDB database", count);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to commit items to MapDB database: {}", e.getMessage());
         }
     }
 
@@ -164,7 +262,10 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+        Stream<MapDbItem> committedItems = map.entrySet().stream()
+                .filter(entry -> !dirtyItems.containsKey(entry.getKey())).map(entry -> deserialize(entry.getValue()))
+                .flatMap(MapDbPersistenceService::streamOptional);
+        return Stream.concat(dirtyItems.values().stream(), committedItems)
                 .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
@@ -192,38 +293,39 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(lastStateUpdate != null ? Date.from(lastStateUpdate.toInstant()) : new Date());
         ZonedDateTime lastStateChange = item.getLastStateChange();
         mItem.setLastStateChange(lastStateChange != null ? Date.from(lastStateChange.toInstant()) : null);
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        dirtyItems.put(localAlias, mItem);
+        if ((commitInterval <= 0 || dirtyItems.size() >= commitSize) && commitScheduled.compareAndSet(false, true)) {
+            threadPool.submit(this::commitDirtyItems);
+        }
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
-        }
-        Optional<MapDbItem> item = deserialize(json);
+        Optional<MapDbItem> item = load(filter.getItemName());
         return item.isPresent() ? List.of(item.get()) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
-            return null;
-        }
-        Optional<MapDbItem> item = deserialize(json);
-        MapDbItem dbItem = item.orElse(null);
+        MapDbItem dbItem = load(alias != null ? alias : itemName).orElse(null);
         if (dbItem != null) {
             dbItem.setName(itemName);
         }
         return dbItem;
     }
 
+    /**
+     * Loads an item, preferring the value that is not yet committed. Always returns a new instance.
+     */
+    private Optional<MapDbItem> load(@Nullable String alias) {
+        if (alias == null) {
+            return Optional.empty();
+        }
+        MapDbItem dirtyItem = dirtyItems.get(alias);
+        String json = dirtyItem != null ? serialize(dirtyItem) : map.get(alias);
+        return json == null ? Optional.empty() : deserialize(json);
+    }
+
     private String serialize(MapDbItem item) {
         return mapper.toJson(item);
     }
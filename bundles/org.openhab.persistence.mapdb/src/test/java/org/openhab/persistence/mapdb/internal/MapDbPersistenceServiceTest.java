@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.PersistedItem;
+
+/**
+ * Tests when the {@link MapDbPersistenceService} commits stored items.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbPersistenceServiceTest {
+
+    private final ScheduledExecutorService threadPool = mock(ScheduledExecutorService.class);
+    private final MapDbPersistenceService service = new MapDbPersistenceService(threadPool);
+
+    @BeforeEach
+    public void setUp() {
+        service.modified(Map.<String, Object> of("commitInterval", 5, "commitSize", 3));
+    }
+
+    @Test
+    public void commitIsScheduledOnceWhenCommitSizeIsReached() {
+        store("Item1", 1);
+        store("Item2", 2);
+        verify(threadPool, never()).submit(any(Runnable.class));
+
+        store("Item3", 3);
+        store("Item4", 4);
+        store("Item1", 5);
+        ArgumentCaptor<Runnable> commit = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool, times(1)).submit(commit.capture());
+
+        // the scheduled commit runs, items stored afterwards need another commit
+        commit.getValue().run();
+        store("Item5", 6);
+        verify(threadPool, times(2)).submit(any(Runnable.class));
+    }
+
+    @Test
+    public void commitIsScheduledOnceWithoutCommitInterval() {
+        service.modified(Map.<String, Object> of("commitInterval", 0, "commitSize", 3));
+
+        store("Item1", 1);
+        store("Item1", 2);
+        verify(threadPool, times(1)).submit(any(Runnable.class));
+    }
+
+    @Test
+    public void storedItemIsReturnedBeforeCommit() {
+        store("Item1", 1);
+        store("Item1", 2);
+
+        PersistedItem item = Objects.requireNonNull(service.persistedItem("Item1", null));
+        assertThat(item.getState(), is(new DecimalType(2)));
+    }
+
+    private void store(String name, int value) {
+        NumberItem item = new NumberItem(name);
+        item.setState(new DecimalType(value));
+        service.store(item);
+    }
+}
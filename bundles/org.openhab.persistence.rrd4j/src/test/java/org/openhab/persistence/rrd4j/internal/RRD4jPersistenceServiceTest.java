@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests storing values with the {@link RRD4jPersistenceService}.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest {
+
+    private static @TempDir @NonNullByDefault({}) Path userData;
+
+    private final ItemRegistry itemRegistry = mock(ItemRegistry.class);
+    private @NonNullByDefault({}) RRD4jPersistenceService service;
+
+    @BeforeAll
+    public static void setUpUserData() {
+        // the database folder is resolved once, before the service class is used
+        System.setProperty("openhab.userdata", userData.toString());
+    }
+
+    @BeforeEach
+    public void setUp() throws ItemNotFoundException {
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> new NumberItem(invocation.getArgument(0)));
+        service = new RRD4jPersistenceService(itemRegistry, Map.of());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.deactivate();
+    }
+
+    @Test
+    public void pendingValuesOfAllItemsAreWrittenOnDeactivate() throws IOException {
+        store("Deactivate1", 1);
+        store("Deactivate2", 2);
+
+        service.deactivate();
+
+        assertThat(lastValue("Deactivate1"), is(1.0));
+        assertThat(lastValue("Deactivate2"), is(2.0));
+    }
+
+    @Test
+    public void valuesOfOneItemAreWrittenInTimestampOrder() throws IOException, InterruptedException {
+        store("Ordered", 1);
+        // values are stored per second, the next value gets a later timestamp
+        Thread.sleep(1100);
+        store("Ordered", 2);
+
+        service.deactivate();
+
+        // a value written before an older one would make rrd4j reject the older one
+        assertThat(lastValue("Ordered"), is(2.0));
+    }
+
+    @Test
+    public void valuesStoredConcurrentlyAreWritten() throws Exception {
+        int items = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < items; i++) {
+                int value = i;
+                futures.add(executor.submit(() -> store("Concurrent" + value, value)));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        service.deactivate();
+
+        for (int i = 0; i < items; i++) {
+            assertThat(Files.exists(RRD4jPersistenceService.getDatabasePath("Concurrent" + i)), is(true));
+            assertThat(lastValue("Concurrent" + i), is((double) i));
+        }
+    }
+
+    private void store(String name, int value) {
+        NumberItem item = new NumberItem(name);
+        item.setState(new DecimalType(value));
+        service.store(item);
+    }
+
+    private double lastValue(String name) throws IOException {
+        RrdDb db = RrdDb.getBuilder().setPool(RRD4jPersistenceService.getDatabasePool())
+                .setPath(RRD4jPersistenceService.getDatabasePath(name).toString()).build();
+        try {
+            return db.getLastDatasourceValue("state");
+        } finally {
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.jsonpath.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * The {@link JSonPathCache} keeps recently parsed JSON documents and compiled JsonPath expressions, so that channels
+ * evaluating different expressions against the same payload share one parse.
+ *
+ * Parsed documents are only kept for a short time, as payloads usually change with every refresh. A document is found
+ * by identity of the source string first and by equality otherwise. Parsed documents are only read, never modified,
+ * so they can be shared between threads.
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class JSonPathCache {
+
+    private final int maxDocuments;
+    private final long documentTtlNanos;
+    private final int maxPaths;
+
+    private final Deque<CachedDocument> documents = new ArrayDeque<>();
+    private final Map<String, JsonPath> paths;
+
+    private long parseCount = 0;
+    private long parseNanos = 0;
+    private long documentHits = 0;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxDocuments maximum number of parsed documents kept
+     * @param documentTtl time a parsed document is kept after it has been parsed
+     * @param unit unit of <code>documentTtl</code>
+     * @param maxPaths maximum number of compiled expressions kept
+     */
+    public JSonPathCache(int maxDocuments, long documentTtl, TimeUnit unit, int maxPaths) {
+        this.maxDocuments = maxDocuments;
+        this.documentTtlNanos = unit.toNanos(documentTtl);
+        this.maxPaths = maxPaths;
+        this.paths = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonPath> eldest) {
+                return size() > JSonPathCache.this.maxPaths;
+            }
+        };
+    }
+
+    /**
+     * Get the parsed document for the given source, parsing it if it is not cached.
+     *
+     * @param source the JSON payload
+     * @return the parsed document
+     * @throws com.jayway.jsonpath.InvalidJsonException if the source is not valid JSON
+     */
+    public DocumentContext parse(String source) {
+        long now = System.nanoTime();
+        DocumentContext document = getDocument(source, now);
+        if (document != null) {
+            return document;
+        }
+
+        document = JsonPath.parse(source);
+        long duration = System.nanoTime() - now;
+
+        synchronized (documents) {
+            parseCount++;
+            parseNanos += duration;
+            documents.addFirst(new CachedDocument(source, source.hashCode(), document, now + documentTtlNanos));
+            while (documents.size() > maxDocuments) {
+                documents.removeLast();
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Get the compiled expression, compiling it if it is not cached.
+     *
+     * @param expression the JsonPath expression
+     * @return the compiled expression
+     * @throws com.jayway.jsonpath.InvalidPathException if the expression is invalid
+     */
+    public JsonPath compile(String expression) {
+        synchronized (paths) {
+            JsonPath path = paths.get(expression);
+            if (path == null) {
+                path = JsonPath.compile(expression);
+                paths.put(expression, path);
+            }
+            return path;
+        }
+    }
+
+    private @Nullable DocumentContext getDocument(String source, long now) {
+        int hash = source.hashCode();
+        synchronized (documents) {
+            Iterator<CachedDocument> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                CachedDocument cached = iterator.next();
+                if (now - cached.expires() > 0) {
+                    iterator.remove();
+                } else if (cached.source() == source || (cached.hash() == hash && cached.source().equals(source))) {
+                    documentHits++;
+                    return cached.document();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of documents parsed since creation.
+     */
+    public long getParseCount() {
+        synchronized (documents) {
+            return parseCount;
+        }
+    }
+
+    /**
+     * Get the total time spent parsing documents in milliseconds.
+     */
+    public long getParseTimeMillis() {
+        synchronized (documents) {
+            return TimeUnit.NANOSECONDS.toMillis(parseNanos);
+        }
+    }
+
+    /**
+     * Get the number of transformations that reused an already parsed document.
+     */
+    public long getDocumentHits() {
+        synchronized (documents) {
+            return documentHits;
+        }
+    }
+
+    public int getPathCount() {
+        synchronized (paths) {
+            return paths.size();
+        }
+    }
+
+    /**
+     * Remove all cached documents and expressions.
+     */
+    public void clear() {
+        synchronized (documents) {
+            documents.clear();
+        }
+        synchronized (paths) {
+            paths.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (documents) {
+            return "parses=" + parseCount + ", parseTime=" + TimeUnit.NANOSECONDS.toMillis(parseNanos)
+                    + "ms, reused=" + documentHits;
+        }
+    }
+
+    private record CachedDocument(String source, int hash, DocumentContext document, long expires) {
+    }
+}
@@ -13,6 +13,7 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +25,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -39,8 +41,15 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int DOCUMENT_CACHE_SIZE = 8;
+    private static final long DOCUMENT_CACHE_TTL_MS = 2000;
+    private static final int PATH_CACHE_SIZE = 256;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final JSonPathCache cache = new JSonPathCache(DOCUMENT_CACHE_SIZE, DOCUMENT_CACHE_TTL_MS,
+            TimeUnit.MILLISECONDS, PATH_CACHE_SIZE);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +71,13 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = cache.compile(jsonPathExpression);
+            long parseCount = cache.getParseCount();
+            DocumentContext document = cache.parse(source);
+            if (logger.isDebugEnabled() && cache.getParseCount() != parseCount) {
+                logger.debug("parsed JSON document of {} characters ({})", source.length(), cache);
+            }
+            Object transformationResult = document.read(jsonPath);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +93,13 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Get the cache of parsed documents and compiled expressions used by this service.
+     */
+    public JSonPathCache getCache() {
+        return cache;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -129,4 +129,31 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSamePayloadIsParsedOnce() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+        assertEquals("alice", processor.transform("$[1].name", new String(JSON_ARRAY)));
+
+        assertEquals(1, processor.getCache().getParseCount());
+        assertEquals(2, processor.getCache().getDocumentHits());
+        assertEquals(3, processor.getCache().getPathCount());
+    }
+
+    @Test
+    public void testChangedPayloadIsParsedAgain() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+        assertEquals("carol", processor.transform("$[0].name", JSON_ARRAY.replace("bob", "carol")));
+
+        assertEquals(2, processor.getCache().getParseCount());
+        assertEquals(1, processor.getCache().getPathCount());
+    }
+
+    @Test
+    public void testInvalidJsonIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertThrows(TransformationException.class, () -> processor.transform("$", "{id:"));
+        assertEquals(0, processor.getCache().getParseCount());
+    }
 }
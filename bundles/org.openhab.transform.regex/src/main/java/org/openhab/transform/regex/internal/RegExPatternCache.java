@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.regex.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link RegExPatternCache} is a size-bounded cache that keeps the least recently used compiled expressions.
+ *
+ * @param <V> the type of the compiled expression
+ *
+ * @author Giovanni Battista - Initial contribution
+ */
+@NonNullByDefault
+public class RegExPatternCache<V> {
+
+    private final Function<String, V> compiler;
+    private final Map<String, V> cache;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize maximum number of cached expressions
+     * @param compiler function to compile an expression that is not cached
+     */
+    public RegExPatternCache(int maxSize, Function<String, V> compiler) {
+        this.compiler = compiler;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, V> eldest) {
+                if (size() > maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get the compiled expression from the cache or compile and cache it.
+     *
+     * @param expression the expression
+     * @return the compiled expression
+     * @throws PatternSyntaxException if the expression is invalid, invalid expressions are not cached
+     */
+    public synchronized V get(String expression) {
+        V compiled = cache.get(expression);
+        if (compiled != null) {
+            hits++;
+            return compiled;
+        }
+        misses++;
+        compiled = compiler.apply(expression);
+        cache.put(expression, compiled);
+        return compiled;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RegExPatternCache [size=" + cache.size() + ", hits=" + hits + ", misses=" + misses + ", evictions="
+                + evictions + "]";
+    }
+}
@@ -75,4 +75,41 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledPatternIsCached() throws TransformationException {
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source);
+
+        // method under test
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "A1");
+
+        // Asserts
+        assertEquals("varA=1 ", transformedResponse);
+        assertEquals(2, processor.getPatternCache().getMisses());
+        assertEquals(1, processor.getPatternCache().getHits());
+    }
+
+    @Test
+    public void testTransformByRegex_invalidRegex() {
+        assertThrows(TransformationException.class, () -> processor.transform("(unclosed", source));
+        assertEquals(0, processor.getPatternCache().size());
+    }
+
+    @Test
+    public void testPatternCacheEvictsLeastRecentlyUsed() {
+        RegExPatternCache<String> cache = new RegExPatternCache<>(2, String::toUpperCase);
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+        cache.get("c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        // "b" was least recently used and has been evicted
+        cache.get("b");
+        assertEquals(4, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
 }
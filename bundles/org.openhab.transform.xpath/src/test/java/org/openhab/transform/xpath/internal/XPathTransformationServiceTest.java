@@ -14,6 +14,9 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
@@ -38,4 +41,45 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathReusesCompiledExpression()
+            throws TransformationException, XPathExpressionException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        XPathExpression compiled = processor.getExpression("//current_conditions/temp_c/@data");
+        assertEquals("12", processor.transform("//current_conditions/temp_c/@data",
+                source.replace("<temp_c data=\"8\"/>", "<temp_c data=\"12\"/>")));
+        assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+
+        assertSame(compiled, processor.getExpression("//current_conditions/temp_c/@data"));
+        assertNotSame(compiled, processor.getExpression("//current_conditions/temp_f/@data"));
+    }
+
+    @Test
+    public void testTransformByXPathEvictsLeastRecentlyUsedExpression() throws XPathExpressionException {
+        XPathExpression first = processor.getExpression("/a");
+        XPathExpression second = processor.getExpression("/b");
+        for (int i = 0; i < XPathTransformationService.EXPRESSION_CACHE_SIZE - 2; i++) {
+            processor.getExpression("/c" + i);
+        }
+        // touch the first expression, so the second one is the least recently used
+        assertSame(first, processor.getExpression("/a"));
+        processor.getExpression("/d");
+
+        assertSame(first, processor.getExpression("/a"));
+        assertNotSame(second, processor.getExpression("/b"));
+    }
+
+    @Test
+    public void testTransformByXPathInvalidExpression() {
+        assertThrows(TransformationException.class, () -> processor.transform("//current_conditions[", source));
+        assertThrows(TransformationException.class, () -> processor.transform("//current_conditions[", source));
+    }
+
+    @Test
+    public void testTransformByXPathInvalidSource() throws TransformationException {
+        assertThrows(TransformationException.class,
+                () -> processor.transform("//current_conditions/temp_c/@data", "<xml_api_reply>"));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
 }
@@ -12,12 +12,18 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,14 +41,38 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached per file and recompiled when the modification time or size of the file changes.
+ * The cache keeps the {@value #TEMPLATES_CACHE_SIZE} most recently used stylesheets.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
 public class XsltTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled stylesheets kept in the cache.
+     */
+    static final int TEMPLATES_CACHE_SIZE = 64;
+
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final Map<Path, CachedTemplates> templatesCache = Collections
+            .synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, CachedTemplates> eldest) {
+                    return size() > TEMPLATES_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * {@link TransformerFactory} is not thread-safe, so each thread compiling stylesheets uses its own instance.
+     */
+    private final ThreadLocal<TransformerFactory> transformerFactory = ThreadLocal
+            .withInitial(TransformerFactory::newInstance);
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +90,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path path;
+        BasicFileAttributes attributes;
 
         try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            path = Path.of(OpenHAB.getConfigFolder(), TransformationService.TRANSFORM_FOLDER_NAME, filename);
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -73,16 +103,13 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException(message, e);
         }
 
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, path);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
-            transformer.transform(new StreamSource(xml), new StreamResult(out));
+            getTemplates(path, attributes).newTransformer().transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
             throw new TransformationException("transformation throws exception", e);
@@ -92,4 +119,31 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Get the compiled stylesheet for the given file, compiling it if it is not cached yet or the file has changed.
+     *
+     * {@link Templates} are thread-safe, so one compiled stylesheet is shared by all threads.
+     */
+    private Templates getTemplates(Path path, BasicFileAttributes attributes) throws TransformerConfigurationException {
+        FileTime lastModified = attributes.lastModifiedTime();
+        long size = attributes.size();
+        CachedTemplates cached = templatesCache.get(path);
+        if (cached != null && cached.lastModified().equals(lastModified) && cached.size() == size) {
+            return cached.templates();
+        }
+
+        logger.debug("compiling stylesheet '{}'", path);
+        Templates templates = transformerFactory.get().newTemplates(new StreamSource(path.toFile()));
+        templatesCache.put(path, new CachedTemplates(templates, lastModified, size));
+        return templates;
+    }
+
+    // Visible for testing
+    int getCachedTemplatesCount() {
+        return templatesCache.size();
+    }
+
+    private record CachedTemplates(Templates templates, FileTime lastModified, long size) {
+    }
 }
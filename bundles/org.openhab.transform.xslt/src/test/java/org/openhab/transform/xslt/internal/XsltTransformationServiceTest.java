@@ -19,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,4 +55,39 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXSLTRecompilesChangedStylesheet() throws TransformationException, IOException {
+        Path stylesheet = transformHttpPath.resolve("changing.xsl");
+        Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheet,
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(stylesheet, FileTime.fromMillis(1000));
+
+        assertEquals("8", processor.transform("http/changing.xsl", source));
+        assertEquals("8", processor.transform("http/changing.xsl", source));
+
+        String changed = Files.readString(stylesheet).replace("temp_c/@data", "temp_f/@data");
+        Files.writeString(stylesheet, changed);
+        Files.setLastModifiedTime(stylesheet, FileTime.fromMillis(2000));
+
+        assertEquals("46", processor.transform("http/changing.xsl", source));
+    }
+
+    @Test
+    public void testTransformByXSLTCacheIsBounded() throws TransformationException, IOException {
+        Path stylesheets = transformHttpPath.resolve("cache");
+        Files.createDirectories(stylesheets);
+        for (int i = 0; i <= XsltTransformationService.TEMPLATES_CACHE_SIZE; i++) {
+            Files.copy(getClass().getResourceAsStream("google_weather.xsl"), stylesheets.resolve(i + ".xsl"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            assertEquals("8", processor.transform("http/cache/" + i + ".xsl", source));
+        }
+
+        assertEquals(XsltTransformationService.TEMPLATES_CACHE_SIZE, processor.getCachedTemplatesCount());
+    }
+
+    @Test
+    public void testTransformByXSLTMissingFile() {
+        assertThrows(TransformationException.class, () -> processor.transform("http/missing.xsl", source));
+    }
 }